@@ -0,0 +1,66 @@
+package ca.bcit.comp2522.mygame;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * JMH benchmarks for reading stats through a chain of clicker upgrades,
+ * which walks every decorator in the chain on each call.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClickerChainBenchmarks
+{
+    private static final int EVEN = 2;
+
+    @Param({"1", "8", "64"})
+    public int upgradeCount;
+
+    private Clicker clicker;
+
+    /**
+     * Wraps a starter clicker in upgradeCount alternating auto click upgrades.
+     */
+    @Setup
+    public void setUp()
+    {
+        Clicker chain;
+        chain = new StarterClicker();
+
+        for (int i = 0; i < upgradeCount; i++)
+        {
+            if (i % EVEN == 0)
+            {
+                chain = new L1AutoClickUpgrade(chain);
+            }
+            else
+            {
+                chain = new L2AutoClickUpgrade(chain);
+            }
+        }
+
+        clicker = chain;
+    }
+
+    /**
+     * Reads the auto damage per second through the whole chain.
+     *
+     * @return the auto damage per second
+     */
+    @Benchmark
+    public double getAutoDamagePerSecond()
+    {
+        return clicker.getAutoDamagePerSecond();
+    }
+}
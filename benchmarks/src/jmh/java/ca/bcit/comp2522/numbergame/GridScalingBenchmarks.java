@@ -0,0 +1,171 @@
+package ca.bcit.comp2522.numbergame;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks for how the number game scales with board size: checking one placement,
+ * detecting game over, and the app's grid painting through GridViewport, either repainting the
+ * window after a scroll or repainting the cell one move changed, against a baseline that
+ * repaints every cell of the grid as the old one-button-per-cell UI did, on boards half
+ * filled with sorted values, with each placement strategy. The painter hands each cell to a Blackhole in
+ * place of the canvas calls, which need a running JavaFX toolkit.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GridScalingBenchmarks
+{
+    private static final int    VALUE_COUNT    = 1_024;
+    private static final int    VALUE_MASK     = VALUE_COUNT - 1;
+    private static final int    HALF           = 2;
+    private static final int    ONE_MOVE       = 1;
+    private static final int    ROWS_INDEX     = 0;
+    private static final int    COLS_INDEX     = 1;
+    private static final int    VISIBLE_CELLS  = 10;
+    private static final int    CELL_WIDTH_PX  = 80;
+    private static final int    CELL_HEIGHT_PX = 40;
+    private static final int    CELL_GAP_PX    = 5;
+    private static final int    COLUMN_PITCH   = CELL_WIDTH_PX + CELL_GAP_PX;
+    private static final int    ROW_PITCH      = CELL_HEIGHT_PX + CELL_GAP_PX;
+    private static final String SIZE_SEPARATOR = "x";
+    private static final long   SEED           = 2522L;
+
+    @Param({"4x5", "100x100", "1000x1000"})
+    public String size;
+
+    @Param({"scan", "indexed"})
+    public String placement;
+
+    private HeadlessNumberGame game;
+    private GridViewport       viewport;
+    private int[]              values;
+    private int[]              cells;
+    private int[]              changed;
+    private int                next;
+
+    /**
+     * Builds a half-filled board of the given size and picks the values and cells to check.
+     */
+    @Setup
+    public void setUp()
+    {
+        final String[] sides;
+        final RandomGenerator rng;
+
+        sides     = size.split(SIZE_SEPARATOR);
+        rng       = new Random(SEED);
+        game      = new HeadlessNumberGame(Integer.parseInt(sides[ROWS_INDEX]),
+                                           Integer.parseInt(sides[COLS_INDEX]),
+                                           placement);
+        viewport  = new GridViewport(game.getRows(),
+                                     game.getCols(),
+                                     VISIBLE_CELLS,
+                                     VISIBLE_CELLS,
+                                     CELL_WIDTH_PX,
+                                     CELL_HEIGHT_PX,
+                                     CELL_GAP_PX);
+        values    = new int[VALUE_COUNT];
+        cells     = new int[VALUE_COUNT];
+        changed   = new int[ONE_MOVE];
+
+        game.fillSorted(game.getCellCount() / HALF, rng);
+
+        for (int i = 0; i < VALUE_COUNT; i++)
+        {
+            values[i] = rng.nextInt(AbstractNumberGame.DEFAULT_LOWER_BOUND, AbstractNumberGame.DEFAULT_UPPER_BOUND);
+            cells[i]  = rng.nextInt(game.getCellCount());
+        }
+    }
+
+    /**
+     * Checks one value against one cell, as a click does.
+     *
+     * @return true if the value could go in the cell
+     */
+    @Benchmark
+    public boolean isValidPlacement()
+    {
+        next = (next + 1) & VALUE_MASK;
+        return game.isValidPlacement(cells[next], values[next]);
+    }
+
+    /**
+     * Checks whether a value can go anywhere, as the game does after every placement
+     * to detect game over.
+     *
+     * @return true if the value has a valid cell
+     */
+    @Benchmark
+    public boolean hasValidPlacementFor()
+    {
+        next = (next + 1) & VALUE_MASK;
+        return game.hasValidPlacementFor(values[next]);
+    }
+
+    /**
+     * Scrolls the window to show a random cell and repaints every cell in view,
+     * as the app does when a scroll bar moves.
+     *
+     * @param blackhole receives each painted cell
+     */
+    @Benchmark
+    public void scrollAndPaint(final Blackhole blackhole)
+    {
+        next = (next + 1) & VALUE_MASK;
+
+        viewport.scrollTo(cells[next] / game.getCols(), cells[next] % game.getCols());
+        viewport.paintVisible(game, (x, y, value) -> blackhole.consume(value));
+    }
+
+    /**
+     * Repaints the cell one move changed, if it is in view, as the app does after each move.
+     *
+     * @param blackhole receives each painted cell
+     * @return the number of cells painted
+     */
+    @Benchmark
+    public int paintChangedCell(final Blackhole blackhole)
+    {
+        next       = (next + 1) & VALUE_MASK;
+        changed[0] = cells[next];
+
+        return viewport.paintCells(game, changed, ONE_MOVE, (x, y, value) -> blackhole.consume(value));
+    }
+
+    /**
+     * Repaints every cell of the grid, in view or not, as the old UI refreshed one button
+     * per cell after each move. The baseline for paintChangedCell.
+     *
+     * @param blackhole receives each painted cell
+     */
+    @Benchmark
+    public void repaintAllCells(final Blackhole blackhole)
+    {
+        final CellPainter painter;
+        painter = (x, y, value) -> blackhole.consume(value);
+
+        for (int row = 0; row < game.getRows(); row++)
+        {
+            for (int col = 0; col < game.getCols(); col++)
+            {
+                painter.paintCell(col * COLUMN_PITCH,
+                                  row * ROW_PITCH,
+                                  game.getCellValue(row * game.getCols() + col));
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ca.bcit.comp2522.numbergame;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Number game with no user interface, so the game logic can be benchmarked on its own.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+final class HeadlessNumberGame extends AbstractNumberGame
+{
+    private static final String SCAN_PLACEMENT = "scan";
+
+    /**
+     * Constructs a HeadlessNumberGame with the default number range.
+     *
+     * @param rows      the number of rows
+     * @param cols      the number of columns
+     * @param placement "scan" for the scanning strategy, anything else for the indexed one
+     */
+    HeadlessNumberGame(final int rows,
+                       final int cols,
+                       final String placement)
+    {
+        super(rows,
+              cols,
+              DEFAULT_LOWER_BOUND,
+              DEFAULT_UPPER_BOUND,
+              SCAN_PLACEMENT.equals(placement) ? new ScanPlacementStrategy() : new IndexedPlacementStrategy());
+    }
+
+    /**
+     * Fills a random subset of cells with sorted values, as a real game leaves them,
+     * telling the placement strategy about every cell.
+     *
+     * @param filledCells the number of cells to fill
+     * @param rng         the source of cells and values
+     */
+    void fillSorted(final int filledCells,
+                    final RandomGenerator rng)
+    {
+        final int[] cells;
+        final int[] filled;
+
+        cells  = new int[cellCount];
+        filled = new int[filledCells];
+
+        for (int i = 0; i < cells.length; i++)
+        {
+            cells[i] = i;
+        }
+
+        for (int i = 0; i < filledCells; i++)
+        {
+            final int swapIndex;
+            final int chosen;
+
+            swapIndex = rng.nextInt(i, cells.length);
+            chosen    = cells[swapIndex];
+
+            cells[swapIndex] = cells[i];
+            cells[i]         = chosen;
+            filled[i]        = rng.nextInt(lowerBound, upperBound);
+        }
+
+        Arrays.sort(cells, 0, filledCells);
+        Arrays.sort(filled);
+
+        for (int i = 0; i < filledCells; i++)
+        {
+            placeNumber(cells[i], filled[i]);
+        }
+    }
+
+    @Override
+    public void handleCellClick(final int index)
+    {
+    }
+
+    @Override
+    protected void onGridUpdated(final int[] gridValues)
+    {
+    }
+
+    @Override
+    protected void onNumberUpdated(final int currentNumber)
+    {
+    }
+
+    @Override
+    protected void onGameOver(final boolean won,
+                              final int impossibleNumber)
+    {
+    }
+}
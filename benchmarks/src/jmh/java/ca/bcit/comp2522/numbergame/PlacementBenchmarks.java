@@ -0,0 +1,99 @@
+package ca.bcit.comp2522.numbergame;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * JMH benchmarks for the number game's placement checks on a partly filled default grid,
+ * with each placement strategy. The grid holds sorted values in a random subset of cells,
+ * as in a real game.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlacementBenchmarks
+{
+    private static final int  VALUE_COUNT = 1_024;
+    private static final int  VALUE_MASK  = VALUE_COUNT - 1;
+    private static final long SEED        = 2522L;
+
+    @Param({"0", "10", "19"})
+    public int filledCells;
+
+    @Param({"scan", "indexed"})
+    public String placement;
+
+    private HeadlessNumberGame game;
+    private int[]              values;
+    private int                next;
+
+    /**
+     * Fills a random subset of cells with sorted values and picks the values to check.
+     */
+    @Setup
+    public void setUp()
+    {
+        final RandomGenerator rng;
+
+        rng    = new Random(SEED);
+        game   = new HeadlessNumberGame(AbstractNumberGame.DEFAULT_ROWS, AbstractNumberGame.DEFAULT_COLS, placement);
+        values = new int[VALUE_COUNT];
+
+        game.fillSorted(filledCells, rng);
+
+        for (int i = 0; i < VALUE_COUNT; i++)
+        {
+            values[i] = rng.nextInt(AbstractNumberGame.DEFAULT_LOWER_BOUND, AbstractNumberGame.DEFAULT_UPPER_BOUND);
+        }
+    }
+
+    /**
+     * Checks one value against every cell, as the grid does to enable buttons.
+     *
+     * @return the number of cells the value could go in
+     */
+    @Benchmark
+    public int isValidPlacementAllCells()
+    {
+        final int value;
+
+        next  = (next + 1) & VALUE_MASK;
+        value = values[next];
+
+        int validCells;
+        validCells = 0;
+
+        for (int i = 0; i < game.getCellCount(); i++)
+        {
+            if (game.isValidPlacement(i, value))
+            {
+                validCells++;
+            }
+        }
+        return validCells;
+    }
+
+    /**
+     * Checks whether a value can go anywhere, as the game does after every placement.
+     *
+     * @return true if the value has a valid cell
+     */
+    @Benchmark
+    public boolean hasValidPlacementFor()
+    {
+        next = (next + 1) & VALUE_MASK;
+        return game.hasValidPlacementFor(values[next]);
+    }
+}
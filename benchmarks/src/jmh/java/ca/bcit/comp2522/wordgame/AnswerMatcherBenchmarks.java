@@ -0,0 +1,242 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * JMH benchmarks for AnswerMatcher on a synthetic world of random names: matching exact,
+ * misspelled and wrong answers, and finding the closest name, against a plain scan that
+ * computes the full edit distance to every name. Run with -prof gc to see that matching
+ * allocates nothing once the session's Scratch exists.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AnswerMatcherBenchmarks
+{
+    private static final int    NUM_OF_FACTS    = 3;
+    private static final int    MIN_NAME_LENGTH = 6;
+    private static final int    MAX_NAME_LENGTH = 14;
+    private static final int    QUERY_KINDS     = 3;
+    private static final int    EXACT_QUERY     = 0;
+    private static final int    TYPO_QUERY      = 1;
+    private static final int    QUERY_COUNT     = 1_024;
+    private static final int    QUERY_MASK      = QUERY_COUNT - 1;
+    private static final long   SEED            = 2522L;
+    private static final String LETTERS         = "abcdefghijklmnopqrstuvwxyz";
+
+    @Param({"10000"})
+    public int countries;
+
+    private AnswerMatcher         matcher;
+    private AnswerMatcher.Scratch scratch;
+    private String[]              allNames;
+    private String[]              answers;
+    private String[]              expected;
+    private int                   next;
+
+    /**
+     * Builds the world and matcher and picks one third exact, one third misspelled
+     * and one third random answers.
+     */
+    @Setup
+    public void setUp()
+    {
+        final RandomGenerator rng;
+        final World world;
+        final Country[] countryArray;
+
+        rng          = new Random(SEED);
+        world        = buildWorld(countries, rng);
+        countryArray = world.getCountryArray();
+        matcher      = new AnswerMatcher(world);
+        scratch      = matcher.newScratch();
+        allNames     = new String[countryArray.length * 2];
+        answers      = new String[QUERY_COUNT];
+        expected     = new String[QUERY_COUNT];
+
+        int n;
+        n = 0;
+
+        for (final Country country : countryArray)
+        {
+            allNames[n++] = AnswerMatcher.normalize(country.getCountryName());
+            allNames[n++] = AnswerMatcher.normalize(country.getCapitalCityName());
+        }
+
+        for (int i = 0; i < QUERY_COUNT; i++)
+        {
+            expected[i] = countryArray[rng.nextInt(countryArray.length)].getCountryName();
+
+            switch (i % QUERY_KINDS)
+            {
+                case EXACT_QUERY:
+                    answers[i] = "  " + expected[i].toUpperCase(Locale.ROOT) + " ";
+                    break;
+                case TYPO_QUERY:
+                    answers[i] = addTypo(expected[i], rng);
+                    break;
+                default:
+                    answers[i] = randomName(rng);
+                    break;
+            }
+        }
+    }
+
+    /*
+    Builds a world of countries with random names and capitals
+     */
+    private static World buildWorld(final int countryCount,
+                                    final RandomGenerator rng)
+    {
+        final Map<String, Country> countryMap;
+        countryMap = new HashMap<>();
+
+        while (countryMap.size() < countryCount)
+        {
+            final String name;
+            name = randomName(rng);
+
+            countryMap.putIfAbsent(name, Country.of(name, randomName(rng), new String[NUM_OF_FACTS]));
+        }
+
+        return new World(countryMap);
+    }
+
+    /*
+    Returns a random lower-case name with a capital first letter
+     */
+    private static String randomName(final RandomGenerator rng)
+    {
+        final int length;
+        final StringBuilder sb;
+
+        length = rng.nextInt(MIN_NAME_LENGTH, MAX_NAME_LENGTH + 1);
+        sb     = new StringBuilder(length);
+
+        for (int i = 0; i < length; i++)
+        {
+            sb.append(LETTERS.charAt(rng.nextInt(LETTERS.length())));
+        }
+
+        sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+
+        return sb.toString();
+    }
+
+    /*
+    Replaces one letter of a name with a random letter
+     */
+    private static String addTypo(final String name,
+                                  final RandomGenerator rng)
+    {
+        final StringBuilder sb;
+        sb = new StringBuilder(name);
+
+        sb.setCharAt(rng.nextInt(1, name.length()), LETTERS.charAt(rng.nextInt(LETTERS.length())));
+
+        return sb.toString();
+    }
+
+    /**
+     * Checks an answer against its expected name.
+     *
+     * @return whether the answer was accepted
+     */
+    @Benchmark
+    public boolean matches()
+    {
+        next = (next + 1) & QUERY_MASK;
+        return matcher.matches(answers[next], expected[next], scratch);
+    }
+
+    /**
+     * Finds the known name closest to an answer.
+     *
+     * @return the closest name, or null if none is close enough
+     */
+    @Benchmark
+    public String findClosestName()
+    {
+        next = (next + 1) & QUERY_MASK;
+        return matcher.findClosestName(answers[next], scratch);
+    }
+
+    /**
+     * Finds the smallest edit distance from an answer to any name by comparing every name;
+     * the baseline for findClosestName.
+     *
+     * @return the smallest distance
+     */
+    @Benchmark
+    public int fullScan()
+    {
+        next = (next + 1) & QUERY_MASK;
+
+        final String answer;
+        answer = AnswerMatcher.normalize(answers[next]);
+
+        int best;
+        best = Integer.MAX_VALUE;
+
+        for (final String name : allNames)
+        {
+            best = Math.min(best, levenshtein(answer, name));
+        }
+
+        return best;
+    }
+
+    /*
+    Plain two-row Levenshtein distance, allocating its rows on every call
+     */
+    private static int levenshtein(final String a,
+                                   final String b)
+    {
+        int[] previous;
+        int[] current;
+
+        previous = new int[b.length() + 1];
+        current  = new int[b.length() + 1];
+
+        for (int j = 0; j <= b.length(); j++)
+        {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++)
+        {
+            current[0] = i;
+
+            for (int j = 1; j <= b.length(); j++)
+            {
+                final int cost;
+                cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+
+                current[j] = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+            }
+
+            final int[] swap;
+            swap     = previous;
+            previous = current;
+            current  = swap;
+        }
+
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,142 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * JMH benchmarks for loading the word game's country files,
+ * with each loader and with the byte parsers alone on an in-memory file.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CountryParsingBenchmarks
+{
+    private static final String ROOT_PROPERTY = "comp2522.root";
+    private static final String DEFAULT_ROOT  = ".";
+
+    private Path                  inputsPath;
+    private Path                  largestPath;
+    private ScannerCountryLoader  scannerLoader;
+    private MappedCountryLoader   mappedLoader;
+    private TolerantCountryLoader tolerantLoader;
+    private ByteBuffer            largestFile;
+
+    /**
+     * Locates the input files and reads the largest one into memory.
+     *
+     * @throws IOException if the input files cannot be read
+     */
+    @Setup
+    public void setUp()
+        throws IOException
+    {
+        inputsPath     = Paths.get(System.getProperty(ROOT_PROPERTY, DEFAULT_ROOT),
+                                   "src",
+                                   "code",
+                                   "ca",
+                                   "bcit",
+                                   "comp2522",
+                                   "wordgame",
+                                   "inputs");
+        scannerLoader  = new ScannerCountryLoader();
+        mappedLoader   = new MappedCountryLoader();
+        tolerantLoader = new TolerantCountryLoader();
+
+        Path largest;
+        largest = null;
+
+        for (final Path file : AbstractCountryLoader.listInputFiles(inputsPath))
+        {
+            if (largest == null || Files.size(file) > Files.size(largest))
+            {
+                largest = file;
+            }
+        }
+
+        if (largest == null)
+        {
+            throw new IOException("No input files in " + inputsPath.toAbsolutePath());
+        }
+
+        largestPath = largest;
+        largestFile = ByteBuffer.wrap(Files.readAllBytes(largest));
+    }
+
+    /**
+     * Loads every input file with the Scanner based loader.
+     *
+     * @return the loaded countries
+     * @throws IOException if the input files cannot be read
+     */
+    @Benchmark
+    public List<Country> scannerLoadAll()
+        throws IOException
+    {
+        return scannerLoader.loadCountries(inputsPath);
+    }
+
+    /**
+     * Loads every input file with the memory-mapped loader.
+     *
+     * @return the loaded countries
+     * @throws IOException if the input files cannot be read
+     */
+    @Benchmark
+    public List<Country> mappedLoadAll()
+        throws IOException
+    {
+        return mappedLoader.loadCountries(inputsPath);
+    }
+
+    /**
+     * Loads every input file with the tolerant loader, which also checks each block.
+     *
+     * @return the loaded countries
+     * @throws IOException if the input files cannot be read
+     */
+    @Benchmark
+    public List<Country> tolerantLoadAll()
+        throws IOException
+    {
+        return tolerantLoader.loadCountries(inputsPath);
+    }
+
+    /**
+     * Parses the largest input file from memory, without any file I/O.
+     *
+     * @return the parsed countries
+     */
+    @Benchmark
+    public List<Country> parseBufferInMemory()
+    {
+        return MappedCountryLoader.parseBuffer(largestFile.duplicate());
+    }
+
+    /**
+     * Parses the largest input file from memory with the tolerant parser, collecting its diagnostics.
+     *
+     * @return the parsed countries
+     */
+    @Benchmark
+    public List<Country> tolerantParseBufferInMemory()
+    {
+        return TolerantCountryLoader.parseBuffer(largestPath, largestFile.duplicate(), new ArrayList<>());
+    }
+}
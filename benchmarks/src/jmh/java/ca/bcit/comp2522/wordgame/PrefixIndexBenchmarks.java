@@ -0,0 +1,156 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * JMH benchmarks comparing PrefixIndex lookups with scanning every country and capital name,
+ * on a synthetic world of random names. Prefixes are upper-cased so the case folding is measured.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PrefixIndexBenchmarks
+{
+    private static final int    NUM_OF_FACTS      = 3;
+    private static final int    MIN_NAME_LENGTH   = 5;
+    private static final int    MAX_NAME_LENGTH   = 14;
+    private static final int    MIN_PREFIX_LENGTH = 2;
+    private static final int    MAX_PREFIX_LENGTH = 4;
+    private static final int    QUERY_COUNT       = 1_024;
+    private static final int    QUERY_MASK        = QUERY_COUNT - 1;
+    private static final long   SEED              = 2522L;
+    private static final String LETTERS           = "abcdefghijklmnopqrstuvwxyz";
+
+    @Param({"20000"})
+    public int countries;
+
+    private World       world;
+    private PrefixIndex index;
+    private String[]    prefixes;
+    private int         next;
+
+    /**
+     * Builds the world and index and picks the prefixes to look up.
+     */
+    @Setup
+    public void setUp()
+    {
+        final RandomGenerator rng;
+        final Country[] countryArray;
+
+        rng          = new Random(SEED);
+        world        = buildWorld(countries, rng);
+        countryArray = world.getCountryArray();
+        index        = new PrefixIndex(world);
+        prefixes     = new String[QUERY_COUNT];
+
+        for (int i = 0; i < QUERY_COUNT; i++)
+        {
+            prefixes[i] = countryArray[rng.nextInt(countryArray.length)]
+                              .getCountryName()
+                              .substring(0, rng.nextInt(MIN_PREFIX_LENGTH, MAX_PREFIX_LENGTH + 1))
+                              .toUpperCase(Locale.ROOT);
+        }
+    }
+
+    /*
+    Builds a world of countries with random names and capitals
+     */
+    private static World buildWorld(final int countryCount,
+                                    final RandomGenerator rng)
+    {
+        final Map<String, Country> countryMap;
+        countryMap = new HashMap<>();
+
+        while (countryMap.size() < countryCount)
+        {
+            final String name;
+            name = randomName(rng);
+
+            countryMap.putIfAbsent(name, Country.of(name, randomName(rng), new String[NUM_OF_FACTS]));
+        }
+
+        return new World(countryMap);
+    }
+
+    /*
+    Returns a random lower-case name with a capital first letter
+     */
+    private static String randomName(final RandomGenerator rng)
+    {
+        final int length;
+        final StringBuilder sb;
+
+        length = rng.nextInt(MIN_NAME_LENGTH, MAX_NAME_LENGTH + 1);
+        sb     = new StringBuilder(length);
+
+        for (int i = 0; i < length; i++)
+        {
+            sb.append(LETTERS.charAt(rng.nextInt(LETTERS.length())));
+        }
+
+        sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+
+        return sb.toString();
+    }
+
+    /**
+     * Counts the names starting with a prefix through the index.
+     *
+     * @return the number of matching names
+     */
+    @Benchmark
+    public int indexed()
+    {
+        next = (next + 1) & QUERY_MASK;
+        return index.countMatches(prefixes[next]);
+    }
+
+    /**
+     * Counts the names starting with a prefix by checking every country and capital;
+     * the baseline for indexed.
+     *
+     * @return the number of matching names
+     */
+    @Benchmark
+    public int scan()
+    {
+        next = (next + 1) & QUERY_MASK;
+
+        final String folded;
+        folded = prefixes[next].toLowerCase(Locale.ROOT);
+
+        int found;
+        found = 0;
+
+        for (final Country country : world.getCountriesMap().values())
+        {
+            if (country.getCountryName().toLowerCase(Locale.ROOT).startsWith(folded))
+            {
+                found++;
+            }
+            if (country.getCapitalCityName().toLowerCase(Locale.ROOT).startsWith(folded))
+            {
+                found++;
+            }
+        }
+
+        return found;
+    }
+}
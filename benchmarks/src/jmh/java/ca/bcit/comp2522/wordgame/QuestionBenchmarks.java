@@ -0,0 +1,116 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * JMH benchmarks comparing handing out prebuilt questions from a QuestionFactory with building
+ * each Question through its constructor, on a synthetic world of many countries.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QuestionBenchmarks
+{
+    private static final int  NUM_OF_FACTS = 3;
+    private static final int  QUERY_COUNT  = 1_024;
+    private static final int  QUERY_MASK   = QUERY_COUNT - 1;
+    private static final long SEED         = 2522L;
+
+    @Param({"5000"})
+    public int countries;
+
+    private QuestionFactory factory;
+    private Country[]       countryArray;
+    private int[]           ids;
+    private int[]           types;
+    private RandomGenerator rng;
+    private int             next;
+
+    /**
+     * Builds the world and factory and picks the questions to ask.
+     */
+    @Setup
+    public void setUp()
+    {
+        final World world;
+        world = buildWorld(countries);
+
+        factory      = new QuestionFactory(world);
+        countryArray = world.getCountryArray();
+        ids          = new int[QUERY_COUNT];
+        types        = new int[QUERY_COUNT];
+        rng          = new Random(SEED);
+
+        for (int i = 0; i < QUERY_COUNT; i++)
+        {
+            ids[i]   = rng.nextInt(countries);
+            types[i] = rng.nextInt(WordGame.LOWER_BOUND, WordGame.UPPER_BOUND);
+        }
+    }
+
+    /*
+    Builds a world of synthetic countries, each with a full set of facts
+     */
+    private static World buildWorld(final int countryCount)
+    {
+        final Map<String, Country> countryMap;
+        countryMap = new HashMap<>();
+
+        for (int i = 0; i < countryCount; i++)
+        {
+            final String name;
+            final String[] facts;
+
+            name  = "Country " + i;
+            facts = new String[NUM_OF_FACTS];
+
+            for (int f = 0; f < NUM_OF_FACTS; f++)
+            {
+                facts[f] = "Fact " + f + " about " + name + ".";
+            }
+
+            countryMap.put(name, Country.of(name, "Capital " + i, facts));
+        }
+
+        return new World(countryMap);
+    }
+
+    /**
+     * Takes a question from the factory's prebuilt arrays.
+     *
+     * @return the question
+     */
+    @Benchmark
+    public Question factory()
+    {
+        next = (next + 1) & QUERY_MASK;
+        return factory.getQuestion(ids[next], types[next], rng);
+    }
+
+    /**
+     * Builds a question through the Question constructor; the baseline for factory.
+     *
+     * @return the question
+     */
+    @Benchmark
+    public Question constructor()
+    {
+        next = (next + 1) & QUERY_MASK;
+        return new Question(types[next], countryArray[ids[next]]);
+    }
+}
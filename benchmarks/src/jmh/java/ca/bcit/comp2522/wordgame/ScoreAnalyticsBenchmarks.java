@@ -0,0 +1,212 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * JMH benchmarks for ScoreAnalytics on a generated score file spread over ten years:
+ * queries answered from the rollups against finding the best score by rescanning the file,
+ * and opening from a saved checkpoint against rolling up the whole file.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScoreAnalyticsBenchmarks
+{
+    private static final int           NONE            = 0;
+    private static final int           MAX_GAMES       = 10;
+    private static final int           QUESTIONS       = 3;
+    private static final int           SPAN_DAYS       = 3_650;
+    private static final int           SECONDS_PER_DAY = 86_400;
+    private static final long          SINGLE_SECOND   = 1L;
+    private static final int           WINDOW_DAYS     = 30;
+    private static final int           QUERY_COUNT     = 1_024;
+    private static final int           QUERY_MASK      = QUERY_COUNT - 1;
+    private static final long          SEED            = 2522L;
+    private static final LocalDateTime FIRST_DAY       = LocalDateTime.of(2015, 1, 1, 0, 0);
+
+    @Param({"100000"})
+    public int blocks;
+
+    private Path           scoreFile;
+    private Path           checkpoint;
+    private TextScoreSink  store;
+    private ScoreAnalytics analytics;
+    private LocalDate[]    queryDays;
+    private int            next;
+
+    /**
+     * Writes the score file, rolls it up once and saves the checkpoint.
+     *
+     * @throws IOException if the files cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp()
+        throws IOException
+    {
+        final RandomGenerator rng;
+
+        scoreFile  = Files.createTempFile("synthetic-scores", ".txt");
+        checkpoint = Files.createTempFile("synthetic-scores", ".rollup");
+        store      = new TextScoreSink(scoreFile);
+        rng        = new Random(SEED);
+
+        Files.delete(checkpoint);
+        writeScores(scoreFile, blocks, rng);
+
+        analytics = ScoreAnalytics.open(checkpoint, store, null);
+        queryDays = new LocalDate[QUERY_COUNT];
+
+        for (int i = 0; i < QUERY_COUNT; i++)
+        {
+            queryDays[i] = analytics.getLastDay().minusDays(rng.nextInt(SPAN_DAYS));
+        }
+    }
+
+    /**
+     * Deletes the generated files.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+        throws IOException
+    {
+        Files.deleteIfExists(scoreFile);
+        Files.deleteIfExists(checkpoint);
+    }
+
+    /*
+    Writes score blocks spread over ten years, in date order
+     */
+    private static void writeScores(final Path scoreFile,
+                                    final int blocks,
+                                    final RandomGenerator rng)
+        throws IOException
+    {
+        final long secondsPerBlock;
+        secondsPerBlock = Math.max(SINGLE_SECOND, (long) SPAN_DAYS * SECONDS_PER_DAY / blocks);
+
+        try (final BufferedWriter out = Files.newBufferedWriter(scoreFile))
+        {
+            for (int i = 0; i < blocks; i++)
+            {
+                final int games;
+                final int first;
+                final int second;
+                final Score score;
+
+                games  = rng.nextInt(1, MAX_GAMES + 1);
+                first  = rng.nextInt(games * QUESTIONS + 1);
+                second = rng.nextInt(games * QUESTIONS - first + 1);
+                score  = new Score(FIRST_DAY.plusSeconds(i * secondsPerBlock),
+                                   games,
+                                   first,
+                                   second,
+                                   games * QUESTIONS - first - second);
+
+                out.write(score.toString());
+                out.write(System.lineSeparator());
+            }
+        }
+    }
+
+    /**
+     * Reads the best score from the rollups.
+     *
+     * @return the best score
+     */
+    @Benchmark
+    public Score bestFromRollups()
+    {
+        return analytics.getBest();
+    }
+
+    /**
+     * Reads one day's totals from the rollups.
+     *
+     * @return the day's totals
+     */
+    @Benchmark
+    public ScoreRollup dayFromRollups()
+    {
+        next = (next + 1) & QUERY_MASK;
+        return analytics.getDay(queryDays[next]);
+    }
+
+    /**
+     * Combines a rolling window of days from the rollups.
+     *
+     * @return the window's totals
+     */
+    @Benchmark
+    public ScoreRollup rollingWindowFromRollups()
+    {
+        next = (next + 1) & QUERY_MASK;
+        return analytics.getRollingTotals(queryDays[next], WINDOW_DAYS);
+    }
+
+    /**
+     * Finds the best score by streaming the whole file, as the word game used to on every start;
+     * the baseline for bestFromRollups.
+     *
+     * @return the best score's points
+     */
+    @Benchmark
+    public int bestByRescan()
+    {
+        try (final Stream<Score> history = Score.streamScoresFromFile(scoreFile.toString()))
+        {
+            return history.filter(s -> s.getNumGamesPlayed() > NONE)
+                          .max(Comparator.comparingDouble(s -> (double) s.getScore() / s.getNumGamesPlayed()))
+                          .map(Score::getScore)
+                          .orElse(NONE);
+        }
+    }
+
+    /**
+     * Opens the analytics from the saved checkpoint, which covers the whole file.
+     *
+     * @return the opened analytics
+     * @throws IOException if the checkpoint or file cannot be read
+     */
+    @Benchmark
+    public ScoreAnalytics openFromCheckpoint()
+        throws IOException
+    {
+        return ScoreAnalytics.open(checkpoint, store, null);
+    }
+
+    /**
+     * Rolls up the whole file without a checkpoint; the baseline for openFromCheckpoint.
+     *
+     * @return the built analytics
+     */
+    @Benchmark
+    public ScoreAnalytics buildFromFile()
+    {
+        return ScoreAnalytics.fromFile(scoreFile);
+    }
+}
@@ -0,0 +1,116 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * JMH benchmarks for reading a score history file and for computing scores,
+ * on a generated score file of the given size.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScoreBenchmarks
+{
+    private static final int           MIN_GAMES   = 1;
+    private static final int           MAX_ANSWERS = 10;
+    private static final long          SEED        = 2522L;
+    private static final LocalDateTime START       = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"100", "10000"})
+    public int scoreCount;
+
+    private Path        scoreFile;
+    private List<Score> scores;
+
+    /**
+     * Writes a score file with scoreCount generated scores.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp()
+        throws IOException
+    {
+        final RandomGenerator rng;
+
+        scoreFile = Files.createTempFile("scores", ".txt");
+        scores    = new ArrayList<>(scoreCount);
+        rng       = new Random(SEED);
+
+        for (int i = 0; i < scoreCount; i++)
+        {
+            scores.add(new Score(START.plusMinutes(i),
+                                 rng.nextInt(MIN_GAMES, MAX_ANSWERS),
+                                 rng.nextInt(MAX_ANSWERS),
+                                 rng.nextInt(MAX_ANSWERS),
+                                 rng.nextInt(MAX_ANSWERS)));
+        }
+
+        try (final TextScoreSink sink = new TextScoreSink(scoreFile))
+        {
+            sink.recordAll(scores);
+        }
+    }
+
+    /**
+     * Deletes the generated score file.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+        throws IOException
+    {
+        Files.deleteIfExists(scoreFile);
+    }
+
+    /**
+     * Reads the whole score file into a list.
+     *
+     * @return the scores read
+     */
+    @Benchmark
+    public List<Score> readScoresFromFile()
+    {
+        return Score.readScoresFromFile(scoreFile.toString());
+    }
+
+    /**
+     * Computes the score of every score in memory, as the high score search does.
+     *
+     * @return the best score
+     */
+    @Benchmark
+    public int getScoreAll()
+    {
+        int best;
+        best = Integer.MIN_VALUE;
+
+        for (final Score score : scores)
+        {
+            best = Math.max(best, score.getScore());
+        }
+        return best;
+    }
+}
@@ -0,0 +1,176 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * JMH benchmarks for World lookups by country and capital name, on the real country files or
+ * on a synthetic world of "Country i" / "Capital i", against the linear scan World used to do.
+ * Queries are upper-cased so the case-insensitive path is measured.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WorldLookupBenchmarks
+{
+    private static final String ROOT_PROPERTY = "comp2522.root";
+    private static final String DEFAULT_ROOT  = ".";
+    private static final String REAL_WORLD    = "real";
+    private static final int    NUM_OF_FACTS  = 3;
+    private static final int    QUERY_COUNT   = 1_024;
+    private static final int    QUERY_MASK    = QUERY_COUNT - 1;
+    private static final long   SEED          = 2522L;
+
+    @Param({"real", "20000"})
+    public String countries;
+
+    private World    world;
+    private String[] countryQueries;
+    private String[] capitalQueries;
+    private int      next;
+
+    /**
+     * Loads or builds the World and picks the names to look up.
+     *
+     * @throws IOException if the input files cannot be read
+     */
+    @Setup
+    public void setUp()
+        throws IOException
+    {
+        final List<Country> loaded;
+        final Map<String, Country> countryMap;
+        final RandomGenerator rng;
+
+        if (REAL_WORLD.equals(countries))
+        {
+            loaded = loadRealCountries();
+        }
+        else
+        {
+            loaded = buildSyntheticCountries(Integer.parseInt(countries));
+        }
+
+        countryMap = new HashMap<>();
+
+        for (final Country country : loaded)
+        {
+            countryMap.put(country.getCountryName(), country);
+        }
+
+        world          = new World(countryMap);
+        countryQueries = new String[QUERY_COUNT];
+        capitalQueries = new String[QUERY_COUNT];
+        rng            = new Random(SEED);
+
+        for (int i = 0; i < QUERY_COUNT; i++)
+        {
+            final Country country;
+            country = loaded.get(rng.nextInt(loaded.size()));
+
+            countryQueries[i] = country.getCountryName().toUpperCase(Locale.ROOT);
+            capitalQueries[i] = country.getCapitalCityName().toUpperCase(Locale.ROOT);
+        }
+    }
+
+    /*
+    Loads the word game's real country files
+     */
+    private static List<Country> loadRealCountries()
+        throws IOException
+    {
+        final Path inputsPath;
+        inputsPath = Paths.get(System.getProperty(ROOT_PROPERTY, DEFAULT_ROOT),
+                               "src",
+                               "code",
+                               "ca",
+                               "bcit",
+                               "comp2522",
+                               "wordgame",
+                               "inputs");
+
+        return new MappedCountryLoader().loadCountries(inputsPath);
+    }
+
+    /*
+    Builds countries named "Country i" with capitals "Capital i"
+     */
+    private static List<Country> buildSyntheticCountries(final int countryCount)
+    {
+        final List<Country> synthetic;
+        synthetic = new ArrayList<>(countryCount);
+
+        for (int i = 0; i < countryCount; i++)
+        {
+            synthetic.add(Country.of("Country " + i, "Capital " + i, new String[NUM_OF_FACTS]));
+        }
+
+        return synthetic;
+    }
+
+    /**
+     * Looks up a country by its name.
+     *
+     * @return the country found
+     */
+    @Benchmark
+    public Country byCountryName()
+    {
+        next = (next + 1) & QUERY_MASK;
+        return world.getCountryByName(countryQueries[next]);
+    }
+
+    /**
+     * Looks up a country by its capital city.
+     *
+     * @return the country found
+     */
+    @Benchmark
+    public Country byCapitalName()
+    {
+        next = (next + 1) & QUERY_MASK;
+        return world.getCountryByCapital(capitalQueries[next]);
+    }
+
+    /**
+     * Looks up a country by its capital the way World used to, scanning every country;
+     * the baseline for byCapitalName.
+     *
+     * @return the country found
+     */
+    @Benchmark
+    public Country byCapitalNameScan()
+    {
+        next = (next + 1) & QUERY_MASK;
+
+        for (final Country country : world.getCountriesMap().values())
+        {
+            if (country.getCapitalCityName().equalsIgnoreCase(capitalQueries[next]))
+            {
+                return country;
+            }
+        }
+
+        return null;
+    }
+}
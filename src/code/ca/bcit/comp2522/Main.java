@@ -2,10 +2,12 @@ package ca.bcit.comp2522;
 
 import ca.bcit.comp2522.mygame.AutoClickerLauncher;
 import ca.bcit.comp2522.numbergame.NumberGameLauncher;
+import ca.bcit.comp2522.wordgame.ScoreAnalytics;
 import ca.bcit.comp2522.wordgame.WordGame;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Scanner;
 
 /**
@@ -25,6 +27,8 @@ public class Main
     private static final int FIRST_CHAR_INDEX  = 0;
     private static final int SECOND_CHAR_INDEX = 1;
 
+    private static final Duration SCORE_FLUSH_INTERVAL = Duration.ofSeconds(5);
+
     /**
      * Displays the game selection menu to the user.
      */
@@ -52,37 +56,40 @@ public class Main
         scanner = new Scanner(System.in);
         running = true;
 
-        while (running)
+        try (final ScoreAnalytics scores = WordGame.openScoreAnalytics(SCORE_FLUSH_INTERVAL))
         {
-            displayMenu();
+            while (running)
+            {
+                displayMenu();
 
-            final String selection;
-            selection = scanner.nextLine()
-                               .trim()
-                               .substring(FIRST_CHAR_INDEX, SECOND_CHAR_INDEX)
-                               .toLowerCase();
+                final String selection;
+                selection = scanner.nextLine()
+                                   .trim()
+                                   .substring(FIRST_CHAR_INDEX, SECOND_CHAR_INDEX)
+                                   .toLowerCase();
 
-            switch (selection)
-            {
-                case "m" ->
+                switch (selection)
                 {
-                    AutoClickerLauncher.start();
-                }
-                case "n" ->
-                {
-                    NumberGameLauncher.start();
-                }
-                case "w" ->
-                {
-                    new WordGame(scanner);
-                }
-                case "q" ->
-                {
-                    System.out.println("Exiting program. Goodbye!");
-                    running = false;
-                }
+                    case "m" ->
+                    {
+                        AutoClickerLauncher.start();
+                    }
+                    case "n" ->
+                    {
+                        NumberGameLauncher.start();
+                    }
+                    case "w" ->
+                    {
+                        new WordGame(scanner, scores);
+                    }
+                    case "q" ->
+                    {
+                        System.out.println("Exiting program. Goodbye!");
+                        running = false;
+                    }
 
-                default -> System.out.println(BOLD + "Invalid selection. Please choose M, N, W, or Q." + RESET);
+                    default -> System.out.println(BOLD + "Invalid selection. Please choose M, N, W, or Q." + RESET);
+                }
             }
         }
 
@@ -1,6 +1,6 @@
 package ca.bcit.comp2522.numbergame;
 
-import java.util.Arrays;
+import java.util.BitSet;
 import java.util.random.RandomGenerator;
 
 /**
@@ -12,14 +12,21 @@ import java.util.random.RandomGenerator;
 public abstract class AbstractNumberGame implements GridGame
 {
     private static final int EMPTY_VALUE = 0;
-    private static final int LOWER_BOUND = 1;
-    private static final int UPPER_BOUND = 1001;
+    private static final int MIN_SIDE    = 1;
 
-    protected static final int ROWS       = 4;
-    protected static final int COLS       = 5;
-    protected static final int CELL_COUNT = ROWS * COLS;
+    private static final String PLACEMENT_PROPERTY = "numbergame.placement";
+    private static final String SCAN_PLACEMENT     = "scan";
 
-    protected final int[] gridValues;
+    protected static final int DEFAULT_ROWS        = 4;
+    protected static final int DEFAULT_COLS        = 5;
+    protected static final int DEFAULT_LOWER_BOUND = 1;
+    protected static final int DEFAULT_UPPER_BOUND = 1001;
+
+    protected final int   rows;
+    protected final int   cols;
+    protected final int   cellCount;
+    protected final int   lowerBound;
+    protected final int   upperBound;
     protected       int   currentNumber;
     protected       int   successfulPlacements;
 
@@ -28,38 +35,152 @@ public abstract class AbstractNumberGame implements GridGame
     protected int gamesLost;
     protected int totalPlacements;
 
-    protected final RandomGenerator random;
+    protected final RandomGenerator   random;
+    protected final PlacementStrategy placement;
+
+    private final int[]  gridValues;
+    private final int[]  dirtyCells;
+    private final BitSet dirty;
+    private       int    dirtyCount;
 
     /**
-     * Constructor for AbstractNumberGame.
+     * Constructor for AbstractNumberGame on the default 4 by 5 grid with numbers from 1 to 1000,
+     * using the placement strategy named by the "numbergame.placement" system property.
      */
     protected AbstractNumberGame()
     {
-        gridValues = new int[CELL_COUNT];
-        random     = RandomGenerator.getDefault();
+        this(selectPlacementStrategy());
+    }
+
+    /**
+     * Constructor for AbstractNumberGame on the default 4 by 5 grid with numbers from 1 to 1000.
+     *
+     * @param placement the strategy that decides where numbers may be placed
+     */
+    protected AbstractNumberGame(final PlacementStrategy placement)
+    {
+        this(DEFAULT_ROWS, DEFAULT_COLS, DEFAULT_LOWER_BOUND, DEFAULT_UPPER_BOUND, placement);
+    }
+
+    /**
+     * Constructor for AbstractNumberGame with the given grid size and number range.
+     *
+     * @param rows       the number of rows, at least 1
+     * @param cols       the number of columns, at least 1
+     * @param lowerBound the smallest number drawn, at least 1
+     * @param upperBound one more than the largest number drawn, above lowerBound
+     * @param placement  the strategy that decides where numbers may be placed
+     */
+    protected AbstractNumberGame(final int rows,
+                                 final int cols,
+                                 final int lowerBound,
+                                 final int upperBound,
+                                 final PlacementStrategy placement)
+    {
+        checkSide(rows);
+        checkSide(cols);
+        checkBounds(lowerBound, upperBound);
+        checkPlacement(placement);
+
+        this.rows       = rows;
+        this.cols       = cols;
+        this.cellCount  = Math.multiplyExact(rows, cols);
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.gridValues = new int[cellCount];
+        this.random     = RandomGenerator.getDefault();
+        this.placement  = placement;
+        this.dirtyCells = new int[cellCount];
+        this.dirty      = new BitSet(cellCount);
+
+        placement.reset(gridValues);
+    }
+
+    /*
+    Check if a grid side is too short, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkSide(final int side)
+    {
+        if (side < MIN_SIDE)
+        {
+            throw new IllegalArgumentException("Grid sides must be at least 1: " + side);
+        }
+    }
+
+    /*
+    Check if the number range is empty or includes the empty value 0, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkBounds(final int lowerBound,
+                                    final int upperBound)
+    {
+        if (lowerBound <= EMPTY_VALUE || upperBound <= lowerBound)
+        {
+            throw new IllegalArgumentException("Need 0 < lowerBound < upperBound: " +
+                                               lowerBound + ", " + upperBound);
+        }
+    }
+
+    /*
+    Check if placement is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkPlacement(final PlacementStrategy placement)
+    {
+        if (placement == null)
+        {
+            throw new IllegalArgumentException("placement cannot be null");
+        }
+    }
+
+    /**
+     * Picks the placement strategy named by the "numbergame.placement" system property.
+     * "scan" selects the original scanning check; anything else selects the indexed one.
+     *
+     * @return the placement strategy to use
+     */
+    static PlacementStrategy selectPlacementStrategy()
+    {
+        if (SCAN_PLACEMENT.equalsIgnoreCase(System.getProperty(PLACEMENT_PROPERTY)))
+        {
+            return new ScanPlacementStrategy();
+        }
+
+        return new IndexedPlacementStrategy();
     }
 
     /**
      * Starts a new game by resetting the grid and generating the first number.
+     * The cells the last game filled are reported as changed.
      */
     @Override
     public void startNewGame()
     {
-        Arrays.fill(gridValues, EMPTY_VALUE);
+        for (int i = 0; i < cellCount; i++)
+        {
+            if (gridValues[i] != EMPTY_VALUE)
+            {
+                gridValues[i] = EMPTY_VALUE;
+                markDirty(i);
+            }
+        }
+
+        placement.reset(gridValues);
         successfulPlacements = EMPTY_VALUE;
         currentNumber        = nextRandomNumber();
         onNumberUpdated(currentNumber);
-        onGridUpdated(gridValues);
+        notifyGridChanged();
     }
 
     /**
-     * Generates the next random number between a lower bound and an upperbound inclusive.
+     * Generates the next random number from the lower bound, inclusive, to the upper bound, exclusive.
      *
      * @return the generated random number
      */
     protected int nextRandomNumber()
     {
-        return random.nextInt(LOWER_BOUND, UPPER_BOUND);
+        return random.nextInt(lowerBound, upperBound);
     }
 
     /**
@@ -70,14 +191,7 @@ public abstract class AbstractNumberGame implements GridGame
      */
     protected boolean hasValidPlacementFor(final int value)
     {
-        for (int i = 0; i < CELL_COUNT; i++)
-        {
-            if (isValidPlacement(i, value))
-            {
-                return true;
-            }
-        }
-        return false;
+        return placement.hasValidPlacementFor(value);
     }
 
     /**
@@ -90,41 +204,136 @@ public abstract class AbstractNumberGame implements GridGame
     protected boolean isValidPlacement(final int index,
                                        final int value)
     {
-        if (gridValues[index] != EMPTY_VALUE)
-        {
-            return false;
-        }
-
-        int prevValue;
-        int nextValue;
+        return placement.isValidPlacement(index, value);
+    }
 
-        prevValue = Integer.MIN_VALUE;
-        nextValue = Integer.MAX_VALUE;
+    /**
+     * Writes a value to an empty cell and tells the placement strategy.
+     *
+     * @param index the index of the cell
+     * @param value the value to place
+     */
+    protected void placeNumber(final int index,
+                               final int value)
+    {
+        gridValues[index] = value;
+        placement.placed(index);
+        markDirty(index);
+    }
 
-        // find previous filled cell
-        for (int i = index - 1; i >= EMPTY_VALUE; i--)
+    /*
+    Adds a cell to the cells changed since the last notification, once
+     */
+    private void markDirty(final int index)
+    {
+        if (!dirty.get(index))
         {
-            if (gridValues[i] != EMPTY_VALUE)
-            {
-                prevValue = gridValues[i];
-                break;
-            }
+            dirty.set(index);
+            dirtyCells[dirtyCount] = index;
+            dirtyCount++;
         }
+    }
+
+    /**
+     * Reports the cells changed since the last notification through onCellsUpdated,
+     * then starts a new set of changes.
+     */
+    protected void notifyGridChanged()
+    {
+        onCellsUpdated(gridValues, dirtyCells, dirtyCount);
 
-        // find next filled cell
-        for (int i = index + 1; i < CELL_COUNT; i++)
+        for (int i = 0; i < dirtyCount; i++)
         {
-            if (gridValues[i] != EMPTY_VALUE)
-            {
-                nextValue = gridValues[i];
-                break;
-            }
+            dirty.clear(dirtyCells[i]);
         }
 
-        final boolean validPlacement;
-        validPlacement = prevValue <= value && value <= nextValue;
+        dirtyCount = EMPTY_VALUE;
+    }
+
+    /**
+     * Called when cells change, with only the changed cells. By default this hands the whole
+     * grid to onGridUpdated; views that can redraw single cells override it.
+     *
+     * @param gridValues the current grid values
+     * @param dirtyCells the changed cells' indices in its first dirtyCount slots, valid only during the call
+     * @param dirtyCount the number of changed cells
+     */
+    protected void onCellsUpdated(final int[] gridValues,
+                                  final int[] dirtyCells,
+                                  final int dirtyCount)
+    {
+        onGridUpdated(gridValues);
+    }
+
+    /**
+     * Returns the number of rows in the grid.
+     *
+     * @return the row count
+     */
+    public int getRows()
+    {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns in the grid.
+     *
+     * @return the column count
+     */
+    public int getCols()
+    {
+        return cols;
+    }
+
+    /**
+     * Returns the number of cells in the grid.
+     *
+     * @return the cell count
+     */
+    public int getCellCount()
+    {
+        return cellCount;
+    }
+
+    /**
+     * Returns the value in a cell of the grid.
+     *
+     * @param index the index of the cell
+     * @return the cell's value, 0 if it is empty
+     */
+    public int getCellValue(final int index)
+    {
+        return gridValues[index];
+    }
 
-        return validPlacement;
+    /**
+     * Returns the smallest number drawn.
+     *
+     * @return the lower bound, inclusive
+     */
+    public int getLowerBound()
+    {
+        return lowerBound;
+    }
+
+    /**
+     * Returns one more than the largest number drawn.
+     *
+     * @return the upper bound, exclusive
+     */
+    public int getUpperBound()
+    {
+        return upperBound;
+    }
+
+    /**
+     * Returns the number waiting to be placed.
+     *
+     * @return the current number
+     */
+    public int getCurrentNumber()
+    {
+        return currentNumber;
     }
 
     /**
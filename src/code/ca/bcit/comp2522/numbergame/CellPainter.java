@@ -0,0 +1,22 @@
+package ca.bcit.comp2522.numbergame;
+
+/**
+ * Draws one Number Game cell at a position in a GridViewport.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+@FunctionalInterface
+interface CellPainter
+{
+    /**
+     * Draws a cell with its top left corner at the given position.
+     *
+     * @param x     the cell's left edge in the viewport, in pixels
+     * @param y     the cell's top edge in the viewport, in pixels
+     * @param value the cell's value, 0 for an empty cell
+     */
+    void paintCell(final double x,
+                   final double y,
+                   final int value);
+}
@@ -0,0 +1,667 @@
+package ca.bcit.comp2522.numbergame;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Optimal-play solver for the Number Game.
+ *
+ * <p>A board's future depends only on its gaps, the runs of empty cells, and the numbers each
+ * gap can still take. Given that a gap's remaining draws all land in its range, each draw is
+ * uniform over that range and the gaps fill independently, so the chance of winning is a
+ * multinomial product of one probability per gap. That probability depends only on the gap's
+ * length and the count of numbers it accepts, not on where the gap sits or which numbers
+ * bound it, so every position, every shift of the number range and the mirrored board
+ * collapse onto the same (length, width) state. The solver fills a memo table of those states,
+ * indexed by length * (values + 1) + width, layer by layer in parallel.
+ *
+ * <p>A number equal to the boundary two neighbouring gaps share may go in either gap.
+ * The solver commits each such number to whichever gap gives the better chance, so its
+ * probabilities are a lower bound on optimal play that differs from it only when such a
+ * number is drawn; hints still consider both gaps.
+ *
+ * <p>Building the table takes O(cells^2 * values^2) time, about a second on one core for the
+ * default game, and it is kept for the solver's lifetime. A hint is O(cells * gaps) and can be
+ * cut short by a time budget, which makes it cheap enough to call from a UI frame.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public final class ExpectedValueSolver
+{
+    /** Returned by a hint when the value fits nowhere. */
+    public static final int NO_CELL = -1;
+
+    private static final int  EMPTY_VALUE       = 0;
+    private static final int  SINGLE_VALUE      = 1;
+    private static final int  WIDTHS_PER_TASK   = 32;
+    private static final int  HALF              = 2;
+    private static final long MAX_TABLE_ENTRIES = 1L << 24;
+    private static final long UNLIMITED         = Long.MAX_VALUE;
+
+    private final int        cellCount;
+    private final int        lowerBound;
+    private final int        upperBound;
+    private final int        valueCount;
+    private final int        stride;
+    private final double[]   table;
+    private final double[][] binomials;
+    private final double[]   logFactorials;
+
+    /**
+     * Constructs an ExpectedValueSolver for the game's grid size and number range,
+     * building its table on the common fork-join pool.
+     *
+     * @param game the game to solve
+     */
+    public ExpectedValueSolver(final AbstractNumberGame game)
+    {
+        this(game.getCellCount(), game.getLowerBound(), game.getUpperBound(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs an ExpectedValueSolver and builds its table on the given pool.
+     *
+     * @param cellCount  the number of cells, at least 1
+     * @param lowerBound the smallest number drawn, at least 1
+     * @param upperBound one more than the largest number drawn, above lowerBound
+     * @param pool       the pool the table is built on
+     */
+    public ExpectedValueSolver(final int cellCount,
+                               final int lowerBound,
+                               final int upperBound,
+                               final ForkJoinPool pool)
+    {
+        checkCellCount(cellCount);
+        checkBounds(lowerBound, upperBound);
+        checkTableSize(cellCount, upperBound - lowerBound);
+        checkPool(pool);
+
+        this.cellCount     = cellCount;
+        this.lowerBound    = lowerBound;
+        this.upperBound    = upperBound;
+        this.valueCount    = upperBound - lowerBound;
+        this.stride        = valueCount + 1;
+        this.table         = new double[(cellCount + 1) * stride];
+        this.binomials     = buildBinomials(cellCount);
+        this.logFactorials = buildLogFactorials(cellCount);
+
+        buildTable(pool);
+    }
+
+    /*
+    Check if the cell count is below 1, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkCellCount(final int cellCount)
+    {
+        if (cellCount < SINGLE_VALUE)
+        {
+            throw new IllegalArgumentException("Cell count must be at least 1: " + cellCount);
+        }
+    }
+
+    /*
+    Check if the range is empty or includes the empty value 0, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkBounds(final int lowerBound,
+                                    final int upperBound)
+    {
+        if (lowerBound <= EMPTY_VALUE || upperBound <= lowerBound)
+        {
+            throw new IllegalArgumentException("Invalid number range: " + lowerBound + " to " + upperBound);
+        }
+    }
+
+    /*
+    Check if the table would be too large to build, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkTableSize(final int cellCount,
+                                       final int valueCount)
+    {
+        if ((long) (cellCount + 1) * (valueCount + 1) > MAX_TABLE_ENTRIES)
+        {
+            throw new IllegalArgumentException("Game too large to solve: " + cellCount + " cells, "
+                                               + valueCount + " numbers");
+        }
+    }
+
+    /*
+    Check if the pool is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkPool(final ForkJoinPool pool)
+    {
+        if (pool == null)
+        {
+            throw new IllegalArgumentException("Fork-join pool cannot be null");
+        }
+    }
+
+    /*
+    Check if the game has a different size or range than this solver, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkGame(final AbstractNumberGame game)
+    {
+        if (game == null)
+        {
+            throw new IllegalArgumentException("Game cannot be null");
+        }
+
+        if (game.getCellCount() != cellCount ||
+            game.getLowerBound() != lowerBound ||
+            game.getUpperBound() != upperBound)
+        {
+            throw new IllegalArgumentException("Game does not match the solver's grid size and number range");
+        }
+    }
+
+    /*
+    Pascal's triangle up to n, as doubles
+     */
+    private static double[][] buildBinomials(final int n)
+    {
+        final double[][] binomials;
+        binomials = new double[n + 1][];
+
+        for (int i = 0; i <= n; i++)
+        {
+            binomials[i]    = new double[i + 1];
+            binomials[i][0] = 1;
+            binomials[i][i] = 1;
+
+            for (int k = 1; k < i; k++)
+            {
+                binomials[i][k] = binomials[i - 1][k - 1] + binomials[i - 1][k];
+            }
+        }
+
+        return binomials;
+    }
+
+    /*
+    ln(i!) for i up to n
+     */
+    private static double[] buildLogFactorials(final int n)
+    {
+        final double[] logFactorials;
+        logFactorials = new double[n + 1];
+
+        for (int i = 1; i <= n; i++)
+        {
+            logFactorials[i] = logFactorials[i - 1] + Math.log(i);
+        }
+
+        return logFactorials;
+    }
+
+    /*
+    Fills the table one gap length at a time; each layer only reads shorter gaps,
+    so the widths of a layer are solved in parallel
+     */
+    private void buildTable(final ForkJoinPool pool)
+    {
+        for (int width = 0; width <= valueCount; width++)
+        {
+            table[width] = 1;
+        }
+
+        for (int length = 1; length <= cellCount; length++)
+        {
+            pool.invoke(new LayerTask(this, length, SINGLE_VALUE, stride));
+        }
+    }
+
+    /*
+    Solves one gap: the first number drawn splits it into the cells left and right of where
+    it goes. The left part takes the numbers up to it and the right part the numbers after it,
+    or the number itself goes to the right part, whichever is better. The best split is kept
+    for every number, and the gap's probability is their average.
+     */
+    private double solveGap(final int length,
+                            final int width,
+                            final double[] splits,
+                            final double[] belowPowers,
+                            final double[] abovePowers)
+    {
+        double total;
+        total = 0;
+
+        for (int below = 0; below <= width; below++)
+        {
+            splits[below] = bestSplit(length - 1, below, width - below, belowPowers, abovePowers);
+        }
+
+        for (int below = 1; below <= width; below++)
+        {
+            total += Math.max(splits[below], splits[below - 1]);
+        }
+
+        return total / width;
+    }
+
+    /*
+    The chance of filling both parts of a split gap from the remaining draws, with the
+    remaining cells divided between the parts in the best way
+     */
+    private double bestSplit(final int remaining,
+                             final int below,
+                             final int above,
+                             final double[] belowPowers,
+                             final double[] abovePowers)
+    {
+        final double belowShare;
+        final double aboveShare;
+        double best;
+
+        belowShare = (double) below / (below + above);
+        aboveShare = (double) above / (below + above);
+        best       = 0;
+
+        belowPowers[0] = 1;
+        abovePowers[0] = 1;
+
+        for (int i = 1; i <= remaining; i++)
+        {
+            belowPowers[i] = belowPowers[i - 1] * belowShare;
+            abovePowers[i] = abovePowers[i - 1] * aboveShare;
+        }
+
+        for (int left = 0; left <= remaining; left++)
+        {
+            final int right;
+            final double chance;
+
+            right  = remaining - left;
+            chance = binomials[remaining][left] * belowPowers[left] * abovePowers[right]
+                     * table[left * stride + below] * table[right * stride + above];
+
+            best = Math.max(best, chance);
+        }
+
+        return best;
+    }
+
+    /**
+     * Returns the chance of winning a new game with optimal play.
+     *
+     * @return the win probability, between 0 and 1
+     */
+    public double getWinProbability()
+    {
+        return table[cellCount * stride + valueCount];
+    }
+
+    /**
+     * Returns the chance of winning the game from its current board and number,
+     * placing every number optimally from here on.
+     *
+     * @param game a game with this solver's grid size and number range
+     * @return the win probability, 0 if the current number fits nowhere
+     */
+    public double winProbability(final AbstractNumberGame game)
+    {
+        checkGame(game);
+
+        final Move best;
+        best = search(game, game.getCurrentNumber(), UNLIMITED);
+
+        if (best.cell == NO_CELL)
+        {
+            return 0;
+        }
+
+        return Math.exp(best.logChance);
+    }
+
+    /**
+     * Returns the best cell for the game's current number.
+     *
+     * @param game        a game with this solver's grid size and number range
+     * @param budgetNanos how long the search may take; when it runs out the best cell found so far is returned
+     * @return the index of the best cell found, or NO_CELL if the number fits nowhere
+     */
+    public int hint(final AbstractNumberGame game,
+                    final long budgetNanos)
+    {
+        return hint(game, game.getCurrentNumber(), budgetNanos);
+    }
+
+    /**
+     * Returns the best cell for a value on the game's current board.
+     *
+     * @param game        a game with this solver's grid size and number range
+     * @param value       the number to place
+     * @param budgetNanos how long the search may take; when it runs out the best cell found so far is returned
+     * @return the index of the best cell found, or NO_CELL if the value fits nowhere
+     */
+    public int hint(final AbstractNumberGame game,
+                    final int value,
+                    final long budgetNanos)
+    {
+        checkGame(game);
+
+        return search(game, value, budgetNanos).cell;
+    }
+
+    /*
+    Tries the value in every cell of every gap that accepts it and keeps the move leaving the
+    most likely board. Stops early once the budget runs out, but always returns a valid cell
+    if there is one.
+     */
+    private Move search(final AbstractNumberGame game,
+                        final int value,
+                        final long budgetNanos)
+    {
+        final long start;
+        final Gaps board;
+        final Gaps candidate;
+        final Move best;
+
+        start     = System.nanoTime();
+        board     = findGaps(game);
+        candidate = new Gaps(board.count + 1);
+        best      = new Move();
+
+        for (int gap = 0; gap < board.count; gap++)
+        {
+            if (value < board.lows[gap] || value > board.highs[gap])
+            {
+                continue;
+            }
+
+            for (int left = 0; left < board.lengths[gap]; left++)
+            {
+                if (best.cell != NO_CELL && System.nanoTime() - start > budgetNanos)
+                {
+                    return best;
+                }
+
+                final double logChance;
+
+                board.splitInto(candidate, gap, left, value);
+                logChance = logWinChance(candidate);
+
+                if (best.cell == NO_CELL || logChance > best.logChance)
+                {
+                    best.cell      = board.starts[gap] + left;
+                    best.logChance = logChance;
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /*
+    Collects the runs of empty cells with the numbers each accepts
+     */
+    private Gaps findGaps(final AbstractNumberGame game)
+    {
+        final Gaps gaps;
+        int        previous;
+        int        start;
+
+        gaps     = new Gaps(cellCount);
+        previous = lowerBound;
+        start    = 0;
+
+        while (start < cellCount)
+        {
+            if (game.getCellValue(start) != EMPTY_VALUE)
+            {
+                previous = game.getCellValue(start);
+                start++;
+                continue;
+            }
+
+            int end;
+            end = start;
+
+            while (end < cellCount && game.getCellValue(end) == EMPTY_VALUE)
+            {
+                end++;
+            }
+
+            gaps.add(start, end - start, previous, end < cellCount ? game.getCellValue(end) : upperBound - 1);
+            start = end;
+        }
+
+        return gaps;
+    }
+
+    /*
+    ln of the chance of filling every gap before the next number is drawn:
+    the multinomial chance of each gap drawing exactly as many numbers as it has cells,
+    times each gap's chance of being filled by them. A number shared by two neighbouring
+    gaps is counted for one of them; a pass along the gaps picks the better side for each.
+     */
+    private double logWinChance(final Gaps gaps)
+    {
+        double keptLeft;
+        double lostLeft;
+        int    cells;
+
+        // best ln chance of the gaps so far, for the next gap keeping or losing its shared left number
+        keptLeft = 0;
+        lostLeft = Double.NEGATIVE_INFINITY;
+        cells    = 0;
+
+        for (int i = 0; i < gaps.count; i++)
+        {
+            final int length;
+            final int width;
+
+            length = gaps.lengths[i];
+            width  = gaps.width(i);
+            cells += length;
+
+            if (i + 1 < gaps.count && gaps.highs[i] == gaps.lows[i + 1])
+            {
+                final double keep;
+                final double give;
+
+                keep = Math.max(keptLeft + logGapChance(length, width),
+                                lostLeft + logGapChance(length, width - 1));
+                give = Math.max(keptLeft + logGapChance(length, width - 1),
+                                lostLeft + logGapChance(length, width - 2));
+
+                keptLeft = give;
+                lostLeft = keep;
+            }
+            else
+            {
+                keptLeft = Math.max(keptLeft + logGapChance(length, width),
+                                    lostLeft + logGapChance(length, width - 1));
+                lostLeft = Double.NEGATIVE_INFINITY;
+            }
+        }
+
+        return keptLeft + logFactorials[cells];
+    }
+
+    /*
+    ln of one gap's share of the win chance: its numbers' share of the draws to the power of
+    its length, over length factorial, times its chance of being filled
+     */
+    private double logGapChance(final int length,
+                                final int width)
+    {
+        if (width <= EMPTY_VALUE)
+        {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        return length * Math.log((double) width / valueCount) - logFactorials[length]
+               + Math.log(table[length * stride + width]);
+    }
+
+    /**
+     * The gaps of a board, in cell order, as parallel arrays.
+     */
+    private static final class Gaps
+    {
+        private final int[] starts;
+        private final int[] lengths;
+        private final int[] lows;
+        private final int[] highs;
+        private       int   count;
+
+        /**
+         * Constructs an empty Gaps with room for the given number of gaps.
+         *
+         * @param capacity the most gaps it will hold
+         */
+        Gaps(final int capacity)
+        {
+            starts  = new int[capacity];
+            lengths = new int[capacity];
+            lows    = new int[capacity];
+            highs   = new int[capacity];
+        }
+
+        /**
+         * Appends a gap.
+         *
+         * @param start  the index of its first cell
+         * @param length its number of cells
+         * @param low    the smallest number it accepts
+         * @param high   the largest number it accepts
+         */
+        void add(final int start,
+                 final int length,
+                 final int low,
+                 final int high)
+        {
+            starts[count]  = start;
+            lengths[count] = length;
+            lows[count]    = low;
+            highs[count]   = high;
+            count++;
+        }
+
+        /**
+         * Returns how many numbers a gap accepts.
+         *
+         * @param index the gap
+         * @return the width of its range
+         */
+        int width(final int index)
+        {
+            return highs[index] - lows[index] + 1;
+        }
+
+        /**
+         * Writes this board into target with the value placed in a gap, splitting the gap
+         * into the cells left and right of it; empty halves are dropped.
+         *
+         * @param target the gaps to overwrite
+         * @param gap    the gap the value goes in
+         * @param left   the number of the gap's cells left of the value
+         * @param value  the value placed
+         */
+        void splitInto(final Gaps target,
+                       final int gap,
+                       final int left,
+                       final int value)
+        {
+            final int right;
+            right        = lengths[gap] - 1 - left;
+            target.count = 0;
+
+            for (int i = 0; i < count; i++)
+            {
+                if (i != gap)
+                {
+                    target.add(starts[i], lengths[i], lows[i], highs[i]);
+                    continue;
+                }
+
+                if (left > 0)
+                {
+                    target.add(starts[i], left, lows[i], value);
+                }
+
+                if (right > 0)
+                {
+                    target.add(starts[i] + left + 1, right, value, highs[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * The best move found by a search.
+     */
+    private static final class Move
+    {
+        private int    cell      = NO_CELL;
+        private double logChance = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Fork-join action that solves one gap length for a range of widths, halving the range
+     * until it is small enough to solve directly.
+     */
+    private static final class LayerTask extends RecursiveAction
+    {
+        private final ExpectedValueSolver solver;
+        private final int                 length;
+        private final int                 from;
+        private final int                 to;
+
+        /**
+         * Constructs a LayerTask over widths [from, to).
+         *
+         * @param solver the solver whose table is filled
+         * @param length the gap length being solved
+         * @param from   the first width, inclusive
+         * @param to     the last width, exclusive
+         */
+        LayerTask(final ExpectedValueSolver solver,
+                  final int length,
+                  final int from,
+                  final int to)
+        {
+            this.solver = solver;
+            this.length = length;
+            this.from   = from;
+            this.to     = to;
+        }
+
+        /**
+         * Solves this task's widths.
+         */
+        @Override
+        protected void compute()
+        {
+            if (to - from <= WIDTHS_PER_TASK)
+            {
+                final double[] splits;
+                final double[] belowPowers;
+                final double[] abovePowers;
+
+                splits      = new double[to];
+                belowPowers = new double[length];
+                abovePowers = new double[length];
+
+                for (int width = from; width < to; width++)
+                {
+                    solver.table[length * solver.stride + width] = solver.solveGap(length, width, splits,
+                                                                                   belowPowers, abovePowers);
+                }
+
+                return;
+            }
+
+            final int middle;
+            middle = from + (to - from) / HALF;
+
+            invokeAll(new LayerTask(solver, length, from, middle),
+                      new LayerTask(solver, length, middle, to));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ca.bcit.comp2522.numbergame;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Placement policy that keeps the gaps between placed numbers as even as possible.
+ * A cell splits its run of empty cells in two; the policy picks the valid cell where the
+ * larger of the two "numbers still possible per empty cell" ratios is smallest, so no
+ * stretch of the grid is left with a range too narrow for the cells it has to fill.
+ * Ties go to the leftmost cell.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class GreedyGapPolicy implements PlacementPolicy
+{
+    private static final int EMPTY    = 0;
+    private static final int NO_CELL  = -1;
+    private static final int ONE_SLOT = 1;
+
+    /**
+     * Returns the valid cell that leaves the most even gaps on either side.
+     *
+     * @param game  the game being played
+     * @param value the number to place
+     * @param rng   unused
+     * @return the index of the chosen cell
+     */
+    @Override
+    public int chooseCell(final AbstractNumberGame game,
+                          final int value,
+                          final RandomGenerator rng)
+    {
+        final int cellCount;
+        int       best;
+        double    bestCost;
+        int       previous;
+        int       start;
+
+        cellCount = game.getCellCount();
+        best      = NO_CELL;
+        bestCost  = Double.MAX_VALUE;
+        previous  = game.getLowerBound() - ONE_SLOT;
+        start     = 0;
+
+        while (start < cellCount)
+        {
+            if (game.getCellValue(start) != EMPTY)
+            {
+                previous = game.getCellValue(start);
+                start++;
+                continue;
+            }
+
+            int end;
+            end = start;
+
+            while (end < cellCount && game.getCellValue(end) == EMPTY)
+            {
+                end++;
+            }
+
+            // every cell in a run of empty cells shares the same neighbours, so one check covers the run
+            if (game.isValidPlacement(start, value))
+            {
+                final int next;
+                final int belowRange;
+                final int aboveRange;
+
+                next       = end < cellCount ? game.getCellValue(end) : game.getUpperBound();
+                belowRange = value - previous;
+                aboveRange = next - value;
+
+                for (int cell = start; cell < end; cell++)
+                {
+                    final double cost;
+                    cost = Math.max((double) belowRange / (cell - start + ONE_SLOT),
+                                    (double) aboveRange / (end - cell));
+
+                    if (cost < bestCost)
+                    {
+                        best     = cell;
+                        bestCost = cost;
+                    }
+                }
+            }
+
+            start = end;
+        }
+
+        if (best == NO_CELL)
+        {
+            throw new IllegalStateException("No valid cell for " + value);
+        }
+
+        return best;
+    }
+
+    /**
+     * Returns the policy's name for reports.
+     *
+     * @return "greedy"
+     */
+    @Override
+    public String toString()
+    {
+        return "greedy";
+    }
+}
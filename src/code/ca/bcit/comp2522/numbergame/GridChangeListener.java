@@ -0,0 +1,24 @@
+package ca.bcit.comp2522.numbergame;
+
+/**
+ * Receives the cells of a Number Game grid that changed since the last notification,
+ * so a view can redraw only those cells instead of the whole grid.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface GridChangeListener
+{
+    /**
+     * Called after cells change. The dirty cell array is reused by the game, so it is only
+     * valid until this method returns.
+     *
+     * @param gridValues the current grid values, 0 for an empty cell
+     * @param dirtyCells the indices of the changed cells in its first dirtyCount slots, each listed once
+     * @param dirtyCount the number of changed cells
+     */
+    void cellsChanged(final int[] gridValues,
+                      final int[] dirtyCells,
+                      final int dirtyCount);
+}
@@ -0,0 +1,269 @@
+package ca.bcit.comp2522.numbergame;
+
+/**
+ * The part of a Number Game grid shown on screen: a window of whole cells that scrolls over
+ * a grid of any size. It places cells in the window, maps clicks back to cells, and paints
+ * only the cells in view, so drawing costs the same on a 4 by 5 grid as on a 1000 by 1000 one.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+final class GridViewport
+{
+    static final int NO_CELL = -1;
+
+    private static final int NONE = 0;
+
+    private final int rows;
+    private final int cols;
+    private final int visibleRows;
+    private final int visibleCols;
+    private final int cellWidth;
+    private final int cellHeight;
+    private final int columnPitch;
+    private final int rowPitch;
+
+    private int firstRow;
+    private int firstCol;
+
+    /**
+     * Constructs a GridViewport showing the top left corner of the grid.
+     *
+     * @param rows           the number of rows in the grid, at least 1
+     * @param cols           the number of columns in the grid, at least 1
+     * @param maxVisibleRows the most rows shown at once, at least 1
+     * @param maxVisibleCols the most columns shown at once, at least 1
+     * @param cellWidth      the width of a cell in pixels, at least 1
+     * @param cellHeight     the height of a cell in pixels, at least 1
+     * @param cellGap        the space between cells in pixels, not negative
+     */
+    GridViewport(final int rows,
+                 final int cols,
+                 final int maxVisibleRows,
+                 final int maxVisibleCols,
+                 final int cellWidth,
+                 final int cellHeight,
+                 final int cellGap)
+    {
+        checkPositive(rows);
+        checkPositive(cols);
+        checkPositive(maxVisibleRows);
+        checkPositive(maxVisibleCols);
+        checkPositive(cellWidth);
+        checkPositive(cellHeight);
+        checkGap(cellGap);
+
+        this.rows        = rows;
+        this.cols        = cols;
+        this.visibleRows = Math.min(rows, maxVisibleRows);
+        this.visibleCols = Math.min(cols, maxVisibleCols);
+        this.cellWidth   = cellWidth;
+        this.cellHeight  = cellHeight;
+        this.columnPitch = cellWidth + cellGap;
+        this.rowPitch    = cellHeight + cellGap;
+    }
+
+    /*
+    Check if a size is below 1, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkPositive(final int size)
+    {
+        if (size <= NONE)
+        {
+            throw new IllegalArgumentException("Viewport sizes must be at least 1: " + size);
+        }
+    }
+
+    /*
+    Check if the gap is negative, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkGap(final int cellGap)
+    {
+        if (cellGap < NONE)
+        {
+            throw new IllegalArgumentException("Cell gap cannot be negative: " + cellGap);
+        }
+    }
+
+    /**
+     * Returns the width of the window in pixels.
+     *
+     * @return the window width
+     */
+    double getWidth()
+    {
+        return (double) visibleCols * columnPitch;
+    }
+
+    /**
+     * Returns the height of the window in pixels.
+     *
+     * @return the window height
+     */
+    double getHeight()
+    {
+        return (double) visibleRows * rowPitch;
+    }
+
+    /**
+     * Returns the number of rows shown at once.
+     *
+     * @return the visible row count
+     */
+    int getVisibleRows()
+    {
+        return visibleRows;
+    }
+
+    /**
+     * Returns the number of columns shown at once.
+     *
+     * @return the visible column count
+     */
+    int getVisibleCols()
+    {
+        return visibleCols;
+    }
+
+    /**
+     * Returns the first row in view.
+     *
+     * @return the top row's index
+     */
+    int getFirstRow()
+    {
+        return firstRow;
+    }
+
+    /**
+     * Returns the first column in view.
+     *
+     * @return the left column's index
+     */
+    int getFirstCol()
+    {
+        return firstCol;
+    }
+
+    /**
+     * Returns the last row the window can start at.
+     *
+     * @return the largest first row, 0 if every row fits
+     */
+    int getMaxFirstRow()
+    {
+        return rows - visibleRows;
+    }
+
+    /**
+     * Returns the last column the window can start at.
+     *
+     * @return the largest first column, 0 if every column fits
+     */
+    int getMaxFirstCol()
+    {
+        return cols - visibleCols;
+    }
+
+    /**
+     * Moves the window so the given row and column are its top left cell,
+     * keeping it inside the grid.
+     *
+     * @param row the new first row
+     * @param col the new first column
+     */
+    void scrollTo(final int row,
+                  final int col)
+    {
+        firstRow = Math.max(NONE, Math.min(row, getMaxFirstRow()));
+        firstCol = Math.max(NONE, Math.min(col, getMaxFirstCol()));
+    }
+
+    /**
+     * Returns the cell under a point in the window.
+     *
+     * @param x the point's distance from the window's left edge, in pixels
+     * @param y the point's distance from the window's top edge, in pixels
+     * @return the cell's index, or NO_CELL if the point is outside the cells or between them
+     */
+    int cellAt(final double x,
+               final double y)
+    {
+        if (x < NONE || y < NONE || x >= getWidth() || y >= getHeight())
+        {
+            return NO_CELL;
+        }
+
+        final int windowCol;
+        final int windowRow;
+
+        windowCol = (int) x / columnPitch;
+        windowRow = (int) y / rowPitch;
+
+        if (x - windowCol * columnPitch >= cellWidth || y - windowRow * rowPitch >= cellHeight)
+        {
+            return NO_CELL;
+        }
+
+        return (firstRow + windowRow) * cols + firstCol + windowCol;
+    }
+
+    /**
+     * Paints every cell in view.
+     *
+     * @param game    the game whose cells are shown
+     * @param painter draws each cell
+     */
+    void paintVisible(final AbstractNumberGame game,
+                      final CellPainter painter)
+    {
+        for (int row = 0; row < visibleRows; row++)
+        {
+            for (int col = 0; col < visibleCols; col++)
+            {
+                painter.paintCell(col * columnPitch,
+                                  row * rowPitch,
+                                  game.getCellValue((firstRow + row) * cols + firstCol + col));
+            }
+        }
+    }
+
+    /**
+     * Paints the given cells that are in view and skips the rest.
+     *
+     * @param game    the game whose cells are shown
+     * @param cells   the indices of the cells to paint in the first count slots
+     * @param count   the number of cells
+     * @param painter draws each cell
+     * @return the number of cells painted
+     */
+    int paintCells(final AbstractNumberGame game,
+                   final int[] cells,
+                   final int count,
+                   final CellPainter painter)
+    {
+        int painted;
+        painted = NONE;
+
+        for (int i = 0; i < count; i++)
+        {
+            final int index;
+            final int row;
+            final int col;
+
+            index = cells[i];
+            row   = index / cols - firstRow;
+            col   = index % cols - firstCol;
+
+            if (row >= NONE && row < visibleRows && col >= NONE && col < visibleCols)
+            {
+                painter.paintCell(col * columnPitch, row * rowPitch, game.getCellValue(index));
+                painted++;
+            }
+        }
+
+        return painted;
+    }
+}
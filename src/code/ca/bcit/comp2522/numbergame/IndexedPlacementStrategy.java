@@ -0,0 +1,172 @@
+package ca.bcit.comp2522.numbergame;
+
+import java.util.BitSet;
+
+/**
+ * Placement check over a BitSet of the filled cells, answering with nearest-set-bit queries
+ * instead of scanning the grid.
+ *
+ * <p>A cell's filled neighbours are its previous and next set bits, so checking one cell
+ * costs a couple of word scans. Every placement is valid, so the filled values never
+ * decrease from left to right. A value therefore fits exactly the empty cells after the
+ * last filled value below it and before the first filled value above it. Two binary
+ * searches find those two cells, and one nextClearBit query says whether any cell
+ * between them is empty. Gives the same answers as the ScanPlacementStrategy for any
+ * grid filled through valid placements.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class IndexedPlacementStrategy implements PlacementStrategy
+{
+    private static final int EMPTY_VALUE = 0;
+    private static final int NOT_FOUND   = -1;
+    private static final int HALF        = 2;
+
+    private int[]  gridValues;
+    private BitSet filled;
+
+    /**
+     * Indexes the filled cells of the given grid.
+     *
+     * @param gridValues the grid, 0 for an empty cell
+     */
+    @Override
+    public void reset(final int[] gridValues)
+    {
+        this.gridValues = gridValues;
+        this.filled     = new BitSet(gridValues.length);
+
+        for (int i = 0; i < gridValues.length; i++)
+        {
+            if (gridValues[i] != EMPTY_VALUE)
+            {
+                filled.set(i);
+            }
+        }
+    }
+
+    /**
+     * Marks the cell as filled.
+     *
+     * @param index the index of the filled cell
+     */
+    @Override
+    public void placed(final int index)
+    {
+        filled.set(index);
+    }
+
+    /**
+     * Checks if placing a value at a specific index is valid according to game rules.
+     *
+     * @param index the index to check
+     * @param value the value to place
+     * @return true if the placement is valid, false otherwise
+     */
+    @Override
+    public boolean isValidPlacement(final int index,
+                                    final int value)
+    {
+        if (filled.get(index))
+        {
+            return false;
+        }
+
+        final int prev;
+        final int next;
+
+        prev = filled.previousSetBit(index - 1);
+        next = filled.nextSetBit(index + 1);
+
+        return (prev == NOT_FOUND || gridValues[prev] <= value) &&
+               (next == NOT_FOUND || value <= gridValues[next]);
+    }
+
+    /**
+     * Checks if there is a valid placement for the given value in the grid,
+     * with a gap query between the cells that bound the value.
+     *
+     * @param value the value to check for valid placement
+     * @return true if there is a valid placement, false otherwise
+     */
+    @Override
+    public boolean hasValidPlacementFor(final int value)
+    {
+        final int lastBelow;
+        final int firstAbove;
+
+        lastBelow  = lastFilledBelow(value);
+        firstAbove = firstFilledAbove(value);
+
+        return filled.nextClearBit(lastBelow + 1) < firstAbove;
+    }
+
+    /*
+    Returns the last filled cell holding less than value, or -1 if none:
+    the last index from which the next filled cell still holds less than value
+     */
+    private int lastFilledBelow(final int value)
+    {
+        int low;
+        int high;
+
+        low  = NOT_FOUND;
+        high = gridValues.length;
+
+        // Invariant: the next filled cell from low holds less than value (or low is -1), not so from high
+        while (high - low > 1)
+        {
+            final int middle;
+            final int next;
+
+            middle = low + (high - low) / HALF;
+            next   = filled.nextSetBit(middle);
+
+            if (next != NOT_FOUND && gridValues[next] < value)
+            {
+                low = middle;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /*
+    Returns the first filled cell holding more than value, or the cell count if none:
+    the first index at which the previous filled cell already holds more than value
+     */
+    private int firstFilledAbove(final int value)
+    {
+        int low;
+        int high;
+
+        low  = NOT_FOUND;
+        high = gridValues.length;
+
+        // Invariant: the previous filled cell from high holds more than value (or high is the count), not so from low
+        while (high - low > 1)
+        {
+            final int middle;
+            final int prev;
+
+            middle = low + (high - low) / HALF;
+            prev   = filled.previousSetBit(middle);
+
+            if (prev != NOT_FOUND && gridValues[prev] > value)
+            {
+                high = middle;
+            }
+            else
+            {
+                low = middle;
+            }
+        }
+
+        return high;
+    }
+}
@@ -0,0 +1,48 @@
+package ca.bcit.comp2522.numbergame;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Placement policy that puts every number in the leftmost valid cell.
+ * The baseline a careless player sets.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class LeftmostPolicy implements PlacementPolicy
+{
+    /**
+     * Returns the first valid cell in index order.
+     *
+     * @param game  the game being played
+     * @param value the number to place
+     * @param rng   unused
+     * @return the index of the leftmost valid cell
+     */
+    @Override
+    public int chooseCell(final AbstractNumberGame game,
+                          final int value,
+                          final RandomGenerator rng)
+    {
+        int index;
+        index = 0;
+
+        while (!game.isValidPlacement(index, value))
+        {
+            index++;
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the policy's name for reports.
+     *
+     * @return "leftmost"
+     */
+    @Override
+    public String toString()
+    {
+        return "leftmost";
+    }
+}
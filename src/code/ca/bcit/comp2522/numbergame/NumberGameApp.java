@@ -1,8 +1,15 @@
 package ca.bcit.comp2522.numbergame;
 
 import javafx.application.Application;
-import javafx.scene.layout.GridPane;
+import javafx.geometry.Orientation;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
 import javafx.stage.Stage;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -13,28 +20,48 @@ import javafx.geometry.Insets;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.ButtonBar;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.Node;
 
 import java.util.Optional;
+import java.util.function.IntConsumer;
 
 /**
  * JavaFX application for the Number Game.
+ * The grid is painted on one Canvas the size of the visible window, with scroll bars when the
+ * grid is larger, so a 1000 by 1000 grid costs no more nodes or drawing than a 4 by 5 one.
  *
  * @author David Martinez
  * @version 1.0
  */
 public class NumberGameApp extends Application
 {
-    private static final int EMPTY             = 0;
-    private static final int BUTTON_PADDING_PX = 10;
-    private static final int CELL_WIDTH_PX = 80;
-    private static final int CELL_HEIGHT_PX = 40;
-    private static final int CELL_GAP_PX = 5;
+    private static final int    EMPTY             = 0;
+    private static final int    BUTTON_PADDING_PX = 10;
+    private static final int    CELL_WIDTH_PX     = 80;
+    private static final int    CELL_HEIGHT_PX    = 40;
+    private static final int    CELL_GAP_PX       = 5;
+    private static final int    SCROLL_STEP       = 1;
+    private static final double HALF              = 2.0;
+    private static final Color  CELL_COLOR        = Color.WHITE;
+    private static final Color  BORDER_COLOR      = Color.GRAY;
+    private static final Color  TEXT_COLOR        = Color.BLACK;
+
+    private static final String EMPTY_CELL_TEXT  = "[]";
+    private static final String ROWS_PROPERTY    = "numbergame.rows";
+    private static final String COLS_PROPERTY    = "numbergame.cols";
+    private static final String MIN_PROPERTY     = "numbergame.min";
+    private static final String MAX_PROPERTY     = "numbergame.max";
+    private static final int    MAX_VISIBLE_ROWS = 10;
+    private static final int    MAX_VISIBLE_COLS = 10;
 
     private Stage primaryStage;
 
-    private Button[] cells;
-    private Label    statusLabel;
-    private Label    nextNumberLabel;
+    private Canvas          canvas;
+    private GraphicsContext graphics;
+    private GridViewport    viewport;
+    private Label           statusLabel;
+    private Label           nextNumberLabel;
 
     private NumberGameFX game;
 
@@ -51,15 +78,14 @@ public class NumberGameApp extends Application
         this.primaryStage = primaryStage;
 
         createGameLabels();
+        initializeGameLogic();
 
-        final GridPane grid;
+        final Node grid;
         final VBox root;
 
         grid = createGrid();
         root = createLayout(grid);
 
-        initializeGameLogic();
-
         final Scene scene;
         scene = new Scene(root);
         primaryStage.setScene(scene);
@@ -93,42 +119,115 @@ public class NumberGameApp extends Application
     }
 
     /**
-     * Creates the grid of buttons for the game.
+     * Creates the canvas the grid is painted on, with scroll bars for a grid larger than
+     * the visible window, and paints the empty grid.
      *
-     * @return the constructed GridPane
+     * @return the node showing the grid
      */
-    private GridPane createGrid()
+    private Node createGrid()
     {
-        final GridPane grid;
-        grid = new GridPane();
-        grid.setHgap(CELL_GAP_PX);
-        grid.setVgap(CELL_GAP_PX);
-
-        cells = new Button[AbstractNumberGame.CELL_COUNT];
+        viewport = new GridViewport(game.getRows(),
+                                    game.getCols(),
+                                    MAX_VISIBLE_ROWS,
+                                    MAX_VISIBLE_COLS,
+                                    CELL_WIDTH_PX,
+                                    CELL_HEIGHT_PX,
+                                    CELL_GAP_PX);
+        canvas   = new Canvas(viewport.getWidth(), viewport.getHeight());
+        graphics = canvas.getGraphicsContext2D();
+
+        graphics.setTextAlign(TextAlignment.CENTER);
+        graphics.setTextBaseline(VPos.CENTER);
+        canvas.setOnMouseClicked(this::handleGridClick);
+
+        final BorderPane pane;
+        pane = new BorderPane(canvas);
+
+        if (viewport.getMaxFirstRow() > EMPTY)
+        {
+            pane.setRight(createScrollBar(Orientation.VERTICAL,
+                                          viewport.getMaxFirstRow(),
+                                          viewport.getVisibleRows(),
+                                          row -> scrollGrid(row, viewport.getFirstCol())));
+        }
 
-        for (int i = 0; i < AbstractNumberGame.CELL_COUNT; i++)
+        if (viewport.getMaxFirstCol() > EMPTY)
         {
-            final Button btn;
-            btn = new Button("[]");
-            btn.setPrefSize(CELL_WIDTH_PX, CELL_HEIGHT_PX);
+            pane.setBottom(createScrollBar(Orientation.HORIZONTAL,
+                                           viewport.getMaxFirstCol(),
+                                           viewport.getVisibleCols(),
+                                           col -> scrollGrid(viewport.getFirstRow(), col)));
+        }
 
-            final int finalI = i;
-            btn.setOnAction(e -> game.handleCellClick(finalI));
+        paintVisibleCells();
 
-            cells[i] = btn;
-            grid.add(btn, i % AbstractNumberGame.COLS, i / AbstractNumberGame.COLS);
-        }
+        return pane;
+    }
+
+    /**
+     * Creates a scroll bar that moves the grid window one row or column per step.
+     *
+     * @param orientation  whether the bar scrolls rows or columns
+     * @param maxFirst     the last row or column the window can start at
+     * @param visibleCount the number of rows or columns shown at once
+     * @param onScroll     called with the new first row or column
+     * @return the constructed scroll bar
+     */
+    private ScrollBar createScrollBar(final Orientation orientation,
+                                      final int maxFirst,
+                                      final int visibleCount,
+                                      final IntConsumer onScroll)
+    {
+        final ScrollBar bar;
+        bar = new ScrollBar();
+
+        bar.setOrientation(orientation);
+        bar.setMin(EMPTY);
+        bar.setMax(maxFirst);
+        bar.setVisibleAmount(visibleCount);
+        bar.setUnitIncrement(SCROLL_STEP);
+        bar.setBlockIncrement(visibleCount);
+        bar.valueProperty().addListener(observable -> onScroll.accept((int) Math.round(bar.getValue())));
+
+        return bar;
+    }
 
-        return grid;
+    /**
+     * Moves the grid window and repaints it.
+     *
+     * @param row the new first row
+     * @param col the new first column
+     */
+    private void scrollGrid(final int row,
+                            final int col)
+    {
+        viewport.scrollTo(row, col);
+        paintVisibleCells();
+    }
+
+    /**
+     * Passes a click on the canvas to the game as a click on the cell under it.
+     *
+     * @param event the mouse click
+     */
+    private void handleGridClick(final MouseEvent event)
+    {
+        final int index;
+        index = viewport.cellAt(event.getX(), event.getY());
+
+        if (index != GridViewport.NO_CELL)
+        {
+            game.handleCellClick(index);
+        }
     }
 
     /**
      * Creates the main layout of the application.
      *
-     * @param grid the grid pane containing the game cells
+     * @param grid the node showing the game cells
      * @return the constructed VBox layout
      */
-    private VBox createLayout(final GridPane grid)
+    private VBox createLayout(final Node grid)
     {
         final Button tryAgainBtn;
         tryAgainBtn = new Button("Try Again");
@@ -173,36 +272,87 @@ public class NumberGameApp extends Application
 
     /**
      * Initializes the game logic and sets up UI callbacks.
+     * The grid size and number range come from the "numbergame.rows", "numbergame.cols",
+     * "numbergame.min" and "numbergame.max" system properties, defaulting to 4 by 5 and 1 to 1000.
      */
     private void initializeGameLogic()
     {
-        game = new NumberGameFX();
-        game.setUi(this::updateGrid,
+        final int rows;
+        final int cols;
+        final int min;
+        final int max;
+
+        rows = Integer.getInteger(ROWS_PROPERTY, AbstractNumberGame.DEFAULT_ROWS);
+        cols = Integer.getInteger(COLS_PROPERTY, AbstractNumberGame.DEFAULT_COLS);
+        min  = Integer.getInteger(MIN_PROPERTY, AbstractNumberGame.DEFAULT_LOWER_BOUND);
+        max  = Integer.getInteger(MAX_PROPERTY, AbstractNumberGame.DEFAULT_UPPER_BOUND - 1);
+
+        checkMax(max);
+
+        game = new NumberGameFX(rows,
+                                cols,
+                                min,
+                                max + 1,
+                                AbstractNumberGame.selectPlacementStrategy());
+        game.setUi(this::renderChangedCells,
                    this::updateNumber,
                    this::handleGameOver);
     }
 
+    /*
+    Check if max is the largest int, so the exclusive upper bound max + 1 would overflow, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkMax(final int max)
+    {
+        if (max == Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException(MAX_PROPERTY + " must be below " + Integer.MAX_VALUE);
+        }
+    }
+
     /**
-     * Updates the grid display based on the current grid values.
+     * Repaints only the changed cells that are in view; the rest of the canvas is kept.
      *
      * @param gridValues the current values of the grid cells
+     * @param dirtyCells the indices of the changed cells in the first dirtyCount slots
+     * @param dirtyCount the number of changed cells
      */
-    private void updateGrid(final int[] gridValues)
+    private void renderChangedCells(final int[] gridValues,
+                                    final int[] dirtyCells,
+                                    final int dirtyCount)
     {
-        for (int i = 0; i < gridValues.length; i++)
-        {
-            final int value;
-            value = gridValues[i];
+        viewport.paintCells(game, dirtyCells, dirtyCount, this::paintCell);
+    }
 
-            if (value == EMPTY)
-            {
-                cells[i].setText("[]");
-            }
-            else
-            {
-                cells[i].setText(String.valueOf(value));
-            }
-        }
+    /**
+     * Clears the canvas and paints every cell in view.
+     */
+    private void paintVisibleCells()
+    {
+        graphics.clearRect(EMPTY, EMPTY, canvas.getWidth(), canvas.getHeight());
+        viewport.paintVisible(game, this::paintCell);
+    }
+
+    /**
+     * Paints one cell as a bordered box with its value, or "[]" if it is empty.
+     *
+     * @param x     the cell's left edge on the canvas
+     * @param y     the cell's top edge on the canvas
+     * @param value the cell's value, 0 for an empty cell
+     */
+    private void paintCell(final double x,
+                           final double y,
+                           final int value)
+    {
+        graphics.setFill(CELL_COLOR);
+        graphics.fillRect(x, y, CELL_WIDTH_PX, CELL_HEIGHT_PX);
+        graphics.setStroke(BORDER_COLOR);
+        graphics.strokeRect(x, y, CELL_WIDTH_PX, CELL_HEIGHT_PX);
+        graphics.setFill(TEXT_COLOR);
+        graphics.fillText(value == EMPTY ? EMPTY_CELL_TEXT : String.valueOf(value),
+                          x + CELL_WIDTH_PX / HALF,
+                          y + CELL_HEIGHT_PX / HALF);
     }
 
     /**
@@ -15,9 +15,47 @@ public class NumberGameFX extends AbstractNumberGame
     private static final int IMPOSSIBLE_NUMBER = -1;
 
     private Consumer<int[]>              gridUpdateConsumer;
+    private GridChangeListener           gridChangeListener;
     private IntConsumer                  numberUpdateConsumer;
     private BiConsumer<Boolean, Integer> gameOverConsumer;
 
+    /**
+     * Constructs a NumberGameFX using the placement strategy named by the
+     * "numbergame.placement" system property.
+     */
+    public NumberGameFX()
+    {
+        super();
+    }
+
+    /**
+     * Constructs a NumberGameFX with the given placement strategy.
+     *
+     * @param placement the strategy that decides where numbers may be placed
+     */
+    public NumberGameFX(final PlacementStrategy placement)
+    {
+        super(placement);
+    }
+
+    /**
+     * Constructs a NumberGameFX with the given grid size and number range.
+     *
+     * @param rows       the number of rows, at least 1
+     * @param cols       the number of columns, at least 1
+     * @param lowerBound the smallest number drawn, at least 1
+     * @param upperBound one more than the largest number drawn, above lowerBound
+     * @param placement  the strategy that decides where numbers may be placed
+     */
+    public NumberGameFX(final int rows,
+                        final int cols,
+                        final int lowerBound,
+                        final int upperBound,
+                        final PlacementStrategy placement)
+    {
+        super(rows, cols, lowerBound, upperBound, placement);
+    }
+
     /**
      * Sets the UI update consumers.
      *
@@ -30,6 +68,24 @@ public class NumberGameFX extends AbstractNumberGame
                       final BiConsumer<Boolean, Integer> gameOverConsumer)
     {
         this.gridUpdateConsumer   = gridUpdateConsumer;
+        this.gridChangeListener   = null;
+        this.numberUpdateConsumer = numberUpdateConsumer;
+        this.gameOverConsumer     = gameOverConsumer;
+    }
+
+    /**
+     * Sets the UI update consumers, with grid updates reporting only the changed cells.
+     *
+     * @param gridChangeListener   listener for the cells changed by each update
+     * @param numberUpdateConsumer consumer for number updates
+     * @param gameOverConsumer     consumer for game over events
+     */
+    public void setUi(final GridChangeListener gridChangeListener,
+                      final IntConsumer numberUpdateConsumer,
+                      final BiConsumer<Boolean, Integer> gameOverConsumer)
+    {
+        this.gridUpdateConsumer   = null;
+        this.gridChangeListener   = gridChangeListener;
         this.numberUpdateConsumer = numberUpdateConsumer;
         this.gameOverConsumer     = gameOverConsumer;
     }
@@ -47,12 +103,12 @@ public class NumberGameFX extends AbstractNumberGame
             return;
         }
 
-        gridValues[index] = currentNumber;
+        placeNumber(index, currentNumber);
         successfulPlacements++;
-        onGridUpdated(gridValues);
+        notifyGridChanged();
 
         // check win
-        if (successfulPlacements == CELL_COUNT)
+        if (successfulPlacements == cellCount)
         {
             final boolean won;
 
@@ -79,6 +135,29 @@ public class NumberGameFX extends AbstractNumberGame
         onNumberUpdated(currentNumber);
     }
 
+    /**
+     * Called when cells change; passes only the changed cells to the grid change listener
+     * if one is set, otherwise the whole grid to the grid update consumer.
+     *
+     * @param gridValues the current grid values
+     * @param dirtyCells the changed cells' indices in its first dirtyCount slots
+     * @param dirtyCount the number of changed cells
+     */
+    @Override
+    protected void onCellsUpdated(final int[] gridValues,
+                                  final int[] dirtyCells,
+                                  final int dirtyCount)
+    {
+        if (gridChangeListener != null)
+        {
+            gridChangeListener.cellsChanged(gridValues, dirtyCells, dirtyCount);
+        }
+        else
+        {
+            super.onCellsUpdated(gridValues, dirtyCells, dirtyCount);
+        }
+    }
+
     /**
      * Called when the grid is updated.
      *
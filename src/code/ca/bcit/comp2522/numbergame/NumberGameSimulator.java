@@ -0,0 +1,470 @@
+package ca.bcit.comp2522.numbergame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Headless driver that plays the Number Game with a placement policy instead of a player.
+ * Games are split across a fork-join pool; each task plays its share on its own game with
+ * its own SplittableRandom split from the seed, so a run is repeatable for a given seed no
+ * matter how many threads play it. The result gives the win rate, how many placements
+ * games lasted, and games per second, for tuning difficulty and measuring the engine.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public final class NumberGameSimulator
+{
+    private static final int    EMPTY_VALUE      = 0;
+    private static final int    MIN_SIDE         = 1;
+    private static final long   GAMES_PER_TASK   = 4_096L;
+    private static final long   HALF             = 2L;
+    private static final int    GAMES_ARG_INDEX  = 0;
+    private static final int    POLICY_ARG_INDEX = 1;
+    private static final int    SEED_ARG_INDEX   = 2;
+    private static final long   DEFAULT_GAMES    = 1_000_000L;
+    private static final long   DEFAULT_SEED     = 2522L;
+    private static final String ALL_POLICIES     = "all";
+    private static final String OPTIMAL_POLICY   = "optimal";
+    private static final double PERCENT          = 100.0;
+    private static final String ROWS_PROPERTY    = "numbergame.rows";
+    private static final String COLS_PROPERTY    = "numbergame.cols";
+    private static final String MIN_PROPERTY     = "numbergame.min";
+    private static final String MAX_PROPERTY     = "numbergame.max";
+
+    private final int                         rows;
+    private final int                         cols;
+    private final int                         lowerBound;
+    private final int                         upperBound;
+    private final Supplier<PlacementStrategy> strategies;
+    private final ForkJoinPool                pool;
+
+    /**
+     * Constructs a NumberGameSimulator for the default 4 by 5 grid with numbers from 1 to 1000,
+     * using the placement strategy named by the "numbergame.placement" system property
+     * and the common fork-join pool.
+     */
+    public NumberGameSimulator()
+    {
+        this(AbstractNumberGame.DEFAULT_ROWS,
+             AbstractNumberGame.DEFAULT_COLS,
+             AbstractNumberGame.DEFAULT_LOWER_BOUND,
+             AbstractNumberGame.DEFAULT_UPPER_BOUND,
+             AbstractNumberGame::selectPlacementStrategy,
+             ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a NumberGameSimulator for the given grid size and number range.
+     *
+     * @param rows       the number of rows, at least 1
+     * @param cols       the number of columns, at least 1
+     * @param lowerBound the smallest number drawn, at least 1
+     * @param upperBound one more than the largest number drawn, above lowerBound
+     * @param strategies makes a placement strategy for each game the simulator creates
+     * @param pool       the pool the games are played on
+     */
+    public NumberGameSimulator(final int rows,
+                               final int cols,
+                               final int lowerBound,
+                               final int upperBound,
+                               final Supplier<PlacementStrategy> strategies,
+                               final ForkJoinPool pool)
+    {
+        checkSide(rows);
+        checkSide(cols);
+        checkCellCount(rows, cols);
+        checkBounds(lowerBound, upperBound);
+        checkStrategies(strategies);
+        checkPool(pool);
+
+        this.rows       = rows;
+        this.cols       = cols;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.strategies = strategies;
+        this.pool       = pool;
+    }
+
+    /*
+    Check if a grid side is too short, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkSide(final int side)
+    {
+        if (side < MIN_SIDE)
+        {
+            throw new IllegalArgumentException("Grid sides must be at least 1: " + side);
+        }
+    }
+
+    /*
+    Check if the grid has more cells than an int can count, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkCellCount(final int rows,
+                                       final int cols)
+    {
+        if ((long) rows * cols > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Grid too large: " + rows + " x " + cols);
+        }
+    }
+
+    /*
+    Check if the number range is empty or includes the empty value 0, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkBounds(final int lowerBound,
+                                    final int upperBound)
+    {
+        if (lowerBound <= EMPTY_VALUE || upperBound <= lowerBound)
+        {
+            throw new IllegalArgumentException("Need 0 < lowerBound < upperBound: " +
+                                               lowerBound + ", " + upperBound);
+        }
+    }
+
+    /*
+    Check if max is the largest int, so the exclusive upper bound max + 1 would overflow, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkMax(final int max)
+    {
+        if (max == Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException(MAX_PROPERTY + " must be below " + Integer.MAX_VALUE);
+        }
+    }
+
+    /*
+    Check if the strategy supplier is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkStrategies(final Supplier<PlacementStrategy> strategies)
+    {
+        if (strategies == null)
+        {
+            throw new IllegalArgumentException("Placement strategy supplier cannot be null");
+        }
+    }
+
+    /*
+    Check if the pool is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkPool(final ForkJoinPool pool)
+    {
+        if (pool == null)
+        {
+            throw new IllegalArgumentException("Fork-join pool cannot be null");
+        }
+    }
+
+    /*
+    Check if the policy is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkPolicy(final PlacementPolicy policy)
+    {
+        if (policy == null)
+        {
+            throw new IllegalArgumentException("Placement policy cannot be null");
+        }
+    }
+
+    /*
+    Check if the game count is negative, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkGames(final long games)
+    {
+        if (games < 0)
+        {
+            throw new IllegalArgumentException("Game count cannot be negative: " + games);
+        }
+    }
+
+    /**
+     * Plays the given number of games with the policy and returns the totals.
+     *
+     * @param policy the policy that chooses every placement
+     * @param games  the number of games to play, at least 0
+     * @param seed   the seed every game's numbers are drawn from
+     * @return the totals, timed from the first game to the last
+     */
+    public SimulationResult simulate(final PlacementPolicy policy,
+                                     final long games,
+                                     final long seed)
+    {
+        checkPolicy(policy);
+        checkGames(games);
+
+        final long start;
+        final SimulationResult result;
+
+        start  = System.nanoTime();
+        result = pool.invoke(new SimulateTask(this, policy, games, new SplittableRandom(seed)));
+        result.setElapsedNanos(System.nanoTime() - start);
+
+        return result;
+    }
+
+    /**
+     * Simulates games and prints a report for each policy.
+     * Arguments: [games=1000000] [policy=leftmost|proportional|greedy|optimal|all] [seed=2522].
+     * The grid size and number range come from the same system properties as the app.
+     *
+     * @param args the optional game count, policy name and seed
+     */
+    public static void main(final String[] args)
+    {
+        final long games;
+        final String policyName;
+        final long seed;
+        final int max;
+        final NumberGameSimulator simulator;
+        final List<PlacementPolicy> policies;
+
+        max = Integer.getInteger(MAX_PROPERTY, AbstractNumberGame.DEFAULT_UPPER_BOUND - 1);
+        checkMax(max);
+
+        games      = args.length > GAMES_ARG_INDEX ? Long.parseLong(args[GAMES_ARG_INDEX]) : DEFAULT_GAMES;
+        policyName = args.length > POLICY_ARG_INDEX ? args[POLICY_ARG_INDEX] : ALL_POLICIES;
+        seed       = args.length > SEED_ARG_INDEX ? Long.parseLong(args[SEED_ARG_INDEX]) : DEFAULT_SEED;
+        simulator  = new NumberGameSimulator(Integer.getInteger(ROWS_PROPERTY, AbstractNumberGame.DEFAULT_ROWS),
+                                             Integer.getInteger(COLS_PROPERTY, AbstractNumberGame.DEFAULT_COLS),
+                                             Integer.getInteger(MIN_PROPERTY, AbstractNumberGame.DEFAULT_LOWER_BOUND),
+                                             max + 1,
+                                             AbstractNumberGame::selectPlacementStrategy,
+                                             ForkJoinPool.commonPool());
+        policies   = simulator.selectPolicies(policyName);
+
+        if (policies.isEmpty())
+        {
+            System.err.println("Unknown policy: " + policyName);
+            return;
+        }
+
+        System.out.printf("%d x %d grid, numbers %d to %d, %d threads%n",
+                          simulator.rows,
+                          simulator.cols,
+                          simulator.lowerBound,
+                          simulator.upperBound - 1,
+                          simulator.pool.getParallelism());
+
+        for (final PlacementPolicy policy : policies)
+        {
+            if (policy instanceof OptimalPolicy)
+            {
+                System.out.printf("optimal play wins %.5f%% of games%n",
+                                  ((OptimalPolicy) policy).getSolver().getWinProbability() * PERCENT);
+            }
+
+            System.out.print(simulator.simulate(policy, games, seed));
+        }
+    }
+
+    /*
+    Returns the policies matching the name, every policy for "all", or none if the name is unknown.
+    The optimal policy's solver is only built when it is asked for.
+     */
+    private List<PlacementPolicy> selectPolicies(final String name)
+    {
+        final String lowerName;
+        final List<PlacementPolicy> all;
+        final List<PlacementPolicy> selected;
+
+        lowerName = name.toLowerCase(Locale.ROOT);
+        all       = new ArrayList<>(List.of(new LeftmostPolicy(), new ProportionalPolicy(), new GreedyGapPolicy()));
+        selected  = new ArrayList<>();
+
+        if (ALL_POLICIES.equals(lowerName) || OPTIMAL_POLICY.equals(lowerName))
+        {
+            all.add(new OptimalPolicy(new ExpectedValueSolver(rows * cols, lowerBound, upperBound, pool)));
+        }
+
+        for (final PlacementPolicy policy : all)
+        {
+            if (ALL_POLICIES.equals(lowerName) || policy.toString().equals(lowerName))
+            {
+                selected.add(policy);
+            }
+        }
+
+        return selected;
+    }
+
+    /**
+     * Number game whose moves come from a policy and whose numbers come from a
+     * SplittableRandom, so one thread can play it without sharing a random source.
+     * The rules are NumberGameFX's own; game over just ends the loop.
+     */
+    private static final class SimulatedGame extends NumberGameFX
+    {
+        private final SplittableRandom rng;
+        private       boolean          over;
+        private       boolean          won;
+
+        /**
+         * Constructs a SimulatedGame.
+         *
+         * @param rows       the number of rows
+         * @param cols       the number of columns
+         * @param lowerBound the smallest number drawn
+         * @param upperBound one more than the largest number drawn
+         * @param placement  the strategy that decides where numbers may be placed
+         * @param rng        the random source the numbers are drawn from
+         */
+        SimulatedGame(final int rows,
+                      final int cols,
+                      final int lowerBound,
+                      final int upperBound,
+                      final PlacementStrategy placement,
+                      final SplittableRandom rng)
+        {
+            super(rows, cols, lowerBound, upperBound, placement);
+            this.rng = rng;
+        }
+
+        /**
+         * Ends the game loop.
+         *
+         * @param gameWon          true if the game was won
+         * @param impossibleNumber the number that could not be placed
+         */
+        @Override
+        protected void onGameOver(final boolean gameWon,
+                                  final int impossibleNumber)
+        {
+            over = true;
+            won  = gameWon;
+        }
+
+        /**
+         * Draws the next number from this game's own random source.
+         *
+         * @return a number in [lowerBound, upperBound)
+         */
+        @Override
+        protected int nextRandomNumber()
+        {
+            return rng.nextInt(lowerBound, upperBound);
+        }
+
+        /**
+         * Plays one game to the end and records it in the result.
+         *
+         * @param policy the policy that chooses every placement
+         * @param result the result the game is recorded in
+         */
+        void play(final PlacementPolicy policy,
+                  final SimulationResult result)
+        {
+            over = false;
+            startNewGame();
+
+            while (!over)
+            {
+                final int cell;
+                cell = policy.chooseCell(this, currentNumber, rng);
+
+                if (!isValidPlacement(cell, currentNumber))
+                {
+                    throw new IllegalStateException(policy + " chose invalid cell " + cell + " for " + currentNumber);
+                }
+
+                handleCellClick(cell);
+            }
+
+            result.recordGame(successfulPlacements, won);
+        }
+    }
+
+    /**
+     * Fork-join task that halves its share of games until it is small enough to play,
+     * giving each half its own split of the random source, then merges the halves' totals.
+     */
+    private static final class SimulateTask extends RecursiveTask<SimulationResult>
+    {
+        private final NumberGameSimulator simulator;
+        private final PlacementPolicy     policy;
+        private final long                games;
+        private final SplittableRandom    rng;
+
+        /**
+         * Constructs a SimulateTask.
+         *
+         * @param simulator the simulator holding the game settings
+         * @param policy    the policy that chooses every placement
+         * @param games     the number of games this task plays
+         * @param rng       the random source owned by this task
+         */
+        SimulateTask(final NumberGameSimulator simulator,
+                     final PlacementPolicy policy,
+                     final long games,
+                     final SplittableRandom rng)
+        {
+            this.simulator = simulator;
+            this.policy    = policy;
+            this.games     = games;
+            this.rng       = rng;
+        }
+
+        /**
+         * Plays this task's games.
+         *
+         * @return the totals for this task's games
+         */
+        @Override
+        protected SimulationResult compute()
+        {
+            if (games <= GAMES_PER_TASK)
+            {
+                return playAll();
+            }
+
+            final SimulateTask left;
+            final SimulateTask right;
+            final SimulationResult result;
+
+            left  = new SimulateTask(simulator, policy, games / HALF, rng.split());
+            right = new SimulateTask(simulator, policy, games - games / HALF, rng);
+
+            left.fork();
+            result = right.compute();
+            result.merge(left.join());
+
+            return result;
+        }
+
+        /*
+        Plays every game of this task on one game instance
+         */
+        private SimulationResult playAll()
+        {
+            final SimulatedGame game;
+            final SimulationResult result;
+
+            game   = new SimulatedGame(simulator.rows,
+                                       simulator.cols,
+                                       simulator.lowerBound,
+                                       simulator.upperBound,
+                                       simulator.strategies.get(),
+                                       rng);
+            result = new SimulationResult(policy.toString(), game.getCellCount());
+
+            for (long i = 0; i < games; i++)
+            {
+                game.play(policy, result);
+            }
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ca.bcit.comp2522.numbergame;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Placement policy that plays the ExpectedValueSolver's hint for every number,
+ * the move that leaves the board most likely to be won.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class OptimalPolicy implements PlacementPolicy
+{
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final ExpectedValueSolver solver;
+
+    /**
+     * Constructs an OptimalPolicy.
+     *
+     * @param solver a solver for the grid size and number range the policy will play
+     */
+    public OptimalPolicy(final ExpectedValueSolver solver)
+    {
+        checkSolver(solver);
+        this.solver = solver;
+    }
+
+    /*
+    Check if the solver is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkSolver(final ExpectedValueSolver solver)
+    {
+        if (solver == null)
+        {
+            throw new IllegalArgumentException("Solver cannot be null");
+        }
+    }
+
+    /**
+     * Returns the solver's best cell for the value, searching every move.
+     *
+     * @param game  the game being played
+     * @param value the number to place
+     * @param rng   unused
+     * @return the index of the best cell
+     */
+    @Override
+    public int chooseCell(final AbstractNumberGame game,
+                          final int value,
+                          final RandomGenerator rng)
+    {
+        return solver.hint(game, value, UNLIMITED);
+    }
+
+    /**
+     * Returns the solver this policy plays.
+     *
+     * @return the solver
+     */
+    public ExpectedValueSolver getSolver()
+    {
+        return solver;
+    }
+
+    /**
+     * Returns the policy's name for reports.
+     *
+     * @return "optimal"
+     */
+    @Override
+    public String toString()
+    {
+        return "optimal";
+    }
+}
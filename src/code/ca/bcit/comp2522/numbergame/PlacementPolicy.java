@@ -0,0 +1,25 @@
+package ca.bcit.comp2522.numbergame;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Chooses where a simulated player puts each number in the Number Game.
+ * Implementations are stateless, so one instance can serve many games on many threads.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public interface PlacementPolicy
+{
+    /**
+     * Chooses a cell for the value. The game guarantees at least one cell is valid.
+     *
+     * @param game  the game being played
+     * @param value the number to place
+     * @param rng   the random source of the thread playing the game
+     * @return the index of a cell where the value is a valid placement
+     */
+    int chooseCell(final AbstractNumberGame game,
+                   final int value,
+                   final RandomGenerator rng);
+}
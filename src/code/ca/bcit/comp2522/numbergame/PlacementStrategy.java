@@ -0,0 +1,45 @@
+package ca.bcit.comp2522.numbergame;
+
+/**
+ * Decides where a number may be placed in the Number Game grid.
+ * A placement is valid on an empty cell whose nearest filled neighbours, to the left and
+ * right in index order, hold values no greater and no smaller than the number.
+ * Implementations may index the grid, so the game tells them about every change.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public interface PlacementStrategy
+{
+    /**
+     * Starts tracking the grid from its current contents, after it was created or cleared.
+     *
+     * @param gridValues the grid, 0 for an empty cell
+     */
+    void reset(final int[] gridValues);
+
+    /**
+     * Records that a value was written to an empty cell of the grid.
+     *
+     * @param index the index of the filled cell
+     */
+    void placed(final int index);
+
+    /**
+     * Checks if placing a value at a specific index is valid according to game rules.
+     *
+     * @param index the index to check
+     * @param value the value to place
+     * @return true if the placement is valid, false otherwise
+     */
+    boolean isValidPlacement(final int index,
+                             final int value);
+
+    /**
+     * Checks if there is a valid placement for the given value anywhere in the grid.
+     *
+     * @param value the value to check for valid placement
+     * @return true if there is a valid placement, false otherwise
+     */
+    boolean hasValidPlacementFor(final int value);
+}
@@ -0,0 +1,68 @@
+package ca.bcit.comp2522.numbergame;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Placement policy that aims each number at the cell matching its place in the number range,
+ * so 1 aims at the first cell and the largest number at the last, then takes the valid cell
+ * nearest that target, the left one on a tie.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class ProportionalPolicy implements PlacementPolicy
+{
+    /**
+     * Returns the valid cell nearest the value's proportional slot.
+     *
+     * @param game  the game being played
+     * @param value the number to place
+     * @param rng   unused
+     * @return the index of the chosen cell
+     */
+    @Override
+    public int chooseCell(final AbstractNumberGame game,
+                          final int value,
+                          final RandomGenerator rng)
+    {
+        final int cellCount;
+        final int lowerBound;
+        final int target;
+
+        cellCount  = game.getCellCount();
+        lowerBound = game.getLowerBound();
+        target     = (int) ((long) (value - lowerBound) * cellCount / (game.getUpperBound() - lowerBound));
+
+        for (int distance = 0; distance < cellCount; distance++)
+        {
+            final int left;
+            final int right;
+
+            left  = target - distance;
+            right = target + distance;
+
+            if (left >= 0 && game.isValidPlacement(left, value))
+            {
+                return left;
+            }
+
+            if (right < cellCount && game.isValidPlacement(right, value))
+            {
+                return right;
+            }
+        }
+
+        throw new IllegalStateException("No valid cell for " + value);
+    }
+
+    /**
+     * Returns the policy's name for reports.
+     *
+     * @return "proportional"
+     */
+    @Override
+    public String toString()
+    {
+        return "proportional";
+    }
+}
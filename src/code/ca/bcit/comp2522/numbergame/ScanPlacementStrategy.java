@@ -0,0 +1,104 @@
+package ca.bcit.comp2522.numbergame;
+
+/**
+ * The original placement check: scans left and right from a cell for its nearest filled
+ * neighbours, and tries every cell in turn to find any valid placement.
+ * A check is O(n) and the search for any valid cell O(n^2) in the number of cells.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class ScanPlacementStrategy implements PlacementStrategy
+{
+    private static final int EMPTY_VALUE = 0;
+
+    private int[] gridValues;
+
+    /**
+     * Starts scanning the given grid.
+     *
+     * @param gridValues the grid, 0 for an empty cell
+     */
+    @Override
+    public void reset(final int[] gridValues)
+    {
+        this.gridValues = gridValues;
+    }
+
+    /**
+     * Does nothing; the grid is scanned afresh for every check.
+     *
+     * @param index the index of the filled cell
+     */
+    @Override
+    public void placed(final int index)
+    {
+    }
+
+    /**
+     * Checks if placing a value at a specific index is valid according to game rules.
+     *
+     * @param index the index to check
+     * @param value the value to place
+     * @return true if the placement is valid, false otherwise
+     */
+    @Override
+    public boolean isValidPlacement(final int index,
+                                    final int value)
+    {
+        if (gridValues[index] != EMPTY_VALUE)
+        {
+            return false;
+        }
+
+        int prevValue;
+        int nextValue;
+
+        prevValue = Integer.MIN_VALUE;
+        nextValue = Integer.MAX_VALUE;
+
+        // find previous filled cell
+        for (int i = index - 1; i >= EMPTY_VALUE; i--)
+        {
+            if (gridValues[i] != EMPTY_VALUE)
+            {
+                prevValue = gridValues[i];
+                break;
+            }
+        }
+
+        // find next filled cell
+        for (int i = index + 1; i < gridValues.length; i++)
+        {
+            if (gridValues[i] != EMPTY_VALUE)
+            {
+                nextValue = gridValues[i];
+                break;
+            }
+        }
+
+        final boolean validPlacement;
+        validPlacement = prevValue <= value && value <= nextValue;
+
+        return validPlacement;
+    }
+
+    /**
+     * Checks if there is a valid placement for the given value in the grid.
+     *
+     * @param value the value to check for valid placement
+     * @return true if there is a valid placement, false otherwise
+     */
+    @Override
+    public boolean hasValidPlacementFor(final int value)
+    {
+        for (int i = 0; i < gridValues.length; i++)
+        {
+            if (isValidPlacement(i, value))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
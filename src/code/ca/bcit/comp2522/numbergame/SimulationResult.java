@@ -0,0 +1,209 @@
+package ca.bcit.comp2522.numbergame;
+
+/**
+ * Totals from a batch of simulated Number Games: how many were played and won,
+ * how many games ended after each number of placements, and how long the batch took.
+ * Each simulation task fills its own result, and the results are merged once the tasks finish.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public final class SimulationResult
+{
+    private static final int    NONE          = 0;
+    private static final double PERCENT       = 100.0;
+    private static final double NANOS_PER_SEC = 1_000_000_000.0;
+    private static final String POLICY_FORMAT = "%-12s games=%,d won=%,d (%.3f%%) mean placements=%.2f %,.0f games/sec%n";
+    private static final String BUCKET_FORMAT = "  %4d placements: %,12d (%6.3f%%)%n";
+
+    private final String policyName;
+    private final long[] placementCounts;
+    private long         games;
+    private long         wins;
+    private long         elapsedNanos;
+
+    /**
+     * Constructs an empty result for games on a grid with the given number of cells.
+     *
+     * @param policyName the name of the placement policy played
+     * @param cellCount  the number of cells, the most placements one game can make
+     */
+    SimulationResult(final String policyName,
+                     final int cellCount)
+    {
+        this.policyName      = policyName;
+        this.placementCounts = new long[cellCount + 1];
+    }
+
+    /**
+     * Records one finished game.
+     *
+     * @param placements the number of numbers placed before the game ended
+     * @param won        true if the game was won
+     */
+    void recordGame(final int placements,
+                    final boolean won)
+    {
+        placementCounts[placements]++;
+        games++;
+
+        if (won)
+        {
+            wins++;
+        }
+    }
+
+    /**
+     * Adds another task's totals into this result.
+     *
+     * @param other a result for the same policy and grid size
+     */
+    void merge(final SimulationResult other)
+    {
+        for (int i = 0; i < placementCounts.length; i++)
+        {
+            placementCounts[i] += other.placementCounts[i];
+        }
+
+        games += other.games;
+        wins  += other.wins;
+    }
+
+    /**
+     * Sets the wall-clock time the whole batch took.
+     *
+     * @param elapsedNanos the elapsed time in nanoseconds
+     */
+    void setElapsedNanos(final long elapsedNanos)
+    {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the name of the placement policy played.
+     *
+     * @return the policy name
+     */
+    public String getPolicyName()
+    {
+        return policyName;
+    }
+
+    /**
+     * Returns the number of games played.
+     *
+     * @return the game count
+     */
+    public long getGames()
+    {
+        return games;
+    }
+
+    /**
+     * Returns the number of games won.
+     *
+     * @return the win count
+     */
+    public long getWins()
+    {
+        return wins;
+    }
+
+    /**
+     * Returns the fraction of games won, 0 if none were played.
+     *
+     * @return the win rate between 0 and 1
+     */
+    public double getWinRate()
+    {
+        if (games == NONE)
+        {
+            return NONE;
+        }
+
+        return (double) wins / games;
+    }
+
+    /**
+     * Returns how many games ended after exactly the given number of placements.
+     *
+     * @param placements the number of placements, from 0 to the grid's cell count
+     * @return the number of games
+     */
+    public long getGamesWithPlacements(final int placements)
+    {
+        return placementCounts[placements];
+    }
+
+    /**
+     * Returns the mean number of placements per game, 0 if none were played.
+     *
+     * @return the mean placements
+     */
+    public double getMeanPlacements()
+    {
+        if (games == NONE)
+        {
+            return NONE;
+        }
+
+        long total;
+        total = NONE;
+
+        for (int i = 0; i < placementCounts.length; i++)
+        {
+            total += placementCounts[i] * i;
+        }
+
+        return (double) total / games;
+    }
+
+    /**
+     * Returns the number of games played per second of wall-clock time, 0 if untimed.
+     *
+     * @return the throughput in games per second
+     */
+    public double getGamesPerSecond()
+    {
+        if (elapsedNanos == NONE)
+        {
+            return NONE;
+        }
+
+        return games * NANOS_PER_SEC / elapsedNanos;
+    }
+
+    /**
+     * Returns a report of the totals, followed by one line for each number of placements
+     * at which some game ended.
+     *
+     * @return the report
+     */
+    @Override
+    public String toString()
+    {
+        final StringBuilder report;
+        report = new StringBuilder();
+
+        report.append(String.format(POLICY_FORMAT,
+                                    policyName,
+                                    games,
+                                    wins,
+                                    getWinRate() * PERCENT,
+                                    getMeanPlacements(),
+                                    getGamesPerSecond()));
+
+        for (int i = 0; i < placementCounts.length; i++)
+        {
+            if (placementCounts[i] != NONE)
+            {
+                report.append(String.format(BUCKET_FORMAT,
+                                            i,
+                                            placementCounts[i],
+                                            placementCounts[i] * PERCENT / games));
+            }
+        }
+
+        return report.toString();
+    }
+}
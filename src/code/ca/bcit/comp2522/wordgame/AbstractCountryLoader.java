@@ -0,0 +1,102 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Abstract base class for country loaders.
+ * Handles the inputs folder checks and file discovery, leaving the parsing to subclasses.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public abstract class AbstractCountryLoader implements CountryLoader
+{
+    protected static final int NUM_OF_FACTS            = 3;
+    protected static final int MIN_NUM_OF_COUNTRY_DATA = 2;
+    protected static final int NONE                    = 0;
+    protected static final int INITIAL_INDEX           = 0;
+    protected static final int CAPITAL_CITY_NAME_INDEX = 1;
+
+    /**
+     * Loads all countries from text files in the specified folder.
+     *
+     * @param inputsPath the path to the folder containing country data files
+     * @return a list of Country objects parsed from the files
+     * @throws IOException if the inputs path is not a directory or cannot be read
+     */
+    @Override
+    public List<Country> loadCountries(final Path inputsPath)
+        throws IOException
+    {
+        // Protect against non-exiting inputs folder
+        if (Files.notExists(inputsPath))
+        {
+            Files.createDirectories(inputsPath);
+            System.err.println("Created inputs folder: " + inputsPath.toAbsolutePath());
+            return new ArrayList<>(); // empty list, nothing to load yet
+        }
+
+        // Protect against non-directory 'inputs' filename
+        if (!Files.isDirectory(inputsPath))
+        {
+            throw new IOException("Input folder is not a directory." + inputsPath.toAbsolutePath());
+        }
+
+        final List<Path> files;
+        files = listInputFiles(inputsPath);
+
+        // Protect against empty inputs directory
+        if (files.isEmpty())
+        {
+            System.out.println("No files were found in the input folder.");
+            return new ArrayList<>();
+        }
+
+        return parseFiles(files);
+    }
+
+    /**
+     * Lists the regular files in the inputs folder, sorted by file name so
+     * every loader sees the corpus in the same order.
+     *
+     * @param inputsPath the path to the folder containing country data files
+     * @return the sorted list of data files
+     * @throws IOException if the folder cannot be listed
+     */
+    protected static List<Path> listInputFiles(final Path inputsPath)
+        throws IOException
+    {
+        final List<Path> files;
+        files = new ArrayList<>();
+
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(inputsPath))
+        {
+            for (final Path file : stream)
+            {
+                if (Files.isRegularFile(file))
+                {
+                    files.add(file);
+                }
+            }
+        }
+
+        files.sort(null);
+
+        return files;
+    }
+
+    /**
+     * Parses every given data file into Country objects, keeping file order.
+     *
+     * @param files the data files to parse
+     * @return a list of Country objects parsed from the files
+     * @throws IOException if a file cannot be read
+     */
+    protected abstract List<Country> parseFiles(final List<Path> files)
+        throws IOException;
+}
@@ -0,0 +1,289 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks questions with a bias towards the ones players get wrong.
+ *
+ * <p>Every country and question type pair is weighted by its smoothed error rate,
+ * (wrong + 1) / (attempts + 2), so an unseen question weighs 1/2, one that is always
+ * answered correctly sinks towards 0 and one that is always missed rises towards 1.
+ * Draws come from an alias table over those weights in constant time. The table is
+ * rebuilt, in linear time, once enough new answers have been recorded since the last build.
+ *
+ * <p>Shared by every session of a process: recording is lock-free, and a stale table
+ * is replaced without locking, so concurrent sessions never wait on each other.
+ * Stats follow the World of the most recently started session; rounds and answers
+ * for any other World fall back to uniform picks and are not recorded.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class AdaptiveDifficulty
+{
+    private static final int    NONE             = 0;
+    private static final int    REBUILD_INTERVAL = 64;
+    private static final int    MAX_DRAWS        = 32;
+    private static final double PRIOR_WRONG      = 1.0;
+    private static final double PRIOR_ATTEMPTS   = 2.0;
+
+    private final Object lock;
+
+    private volatile AnswerStats stats;
+    private volatile WeightTable table;
+
+    /**
+     * Constructs an AdaptiveDifficulty over the given stats.
+     *
+     * @param stats the answer stats to weight questions by
+     */
+    public AdaptiveDifficulty(final AnswerStats stats)
+    {
+        checkStats(stats);
+
+        this.lock  = new Object();
+        this.stats = stats;
+    }
+
+    /*
+    Check if stats is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkStats(final AnswerStats stats)
+    {
+        if (stats == null)
+        {
+            throw new IllegalArgumentException("stats cannot be null");
+        }
+    }
+
+    /**
+     * Returns the stats for the World currently followed.
+     *
+     * @return the current stats
+     */
+    public AnswerStats getStats()
+    {
+        return stats;
+    }
+
+    /**
+     * Makes the stats follow the given World, carrying recorded answers over by
+     * country name if it is not the World already followed.
+     *
+     * @param world the World new rounds will be drawn from
+     */
+    public void useWorld(final World world)
+    {
+        if (stats.getWorld() == world)
+        {
+            return;
+        }
+
+        synchronized (lock)
+        {
+            if (stats.getWorld() != world)
+            {
+                stats = stats.carryOver(world);
+            }
+        }
+    }
+
+    /**
+     * Draws the questions of one round: distinct countries, each with a question type.
+     *
+     * @param world         the World the round is asked from
+     * @param countryIds    receives the country ids
+     * @param questionTypes receives the question types
+     * @param count         the number of questions wanted
+     * @param rng           the random generator to draw with
+     * @return the number of questions drawn, fewer than count if the World is smaller
+     */
+    public int sampleRound(final World world,
+                           final int[] countryIds,
+                           final int[] questionTypes,
+                           final int count,
+                           final RandomGenerator rng)
+    {
+        final AnswerStats current;
+        final int countryCount;
+        final int drawn;
+
+        current      = stats;
+        countryCount = world.size();
+        drawn        = Math.min(count, countryCount);
+
+        if (current.getWorld() != world || countryCount == NONE)
+        {
+            for (int i = 0; i < drawn; i++)
+            {
+                countryIds[i]    = nextUnused(countryIds, i, rng.nextInt(countryCount), countryCount);
+                questionTypes[i] = rng.nextInt(AnswerStats.NUM_QUESTION_TYPES);
+            }
+            return drawn;
+        }
+
+        final AliasTable alias;
+        alias = tableFor(current);
+
+        for (int i = 0; i < drawn; i++)
+        {
+            int cell;
+            int draws;
+
+            cell  = alias.sample(rng);
+            draws = 1;
+
+            while (contains(countryIds, i, cell / AnswerStats.NUM_QUESTION_TYPES) && draws < MAX_DRAWS)
+            {
+                cell = alias.sample(rng);
+                draws++;
+            }
+
+            countryIds[i]    = nextUnused(countryIds, i, cell / AnswerStats.NUM_QUESTION_TYPES, countryCount);
+            questionTypes[i] = cell % AnswerStats.NUM_QUESTION_TYPES;
+        }
+
+        return drawn;
+    }
+
+    /**
+     * Records the first answer to a question. Lock-free and safe to call from any thread.
+     * Answers for a World other than the one followed are ignored.
+     *
+     * @param world        the World the question was asked from
+     * @param countryId    the id of the country the question was about
+     * @param questionType the type of question asked
+     * @param correct      whether the first answer was right
+     */
+    public void record(final World world,
+                       final int countryId,
+                       final int questionType,
+                       final boolean correct)
+    {
+        final AnswerStats current;
+        current = stats;
+
+        if (current.getWorld() == world)
+        {
+            current.record(countryId, questionType, correct);
+        }
+    }
+
+    /**
+     * Saves the current stats.
+     *
+     * @param path the stats file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(final Path path)
+        throws IOException
+    {
+        stats.save(path);
+    }
+
+    /*
+    Returns an alias table for the stats, building a new one if the cached one
+    is for other stats or too many answers have been recorded since it was built
+     */
+    private AliasTable tableFor(final AnswerStats current)
+    {
+        final WeightTable cached;
+        final long updates;
+
+        cached  = table;
+        updates = current.getUpdateCount();
+
+        if (cached != null &&
+            cached.stats == current &&
+            updates - cached.builtAtUpdate < REBUILD_INTERVAL)
+        {
+            return cached.alias;
+        }
+
+        final double[] weights;
+        weights = new double[current.size()];
+
+        for (int cell = 0; cell < weights.length; cell++)
+        {
+            final int id;
+            final int type;
+
+            id   = cell / AnswerStats.NUM_QUESTION_TYPES;
+            type = cell % AnswerStats.NUM_QUESTION_TYPES;
+
+            weights[cell] = (current.getWrongAnswers(id, type) + PRIOR_WRONG) /
+                            (current.getAttempts(id, type) + PRIOR_ATTEMPTS);
+        }
+
+        final WeightTable built;
+        built = new WeightTable(current, new AliasTable(weights), updates);
+        table = built;
+
+        return built.alias;
+    }
+
+    /*
+    Checks whether a country id is among the first count ids
+     */
+    private static boolean contains(final int[] countryIds,
+                                    final int count,
+                                    final int id)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            if (countryIds[i] == id)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+    Returns the id, or the next one after it, wrapping around, not among the first count ids
+     */
+    private static int nextUnused(final int[] countryIds,
+                                  final int count,
+                                  final int id,
+                                  final int countryCount)
+    {
+        int candidate;
+        candidate = id;
+
+        while (contains(countryIds, count, candidate))
+        {
+            candidate = (candidate + 1) % countryCount;
+        }
+
+        return candidate;
+    }
+
+    /**
+     * An alias table and the stats and update count it was built from.
+     */
+    private static final class WeightTable
+    {
+        private final AnswerStats stats;
+        private final AliasTable  alias;
+        private final long        builtAtUpdate;
+
+        /**
+         * Constructs a WeightTable.
+         *
+         * @param stats         the stats the table was built from
+         * @param alias         the alias table over their weights
+         * @param builtAtUpdate the stats' update count when the table was built
+         */
+        WeightTable(final AnswerStats stats,
+                    final AliasTable alias,
+                    final long builtAtUpdate)
+        {
+            this.stats         = stats;
+            this.alias         = alias;
+            this.builtAtUpdate = builtAtUpdate;
+        }
+    }
+}
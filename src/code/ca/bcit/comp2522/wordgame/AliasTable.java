@@ -0,0 +1,154 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws indexes with probability proportional to fixed weights in constant time,
+ * using Vose's alias method. Building the table takes linear time; every draw then
+ * costs one random column and one random threshold, however many weights there are.
+ * Immutable and safe to share between threads.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+final class AliasTable
+{
+    private static final int NONE = 0;
+
+    private final double[] threshold;
+    private final int[]    alias;
+
+    /**
+     * Constructs an AliasTable for the given weights.
+     * If every weight is zero, all indexes are equally likely.
+     *
+     * @param weights the non-negative weight of each index; must not be empty
+     */
+    AliasTable(final double[] weights)
+    {
+        checkWeights(weights);
+
+        final int n;
+        final double[] scaled;
+        final int[] small;
+        final int[] large;
+
+        n         = weights.length;
+        threshold = new double[n];
+        alias     = new int[n];
+        scaled    = new double[n];
+        small     = new int[n];
+        large     = new int[n];
+
+        double total;
+        total = NONE;
+
+        for (final double weight : weights)
+        {
+            total += weight;
+        }
+
+        int smallCount;
+        int largeCount;
+
+        smallCount = NONE;
+        largeCount = NONE;
+
+        for (int i = 0; i < n; i++)
+        {
+            // Scale so the average column holds exactly 1
+            scaled[i] = total > NONE ? weights[i] * n / total : 1.0;
+
+            if (scaled[i] < 1.0)
+            {
+                small[smallCount++] = i;
+            }
+            else
+            {
+                large[largeCount++] = i;
+            }
+        }
+
+        // Fill each under-full column with the surplus of an over-full one
+        while (smallCount > NONE && largeCount > NONE)
+        {
+            final int less;
+            final int more;
+
+            less = small[--smallCount];
+            more = large[--largeCount];
+
+            threshold[less] = scaled[less];
+            alias[less]     = more;
+            scaled[more]    = scaled[more] + scaled[less] - 1.0;
+
+            if (scaled[more] < 1.0)
+            {
+                small[smallCount++] = more;
+            }
+            else
+            {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Whatever is left is full up to rounding error
+        while (largeCount > NONE)
+        {
+            threshold[large[--largeCount]] = 1.0;
+        }
+
+        while (smallCount > NONE)
+        {
+            threshold[small[--smallCount]] = 1.0;
+        }
+    }
+
+    /*
+    Check if weights is null, empty or holds a negative or non-finite weight, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkWeights(final double[] weights)
+    {
+        if (weights == null || weights.length == NONE)
+        {
+            throw new IllegalArgumentException("weights cannot be null or empty");
+        }
+
+        for (final double weight : weights)
+        {
+            if (!(weight >= NONE) || Double.isInfinite(weight))
+            {
+                throw new IllegalArgumentException("weights must be finite and non-negative: " + weight);
+            }
+        }
+    }
+
+    /**
+     * Draws one index.
+     *
+     * @param rng the random generator to draw with
+     * @return an index chosen with probability proportional to its weight
+     */
+    int sample(final RandomGenerator rng)
+    {
+        final int column;
+        column = rng.nextInt(threshold.length);
+
+        if (rng.nextDouble() < threshold[column])
+        {
+            return column;
+        }
+        return alias[column];
+    }
+
+    /**
+     * Returns the number of weights in the table.
+     *
+     * @return the table size
+     */
+    int size()
+    {
+        return threshold.length;
+    }
+}
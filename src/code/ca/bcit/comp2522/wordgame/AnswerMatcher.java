@@ -0,0 +1,718 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides whether a typed answer means the expected country or capital name,
+ * tolerating accents, case, punctuation and a few typos.
+ *
+ * <p>Names are normalised once: accents stripped, lower-cased, apostrophes and periods
+ * dropped and other punctuation collapsed to single spaces. An answer is accepted if it
+ * normalises to the expected name, or is within the typo budget for that name and no
+ * other known name is strictly closer to it, so "Niger" never passes for "Nigeria".
+ * The other names are found through a trigram index over every country and capital name
+ * in the World: names sharing too few trigrams with the answer to be within the edit
+ * distance are never compared. The index is held in flat arrays, and the counters and
+ * edit distance rows live in a Scratch the caller keeps, one per session, so comparisons
+ * allocate nothing. Safe to share between threads as long as each uses its own Scratch.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class AnswerMatcher
+{
+    private static final int    NONE              = 0;
+    private static final int    NO_NAME           = -1;
+    private static final int    GRAM_LENGTH       = 3;
+    private static final int    PADDING           = GRAM_LENGTH - 1;
+    private static final int    CHAR_BITS         = 16;
+    private static final long   EMPTY_KEY         = -1L;
+    private static final int    LOAD_FACTOR       = 2;
+    private static final char   START_PAD         = '\u0002';
+    private static final char   END_PAD           = '\u0003';
+    private static final int    EXACT_NAME_LENGTH = 4;
+    private static final int    ONE_TYPO_LENGTH   = 8;
+    private static final int    ONE_TYPO          = 1;
+    private static final int    MAX_TYPOS         = 2;
+    private static final char   SPACE             = ' ';
+    private static final char   MAX_ASCII         = '\u007F';
+    private static final String DROPPED_CHARS     = "'\u2019.";
+
+    private final Map<String, Integer> nameIds;
+    private final String[]             names;
+    private final String[]             displayNames;
+    private final int                  nameCount;
+    private final long[]               gramKeys;
+    private final int[]                gramSlots;
+    private final int[]                postingStart;
+    private final int[]                postings;
+    private final int                  rowLength;
+
+    /**
+     * Reusable counters and edit distance rows for one caller of one AnswerMatcher,
+     * created by newScratch. Not safe to share between threads.
+     */
+    public static final class Scratch
+    {
+        private final int[] sharedGrams;
+        private final int[] touched;
+        private int[]       previousRow;
+        private int[]       currentRow;
+
+        private Scratch(final int nameCount,
+                        final int rowLength)
+        {
+            sharedGrams = new int[nameCount];
+            touched     = new int[nameCount];
+            previousRow = new int[rowLength];
+            currentRow  = new int[rowLength];
+        }
+    }
+
+    /**
+     * Constructs an AnswerMatcher over every country and capital name in the World.
+     *
+     * @param world the world whose names answers are matched against
+     */
+    public AnswerMatcher(final World world)
+    {
+        checkWorld(world);
+
+        final Country[] countries;
+        final List<String> distinctNames;
+        final List<String> originalNames;
+
+        countries     = world.getCountryArray();
+        nameIds       = new HashMap<>();
+        distinctNames = new ArrayList<>();
+        originalNames = new ArrayList<>();
+
+        for (final Country country : countries)
+        {
+            addName(country.getCountryName(), distinctNames, originalNames);
+            addName(country.getCapitalCityName(), distinctNames, originalNames);
+        }
+
+        names        = distinctNames.toArray(new String[NONE]);
+        displayNames = originalNames.toArray(new String[NONE]);
+        nameCount    = names.length;
+
+        // Group name ids by trigram, each name listed once per distinct trigram
+        final Map<Long, List<Integer>> gramNames;
+        gramNames = new HashMap<>();
+
+        int longest;
+        longest = NONE;
+
+        for (int id = 0; id < nameCount; id++)
+        {
+            final String padded;
+            padded  = pad(names[id]);
+            longest = Math.max(longest, names[id].length());
+
+            for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++)
+            {
+                final List<Integer> ids;
+                ids = gramNames.computeIfAbsent(gramKey(padded, i), k -> new ArrayList<>());
+
+                if (ids.isEmpty() || ids.get(ids.size() - 1) != id)
+                {
+                    ids.add(id);
+                }
+            }
+        }
+
+        final int capacity;
+        capacity = Integer.highestOneBit(Math.max(gramNames.size(), 1) * LOAD_FACTOR) * LOAD_FACTOR;
+
+        gramKeys     = new long[capacity];
+        gramSlots    = new int[capacity];
+        postingStart = new int[gramNames.size() + 1];
+
+        Arrays.fill(gramKeys, EMPTY_KEY);
+
+        int gram;
+        int total;
+
+        gram  = NONE;
+        total = NONE;
+
+        for (final List<Integer> ids : gramNames.values())
+        {
+            total += ids.size();
+        }
+
+        postings = new int[total];
+        total    = NONE;
+
+        for (final Map.Entry<Long, List<Integer>> entry : gramNames.entrySet())
+        {
+            int slot;
+            slot = slotFor(entry.getKey(), capacity);
+
+            while (gramKeys[slot] != EMPTY_KEY)
+            {
+                slot = (slot + 1) & (capacity - 1);
+            }
+
+            gramKeys[slot]     = entry.getKey();
+            gramSlots[slot]    = gram;
+            postingStart[gram] = total;
+
+            for (final int id : entry.getValue())
+            {
+                postings[total++] = id;
+            }
+
+            gram++;
+        }
+
+        postingStart[gram] = total;
+
+        rowLength = longest + 1;
+    }
+
+    /**
+     * Creates the counters and edit distance rows one caller needs to check answers.
+     *
+     * @return a new Scratch sized for this matcher
+     */
+    public Scratch newScratch()
+    {
+        return new Scratch(nameCount, rowLength);
+    }
+
+    /*
+    Adds a name unless it normalises to nothing or to a name already added
+     */
+    private void addName(final String name,
+                         final List<String> distinctNames,
+                         final List<String> originalNames)
+    {
+        final String normalized;
+        normalized = normalize(name);
+
+        if (normalized.isEmpty() || nameIds.containsKey(normalized))
+        {
+            return;
+        }
+
+        nameIds.put(normalized, distinctNames.size());
+        distinctNames.add(normalized);
+        originalNames.add(name);
+    }
+
+    /*
+    Check if world is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkWorld(final World world)
+    {
+        if (world == null)
+        {
+            throw new IllegalArgumentException("world cannot be null");
+        }
+    }
+
+    /*
+    Check if scratch is null or was made by a matcher with a different name count, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkScratch(final Scratch scratch)
+    {
+        if (scratch == null || scratch.sharedGrams.length != nameCount)
+        {
+            throw new IllegalArgumentException("scratch must come from this matcher's newScratch");
+        }
+    }
+
+    /**
+     * Normalises a name or answer for comparison: accents removed, lower case,
+     * apostrophes and periods dropped, every other run of non-alphanumerics a single space.
+     *
+     * @param text the text to normalise
+     * @return the normalised text, empty for null
+     */
+    public static String normalize(final String text)
+    {
+        if (text == null)
+        {
+            return "";
+        }
+
+        final String decomposed;
+        final StringBuilder sb;
+
+        decomposed = isAscii(text) ? text : Normalizer.normalize(text, Normalizer.Form.NFD);
+        sb         = new StringBuilder(decomposed.length());
+
+        boolean pendingSpace;
+        pendingSpace = false;
+
+        for (int i = 0; i < decomposed.length(); i++)
+        {
+            final char c;
+            c = decomposed.charAt(i);
+
+            if (isCombiningMark(c) || DROPPED_CHARS.indexOf(c) >= NONE)
+            {
+                continue;
+            }
+
+            if (Character.isLetterOrDigit(c))
+            {
+                if (pendingSpace && sb.length() > NONE)
+                {
+                    sb.append(SPACE);
+                }
+                pendingSpace = false;
+                sb.append(Character.toLowerCase(c));
+            }
+            else
+            {
+                pendingSpace = true;
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /*
+    Checks whether text is plain ASCII, which has no accents to decompose
+     */
+    private static boolean isAscii(final String text)
+    {
+        for (int i = 0; i < text.length(); i++)
+        {
+            if (text.charAt(i) > MAX_ASCII)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+    Checks whether a character is an accent or other mark left by decomposition
+     */
+    private static boolean isCombiningMark(final char c)
+    {
+        final int type;
+        type = Character.getType(c);
+
+        return type == Character.NON_SPACING_MARK ||
+               type == Character.COMBINING_SPACING_MARK ||
+               type == Character.ENCLOSING_MARK;
+    }
+
+    /**
+     * Checks whether an answer should be accepted for the expected name.
+     *
+     * @param answer   the typed answer
+     * @param expected the correct name
+     * @param scratch  the caller's Scratch from newScratch
+     * @return true if the answer means the expected name
+     */
+    public boolean matches(final String answer,
+                           final String expected,
+                           final Scratch scratch)
+    {
+        checkScratch(scratch);
+
+        final String normalizedAnswer;
+        final String normalizedExpected;
+
+        normalizedAnswer   = normalize(answer);
+        normalizedExpected = normalize(expected);
+
+        if (normalizedAnswer.isEmpty())
+        {
+            return false;
+        }
+
+        if (normalizedAnswer.equals(normalizedExpected))
+        {
+            return true;
+        }
+
+        final int typoBudget;
+        typoBudget = allowedTypos(normalizedExpected);
+
+        // Typing some other name exactly is never a typo
+        if (typoBudget == NONE || nameIds.containsKey(normalizedAnswer))
+        {
+            return false;
+        }
+
+        final int distance;
+        distance = distance(normalizedAnswer, normalizedExpected, typoBudget, scratch);
+
+        if (distance > typoBudget)
+        {
+            return false;
+        }
+
+        if (distance == ONE_TYPO)
+        {
+            return true;
+        }
+
+        return nearest(normalizedAnswer, distance - 1, nameIds.get(normalizedExpected), scratch) == NO_NAME;
+    }
+
+    /**
+     * Finds the known name closest to an answer, if it is within that name's typo budget.
+     *
+     * @param answer  the typed answer
+     * @param scratch the caller's Scratch from newScratch
+     * @return the closest country or capital name as written in the World, or null if none is close enough
+     */
+    public String findClosestName(final String answer,
+                                  final Scratch scratch)
+    {
+        checkScratch(scratch);
+
+        final String normalizedAnswer;
+        normalizedAnswer = normalize(answer);
+
+        if (normalizedAnswer.isEmpty())
+        {
+            return null;
+        }
+
+        final Integer exact;
+        exact = nameIds.get(normalizedAnswer);
+
+        if (exact != null)
+        {
+            return displayNames[exact];
+        }
+
+        final int closest;
+        closest = nearest(normalizedAnswer, MAX_TYPOS, null, scratch);
+
+        if (closest == NO_NAME ||
+            distance(normalizedAnswer, names[closest], MAX_TYPOS, scratch) > allowedTypos(names[closest]))
+        {
+            return null;
+        }
+
+        return displayNames[closest];
+    }
+
+    /**
+     * Returns how many distinct names the matcher knows.
+     *
+     * @return the number of indexed names
+     */
+    public int size()
+    {
+        return nameCount;
+    }
+
+    /*
+    Returns how many typos are forgiven for a name of this length
+     */
+    private static int allowedTypos(final String name)
+    {
+        if (name.length() <= EXACT_NAME_LENGTH)
+        {
+            return NONE;
+        }
+
+        if (name.length() <= ONE_TYPO_LENGTH)
+        {
+            return ONE_TYPO;
+        }
+
+        return MAX_TYPOS;
+    }
+
+    /*
+    Surrounds a name with padding so its first and last letters start and end trigrams too
+     */
+    private static String pad(final String name)
+    {
+        return String.valueOf(START_PAD).repeat(PADDING) + name + String.valueOf(END_PAD).repeat(PADDING);
+    }
+
+    /*
+    Packs the trigram starting at the index of a padded name into a long
+     */
+    private static long gramKey(final String padded,
+                                final int index)
+    {
+        return ((long) padded.charAt(index) << (CHAR_BITS * 2)) |
+               ((long) padded.charAt(index + 1) << CHAR_BITS) |
+               padded.charAt(index + 2);
+    }
+
+    /*
+    Packs the trigram at a position of an unpadded query, reading padding outside it
+     */
+    private static long queryGramKey(final String query,
+                                     final int index)
+    {
+        return ((long) paddedCharAt(query, index) << (CHAR_BITS * 2)) |
+               ((long) paddedCharAt(query, index + 1) << CHAR_BITS) |
+               paddedCharAt(query, index + 2);
+    }
+
+    /*
+    Returns the character at a position of the padded form of a query without building it
+     */
+    private static char paddedCharAt(final String query,
+                                     final int index)
+    {
+        if (index < PADDING)
+        {
+            return START_PAD;
+        }
+
+        if (index - PADDING >= query.length())
+        {
+            return END_PAD;
+        }
+
+        return query.charAt(index - PADDING);
+    }
+
+    /*
+    Returns the home slot of a trigram key in a table of the given power-of-two capacity
+     */
+    private static int slotFor(final long key,
+                               final int capacity)
+    {
+        final long mixed;
+        mixed = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (mixed >>> (Long.SIZE - Integer.numberOfTrailingZeros(capacity)));
+    }
+
+    /*
+    Returns the trigram's index in the posting arrays, or NO_NAME if no name has it
+     */
+    private int findGram(final long key)
+    {
+        final int mask;
+        mask = gramKeys.length - 1;
+
+        int slot;
+        slot = slotFor(key, gramKeys.length);
+
+        while (gramKeys[slot] != EMPTY_KEY)
+        {
+            if (gramKeys[slot] == key)
+            {
+                return gramSlots[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return NO_NAME;
+    }
+
+    /*
+    Finds the closest name within the radius, skipping the excluded one.
+    Every edit changes at most three padded trigrams, so a name within the radius shares at
+    least max(length) + 2 - 3 * radius trigrams with the query; only names reaching that
+    count are compared. Returns the name id, or NO_NAME if none is that close.
+     */
+    private int nearest(final String query,
+                        final int radius,
+                        final Integer excluded,
+                        final Scratch rows)
+    {
+        if (nameCount == NONE || radius < NONE)
+        {
+            return NO_NAME;
+        }
+
+        final int skip;
+        skip = excluded == null ? NO_NAME : excluded;
+
+        // Too short for the count filter to guarantee a shared trigram; compare by length alone
+        if (query.length() + PADDING - GRAM_LENGTH * radius <= NONE)
+        {
+            return nearestByScan(query, radius, skip, rows);
+        }
+
+        final int[] sharedGrams;
+        final int[] touched;
+        final int gramCount;
+
+        sharedGrams = rows.sharedGrams;
+        touched     = rows.touched;
+        gramCount   = query.length() + PADDING;
+
+        int touchedCount;
+        touchedCount = NONE;
+
+        for (int i = 0; i < gramCount; i++)
+        {
+            final int gram;
+            gram = findGram(queryGramKey(query, i));
+
+            if (gram == NO_NAME)
+            {
+                continue;
+            }
+
+            for (int p = postingStart[gram]; p < postingStart[gram + 1]; p++)
+            {
+                final int id;
+                id = postings[p];
+
+                if (sharedGrams[id]++ == NONE)
+                {
+                    touched[touchedCount++] = id;
+                }
+            }
+        }
+
+        int best;
+        int bestRadius;
+
+        best       = NO_NAME;
+        bestRadius = radius;
+
+        for (int t = 0; t < touchedCount; t++)
+        {
+            final int id;
+            final int shared;
+
+            id                = touched[t];
+            shared            = sharedGrams[id];
+            sharedGrams[id]   = NONE;
+
+            if (id == skip || bestRadius < NONE)
+            {
+                continue;
+            }
+
+            final int required;
+            required = Math.max(query.length(), names[id].length()) + PADDING - GRAM_LENGTH * bestRadius;
+
+            if (shared < required)
+            {
+                continue;
+            }
+
+            final int d;
+            d = distance(query, names[id], bestRadius, rows);
+
+            if (d <= bestRadius)
+            {
+                best       = id;
+                bestRadius = d - 1;
+            }
+        }
+
+        return best;
+    }
+
+    /*
+    Finds the closest name within the radius by comparing every name of a close enough length
+     */
+    private int nearestByScan(final String query,
+                              final int radius,
+                              final int skip,
+                              final Scratch rows)
+    {
+        int best;
+        int bestRadius;
+
+        best       = NO_NAME;
+        bestRadius = radius;
+
+        for (int id = 0; id < nameCount && bestRadius >= NONE; id++)
+        {
+            if (id == skip || Math.abs(names[id].length() - query.length()) > bestRadius)
+            {
+                continue;
+            }
+
+            final int d;
+            d = distance(query, names[id], bestRadius, rows);
+
+            if (d <= bestRadius)
+            {
+                best       = id;
+                bestRadius = d - 1;
+            }
+        }
+
+        return best;
+    }
+
+    /*
+    Levenshtein distance between two strings, or limit + 1 once it is known to exceed limit.
+    Uses the scratch rows, growing them only for strings longer than any indexed name.
+     */
+    private static int distance(final String a,
+                                final String b,
+                                final int limit,
+                                final Scratch rows)
+    {
+        if (Math.abs(a.length() - b.length()) > limit)
+        {
+            return limit + 1;
+        }
+
+        if (rows.previousRow.length <= b.length())
+        {
+            rows.previousRow = new int[b.length() + 1];
+            rows.currentRow  = new int[b.length() + 1];
+        }
+
+        int[] previous;
+        int[] current;
+
+        previous = rows.previousRow;
+        current  = rows.currentRow;
+
+        for (int j = 0; j <= b.length(); j++)
+        {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++)
+        {
+            final char ac;
+            ac = a.charAt(i - 1);
+
+            int rowMin;
+            current[0] = i;
+            rowMin     = i;
+
+            for (int j = 1; j <= b.length(); j++)
+            {
+                final int substitution;
+                final int cell;
+
+                substitution = previous[j - 1] + (ac == b.charAt(j - 1) ? NONE : 1);
+                cell         = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+
+                current[j] = cell;
+                rowMin     = Math.min(rowMin, cell);
+            }
+
+            if (rowMin > limit)
+            {
+                return limit + 1;
+            }
+
+            final int[] swap;
+            swap     = previous;
+            previous = current;
+            current  = swap;
+        }
+
+        return Math.min(previous[b.length()], limit + 1);
+    }
+}
@@ -0,0 +1,313 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * How often each question about each country has been answered, and how often wrongly.
+ *
+ * <p>There is one counter cell per country id of a World and question type, all in one
+ * AtomicLongArray: the attempt count in the high 32 bits and the wrong-answer count in
+ * the low 32 bits, so recording an answer is a single lock-free add that any number of
+ * sessions can do at once. Stats are saved keyed by country name, since ids only hold
+ * for one World.
+ *
+ * <p>File layout (big-endian): magic, version, question type count, country count, then
+ * per country its name in modified UTF-8 followed by one cell per question type.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class AnswerStats
+{
+    /** The number of question types tracked per country. */
+    public static final int NUM_QUESTION_TYPES = WordGame.UPPER_BOUND;
+
+    private static final int    MAGIC         = 0x53544154;
+    private static final int    VERSION       = 1;
+    private static final int    NONE          = 0;
+    private static final int    ATTEMPT_SHIFT = 32;
+    private static final long   ONE_ATTEMPT   = 1L << ATTEMPT_SHIFT;
+    private static final long   WRONG_MASK    = 0xFFFF_FFFFL;
+    private static final String TEMP_SUFFIX   = ".tmp";
+
+    private final World           world;
+    private final AtomicLongArray cells;
+    private final LongAdder       updates;
+
+    /**
+     * Constructs empty AnswerStats for the countries of the given World.
+     *
+     * @param world the world whose country ids the stats are keyed by
+     */
+    public AnswerStats(final World world)
+    {
+        checkWorld(world);
+
+        this.world   = world;
+        this.cells   = new AtomicLongArray(world.size() * NUM_QUESTION_TYPES);
+        this.updates = new LongAdder();
+    }
+
+    /*
+    Check if world is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkWorld(final World world)
+    {
+        if (world == null)
+        {
+            throw new IllegalArgumentException("world cannot be null");
+        }
+    }
+
+    /**
+     * Loads saved stats for the countries of the given World. Countries no longer in
+     * the World are dropped and new ones start empty. A missing file gives empty stats;
+     * an unreadable one is reported and also gives empty stats.
+     *
+     * @param path  the stats file
+     * @param world the world to key the stats by
+     * @return the loaded stats
+     */
+    public static AnswerStats load(final Path path,
+                                   final World world)
+    {
+        final AnswerStats stats;
+        stats = new AnswerStats(world);
+
+        if (Files.notExists(path))
+        {
+            return stats;
+        }
+
+        final Map<String, Integer> ids;
+        ids = countryIds(world);
+
+        try (final DataInputStream in = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(path))))
+        {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != NUM_QUESTION_TYPES)
+            {
+                System.err.println("Ignoring answer stats in an unknown format: " + path);
+                return stats;
+            }
+
+            final int countryCount;
+            countryCount = in.readInt();
+
+            for (int i = 0; i < countryCount; i++)
+            {
+                final Integer id;
+                id = ids.get(in.readUTF());
+
+                for (int type = 0; type < NUM_QUESTION_TYPES; type++)
+                {
+                    final long cell;
+                    cell = in.readLong();
+
+                    if (id != null)
+                    {
+                        stats.cells.set(id * NUM_QUESTION_TYPES + type, cell);
+                    }
+                }
+            }
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Ignoring unreadable answer stats: " + e.getMessage());
+            return new AnswerStats(world);
+        }
+
+        return stats;
+    }
+
+    /*
+    Maps each country name of a World to its id
+     */
+    private static Map<String, Integer> countryIds(final World world)
+    {
+        final Country[] countries;
+        final Map<String, Integer> ids;
+
+        countries = world.getCountryArray();
+        ids       = new HashMap<>();
+
+        for (int id = 0; id < countries.length; id++)
+        {
+            ids.put(countries[id].getCountryName(), id);
+        }
+
+        return ids;
+    }
+
+    /**
+     * Saves the stats to a temporary file and moves it into place,
+     * so a crash never leaves half-written stats behind.
+     *
+     * @param path the stats file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(final Path path)
+        throws IOException
+    {
+        final Country[] countries;
+        final Path tempPath;
+
+        countries = world.getCountryArray();
+        tempPath  = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+
+        try (final DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(tempPath))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(NUM_QUESTION_TYPES);
+            out.writeInt(countries.length);
+
+            for (int id = 0; id < countries.length; id++)
+            {
+                out.writeUTF(countries[id].getCountryName());
+
+                for (int type = 0; type < NUM_QUESTION_TYPES; type++)
+                {
+                    out.writeLong(cells.get(id * NUM_QUESTION_TYPES + type));
+                }
+            }
+        }
+
+        Files.move(tempPath,
+                   path,
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Copies the stats onto the countries of another World, matching countries by name.
+     * Answers recorded here while the copy is made may be missed.
+     *
+     * @param newWorld the world to key the copy by
+     * @return the copied stats
+     */
+    public AnswerStats carryOver(final World newWorld)
+    {
+        final AnswerStats copy;
+        final Map<String, Integer> ids;
+        final Country[] countries;
+
+        copy      = new AnswerStats(newWorld);
+        ids       = countryIds(newWorld);
+        countries = world.getCountryArray();
+
+        for (int id = 0; id < countries.length; id++)
+        {
+            final Integer newId;
+            newId = ids.get(countries[id].getCountryName());
+
+            if (newId != null)
+            {
+                for (int type = 0; type < NUM_QUESTION_TYPES; type++)
+                {
+                    copy.cells.set(newId * NUM_QUESTION_TYPES + type, cells.get(id * NUM_QUESTION_TYPES + type));
+                }
+            }
+        }
+
+        return copy;
+    }
+
+    /**
+     * Records one answer to a question. Lock-free and safe to call from any thread.
+     *
+     * @param countryId    the id of the country the question was about
+     * @param questionType the type of question asked
+     * @param correct      whether the answer was right the first time
+     */
+    public void record(final int countryId,
+                       final int questionType,
+                       final boolean correct)
+    {
+        cells.getAndAdd(cellIndex(countryId, questionType), correct ? ONE_ATTEMPT : ONE_ATTEMPT + 1);
+        updates.increment();
+    }
+
+    /**
+     * Returns how many times a question has been answered.
+     *
+     * @param countryId    the id of the country
+     * @param questionType the type of question
+     * @return the attempt count
+     */
+    public int getAttempts(final int countryId,
+                           final int questionType)
+    {
+        return (int) (cells.get(cellIndex(countryId, questionType)) >>> ATTEMPT_SHIFT);
+    }
+
+    /**
+     * Returns how many times a question has been answered wrongly the first time.
+     *
+     * @param countryId    the id of the country
+     * @param questionType the type of question
+     * @return the wrong-answer count
+     */
+    public int getWrongAnswers(final int countryId,
+                               final int questionType)
+    {
+        return (int) (cells.get(cellIndex(countryId, questionType)) & WRONG_MASK);
+    }
+
+    /**
+     * Returns how many answers have been recorded since these stats were created or loaded.
+     *
+     * @return the update count
+     */
+    public long getUpdateCount()
+    {
+        return updates.sum();
+    }
+
+    /**
+     * Returns the World whose country ids the stats are keyed by.
+     *
+     * @return the world
+     */
+    public World getWorld()
+    {
+        return world;
+    }
+
+    /**
+     * Returns the number of cells, one per country and question type.
+     *
+     * @return the cell count
+     */
+    public int size()
+    {
+        return cells.length();
+    }
+
+    /*
+    Returns the cell of a country and question type
+    Throws new IllegalArgumentException if the question type is out of range
+     */
+    private static int cellIndex(final int countryId,
+                                 final int questionType)
+    {
+        if (questionType < NONE || questionType >= NUM_QUESTION_TYPES)
+        {
+            throw new IllegalArgumentException("Unknown question type: " + questionType);
+        }
+        return countryId * NUM_QUESTION_TYPES + questionType;
+    }
+}
@@ -0,0 +1,477 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Append-only binary score store.
+ * Every Score is a fixed-width record appended through a FileChannel, and a small header
+ * keeps the record count plus a copy of the record with the best average score
+ * (among scores with at least one game played),
+ * so the previous high score is read in constant time however long the history grows.
+ *
+ * <p>Layout (big-endian): header of magic, version, record count, best record index
+ * (-1 if none) and the best record itself; then the records, each holding the date
+ * played as UTC epoch seconds and the four counters of a Score.
+ * Positions are record indexes.</p>
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class BinaryScoreLog implements ScoreStore
+{
+    private static final int  MAGIC       = 0x53434F52;
+    private static final int  VERSION     = 1;
+    private static final int  RECORD_SIZE = Long.BYTES + 4 * Integer.BYTES;
+    private static final int  HEADER_SIZE = 2 * Integer.BYTES + 2 * Long.BYTES + RECORD_SIZE;
+    private static final long NO_RECORD   = -1L;
+    private static final int  NONE        = 0;
+
+    private static final int MAGIC_OFFSET       = 0;
+    private static final int VERSION_OFFSET     = Integer.BYTES;
+    private static final int COUNT_OFFSET       = 2 * Integer.BYTES;
+    private static final int BEST_INDEX_OFFSET  = COUNT_OFFSET + Long.BYTES;
+    private static final int BEST_RECORD_OFFSET = BEST_INDEX_OFFSET + Long.BYTES;
+
+    private static final Object APPEND_LOCK = new Object();
+
+    private final Path path;
+
+    /**
+     * Constructs a BinaryScoreLog stored in the given file.
+     * The file is created on the first append.
+     *
+     * @param path the binary score file
+     */
+    public BinaryScoreLog(final Path path)
+    {
+        checkPath(path);
+        this.path = path;
+    }
+
+    /*
+    Check if path is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkPath(final Path path)
+    {
+        if (path == null)
+        {
+            throw new IllegalArgumentException("path cannot be null");
+        }
+    }
+
+    /**
+     * Appends a score to the end of the log, updating the best-average record if it beats it.
+     *
+     * @param score the score to append
+     * @throws IOException if the log cannot be written
+     */
+    public void append(final Score score)
+        throws IOException
+    {
+        if (score == null)
+        {
+            throw new IllegalArgumentException("score cannot be null");
+        }
+
+        appendAll(List.of(score));
+    }
+
+    /**
+     * Appends scores to the end of the log in order, rewriting the header once at the end.
+     * Appenders in this JVM take turns on a shared lock, since a file lock is held by
+     * the whole process and a second one would throw rather than wait; the file lock
+     * then keeps appenders in other processes from interleaving.
+     *
+     * @param scores the scores to append
+     * @throws IOException if the log cannot be written
+     */
+    public void appendAll(final List<Score> scores)
+        throws IOException
+    {
+        if (scores == null)
+        {
+            throw new IllegalArgumentException("scores cannot be null");
+        }
+
+        synchronized (APPEND_LOCK)
+        {
+            try (final FileChannel channel = FileChannel.open(path,
+                                                              StandardOpenOption.CREATE,
+                                                              StandardOpenOption.READ,
+                                                              StandardOpenOption.WRITE))
+            {
+                final FileLock lock;
+                lock = channel.lock();
+
+                try
+                {
+                    appendLocked(channel, scores);
+                }
+                finally
+                {
+                    lock.release();
+                }
+            }
+        }
+    }
+
+    /*
+    Appends the scores and rewrites the header while the caller holds both locks
+     */
+    private static void appendLocked(final FileChannel channel,
+                                     final List<Score> scores)
+        throws IOException
+    {
+        final ByteBuffer header;
+        header = readOrCreateHeader(channel);
+
+        long recordCount;
+        recordCount = header.getLong(COUNT_OFFSET);
+
+        for (final Score score : scores)
+        {
+            final ByteBuffer record;
+            record = encode(score);
+            writeFully(channel, record, HEADER_SIZE + recordCount * RECORD_SIZE);
+
+            if (score.getNumGamesPlayed() > NONE &&
+                (header.getLong(BEST_INDEX_OFFSET) == NO_RECORD ||
+                 beats(score, decode(header, BEST_RECORD_OFFSET))))
+            {
+                header.putLong(BEST_INDEX_OFFSET, recordCount);
+                header.put(BEST_RECORD_OFFSET, record, NONE, RECORD_SIZE);
+            }
+
+            recordCount++;
+        }
+
+        header.putLong(COUNT_OFFSET, recordCount);
+        writeFully(channel, header.clear(), MAGIC_OFFSET);
+    }
+
+    /**
+     * Records a score by appending it to the log.
+     *
+     * @param score the score to record
+     * @throws IOException if the log cannot be written
+     */
+    @Override
+    public void record(final Score score)
+        throws IOException
+    {
+        append(score);
+    }
+
+    /**
+     * Records several scores by appending them to the log under one lock.
+     *
+     * @param scores the scores to record
+     * @throws IOException if the log cannot be written
+     */
+    @Override
+    public void recordAll(final List<Score> scores)
+        throws IOException
+    {
+        appendAll(scores);
+    }
+
+    /**
+     * Reads the score with the best average points per game, from the header alone.
+     *
+     * @return the best score, or null if the log is empty or missing
+     * @throws IOException if the log cannot be read
+     */
+    public Score readBestScore()
+        throws IOException
+    {
+        if (Files.notExists(path))
+        {
+            return null;
+        }
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            final ByteBuffer header;
+            header = readHeader(channel);
+
+            if (header == null || header.getLong(BEST_INDEX_OFFSET) == NO_RECORD)
+            {
+                return null;
+            }
+
+            return decode(header, BEST_RECORD_OFFSET);
+        }
+    }
+
+    /**
+     * Returns the number of scores stored in the log.
+     *
+     * @return the record count, or 0 if the log is missing
+     * @throws IOException if the log cannot be read
+     */
+    public long getRecordCount()
+        throws IOException
+    {
+        if (Files.notExists(path))
+        {
+            return NONE;
+        }
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            final ByteBuffer header;
+            header = readHeader(channel);
+
+            return header == null ? NONE : header.getLong(COUNT_OFFSET);
+        }
+    }
+
+    /**
+     * Returns the number of scores stored in the log.
+     *
+     * @return the end position, 0 if the log is missing
+     * @throws IOException if the log cannot be read
+     */
+    @Override
+    public long getEndPosition()
+        throws IOException
+    {
+        return getRecordCount();
+    }
+
+    /**
+     * Reads every record from an index to the end of the log, through one channel.
+     *
+     * @param position the index of the first record to read
+     * @param action   called with each score read
+     * @return the record count when reading started
+     * @throws IOException if the log cannot be read
+     */
+    @Override
+    public long readFrom(final long position,
+                         final Consumer<Score> action)
+        throws IOException
+    {
+        if (Files.notExists(path))
+        {
+            return NONE;
+        }
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            final ByteBuffer header;
+            header = readHeader(channel);
+
+            if (header == null)
+            {
+                return NONE;
+            }
+
+            final long recordCount;
+            final ByteBuffer record;
+
+            recordCount = header.getLong(COUNT_OFFSET);
+            record      = ByteBuffer.allocate(RECORD_SIZE);
+
+            for (long index = position; index < recordCount; index++)
+            {
+                readFully(channel, record.clear(), HEADER_SIZE + index * RECORD_SIZE);
+                action.accept(decode(record, NONE));
+            }
+
+            return recordCount;
+        }
+    }
+
+    /**
+     * Reads a single score by its position in the log.
+     *
+     * @param index the record index, starting at 0
+     * @return the score stored at that index
+     * @throws IOException if the log cannot be read or the index is out of range
+     */
+    public Score readScore(final long index)
+        throws IOException
+    {
+        if (index < NONE || index >= getRecordCount())
+        {
+            throw new IOException("No score record at index " + index);
+        }
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            final ByteBuffer record;
+            record = ByteBuffer.allocate(RECORD_SIZE);
+
+            readFully(channel, record, HEADER_SIZE + index * RECORD_SIZE);
+
+            return decode(record, NONE);
+        }
+    }
+
+    /**
+     * Copies every score from a text score file, in the Score.toString format, into a binary log.
+     *
+     * @param textScoreFile  the existing text score file
+     * @param binaryScoreLog the binary log to append to
+     * @return the number of scores migrated
+     * @throws IOException if the binary log cannot be written
+     */
+    public static int migrateFromText(final Path textScoreFile,
+                                      final BinaryScoreLog binaryScoreLog)
+        throws IOException
+    {
+        final List<Score> scores;
+        scores = Score.readScoresFromFile(textScoreFile.toString());
+
+        binaryScoreLog.appendAll(scores);
+
+        return scores.size();
+    }
+
+    /*
+    True if the candidate has a strictly higher average than the current best,
+    matching the first-wins tie rule of the text-file comparison in WordGame.
+    Both scores must have at least one game played.
+     */
+    private static boolean beats(final Score candidate,
+                                 final Score best)
+    {
+        return (double) candidate.getScore() / candidate.getNumGamesPlayed() >
+               (double) best.getScore() / best.getNumGamesPlayed();
+    }
+
+    /*
+    Reads the header, or writes an empty one if the file is new
+     */
+    private static ByteBuffer readOrCreateHeader(final FileChannel channel)
+        throws IOException
+    {
+        final ByteBuffer existing;
+        existing = readHeader(channel);
+
+        if (existing != null)
+        {
+            return existing;
+        }
+
+        final ByteBuffer header;
+        header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putLong(NONE);
+        header.putLong(NO_RECORD);
+        header.clear();
+
+        return header;
+    }
+
+    /*
+    Reads and validates the header, returning null for an empty file
+     */
+    private static ByteBuffer readHeader(final FileChannel channel)
+        throws IOException
+    {
+        if (channel.size() == NONE)
+        {
+            return null;
+        }
+
+        final ByteBuffer header;
+        header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, MAGIC_OFFSET);
+
+        if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION)
+        {
+            throw new IOException("Not a binary score log");
+        }
+
+        return header;
+    }
+
+    /*
+    Encodes a score into a fixed-width record
+     */
+    private static ByteBuffer encode(final Score score)
+    {
+        final ByteBuffer record;
+        record = ByteBuffer.allocate(RECORD_SIZE);
+
+        record.putLong(score.getDateTimePlayed().toEpochSecond(ZoneOffset.UTC));
+        record.putInt(score.getNumGamesPlayed());
+        record.putInt(score.getNumCorrectFirstAttempt());
+        record.putInt(score.getNumCorrectSecondAttempt());
+        record.putInt(score.getNumIncorrectTwoAttempts());
+        record.flip();
+
+        return record;
+    }
+
+    /*
+    Decodes the fixed-width record starting at the given offset
+     */
+    private static Score decode(final ByteBuffer buffer,
+                                final int offset)
+    {
+        final LocalDateTime dateTimePlayed;
+        dateTimePlayed = LocalDateTime.ofEpochSecond(buffer.getLong(offset), NONE, ZoneOffset.UTC);
+
+        return new Score(dateTimePlayed,
+                         buffer.getInt(offset + Long.BYTES),
+                         buffer.getInt(offset + Long.BYTES + Integer.BYTES),
+                         buffer.getInt(offset + Long.BYTES + 2 * Integer.BYTES),
+                         buffer.getInt(offset + Long.BYTES + 3 * Integer.BYTES));
+    }
+
+    /*
+    Writes the whole buffer at the given file position
+     */
+    private static void writeFully(final FileChannel channel,
+                                   final ByteBuffer buffer,
+                                   final long position)
+        throws IOException
+    {
+        long current;
+        current = position;
+
+        while (buffer.hasRemaining())
+        {
+            current += channel.write(buffer, current);
+        }
+    }
+
+    /*
+    Fills the buffer from the given file position
+     */
+    private static void readFully(final FileChannel channel,
+                                  final ByteBuffer buffer,
+                                  final long position)
+        throws IOException
+    {
+        long current;
+        current = position;
+
+        while (buffer.hasRemaining())
+        {
+            final int read;
+            read = channel.read(buffer, current);
+
+            if (read < NONE)
+            {
+                throw new IOException("Unexpected end of binary score log");
+            }
+            current += read;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Score sink that queues scores in memory and commits them to another sink in groups
+ * from a background thread, so recording a score never waits on the disk.
+ * A group is committed every flush interval, or sooner once the maximum batch size is queued.
+ * Remaining scores are flushed on close, and by a shutdown hook if the sink was never closed.
+ * A group that fails to write is kept and retried with the next one.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class BufferedScoreSink implements ScoreSink
+{
+    private static final int  DEFAULT_MAX_BATCH_SIZE = 64;
+    private static final int  MIN_BATCH_SIZE         = 1;
+    private static final long CLOSE_TIMEOUT_SECONDS  = 5L;
+    private static final int  NONE                   = 0;
+
+    private final ScoreSink                    target;
+    private final int                          maxBatchSize;
+    private final ConcurrentLinkedQueue<Score> queue;
+    private final AtomicInteger                queuedCount;
+    private final List<Score>                  pending;
+    private final ScheduledExecutorService     flusher;
+
+    private volatile boolean closed;
+    private Thread           shutdownHook;
+    private long             committedBatches;
+    private long             committedScores;
+
+    /*
+    Constructs a BufferedScoreSink whose background thread has not been started yet
+     */
+    private BufferedScoreSink(final ScoreSink target,
+                              final int maxBatchSize)
+    {
+        this.target       = target;
+        this.maxBatchSize = maxBatchSize;
+        this.queue        = new ConcurrentLinkedQueue<>();
+        this.queuedCount  = new AtomicInteger();
+        this.pending      = new ArrayList<>();
+        this.flusher      = Executors.newSingleThreadScheduledExecutor(BufferedScoreSink::newFlusherThread);
+    }
+
+    /**
+     * Creates a BufferedScoreSink with the default maximum batch size and starts its background thread.
+     *
+     * @param target        the sink that groups of scores are committed to
+     * @param flushInterval how often queued scores are committed
+     * @return the started sink
+     */
+    public static BufferedScoreSink start(final ScoreSink target,
+                                          final Duration flushInterval)
+    {
+        return start(target, flushInterval, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a BufferedScoreSink and starts its background thread.
+     *
+     * @param target        the sink that groups of scores are committed to
+     * @param flushInterval how often queued scores are committed
+     * @param maxBatchSize  the number of queued scores that triggers an early commit
+     * @return the started sink
+     */
+    public static BufferedScoreSink start(final ScoreSink target,
+                                          final Duration flushInterval,
+                                          final int maxBatchSize)
+    {
+        checkTarget(target);
+        checkFlushInterval(flushInterval);
+        checkMaxBatchSize(maxBatchSize);
+
+        final BufferedScoreSink sink;
+        sink = new BufferedScoreSink(target, maxBatchSize);
+        sink.startFlusher(flushInterval);
+
+        return sink;
+    }
+
+    /*
+    Schedules the periodic commits and registers the shutdown hook, once the sink is fully built
+     */
+    private void startFlusher(final Duration flushInterval)
+    {
+        shutdownHook = new Thread(this::flushQuietly, "score-sink-shutdown");
+
+        flusher.scheduleWithFixedDelay(this::flushQuietly,
+                                       flushInterval.toMillis(),
+                                       flushInterval.toMillis(),
+                                       TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /*
+    Check if target is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkTarget(final ScoreSink target)
+    {
+        if (target == null)
+        {
+            throw new IllegalArgumentException("target cannot be null");
+        }
+    }
+
+    /*
+    Check if the flush interval is null or not positive, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkFlushInterval(final Duration flushInterval)
+    {
+        if (flushInterval == null || flushInterval.toMillis() <= NONE)
+        {
+            throw new IllegalArgumentException("flush interval must be at least one millisecond");
+        }
+    }
+
+    /*
+    Check if the batch size is below one, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkMaxBatchSize(final int maxBatchSize)
+    {
+        if (maxBatchSize < MIN_BATCH_SIZE)
+        {
+            throw new IllegalArgumentException("max batch size must be at least " + MIN_BATCH_SIZE);
+        }
+    }
+
+    /**
+     * Queues a copy of the score for the next group commit. Never blocks on I/O.
+     *
+     * @param score the score to record
+     */
+    @Override
+    public void record(final Score score)
+    {
+        if (score == null)
+        {
+            throw new IllegalArgumentException("score cannot be null");
+        }
+
+        if (closed)
+        {
+            throw new IllegalStateException("Score sink is closed");
+        }
+
+        // Copy, since a game may keep updating its Score after recording it
+        queue.add(new Score(score.getDateTimePlayed(),
+                            score.getNumGamesPlayed(),
+                            score.getNumCorrectFirstAttempt(),
+                            score.getNumCorrectSecondAttempt(),
+                            score.getNumIncorrectTwoAttempts()));
+
+        if (queuedCount.incrementAndGet() >= maxBatchSize)
+        {
+            try
+            {
+                flusher.execute(this::flushQuietly);
+            }
+            catch (final RejectedExecutionException e)
+            {
+                // Closing; close() commits whatever is left
+            }
+        }
+    }
+
+    /**
+     * Commits every queued score to the target now, on the calling thread.
+     *
+     * @throws IOException if the target cannot write the scores; they stay queued for a retry
+     */
+    @Override
+    public synchronized void flush()
+        throws IOException
+    {
+        Score score;
+
+        while ((score = queue.poll()) != null)
+        {
+            queuedCount.decrementAndGet();
+            pending.add(score);
+        }
+
+        if (pending.isEmpty())
+        {
+            return;
+        }
+
+        target.recordAll(pending);
+
+        committedBatches++;
+        committedScores += pending.size();
+        pending.clear();
+    }
+
+    /**
+     * Stops the background thread, commits the remaining scores and closes the target.
+     *
+     * @throws IOException if the remaining scores cannot be written
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        if (closed)
+        {
+            return;
+        }
+        closed = true;
+
+        flusher.shutdown();
+
+        try
+        {
+            flusher.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        try
+        {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        }
+        catch (final IllegalStateException e)
+        {
+            // Already shutting down; the hook flushes too
+        }
+
+        flush();
+        target.close();
+    }
+
+    /**
+     * Returns how many groups have been committed to the target.
+     *
+     * @return the committed group count
+     */
+    public synchronized long getCommittedBatchCount()
+    {
+        return committedBatches;
+    }
+
+    /**
+     * Returns how many scores have been committed to the target.
+     *
+     * @return the committed score count
+     */
+    public synchronized long getCommittedScoreCount()
+    {
+        return committedScores;
+    }
+
+    /*
+    Creates the daemon thread that runs the scheduled commits
+     */
+    private static Thread newFlusherThread(final Runnable runnable)
+    {
+        final Thread thread;
+        thread = new Thread(runnable, "score-sink-flusher");
+        thread.setDaemon(true);
+
+        return thread;
+    }
+
+    /*
+    Flushes from the background or shutdown thread, reporting instead of throwing
+     */
+    private void flushQuietly()
+    {
+        try
+        {
+            flush();
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Could not write scores, will retry: " + e.getMessage());
+        }
+    }
+}
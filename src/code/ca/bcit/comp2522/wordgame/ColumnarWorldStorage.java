@@ -0,0 +1,445 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * World storage that keeps every country's strings in primitive arrays instead of objects.
+ *
+ * <p>Countries are numbered 0 to n - 1. Each country owns a run of string slots:
+ * its name, then its capital, then its facts. Every string is UTF-8 encoded into one
+ * shared byte arena, and stringStart gives the offset of each slot, with a sentinel at
+ * the end. Null facts are marked in a bit set. Name and capital lookups go through
+ * open-addressed tables of country ids, keyed by the hash of the case-folded name.
+ *
+ * <p>Each country is handed out as one CountryView built up front, which holds only its id
+ * and decodes its strings from the arena on every getter call, so lookups and
+ * getCountryArray() return the same objects every time. Immutable and safe to share
+ * between threads.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+class ColumnarWorldStorage implements WorldStorage
+{
+    private static final int NONE              = 0;
+    private static final int EMPTY_SLOT        = 0;
+    private static final int NAME_SLOT         = 0;
+    private static final int CAPITAL_SLOT      = 1;
+    private static final int FIRST_FACT_SLOT   = 2;
+    private static final int LOAD_FACTOR_SHIFT = 1;
+    private static final int MIN_TABLE_SIZE    = 2;
+    private static final int HASH_SPREAD_SHIFT = 16;
+
+    private final byte[]    arena;
+    private final int[]     stringStart;
+    private final BitSet    nullStrings;
+    private final int[]     firstSlot;
+    private final int[]     nameHash;
+    private final int[]     capitalHash;
+    private final int[]     nameTable;
+    private final int[]     capitalTable;
+    private final int       countryCount;
+    private final Country[] views;
+
+    private final Map<String, Country> countriesMap;
+
+    /**
+     * Constructs a ColumnarWorldStorage holding the given countries.
+     * Only the first of several countries whose names differ only by case is kept.
+     *
+     * @param countries the countries to store
+     */
+    ColumnarWorldStorage(final Collection<Country> countries)
+    {
+        final List<Country> kept;
+        final Set<String> seenNames;
+
+        kept      = new ArrayList<>(countries.size());
+        seenNames = new HashSet<>();
+
+        for (final Country country : countries)
+        {
+            if (seenNames.add(World.foldCase(country.getCountryName())))
+            {
+                kept.add(country);
+            }
+        }
+
+        int slotCount;
+
+        countryCount = kept.size();
+        slotCount    = NONE;
+        firstSlot    = new int[countryCount + 1];
+
+        for (int id = 0; id < countryCount; id++)
+        {
+            firstSlot[id] = slotCount;
+            slotCount    += FIRST_FACT_SLOT + kept.get(id).getFactCount();
+        }
+
+        firstSlot[countryCount] = slotCount;
+
+        final byte[][] encoded;
+        int arenaLength;
+
+        encoded     = new byte[slotCount][];
+        arenaLength = NONE;
+        nullStrings = new BitSet(slotCount);
+
+        for (int id = 0; id < countryCount; id++)
+        {
+            final Country country;
+            final int first;
+
+            country = kept.get(id);
+            first   = firstSlot[id];
+
+            encoded[first + NAME_SLOT]    = encode(country.getCountryName());
+            encoded[first + CAPITAL_SLOT] = encode(country.getCapitalCityName());
+
+            for (int fact = 0; fact < country.getFactCount(); fact++)
+            {
+                final String text;
+                text = country.getFact(fact);
+
+                if (text == null)
+                {
+                    nullStrings.set(first + FIRST_FACT_SLOT + fact);
+                    encoded[first + FIRST_FACT_SLOT + fact] = new byte[NONE];
+                }
+                else
+                {
+                    encoded[first + FIRST_FACT_SLOT + fact] = encode(text);
+                }
+            }
+        }
+
+        for (final byte[] bytes : encoded)
+        {
+            arenaLength += bytes.length;
+        }
+
+        arena       = new byte[arenaLength];
+        stringStart = new int[slotCount + 1];
+
+        int next;
+        next = NONE;
+
+        for (int slot = 0; slot < slotCount; slot++)
+        {
+            System.arraycopy(encoded[slot], NONE, arena, next, encoded[slot].length);
+
+            stringStart[slot] = next;
+            next             += encoded[slot].length;
+        }
+
+        stringStart[slotCount] = next;
+
+        nameHash     = new int[countryCount];
+        capitalHash  = new int[countryCount];
+        nameTable    = new int[tableSize(countryCount)];
+        capitalTable = new int[nameTable.length];
+        views        = new Country[countryCount];
+
+        for (int id = 0; id < countryCount; id++)
+        {
+            views[id] = new CountryView(id);
+
+            nameHash[id]    = World.foldCase(kept.get(id).getCountryName()).hashCode();
+            capitalHash[id] = World.foldCase(kept.get(id).getCapitalCityName()).hashCode();
+
+            insert(nameTable, nameHash, NAME_SLOT, id);
+            insert(capitalTable, capitalHash, CAPITAL_SLOT, id);
+        }
+
+        countriesMap = new CountriesMapView();
+    }
+
+    /*
+    Encodes a string as UTF-8
+     */
+    private static byte[] encode(final String s)
+    {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /*
+    Returns the smallest power of two holding the ids with at most half the slots filled
+     */
+    private static int tableSize(final int countryCount)
+    {
+        final int wanted;
+        wanted = Math.max(MIN_TABLE_SIZE, countryCount << LOAD_FACTOR_SHIFT);
+
+        return Integer.highestOneBit(wanted - 1) << 1;
+    }
+
+    /*
+    Spreads the high bits of a hash into the low bits used for the table index
+     */
+    private static int spread(final int hash)
+    {
+        return hash ^ (hash >>> HASH_SPREAD_SHIFT);
+    }
+
+    /*
+    Adds a country id to a lookup table unless a country with the same folded string
+    is already there, so the first country wins as with Map.putIfAbsent
+     */
+    private void insert(final int[] table,
+                        final int[] hashes,
+                        final int slotOffset,
+                        final int id)
+    {
+        final String folded;
+        final int index;
+
+        folded = World.foldCase(decode(firstSlot[id] + slotOffset));
+        index  = find(table, hashes, slotOffset, folded, hashes[id]);
+
+        if (table[index] == EMPTY_SLOT)
+        {
+            table[index] = id + 1;
+        }
+    }
+
+    /*
+    Probes a lookup table for a folded string, returning the index holding its
+    country id, or the empty index where it would be inserted
+     */
+    private int find(final int[] table,
+                     final int[] hashes,
+                     final int slotOffset,
+                     final String folded,
+                     final int hash)
+    {
+        final int mask;
+        int index;
+
+        mask  = table.length - 1;
+        index = spread(hash) & mask;
+
+        while (table[index] != EMPTY_SLOT)
+        {
+            final int id;
+            id = table[index] - 1;
+
+            if (hashes[id] == hash &&
+                World.foldCase(decode(firstSlot[id] + slotOffset)).equals(folded))
+            {
+                return index;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return index;
+    }
+
+    /*
+    Looks up a country by a folded string in one of the tables
+     */
+    private Country lookup(final int[] table,
+                           final int[] hashes,
+                           final int slotOffset,
+                           final String folded)
+    {
+        final int index;
+        index = find(table, hashes, slotOffset, folded, folded.hashCode());
+
+        if (table[index] == EMPTY_SLOT)
+        {
+            return null;
+        }
+
+        return views[table[index] - 1];
+    }
+
+    /*
+    Decodes the string in a slot, or returns null for a null fact
+     */
+    private String decode(final int slot)
+    {
+        if (nullStrings.get(slot))
+        {
+            return null;
+        }
+
+        return new String(arena,
+                          stringStart[slot],
+                          stringStart[slot + 1] - stringStart[slot],
+                          StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Map<String, Country> getCountriesMap()
+    {
+        return countriesMap;
+    }
+
+    @Override
+    public Country getCountryByFoldedName(final String foldedName)
+    {
+        return lookup(nameTable, nameHash, NAME_SLOT, foldedName);
+    }
+
+    @Override
+    public Country getCountryByFoldedCapital(final String foldedCapital)
+    {
+        return lookup(capitalTable, capitalHash, CAPITAL_SLOT, foldedCapital);
+    }
+
+    @Override
+    public int size()
+    {
+        return countryCount;
+    }
+
+    @Override
+    public Country[] getCountryArray()
+    {
+        return views;
+    }
+
+    /**
+     * A country read straight from the arena by its id.
+     */
+    private final class CountryView extends Country
+    {
+        private final int id;
+
+        /*
+        Constructs a view of the country with the given id
+         */
+        private CountryView(final int id)
+        {
+            this.id = id;
+        }
+
+        @Override
+        public String getCountryName()
+        {
+            return decode(firstSlot[id] + NAME_SLOT);
+        }
+
+        @Override
+        public String getCapitalCityName()
+        {
+            return decode(firstSlot[id] + CAPITAL_SLOT);
+        }
+
+        @Override
+        public String getFact(final int factIndex)
+        {
+            if (factIndex < NONE || factIndex >= getFactCount())
+            {
+                throw new ArrayIndexOutOfBoundsException(factIndex);
+            }
+
+            return decode(firstSlot[id] + FIRST_FACT_SLOT + factIndex);
+        }
+
+        @Override
+        public int getFactCount()
+        {
+            return firstSlot[id + 1] - firstSlot[id] - FIRST_FACT_SLOT;
+        }
+    }
+
+    /**
+     * Read-only map from country name to country, backed by the name table.
+     */
+    private final class CountriesMapView extends AbstractMap<String, Country>
+    {
+        private final Set<Map.Entry<String, Country>> entrySet = new EntrySetView();
+
+        @Override
+        public Country get(final Object key)
+        {
+            if (!(key instanceof String name))
+            {
+                return null;
+            }
+
+            final Country country;
+            country = getCountryByFoldedName(World.foldCase(name));
+
+            if (country == null || !country.getCountryName().equals(name))
+            {
+                return null;
+            }
+
+            return country;
+        }
+
+        @Override
+        public boolean containsKey(final Object key)
+        {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size()
+        {
+            return countryCount;
+        }
+
+        @Override
+        public Set<Map.Entry<String, Country>> entrySet()
+        {
+            return entrySet;
+        }
+    }
+
+    /**
+     * The entries of the countries map, in id order.
+     */
+    private final class EntrySetView extends AbstractSet<Map.Entry<String, Country>>
+    {
+        @Override
+        public Iterator<Map.Entry<String, Country>> iterator()
+        {
+            return new Iterator<>()
+            {
+                private int next = NONE;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return next < countryCount;
+                }
+
+                @Override
+                public Map.Entry<String, Country> next()
+                {
+                    if (!hasNext())
+                    {
+                        throw new NoSuchElementException();
+                    }
+
+                    final Country country;
+                    country = views[next++];
+
+                    return new AbstractMap.SimpleImmutableEntry<>(country.getCountryName(), country);
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return countryCount;
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Writes synthetic country files and score histories for load testing the loaders and parsers.
+ *
+ * <p>Country files hold blocks of a "Name:Capital" header and three fact lines, each fact
+ * ending with a period and long facts wrapped over several lines, separated by blank lines,
+ * exactly as the loaders expect. Every country name is unique. Score files hold blocks in
+ * the Score.toString format. Both can mix in malformed blocks the parsers must skip:
+ * headers without a colon or with too many fields, score blocks missing a line or with
+ * a bad date label. The same seed always writes the same bytes.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public final class CorpusGenerator
+{
+    private static final int    NONE               = 0;
+    private static final int    NUM_OF_FACTS       = 3;
+    private static final int    WRAP_COLUMN        = 80;
+    private static final int    MIN_FACT_LENGTH    = 8;
+    private static final int    NAME_SYLLABLES     = 2;
+    private static final int    MAX_EXTRA_SYLLABLE = 2;
+    private static final int    MAX_GAMES          = 10;
+    private static final int    QUESTIONS_PER_GAME = 3;
+    private static final int    MALFORMED_KINDS    = 2;
+    private static final int    FILE_NAME_DIGITS   = 5;
+    private static final long   MINUTES_PER_SCORE  = 7L;
+    private static final int    TRUNCATED_LINES    = 3;
+    private static final String LINE_END           = "\n";
+    private static final String BLOCK_SEPARATOR    = System.lineSeparator();
+    private static final String FILE_EXTENSION     = ".txt";
+    private static final String BAD_DATE_LABEL     = "Played on: ";
+    private static final String DATE_LABEL         = "Date and Time: ";
+
+    private static final int    USAGE_MIN_ARGS          = 4;
+    private static final int    FOLDER_ARG              = 0;
+    private static final int    COUNTRIES_ARG           = 1;
+    private static final int    FILES_ARG               = 2;
+    private static final int    SCORES_ARG              = 3;
+    private static final int    LENGTH_ARG              = 4;
+    private static final int    RATIO_ARG               = 5;
+    private static final int    SEED_ARG                = 6;
+    private static final int    DEFAULT_FACT_LENGTH     = 60;
+    private static final double DEFAULT_MALFORMED_RATIO = 0.01;
+    private static final long   DEFAULT_SEED            = 2522L;
+    private static final long   NANOS_PER_MILLI         = 1_000_000L;
+    private static final String INPUTS_FOLDER           = "inputs";
+    private static final String SCORES_FILE             = "scores.txt";
+
+    private static final LocalDateTime FIRST_SCORE_TIME = LocalDateTime.of(2020, 1, 1, 9, 0);
+
+    private static final String[] SYLLABLES = {
+        "ba", "ca", "da", "fa", "ga", "ha", "ka", "la", "ma", "na", "pa", "ra", "sa", "ta", "va", "za",
+        "be", "ce", "de", "fe", "ge", "he", "ke", "le", "me", "ne", "pe", "re", "se", "te", "ve", "ze",
+        "bi", "ci", "di", "fi", "gi", "hi", "ki", "li", "mi", "ni", "pi", "ri", "si", "ti", "vi", "zi",
+        "bo", "co", "do", "fo", "go", "ho", "ko", "lo", "mo", "no", "po", "ro", "so", "to", "vo", "zo"
+    };
+
+    private static final String[] WORDS = {
+        "ancient", "river", "mountain", "capital", "known", "for", "its", "the", "of", "and",
+        "largest", "festival", "coast", "national", "island", "trade", "home", "to", "famous",
+        "desert", "forest", "language", "people", "history", "export", "bridge", "museum", "lake"
+    };
+
+    private final long   seed;
+    private final int    factLength;
+    private final double malformedRatio;
+
+    /**
+     * Constructs a CorpusGenerator.
+     *
+     * @param seed           the seed every file is generated from
+     * @param factLength     the approximate length of each fact in characters, at least 8
+     * @param malformedRatio the chance, from 0 to 1, of a malformed block before each valid one
+     */
+    public CorpusGenerator(final long seed,
+                           final int factLength,
+                           final double malformedRatio)
+    {
+        checkFactLength(factLength);
+        checkMalformedRatio(malformedRatio);
+
+        this.seed           = seed;
+        this.factLength     = factLength;
+        this.malformedRatio = malformedRatio;
+    }
+
+    /*
+    Check if factLength is too short, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkFactLength(final int factLength)
+    {
+        if (factLength < MIN_FACT_LENGTH)
+        {
+            throw new IllegalArgumentException("factLength must be at least " + MIN_FACT_LENGTH + ": " + factLength);
+        }
+    }
+
+    /*
+    Check if malformedRatio is outside 0 to 1, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkMalformedRatio(final double malformedRatio)
+    {
+        if (!(malformedRatio >= NONE && malformedRatio <= 1.0))
+        {
+            throw new IllegalArgumentException("malformedRatio must be between 0 and 1: " + malformedRatio);
+        }
+    }
+
+    /**
+     * Writes countryCount valid countries spread evenly over fileCount files in the folder,
+     * creating the folder if needed.
+     *
+     * @param folder       the folder to write the files to
+     * @param countryCount the number of valid countries
+     * @param fileCount    the number of files, at least 1
+     * @return the number of malformed blocks written as well
+     * @throws IOException if a file cannot be written
+     */
+    public long writeCountryFiles(final Path folder,
+                                  final long countryCount,
+                                  final int fileCount)
+        throws IOException
+    {
+        if (fileCount <= NONE || countryCount < NONE)
+        {
+            throw new IllegalArgumentException("Need at least one file and no negative country count");
+        }
+
+        Files.createDirectories(folder);
+
+        final RandomGenerator rng;
+        final StringBuilder sb;
+
+        rng = new SplittableRandom(seed);
+        sb  = new StringBuilder();
+
+        long malformed;
+        long nextId;
+
+        malformed = NONE;
+        nextId    = NONE;
+
+        for (int file = 0; file < fileCount; file++)
+        {
+            final long inFile;
+            final Path path;
+
+            // The first countryCount % fileCount files take one extra country each
+            inFile = countryCount / fileCount + (file < countryCount % fileCount ? 1 : NONE);
+            path   = folder.resolve(String.format("countries-%0" + FILE_NAME_DIGITS + "d" + FILE_EXTENSION, file));
+
+            try (final BufferedWriter out = Files.newBufferedWriter(path))
+            {
+                for (long i = 0; i < inFile; i++)
+                {
+                    if (rng.nextDouble() < malformedRatio)
+                    {
+                        sb.setLength(NONE);
+                        appendMalformedCountry(sb, rng);
+                        out.append(sb);
+                        malformed++;
+                    }
+
+                    sb.setLength(NONE);
+                    appendCountry(sb, nextId++, rng);
+                    out.append(sb);
+                }
+            }
+        }
+
+        return malformed;
+    }
+
+    /**
+     * Writes scoreCount valid score blocks, one every few minutes, to the file.
+     *
+     * @param file       the score file to write
+     * @param scoreCount the number of valid score blocks
+     * @return the number of malformed blocks written as well
+     * @throws IOException if the file cannot be written
+     */
+    public long writeScoreFile(final Path file,
+                               final long scoreCount)
+        throws IOException
+    {
+        final RandomGenerator rng;
+        rng = new SplittableRandom(seed);
+
+        long malformed;
+        malformed = NONE;
+
+        try (final BufferedWriter out = Files.newBufferedWriter(file))
+        {
+            for (long i = 0; i < scoreCount; i++)
+            {
+                final Score score;
+                score = randomScore(FIRST_SCORE_TIME.plusMinutes(i * MINUTES_PER_SCORE), rng);
+
+                if (rng.nextDouble() < malformedRatio)
+                {
+                    out.write(malformScore(score.toString(), rng));
+                    out.write(BLOCK_SEPARATOR);
+                    malformed++;
+                }
+
+                out.write(score.toString());
+                out.write(BLOCK_SEPARATOR);
+            }
+        }
+
+        return malformed;
+    }
+
+    /*
+    Appends a valid country block: header, three facts, blank line
+     */
+    private void appendCountry(final StringBuilder sb,
+                               final long id,
+                               final RandomGenerator rng)
+    {
+        appendUniqueName(sb, id);
+        sb.append(':');
+        appendRandomName(sb, rng);
+        sb.append(LINE_END);
+
+        for (int fact = 0; fact < NUM_OF_FACTS; fact++)
+        {
+            appendFact(sb, rng);
+        }
+
+        sb.append(LINE_END);
+    }
+
+    /*
+    Appends a block whose header the loaders skip, with fact lines that are skipped too
+     */
+    private void appendMalformedCountry(final StringBuilder sb,
+                                        final RandomGenerator rng)
+    {
+        appendRandomName(sb, rng);
+
+        if (rng.nextInt(MALFORMED_KINDS) == NONE)
+        {
+            // No colon at all
+            sb.append(' ');
+            appendRandomName(sb, rng);
+        }
+        else
+        {
+            // Three fields instead of two
+            sb.append(':');
+            appendRandomName(sb, rng);
+            sb.append(':');
+            appendRandomName(sb, rng);
+        }
+
+        sb.append(LINE_END);
+        appendFact(sb, rng);
+        sb.append(LINE_END);
+    }
+
+    /*
+    Appends a name made unique by spelling the id in syllables after two random-looking ones
+     */
+    private static void appendUniqueName(final StringBuilder sb,
+                                         final long id)
+    {
+        final int start;
+        start = sb.length();
+
+        long rest;
+        rest = id;
+
+        do
+        {
+            sb.append(SYLLABLES[(int) (rest % SYLLABLES.length)]);
+            rest /= SYLLABLES.length;
+        }
+        while (rest > NONE);
+
+        sb.append(SYLLABLES[(int) (mix(id) % SYLLABLES.length)]);
+        sb.setCharAt(start, Character.toUpperCase(sb.charAt(start)));
+    }
+
+    /*
+    Appends a random capitalised name of a few syllables
+     */
+    private static void appendRandomName(final StringBuilder sb,
+                                         final RandomGenerator rng)
+    {
+        final int start;
+        final int syllables;
+
+        start     = sb.length();
+        syllables = NAME_SYLLABLES + rng.nextInt(MAX_EXTRA_SYLLABLE + 1);
+
+        for (int i = 0; i < syllables; i++)
+        {
+            sb.append(SYLLABLES[rng.nextInt(SYLLABLES.length)]);
+        }
+
+        sb.setCharAt(start, Character.toUpperCase(sb.charAt(start)));
+    }
+
+    /*
+    Appends one fact of about factLength characters ending with a period,
+    wrapped at word boundaries so no line is much longer than the wrap column
+     */
+    private void appendFact(final StringBuilder sb,
+                            final RandomGenerator rng)
+    {
+        final int start;
+        start = sb.length();
+
+        int lineStart;
+        lineStart = start;
+
+        sb.append(Character.toUpperCase(WORDS[NONE].charAt(NONE)));
+        sb.append(WORDS[NONE], 1, WORDS[NONE].length());
+
+        while (sb.length() - start < factLength)
+        {
+            final String word;
+            word = WORDS[rng.nextInt(WORDS.length)];
+
+            if (sb.length() - lineStart + word.length() >= WRAP_COLUMN)
+            {
+                sb.append(LINE_END);
+                lineStart = sb.length();
+            }
+            else
+            {
+                sb.append(' ');
+            }
+
+            sb.append(word);
+        }
+
+        sb.append('.');
+        sb.append(LINE_END);
+    }
+
+    /*
+    Returns a random but consistent score played at the given time
+     */
+    private static Score randomScore(final LocalDateTime played,
+                                     final RandomGenerator rng)
+    {
+        final int games;
+        final int answers;
+        final int first;
+        final int second;
+
+        games   = rng.nextInt(1, MAX_GAMES + 1);
+        answers = games * QUESTIONS_PER_GAME;
+        first   = rng.nextInt(answers + 1);
+        second  = rng.nextInt(answers - first + 1);
+
+        return new Score(played, games, first, second, answers - first - second);
+    }
+
+    /*
+    Breaks a score block so the parser skips it: cuts it short or relabels the date
+     */
+    private static String malformScore(final String block,
+                                       final RandomGenerator rng)
+    {
+        if (rng.nextInt(MALFORMED_KINDS) == NONE)
+        {
+            int end;
+            end = -1;
+
+            for (int i = 0; i < TRUNCATED_LINES; i++)
+            {
+                end = block.indexOf(LINE_END, end + 1);
+            }
+
+            return block.substring(NONE, end + 1);
+        }
+
+        return BAD_DATE_LABEL + block.substring(DATE_LABEL.length());
+    }
+
+    /*
+    Scrambles an id into a well-spread number, so consecutive names do not all end alike
+     */
+    private static long mix(final long id)
+    {
+        return new SplittableRandom(id).nextLong() >>> 1;
+    }
+
+    /**
+     * Writes a corpus from the command line:
+     * folder, country count, file count, score block count, then optionally
+     * fact length (default 60), malformed ratio (default 0.01) and seed (default 2522).
+     * The country files go in folder/inputs and the scores in folder/scores.txt.
+     *
+     * @param args the corpus settings
+     * @throws IOException if a file cannot be written
+     */
+    public static void main(final String[] args)
+        throws IOException
+    {
+        if (args.length < USAGE_MIN_ARGS)
+        {
+            System.err.println("Usage: CorpusGenerator <folder> <countries> <files> <score blocks> " +
+                               "[fact length] [malformed ratio] [seed]");
+            return;
+        }
+
+        final Path folder;
+        final long countries;
+        final int files;
+        final long scores;
+        final int length;
+        final double ratio;
+        final long corpusSeed;
+
+        folder     = Paths.get(args[FOLDER_ARG]);
+        countries  = Long.parseLong(args[COUNTRIES_ARG]);
+        files      = Integer.parseInt(args[FILES_ARG]);
+        scores     = Long.parseLong(args[SCORES_ARG]);
+        length     = args.length > LENGTH_ARG ? Integer.parseInt(args[LENGTH_ARG]) : DEFAULT_FACT_LENGTH;
+        ratio      = args.length > RATIO_ARG ? Double.parseDouble(args[RATIO_ARG]) : DEFAULT_MALFORMED_RATIO;
+        corpusSeed = args.length > SEED_ARG ? Long.parseLong(args[SEED_ARG]) : DEFAULT_SEED;
+
+        final CorpusGenerator generator;
+        final long start;
+        final long malformedCountries;
+        final long malformedScores;
+
+        generator          = new CorpusGenerator(corpusSeed, length, ratio);
+        start              = System.nanoTime();
+        malformedCountries = generator.writeCountryFiles(folder.resolve(INPUTS_FOLDER), countries, files);
+        malformedScores    = generator.writeScoreFile(folder.resolve(SCORES_FILE), scores);
+
+        System.out.println("Wrote " + countries + " countries (+" + malformedCountries + " malformed) in " +
+                           files + " files and " + scores + " score blocks (+" + malformedScores +
+                           " malformed) to " + folder + " in " + (System.nanoTime() - start) / NANOS_PER_MILLI +
+                           " ms");
+    }
+}
@@ -0,0 +1,173 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line check of a folder of country files. Parses every file in parallel with the
+ * TolerantCountryLoader, prints each problem as "file:line: description" in file and line
+ * order, then a summary of the countries loaded and the problems found by reason.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public final class CorpusValidator
+{
+    private static final int    INPUTS_ARG_INDEX = 0;
+    private static final int    NONE             = 0;
+    private static final double NANOS_PER_MILLI  = 1_000_000.0;
+    private static final String DEFAULT_INPUTS   = "src/code/ca/bcit/comp2522/wordgame/inputs";
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private CorpusValidator()
+    {
+    }
+
+    /**
+     * Validates the folder given as the first argument, or the word game's inputs folder.
+     *
+     * @param args optional path to the folder of country files
+     * @throws IOException if the folder or one of its files cannot be read
+     */
+    public static void main(final String[] args)
+        throws IOException
+    {
+        final Path inputsPath;
+
+        if (args.length > INPUTS_ARG_INDEX)
+        {
+            inputsPath = Paths.get(args[INPUTS_ARG_INDEX]);
+        }
+        else
+        {
+            inputsPath = Paths.get(DEFAULT_INPUTS);
+        }
+
+        if (!Files.isDirectory(inputsPath))
+        {
+            System.err.println("Not a folder: " + inputsPath.toAbsolutePath());
+            return;
+        }
+
+        final long start;
+        final List<Path> files;
+        final List<FileReport> reports;
+        final long elapsed;
+
+        start   = System.nanoTime();
+        files   = AbstractCountryLoader.listInputFiles(inputsPath);
+        reports = validate(files, new TolerantCountryLoader());
+        elapsed = System.nanoTime() - start;
+
+        final Map<CountryDiagnostic.Reason, Integer> byReason;
+        byReason = new EnumMap<>(CountryDiagnostic.Reason.class);
+
+        long countries;
+        long skipped;
+
+        countries = NONE;
+        skipped   = NONE;
+
+        for (final FileReport report : reports)
+        {
+            countries += report.countries;
+
+            for (final CountryDiagnostic diagnostic : report.diagnostics)
+            {
+                System.out.println(diagnostic);
+                byReason.merge(diagnostic.getReason(), 1, Integer::sum);
+
+                if (diagnostic.getReason().isCountrySkipped())
+                {
+                    skipped++;
+                }
+            }
+        }
+
+        System.out.println("Checked " + files.size() + " files in " + elapsed / NANOS_PER_MILLI + " ms: " +
+                           countries + " countries loaded, " + skipped + " blocks skipped");
+
+        if (byReason.isEmpty())
+        {
+            System.out.println("No problems found.");
+        }
+
+        for (final Map.Entry<CountryDiagnostic.Reason, Integer> entry : byReason.entrySet())
+        {
+            System.out.println("  " + entry.getValue() + " x " + entry.getKey().getDescription());
+        }
+    }
+
+    /*
+    Parses every file on the common pool, keeping the reports in file order
+     */
+    private static List<FileReport> validate(final List<Path> files,
+                                             final TolerantCountryLoader loader)
+        throws IOException
+    {
+        try
+        {
+            return files.parallelStream()
+                        .map(file -> validateFile(file, loader))
+                        .toList();
+        }
+        catch (final UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    /*
+    Parses one file, collecting its diagnostics
+     */
+    private static FileReport validateFile(final Path file,
+                                           final TolerantCountryLoader loader)
+    {
+        final List<CountryDiagnostic> diagnostics;
+        final int countries;
+
+        diagnostics = new ArrayList<>();
+
+        try
+        {
+            countries = loader.parseFile(file, diagnostics).size();
+        }
+        catch (final IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        return new FileReport(countries, diagnostics);
+    }
+
+    /**
+     * The number of countries loaded from one file and the problems found in it.
+     */
+    private static final class FileReport
+    {
+        private final int                     countries;
+        private final List<CountryDiagnostic> diagnostics;
+
+        /**
+         * Constructs a FileReport.
+         *
+         * @param countries   the number of countries loaded from the file
+         * @param diagnostics the problems found in the file, in line order
+         */
+        FileReport(final int countries,
+                   final List<CountryDiagnostic> diagnostics)
+        {
+            this.countries   = countries;
+            this.diagnostics = diagnostics;
+        }
+    }
+}
@@ -3,40 +3,45 @@ package ca.bcit.comp2522.wordgame;
 /**
  * Represents a country with its name, capital city, and interesting facts.
  *
+ * <p>Countries built with {@link #of} hold their own strings. Storage in this package may
+ * subclass Country to hand out views that read the same data from somewhere else.
+ *
  * @author David Martinez
  * @version 1.0
  */
-public class Country
+public abstract class Country
 {
-    private final String   countryName;
-    private final String   capitalCityName;
-    private final String[] facts;
+    /**
+     * Constructs a Country, for subclasses in this package.
+     */
+    Country()
+    {
+    }
 
     /**
-     * Constructs a Country object with the specified name, capital city, and facts.
+     * Returns a Country with the specified name, capital city, and facts.
      *
      * @param name            the name of this country
      * @param capitalCityName the name of the capital city of this country
      * @param facts           a list of facts about this country
+     * @return the country
      */
-    public Country(final String name,
-                   final String capitalCityName,
-                   final String[] facts)
+    public static Country of(final String name,
+                             final String capitalCityName,
+                             final String[] facts)
     {
         checkString(name);
         checkString(capitalCityName);
         checkFacts(facts);
 
-        this.countryName     = name;
-        this.capitalCityName = capitalCityName;
-        this.facts           = facts;
+        return new StoredCountry(name, capitalCityName, facts);
     }
 
     /*
     Checks for null and blankness, invalid if either is true
     Throws new IllegalArgumentException
      */
-    private void checkString(final String s)
+    private static void checkString(final String s)
     {
         if (s == null || s.isBlank())
         {
@@ -48,7 +53,7 @@ public class Country
     Check for null list, invalid if null
     Throws new IllegalArgumentException
      */
-    private void checkFacts(final String[] facts)
+    private static void checkFacts(final String[] facts)
     {
         if (facts == null)
         {
@@ -61,20 +66,14 @@ public class Country
      *
      * @return the name of the country.
      */
-    public String getCountryName()
-    {
-        return countryName;
-    }
+    public abstract String getCountryName();
 
     /**
      * Get the name of the capital city.
      *
      * @return the name of the capital city.
      */
-    public String getCapitalCityName()
-    {
-        return capitalCityName;
-    }
+    public abstract String getCapitalCityName();
 
     /**
      * Get a fact about the country by its index.
@@ -82,10 +81,14 @@ public class Country
      * @param factIndex the index of the fact to retrieve
      * @return the fact at the specified index
      */
-    public String getFact(final int factIndex)
-    {
-        return facts[factIndex];
-    }
+    public abstract String getFact(final int factIndex);
+
+    /**
+     * Get the number of facts stored for the country.
+     *
+     * @return the number of facts
+     */
+    public abstract int getFactCount();
 
     /**
      * Returns string sentence for the country
@@ -99,16 +102,62 @@ public class Country
         sb = new StringBuilder();
 
         sb.append("Country: ");
-        sb.append(countryName);
+        sb.append(getCountryName());
         sb.append(", Capital: ");
-        sb.append(capitalCityName);
+        sb.append(getCapitalCityName());
         sb.append(", Facts: ");
-        for (final String fact : facts)
+        for (int i = 0; i < getFactCount(); i++)
         {
-            sb.append(fact);
+            sb.append(getFact(i));
             sb.append("; ");
         }
 
         return sb.toString();
     }
+
+    /**
+     * A country that holds its own name, capital and facts.
+     */
+    private static final class StoredCountry extends Country
+    {
+        private final String   countryName;
+        private final String   capitalCityName;
+        private final String[] facts;
+
+        /*
+        Constructs a StoredCountry from checked values
+         */
+        private StoredCountry(final String name,
+                              final String capitalCityName,
+                              final String[] facts)
+        {
+            this.countryName     = name;
+            this.capitalCityName = capitalCityName;
+            this.facts           = facts;
+        }
+
+        @Override
+        public String getCountryName()
+        {
+            return countryName;
+        }
+
+        @Override
+        public String getCapitalCityName()
+        {
+            return capitalCityName;
+        }
+
+        @Override
+        public String getFact(final int factIndex)
+        {
+            return facts[factIndex];
+        }
+
+        @Override
+        public int getFactCount()
+        {
+            return facts.length;
+        }
+    }
 }
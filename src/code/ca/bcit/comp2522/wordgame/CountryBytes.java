@@ -0,0 +1,177 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Byte scanning helpers shared by the loaders that parse memory-mapped country files.
+ * Every method works on absolute indexes and never moves the buffer's position,
+ * so one buffer can be scanned by several methods at once.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+final class CountryBytes
+{
+    static final byte COLON          = ':';
+    static final byte PERIOD         = '.';
+    static final byte FACT_SEPARATOR = ' ';
+    static final int  SCRATCH_SIZE   = 256;
+    static final int  GROWTH_FACTOR  = 2;
+
+    private static final byte LINE_FEED       = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final int  MAX_WHITESPACE  = ' ';
+    private static final int  UNSIGNED_MASK   = 0xFF;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private CountryBytes()
+    {
+    }
+
+    /**
+     * Returns the index of the first target byte in [from, to).
+     *
+     * @param buffer the bytes to search
+     * @param target the byte to find
+     * @param from   the first index, inclusive
+     * @param to     the last index, exclusive
+     * @return the index of the byte, or to if absent
+     */
+    static int indexOf(final ByteBuffer buffer,
+                       final byte target,
+                       final int from,
+                       final int to)
+    {
+        for (int i = from; i < to; i++)
+        {
+            if (buffer.get(i) == target)
+            {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Returns the index of the line terminator at or after from.
+     *
+     * @param buffer the bytes to search
+     * @param from   the first index of the line
+     * @param limit  the end of the bytes
+     * @return the index of the terminator, or limit if none
+     */
+    static int findLineEnd(final ByteBuffer buffer,
+                           final int from,
+                           final int limit)
+    {
+        for (int i = from; i < limit; i++)
+        {
+            final byte b;
+            b = buffer.get(i);
+
+            if (b == LINE_FEED || b == CARRIAGE_RETURN)
+            {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * Returns the start of the next line, treating \r\n as a single terminator.
+     *
+     * @param buffer  the bytes being parsed
+     * @param lineEnd the index of the current line's terminator
+     * @param limit   the end of the bytes
+     * @return the index the next line starts at, or limit if none
+     */
+    static int skipLineTerminator(final ByteBuffer buffer,
+                                  final int lineEnd,
+                                  final int limit)
+    {
+        if (lineEnd >= limit)
+        {
+            return limit;
+        }
+
+        if (buffer.get(lineEnd) == CARRIAGE_RETURN &&
+            lineEnd + 1 < limit &&
+            buffer.get(lineEnd + 1) == LINE_FEED)
+        {
+            return lineEnd + 2;
+        }
+
+        return lineEnd + 1;
+    }
+
+    /**
+     * Skips leading bytes that String.trim would remove.
+     *
+     * @param buffer the bytes being parsed
+     * @param from   the first index, inclusive
+     * @param to     the last index, exclusive
+     * @return the index of the first byte kept, or to if all are trimmed
+     */
+    static int trimStart(final ByteBuffer buffer,
+                         final int from,
+                         final int to)
+    {
+        int start;
+        start = from;
+
+        while (start < to && (buffer.get(start) & UNSIGNED_MASK) <= MAX_WHITESPACE)
+        {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Skips trailing bytes that String.trim would remove.
+     *
+     * @param buffer the bytes being parsed
+     * @param from   the first index, inclusive
+     * @param to     the last index, exclusive
+     * @return the index after the last byte kept, or from if all are trimmed
+     */
+    static int trimEnd(final ByteBuffer buffer,
+                       final int from,
+                       final int to)
+    {
+        int end;
+        end = to;
+
+        while (end > from && (buffer.get(end - 1) & UNSIGNED_MASK) <= MAX_WHITESPACE)
+        {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Decodes the trimmed UTF-8 text in [from, to).
+     *
+     * @param buffer the bytes being parsed
+     * @param from   the first index, inclusive
+     * @param to     the last index, exclusive
+     * @return the trimmed text
+     */
+    static String decodeTrimmed(final ByteBuffer buffer,
+                                final int from,
+                                final int to)
+    {
+        final int start;
+        final int end;
+        final byte[] bytes;
+
+        start = trimStart(buffer, from, to);
+        end   = trimEnd(buffer, start, to);
+        bytes = new byte[end - start];
+        buffer.get(start, bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,187 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.nio.file.Path;
+
+/**
+ * A problem found while parsing a country file: the file, the line it starts on and the reason.
+ * The TolerantCountryLoader collects these instead of throwing or silently dropping blocks.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public final class CountryDiagnostic
+{
+    private static final int FIRST_LINE = 1;
+
+    /**
+     * Why a block was flagged, and whether its country was skipped or kept.
+     */
+    public enum Reason
+    {
+        /** The header has no colon between the country and its capital. */
+        MISSING_SEPARATOR("header has no ':' between country and capital", true),
+        /** The country name before the colon is blank. */
+        BLANK_NAME("country name is blank", true),
+        /** The capital after the colon is blank. */
+        BLANK_CAPITAL("capital is blank", true),
+        /** The capital holds a colon; it is kept whole. */
+        COLON_IN_CAPITAL("capital contains ':', kept whole", false),
+        /** The block has fewer facts than a country needs. */
+        MISSING_FACTS("fewer than three facts", true),
+        /** The block has more facts than a country holds; the first three are kept. */
+        EXTRA_FACTS("more than three facts, extra facts dropped", false),
+        /** The last fact does not end with a period; it is kept as it is. */
+        UNTERMINATED_FACT("fact does not end with '.'", false);
+
+        private final String  description;
+        private final boolean countrySkipped;
+
+        /**
+         * Constructs a Reason.
+         *
+         * @param description    what is wrong, for reports
+         * @param countrySkipped true if the block's country is not loaded
+         */
+        Reason(final String description,
+               final boolean countrySkipped)
+        {
+            this.description    = description;
+            this.countrySkipped = countrySkipped;
+        }
+
+        /**
+         * Returns what is wrong, for reports.
+         *
+         * @return the description
+         */
+        public String getDescription()
+        {
+            return description;
+        }
+
+        /**
+         * Returns whether the block's country is left out of the load.
+         *
+         * @return true if the country is skipped, false if it is kept
+         */
+        public boolean isCountrySkipped()
+        {
+            return countrySkipped;
+        }
+    }
+
+    private final Path   file;
+    private final int    line;
+    private final Reason reason;
+
+    /**
+     * Constructs a CountryDiagnostic.
+     *
+     * @param file   the file the problem is in
+     * @param line   the line number, counting from 1
+     * @param reason why the block was flagged
+     */
+    public CountryDiagnostic(final Path file,
+                             final int line,
+                             final Reason reason)
+    {
+        checkFile(file);
+        checkLine(line);
+        checkReason(reason);
+
+        this.file   = file;
+        this.line   = line;
+        this.reason = reason;
+    }
+
+    /*
+    Check if file is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkFile(final Path file)
+    {
+        if (file == null)
+        {
+            throw new IllegalArgumentException("file cannot be null");
+        }
+    }
+
+    /*
+    Check if line is before the first line, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkLine(final int line)
+    {
+        if (line < FIRST_LINE)
+        {
+            throw new IllegalArgumentException("line must be at least 1: " + line);
+        }
+    }
+
+    /*
+    Check if reason is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkReason(final Reason reason)
+    {
+        if (reason == null)
+        {
+            throw new IllegalArgumentException("reason cannot be null");
+        }
+    }
+
+    /**
+     * Returns the file the problem is in.
+     *
+     * @return the file
+     */
+    public Path getFile()
+    {
+        return file;
+    }
+
+    /**
+     * Returns the line the flagged block or fact starts on.
+     *
+     * @return the line number, counting from 1
+     */
+    public int getLine()
+    {
+        return line;
+    }
+
+    /**
+     * Returns why the block was flagged.
+     *
+     * @return the reason
+     */
+    public Reason getReason()
+    {
+        return reason;
+    }
+
+    /**
+     * Returns the diagnostic as "file:line: description", the way compilers report problems.
+     *
+     * @return the diagnostic on one line
+     */
+    @Override
+    public String toString()
+    {
+        final StringBuilder sb;
+        sb = new StringBuilder();
+
+        sb.append(file);
+        sb.append(':');
+        sb.append(line);
+        sb.append(": ");
+        sb.append(reason.getDescription());
+
+        if (reason.isCountrySkipped())
+        {
+            sb.append(" (skipped)");
+        }
+
+        return sb.toString();
+    }
+}
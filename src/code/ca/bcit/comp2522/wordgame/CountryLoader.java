@@ -0,0 +1,36 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Interface for loaders that turn the country data files in the inputs folder into Country objects.
+ * Each file holds blocks of a "CountryName:CapitalCity" line followed by fact lines,
+ * with blocks separated by a blank line.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public interface CountryLoader
+{
+    /**
+     * Loads all countries from the data files in the specified folder.
+     *
+     * @param inputsPath the path to the folder containing country data files
+     * @return a list of Country objects parsed from the files
+     * @throws IOException if the folder or its files cannot be read
+     */
+    List<Country> loadCountries(final Path inputsPath)
+        throws IOException;
+
+    /**
+     * Parses Country objects from a single data file.
+     *
+     * @param file the file to parse
+     * @return a list of Country objects from the file
+     * @throws IOException if the file cannot be read
+     */
+    List<Country> parseFile(final Path file)
+        throws IOException;
+}
@@ -0,0 +1,118 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Runs the legacy Scanner loader and the mapped loader over the same corpus,
+ * reporting how long each takes and whether they produced the same countries.
+ * The tolerant loader is timed too; it differs wherever it repairs or reports a block.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public final class CountryLoaderComparison
+{
+    private static final int    INPUTS_ARG_INDEX = 0;
+    private static final int    NANOS_PER_MILLI  = 1_000_000;
+    private static final int    WARMUP_ROUNDS    = 3;
+    private static final String DEFAULT_INPUTS   = "src/code/ca/bcit/comp2522/wordgame/inputs";
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private CountryLoaderComparison()
+    {
+    }
+
+    /**
+     * Compares the loaders on the inputs folder given as the first argument,
+     * or the game's own inputs folder if no argument is given.
+     *
+     * @param args optional path to the inputs folder
+     * @throws IOException if the corpus cannot be read
+     */
+    public static void main(final String[] args)
+        throws IOException
+    {
+        final Path inputsPath;
+        final CountryLoader legacyLoader;
+        final CountryLoader mappedLoader;
+        final CountryLoader tolerantLoader;
+
+        if (args.length > INPUTS_ARG_INDEX)
+        {
+            inputsPath = Paths.get(args[INPUTS_ARG_INDEX]);
+        }
+        else
+        {
+            inputsPath = Paths.get(DEFAULT_INPUTS);
+        }
+
+        legacyLoader   = new ScannerCountryLoader();
+        mappedLoader   = new MappedCountryLoader();
+        tolerantLoader = new TolerantCountryLoader();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++)
+        {
+            legacyLoader.loadCountries(inputsPath);
+            mappedLoader.loadCountries(inputsPath);
+            tolerantLoader.loadCountries(inputsPath);
+        }
+
+        final List<Country> legacyCountries;
+        final List<Country> mappedCountries;
+
+        legacyCountries = timeLoad("legacy", legacyLoader, inputsPath);
+        mappedCountries = timeLoad("mapped", mappedLoader, inputsPath);
+        timeLoad("tolerant", tolerantLoader, inputsPath);
+
+        System.out.println("Identical results: " + sameCountries(legacyCountries, mappedCountries));
+    }
+
+    /*
+    Loads the corpus once with the given loader and prints the elapsed time
+     */
+    private static List<Country> timeLoad(final String name,
+                                          final CountryLoader loader,
+                                          final Path inputsPath)
+        throws IOException
+    {
+        final long start;
+        final long elapsed;
+        final List<Country> countries;
+
+        start     = System.nanoTime();
+        countries = loader.loadCountries(inputsPath);
+        elapsed   = System.nanoTime() - start;
+
+        System.out.println(name + " loader: " + countries.size() + " countries in " +
+                           (double) elapsed / NANOS_PER_MILLI + " ms");
+
+        return countries;
+    }
+
+    /*
+    Compares two country lists element by element using their string form
+     */
+    private static boolean sameCountries(final List<Country> first,
+                                         final List<Country> second)
+    {
+        if (first.size() != second.size())
+        {
+            return false;
+        }
+
+        for (int i = 0; i < first.size(); i++)
+        {
+            if (!first.get(i).toString().equals(second.get(i).toString()))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
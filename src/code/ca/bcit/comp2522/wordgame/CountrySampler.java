@@ -0,0 +1,158 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws distinct random countries from a World without copying or shuffling the whole corpus.
+ * Uses a partial Fisher-Yates shuffle over a reusable index array, so drawing k countries
+ * costs O(k) time and allocates nothing. The index array is reused between draws, which
+ * keeps every draw uniform because any permutation is a valid starting point.
+ * Not thread-safe; give each game or thread its own sampler.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class CountrySampler
+{
+    private static final int NONE = 0;
+
+    private final Country[]       countries;
+    private final int[]           order;
+    private final RandomGenerator rng;
+
+    /**
+     * Constructs a CountrySampler over the countries of the given World.
+     *
+     * @param world the world to draw countries from
+     * @param rng   the random generator to draw with; seed it for reproducible draws
+     */
+    public CountrySampler(final World world,
+                          final RandomGenerator rng)
+    {
+        checkWorld(world);
+        checkRng(rng);
+
+        this.countries = world.getCountryArray();
+        this.order     = new int[countries.length];
+        this.rng       = rng;
+
+        for (int i = 0; i < order.length; i++)
+        {
+            order[i] = i;
+        }
+    }
+
+    /*
+    Check if world is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkWorld(final World world)
+    {
+        if (world == null)
+        {
+            throw new IllegalArgumentException("world cannot be null");
+        }
+    }
+
+    /*
+    Check if rng is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkRng(final RandomGenerator rng)
+    {
+        if (rng == null)
+        {
+            throw new IllegalArgumentException("rng cannot be null");
+        }
+    }
+
+    /**
+     * Fills the destination with up to k distinct random countries.
+     * Fewer are drawn if the world or the destination holds fewer than k.
+     *
+     * @param destination the array to write the drawn countries into, from index 0
+     * @param k           the number of countries to draw
+     * @return the number of countries actually drawn
+     */
+    public int sample(final Country[] destination,
+                      final int k)
+    {
+        if (destination == null)
+        {
+            throw new IllegalArgumentException("destination cannot be null");
+        }
+
+        final int drawCount;
+        drawCount = shuffleFront(Math.min(k, destination.length));
+
+        for (int i = 0; i < drawCount; i++)
+        {
+            destination[i] = countries[order[i]];
+        }
+
+        return drawCount;
+    }
+
+    /**
+     * Fills the destination with the ids of up to k distinct random countries.
+     * Ids are positions in the World's country array, as used by QuestionFactory.
+     *
+     * @param destination the array to write the drawn ids into, from index 0
+     * @param k           the number of countries to draw
+     * @return the number of ids actually drawn
+     */
+    public int sampleIds(final int[] destination,
+                         final int k)
+    {
+        if (destination == null)
+        {
+            throw new IllegalArgumentException("destination cannot be null");
+        }
+
+        final int drawCount;
+        drawCount = shuffleFront(Math.min(k, destination.length));
+
+        System.arraycopy(order, NONE, destination, NONE, drawCount);
+
+        return drawCount;
+    }
+
+    /*
+    Runs the first k steps of a Fisher-Yates shuffle on the index array,
+    leaving k distinct random ids at its front
+     */
+    private int shuffleFront(final int k)
+    {
+        if (k < NONE)
+        {
+            throw new IllegalArgumentException("k cannot be negative");
+        }
+
+        final int drawCount;
+        drawCount = Math.min(k, order.length);
+
+        for (int i = 0; i < drawCount; i++)
+        {
+            final int swapIndex;
+            final int chosen;
+
+            swapIndex = rng.nextInt(i, order.length);
+            chosen    = order[swapIndex];
+
+            order[swapIndex] = order[i];
+            order[i]         = chosen;
+        }
+
+        return drawCount;
+    }
+
+    /**
+     * Returns the number of countries this sampler draws from.
+     *
+     * @return the number of countries
+     */
+    public int size()
+    {
+        return countries.length;
+    }
+}
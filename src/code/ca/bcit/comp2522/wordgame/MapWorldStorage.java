@@ -0,0 +1,73 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * World storage that keeps the Country objects it is given in hash maps,
+ * with case-folded indexes on country and capital names.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+class MapWorldStorage implements WorldStorage
+{
+    private static final int NONE = 0;
+
+    private final Map<String, Country> countriesMap;
+    private final Map<String, Country> countryNameIndex;
+    private final Map<String, Country> capitalNameIndex;
+    private final Country[]            countryArray;
+
+    /**
+     * Constructs a MapWorldStorage over a copy of the given countries, so later changes
+     * to the caller's map cannot leave the indexes out of step with it.
+     *
+     * @param countriesMap the countries keyed by name
+     */
+    MapWorldStorage(final Map<String, Country> countriesMap)
+    {
+        this.countriesMap = Collections.unmodifiableMap(new HashMap<>(countriesMap));
+
+        countryNameIndex = new HashMap<>();
+        capitalNameIndex = new HashMap<>();
+        countryArray     = this.countriesMap.values().toArray(new Country[NONE]);
+
+        for (final Country country : this.countriesMap.values())
+        {
+            countryNameIndex.putIfAbsent(World.foldCase(country.getCountryName()), country);
+            capitalNameIndex.putIfAbsent(World.foldCase(country.getCapitalCityName()), country);
+        }
+    }
+
+    @Override
+    public Map<String, Country> getCountriesMap()
+    {
+        return countriesMap;
+    }
+
+    @Override
+    public Country getCountryByFoldedName(final String foldedName)
+    {
+        return countryNameIndex.get(foldedName);
+    }
+
+    @Override
+    public Country getCountryByFoldedCapital(final String foldedCapital)
+    {
+        return capitalNameIndex.get(foldedCapital);
+    }
+
+    @Override
+    public int size()
+    {
+        return countryArray.length;
+    }
+
+    @Override
+    public Country[] getCountryArray()
+    {
+        return countryArray;
+    }
+}
@@ -0,0 +1,354 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Country loader that memory-maps each data file and parses it with a byte scanner,
+ * spreading the files across a fork-join pool.
+ * Produces the same countries as the ScannerCountryLoader for well-formed files;
+ * facts beyond the third are dropped instead of overflowing the facts array.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class MappedCountryLoader extends AbstractCountryLoader
+{
+    private static final int SINGLE_FILE = 1;
+    private static final int HALF        = 2;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a MappedCountryLoader that runs on the common fork-join pool.
+     */
+    public MappedCountryLoader()
+    {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a MappedCountryLoader that runs on the given fork-join pool.
+     *
+     * @param pool the pool to parse files on
+     */
+    public MappedCountryLoader(final ForkJoinPool pool)
+    {
+        checkPool(pool);
+        this.pool = pool;
+    }
+
+    /*
+    Check if pool is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkPool(final ForkJoinPool pool)
+    {
+        if (pool == null)
+        {
+            throw new IllegalArgumentException("pool cannot be null");
+        }
+    }
+
+    /**
+     * Parses every given data file on the fork-join pool, keeping file order.
+     *
+     * @param files the data files to parse
+     * @return a list of Country objects parsed from the files
+     * @throws IOException if a file cannot be read
+     */
+    @Override
+    protected List<Country> parseFiles(final List<Path> files)
+        throws IOException
+    {
+        final Path[] fileArray;
+        fileArray = files.toArray(new Path[NONE]);
+
+        try
+        {
+            return pool.invoke(new ParseTask(this, fileArray, INITIAL_INDEX, fileArray.length));
+        }
+        catch (final UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Maps a single file and parses Country objects from its bytes.
+     *
+     * @param file the file to parse
+     * @return a list of Country objects from the file
+     * @throws IOException if the file cannot be mapped
+     */
+    @Override
+    public List<Country> parseFile(final Path file)
+        throws IOException
+    {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            final long size;
+            size = channel.size();
+
+            if (size == NONE)
+            {
+                return new ArrayList<>();
+            }
+
+            final ByteBuffer buffer;
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, NONE, size);
+
+            return parseBuffer(buffer);
+        }
+    }
+
+    /**
+     * Parses Country blocks out of a buffer of UTF-8 text.
+     * Mirrors the Scanner parser: a non-empty line is a header, a header that does not
+     * split into exactly two fields is skipped on its own, and a valid header consumes
+     * fact lines up to the next blank line.
+     *
+     * @param buffer the bytes to parse, from index 0 to the limit
+     * @return a list of Country objects found in the buffer
+     */
+    static List<Country> parseBuffer(final ByteBuffer buffer)
+    {
+        final List<Country> countries;
+        final int limit;
+
+        countries = new ArrayList<>();
+        limit     = buffer.limit();
+
+        byte[] scratch;
+        int position;
+
+        scratch  = new byte[CountryBytes.SCRATCH_SIZE];
+        position = INITIAL_INDEX;
+
+        while (position < limit)
+        {
+            final int lineStart;
+            final int lineEnd;
+
+            lineStart = position;
+            lineEnd   = CountryBytes.findLineEnd(buffer, lineStart, limit);
+            position  = CountryBytes.skipLineTerminator(buffer, lineEnd, limit);
+
+            if (lineEnd == lineStart)
+            {
+                continue;
+            }
+
+            final int firstColon;
+            firstColon = CountryBytes.indexOf(buffer, CountryBytes.COLON, lineStart, lineEnd);
+
+            if (!isTwoFieldHeader(buffer, firstColon, lineEnd))
+            {
+                continue;
+            }
+
+            final int capitalEnd;
+            final String countryName;
+            final String capitalCityName;
+            final String[] facts;
+
+            capitalEnd      = CountryBytes.indexOf(buffer, CountryBytes.COLON, firstColon + 1, lineEnd);
+            countryName     = CountryBytes.decodeTrimmed(buffer, lineStart, firstColon);
+            capitalCityName = CountryBytes.decodeTrimmed(buffer, firstColon + 1, capitalEnd);
+            facts           = new String[NUM_OF_FACTS];
+
+            int factLength;
+            int factPointer;
+
+            factLength  = NONE;
+            factPointer = INITIAL_INDEX;
+
+            while (position < limit)
+            {
+                final int factLineEnd;
+                final int trimmedStart;
+                final int trimmedEnd;
+
+                factLineEnd  = CountryBytes.findLineEnd(buffer, position, limit);
+                trimmedStart = CountryBytes.trimStart(buffer, position, factLineEnd);
+                trimmedEnd   = CountryBytes.trimEnd(buffer, trimmedStart, factLineEnd);
+                position     = CountryBytes.skipLineTerminator(buffer, factLineEnd, limit);
+
+                if (trimmedStart == trimmedEnd)
+                {
+                    break;
+                }
+
+                final int lineLength;
+                lineLength = trimmedEnd - trimmedStart;
+
+                if (factLength + lineLength + 1 > scratch.length)
+                {
+                    scratch = Arrays.copyOf(scratch, (factLength + lineLength + 1) * CountryBytes.GROWTH_FACTOR);
+                }
+
+                if (factLength > NONE)
+                {
+                    scratch[factLength++] = CountryBytes.FACT_SEPARATOR;
+                }
+                buffer.get(trimmedStart, scratch, factLength, lineLength);
+                factLength += lineLength;
+
+                if (buffer.get(trimmedEnd - 1) == CountryBytes.PERIOD)
+                {
+                    if (factPointer < NUM_OF_FACTS)
+                    {
+                        facts[factPointer] = new String(scratch, NONE, factLength, StandardCharsets.UTF_8);
+                    }
+                    factLength = NONE;
+                    factPointer++;
+                }
+            }
+
+            // Stores rest of text into last fact in case it didn't end with a "."
+            if (factLength > NONE && factPointer < NUM_OF_FACTS)
+            {
+                facts[factPointer] = new String(scratch, NONE, factLength, StandardCharsets.UTF_8);
+            }
+
+            countries.add(Country.of(countryName,
+                                     capitalCityName,
+                                     facts));
+        }
+
+        return countries;
+    }
+
+    /*
+    Matches String.split(":") yielding exactly two fields: there must be a colon,
+    a non-empty second field, and nothing but trailing colons after it.
+     */
+    private static boolean isTwoFieldHeader(final ByteBuffer buffer,
+                                            final int firstColon,
+                                            final int lineEnd)
+    {
+        if (firstColon == lineEnd)
+        {
+            return false;
+        }
+
+        final int secondColon;
+        secondColon = CountryBytes.indexOf(buffer, CountryBytes.COLON, firstColon + 1, lineEnd);
+
+        if (secondColon == firstColon + 1)
+        {
+            return false;
+        }
+
+        for (int i = secondColon; i < lineEnd; i++)
+        {
+            if (buffer.get(i) != CountryBytes.COLON)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Fork-join task that splits a range of files in half until one file remains,
+     * then parses it and joins the results back in file order.
+     */
+    private static final class ParseTask extends RecursiveTask<List<Country>>
+    {
+        private final MappedCountryLoader loader;
+        private final Path[]              files;
+        private final int                 from;
+        private final int                 to;
+
+        /**
+         * Constructs a ParseTask over files[from, to).
+         *
+         * @param loader the loader used to parse single files
+         * @param files  all files being loaded
+         * @param from   the first file index, inclusive
+         * @param to     the last file index, exclusive
+         */
+        ParseTask(final MappedCountryLoader loader,
+                  final Path[] files,
+                  final int from,
+                  final int to)
+        {
+            this.loader = loader;
+            this.files  = files;
+            this.from   = from;
+            this.to     = to;
+        }
+
+        /**
+         * Parses this task's range of files.
+         *
+         * @return the countries from this range, in file order
+         */
+        @Override
+        protected List<Country> compute()
+        {
+            if (to - from <= SINGLE_FILE)
+            {
+                return parseRange();
+            }
+
+            final int middle;
+            final ParseTask left;
+            final ParseTask right;
+            final List<Country> countries;
+
+            middle = from + (to - from) / HALF;
+            left   = new ParseTask(loader, files, from, middle);
+            right  = new ParseTask(loader, files, middle, to);
+
+            left.fork();
+            final List<Country> rightCountries;
+            rightCountries = right.compute();
+
+            countries = new ArrayList<>(left.join());
+            countries.addAll(rightCountries);
+
+            return countries;
+        }
+
+        /*
+        Parses the files in this range, skipping files that disappear mid-load
+         */
+        private List<Country> parseRange()
+        {
+            final List<Country> countries;
+            countries = new ArrayList<>();
+
+            for (int i = from; i < to; i++)
+            {
+                try
+                {
+                    countries.addAll(loader.parseFile(files[i]));
+                }
+                catch (final NoSuchFileException e)
+                {
+                    System.err.println("File not found: " + e.getMessage());
+                }
+                catch (final IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            return countries;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Prefix search over every country and capital name in a World, for autocomplete
+ * and for narrowing down answer candidates.
+ *
+ * <p>Names are normalised as AnswerMatcher does, so "reyk" finds "Reykjavík", and stored
+ * sorted in one shared char array with an offset per entry; there is no object per
+ * character or per entry. All names with a prefix form one contiguous run of the sorted
+ * entries, found with two binary searches, so a query costs O(prefix length * log n)
+ * plus one step per result. Immutable and safe to share between threads.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class PrefixIndex
+{
+    private static final int  NONE               = 0;
+    private static final int  ARRAY_HEADER_BYTES = 16;
+    private static final int  REFERENCE_BYTES    = 4;
+    private static final byte COUNTRY_NAME       = 0;
+    private static final byte CAPITAL_NAME       = 1;
+
+    private final char[]    keyChars;
+    private final int[]     keyStart;
+    private final Country[] entryCountry;
+    private final byte[]    entryKind;
+
+    /**
+     * Constructs a PrefixIndex over the countries and capitals of the given World.
+     *
+     * @param world the world to index
+     */
+    public PrefixIndex(final World world)
+    {
+        checkWorld(world);
+
+        final Collection<Country> countries;
+        final int entryCount;
+        final String[] keys;
+        final Integer[] order;
+
+        countries  = world.getCountriesMap().values();
+        entryCount = countries.size() * 2;
+        keys       = new String[entryCount];
+        order      = new Integer[entryCount];
+
+        final Country[] unsortedCountry;
+        final byte[] unsortedKind;
+
+        unsortedCountry = new Country[entryCount];
+        unsortedKind    = new byte[entryCount];
+
+        int entry;
+        int totalChars;
+
+        entry      = NONE;
+        totalChars = NONE;
+
+        for (final Country country : countries)
+        {
+            for (final byte kind : new byte[] {COUNTRY_NAME, CAPITAL_NAME})
+            {
+                keys[entry]            = AnswerMatcher.normalize(nameOf(country, kind));
+                unsortedCountry[entry] = country;
+                unsortedKind[entry]    = kind;
+                order[entry]           = entry;
+                totalChars            += keys[entry].length();
+
+                entry++;
+            }
+        }
+
+        Arrays.sort(order, Comparator.comparing((Integer i) -> keys[i]));
+
+        keyChars     = new char[totalChars];
+        keyStart     = new int[entryCount + 1];
+        entryCountry = new Country[entryCount];
+        entryKind    = new byte[entryCount];
+
+        int next;
+        next = NONE;
+
+        for (int i = 0; i < entryCount; i++)
+        {
+            final String key;
+            key = keys[order[i]];
+
+            key.getChars(NONE, key.length(), keyChars, next);
+
+            keyStart[i]     = next;
+            entryCountry[i] = unsortedCountry[order[i]];
+            entryKind[i]    = unsortedKind[order[i]];
+            next           += key.length();
+        }
+
+        keyStart[entryCount] = next;
+    }
+
+    /*
+    Check if world is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkWorld(final World world)
+    {
+        if (world == null)
+        {
+            throw new IllegalArgumentException("world cannot be null");
+        }
+    }
+
+    /*
+    Returns the country or capital name an entry stands for
+     */
+    private static String nameOf(final Country country,
+                                 final byte kind)
+    {
+        if (kind == COUNTRY_NAME)
+        {
+            return country.getCountryName();
+        }
+        return country.getCapitalCityName();
+    }
+
+    /**
+     * Returns up to limit country and capital names starting with the prefix,
+     * in the order of their normalised forms.
+     *
+     * @param prefix the typed prefix; case, accents and punctuation are ignored
+     * @param limit  the most names to return
+     * @return the matching names as written in the World
+     */
+    public List<String> complete(final String prefix,
+                                 final int limit)
+    {
+        final String key;
+        final int first;
+        final int end;
+        final List<String> names;
+
+        key   = AnswerMatcher.normalize(prefix);
+        first = firstMatch(key);
+        end   = Math.min(endOfMatches(key, first), first + Math.max(limit, NONE));
+        names = new ArrayList<>(end - first);
+
+        for (int i = first; i < end; i++)
+        {
+            names.add(nameOf(entryCountry[i], entryKind[i]));
+        }
+
+        return names;
+    }
+
+    /**
+     * Returns every country whose name starts with the prefix.
+     *
+     * @param prefix the typed prefix; case, accents and punctuation are ignored
+     * @return the matching countries
+     */
+    public List<Country> findCountries(final String prefix)
+    {
+        return find(prefix, COUNTRY_NAME);
+    }
+
+    /**
+     * Returns every country whose capital city's name starts with the prefix.
+     *
+     * @param prefix the typed prefix; case, accents and punctuation are ignored
+     * @return the countries with matching capitals
+     */
+    public List<Country> findCapitals(final String prefix)
+    {
+        return find(prefix, CAPITAL_NAME);
+    }
+
+    /**
+     * Counts the country and capital names starting with the prefix, without listing them.
+     *
+     * @param prefix the typed prefix; case, accents and punctuation are ignored
+     * @return the number of matching names
+     */
+    public int countMatches(final String prefix)
+    {
+        final String key;
+        final int first;
+
+        key   = AnswerMatcher.normalize(prefix);
+        first = firstMatch(key);
+
+        return endOfMatches(key, first) - first;
+    }
+
+    /**
+     * Returns the number of names in the index, two per country.
+     *
+     * @return the entry count
+     */
+    public int size()
+    {
+        return entryCountry.length;
+    }
+
+    /**
+     * Estimates the memory held by the index itself, assuming compressed references.
+     * Countries and their name strings belong to the World and are not counted.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getMemoryBytes()
+    {
+        return ARRAY_HEADER_BYTES + (long) keyChars.length * Character.BYTES +
+               ARRAY_HEADER_BYTES + (long) keyStart.length * Integer.BYTES +
+               ARRAY_HEADER_BYTES + (long) entryCountry.length * REFERENCE_BYTES +
+               ARRAY_HEADER_BYTES + (long) entryKind.length * Byte.BYTES;
+    }
+
+    /*
+    Collects the countries of matching entries of one kind
+     */
+    private List<Country> find(final String prefix,
+                               final byte kind)
+    {
+        final String key;
+        final int first;
+        final int end;
+        final List<Country> countries;
+
+        key       = AnswerMatcher.normalize(prefix);
+        first     = firstMatch(key);
+        end       = endOfMatches(key, first);
+        countries = new ArrayList<>();
+
+        for (int i = first; i < end; i++)
+        {
+            if (entryKind[i] == kind)
+            {
+                countries.add(entryCountry[i]);
+            }
+        }
+
+        return countries;
+    }
+
+    /*
+    Binary search for the first entry not sorting before the prefix
+     */
+    private int firstMatch(final String prefix)
+    {
+        int low;
+        int high;
+
+        low  = NONE;
+        high = entryCountry.length;
+
+        while (low < high)
+        {
+            final int mid;
+            mid = (low + high) >>> 1;
+
+            if (compare(mid, prefix, false) < NONE)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /*
+    Binary search, from the first match, for the first entry that does not start with the prefix
+     */
+    private int endOfMatches(final String prefix,
+                             final int first)
+    {
+        int low;
+        int high;
+
+        low  = first;
+        high = entryCountry.length;
+
+        while (low < high)
+        {
+            final int mid;
+            mid = (low + high) >>> 1;
+
+            if (compare(mid, prefix, true) <= NONE)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /*
+    Compares an entry's key with the prefix, like String.compareTo.
+    With prefixOnly, only the first prefix-length characters of the key are compared.
+     */
+    private int compare(final int entry,
+                        final String prefix,
+                        final boolean prefixOnly)
+    {
+        final int start;
+        final int length;
+        final int common;
+
+        start  = keyStart[entry];
+        length = keyStart[entry + 1] - start;
+        common = Math.min(length, prefix.length());
+
+        for (int i = 0; i < common; i++)
+        {
+            final int difference;
+            difference = keyChars[start + i] - prefix.charAt(i);
+
+            if (difference != NONE)
+            {
+                return difference;
+            }
+        }
+
+        if (prefixOnly && length >= prefix.length())
+        {
+            return NONE;
+        }
+
+        return length - prefix.length();
+    }
+}
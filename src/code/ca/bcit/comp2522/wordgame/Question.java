@@ -26,26 +26,15 @@ public class Question
     {
         validateQuestionType(questionType);
 
-        final StringBuilder sb;
-        sb = new StringBuilder();
-
         switch (questionType)
         {
             case WordGame.TYPE_CAPITAL_CITY:
-                sb.append("'");
-                sb.append(country.getCapitalCityName());
-                sb.append("' is the capital of which country?");
-
-                this.prompt = sb.toString();
+                this.prompt = buildCapitalCityPrompt(country);
                 this.answer = country.getCountryName();
 
                 break;
             case WordGame.TYPE_COUNTRY_NAME:
-                sb.append("'");
-                sb.append(country.getCountryName());
-                sb.append("' , what is its capital city?");
-
-                this.prompt = sb.toString();
+                this.prompt = buildCountryNamePrompt(country);
                 this.answer = country.getCapitalCityName();
 
                 break;
@@ -58,11 +47,7 @@ public class Question
                 factIndex = rng.nextInt(WordGame.LOWER_BOUND, WordGame.UPPER_BOUND);
                 fact = country.getFact(factIndex);
 
-                sb.append("Fact: ");
-                sb.append(fact);
-                sb.append(" Which country does this describe?");
-
-                this.prompt = sb.toString();
+                this.prompt = buildFactPrompt(fact);
                 this.answer = country.getCountryName();
 
                 break;
@@ -71,6 +56,74 @@ public class Question
         }
     }
 
+    /**
+     * Constructs a Question from an already built prompt and answer.
+     * Used by QuestionFactory, which builds every prompt once up front.
+     *
+     * @param prompt the question prompt
+     * @param answer the correct answer
+     */
+    Question(final String prompt,
+             final String answer)
+    {
+        this.prompt = prompt;
+        this.answer = answer;
+    }
+
+    /**
+     * Builds the prompt asking which country a capital city belongs to.
+     *
+     * @param country the country to base the question on
+     * @return the prompt text
+     */
+    static String buildCapitalCityPrompt(final Country country)
+    {
+        final StringBuilder sb;
+        sb = new StringBuilder();
+
+        sb.append("'");
+        sb.append(country.getCapitalCityName());
+        sb.append("' is the capital of which country?");
+
+        return sb.toString();
+    }
+
+    /**
+     * Builds the prompt asking for a country's capital city.
+     *
+     * @param country the country to base the question on
+     * @return the prompt text
+     */
+    static String buildCountryNamePrompt(final Country country)
+    {
+        final StringBuilder sb;
+        sb = new StringBuilder();
+
+        sb.append("'");
+        sb.append(country.getCountryName());
+        sb.append("' , what is its capital city?");
+
+        return sb.toString();
+    }
+
+    /**
+     * Builds the prompt asking which country a fact describes.
+     *
+     * @param fact the fact to show
+     * @return the prompt text
+     */
+    static String buildFactPrompt(final String fact)
+    {
+        final StringBuilder sb;
+        sb = new StringBuilder();
+
+        sb.append("Fact: ");
+        sb.append(fact);
+        sb.append(" Which country does this describe?");
+
+        return sb.toString();
+    }
+
     /*
     Validates that a string is neither null nor blank.
     Throws IllegalArgumentException if invalid.
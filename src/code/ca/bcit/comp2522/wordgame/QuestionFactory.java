@@ -0,0 +1,160 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Builds every question a World can produce once, when the World is loaded,
+ * and hands out the shared immutable Question instances by country id.
+ * Country ids are positions in the World's cached country array, the same ids
+ * that CountrySampler draws. Generating a question is then only array indexing.
+ * The AnswerMatcher for the same World is built alongside, so answers can be checked
+ * against every name without rebuilding its index per session.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class QuestionFactory
+{
+    private static final int NONE = 0;
+
+    private final World         world;
+    private final AnswerMatcher answerMatcher;
+    private final Question[]    capitalCityQuestions;
+    private final Question[]    countryNameQuestions;
+    private final Question[][]  factQuestions;
+
+    /**
+     * Constructs a QuestionFactory, building all questions for the given World.
+     *
+     * @param world the world to build questions for
+     */
+    public QuestionFactory(final World world)
+    {
+        checkWorld(world);
+
+        final Country[] countries;
+        countries = world.getCountryArray();
+
+        this.world           = world;
+        answerMatcher        = new AnswerMatcher(world);
+        capitalCityQuestions = new Question[countries.length];
+        countryNameQuestions = new Question[countries.length];
+        factQuestions        = new Question[countries.length][];
+
+        for (int id = 0; id < countries.length; id++)
+        {
+            final Country country;
+            country = countries[id];
+
+            capitalCityQuestions[id] = new Question(Question.buildCapitalCityPrompt(country),
+                                                    country.getCountryName());
+            countryNameQuestions[id] = new Question(Question.buildCountryNamePrompt(country),
+                                                    country.getCapitalCityName());
+            factQuestions[id]        = buildFactQuestions(country);
+        }
+    }
+
+    /*
+    Check if world is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkWorld(final World world)
+    {
+        if (world == null)
+        {
+            throw new IllegalArgumentException("world cannot be null");
+        }
+    }
+
+    /*
+    Builds one question per fact, skipping facts that are missing
+     */
+    private static Question[] buildFactQuestions(final Country country)
+    {
+        int factCount;
+        factCount = NONE;
+
+        for (int i = 0; i < country.getFactCount(); i++)
+        {
+            if (country.getFact(i) != null)
+            {
+                factCount++;
+            }
+        }
+
+        final Question[] questions;
+        questions = new Question[factCount];
+
+        int next;
+        next = NONE;
+
+        for (int i = 0; i < country.getFactCount(); i++)
+        {
+            final String fact;
+            fact = country.getFact(i);
+
+            if (fact != null)
+            {
+                questions[next++] = new Question(Question.buildFactPrompt(fact),
+                                                 country.getCountryName());
+            }
+        }
+
+        return questions;
+    }
+
+    /**
+     * Returns the World these questions were built from.
+     *
+     * @return the world
+     */
+    public World getWorld()
+    {
+        return world;
+    }
+
+    /**
+     * Returns the matcher for checking answers against this World's names.
+     *
+     * @return the answer matcher
+     */
+    public AnswerMatcher getAnswerMatcher()
+    {
+        return answerMatcher;
+    }
+
+    /**
+     * Returns a prebuilt question about a country.
+     * Fact questions pick one of the country's facts at random; a country with no facts
+     * gets a capital city question instead.
+     *
+     * @param countryId    the country's id in the World's country array
+     * @param questionType the type of question, one of WordGame's question types
+     * @param rng          the random generator used to pick a fact
+     * @return the shared Question instance
+     * @throws IllegalArgumentException if the question type is invalid
+     */
+    public Question getQuestion(final int countryId,
+                                final int questionType,
+                                final RandomGenerator rng)
+    {
+        switch (questionType)
+        {
+            case WordGame.TYPE_CAPITAL_CITY:
+                return capitalCityQuestions[countryId];
+            case WordGame.TYPE_COUNTRY_NAME:
+                return countryNameQuestions[countryId];
+            case WordGame.TYPE_FACT:
+                final Question[] facts;
+                facts = factQuestions[countryId];
+
+                if (facts.length == NONE)
+                {
+                    return capitalCityQuestions[countryId];
+                }
+                return facts[rng.nextInt(facts.length)];
+            default:
+                throw new IllegalArgumentException("Invalid question type");
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * The original country loader, reading each file serially with a Scanner and
+ * splitting the header line with String.split.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class ScannerCountryLoader extends AbstractCountryLoader
+{
+    /**
+     * Parses every given data file in turn, skipping files that disappear mid-load.
+     *
+     * @param files the data files to parse
+     * @return a list of Country objects parsed from the files
+     */
+    @Override
+    protected List<Country> parseFiles(final List<Path> files)
+    {
+        final List<Country> countries;
+        countries = new ArrayList<>();
+
+        // Read each file, create new Country object for each
+        for (final Path file : files)
+        {
+            try
+            {
+                final List<Country> fileCountries;
+                fileCountries = parseFile(file);
+                countries.addAll(fileCountries);
+            }
+            catch (final FileNotFoundException e)
+            {
+                System.err.println("File not found: " + e.getMessage());
+            }
+        }
+
+        return countries;
+    }
+
+    /**
+     * Parses Country objects from a single file.
+     *
+     * @param file the file to parse
+     * @return a list of Country objects from the file
+     * @throws FileNotFoundException if the file cannot be found
+     */
+    @Override
+    public List<Country> parseFile(final Path file)
+        throws FileNotFoundException
+    {
+        final List<Country> countries;
+        final Scanner fileScanner;
+
+        countries   = new ArrayList<>();
+        fileScanner = new Scanner(file.toFile());
+
+        try
+        {
+            while (fileScanner.hasNextLine())
+            {
+                final String firstLine;
+                firstLine = fileScanner.nextLine();
+
+                if (firstLine.isEmpty())
+                {
+                    continue;
+                }
+
+                final Country country;
+                country = parseCountry(firstLine, fileScanner);
+
+                if (country != null)
+                {
+                    countries.add(country);
+                }
+            }
+        }
+        finally
+        {
+            fileScanner.close();
+        }
+
+        return countries;
+    }
+
+    /**
+     * Parses and creates a single Country object from the scanner.
+     *
+     * @param firstLine the line containing "CountryName:CapitalCity"
+     * @param scanner   the scanner to read facts from
+     * @return a Country object, or null if parsing fails
+     */
+    private static Country parseCountry(final String firstLine,
+                                        final Scanner scanner)
+    {
+        final String[] countryData;
+        final Country country;
+        final String countryName;
+        final String capitalCityName;
+        final String[] facts;
+        final StringBuilder factBuilder;
+        final int countryNameIndex;
+        final int capitalCityNameIndex;
+
+        countryNameIndex     = INITIAL_INDEX;
+        capitalCityNameIndex = CAPITAL_CITY_NAME_INDEX;
+
+        int factPointer;
+
+        countryData = firstLine.split(":");
+
+        if (countryData.length != MIN_NUM_OF_COUNTRY_DATA)
+        {
+            return null;
+        }
+
+        countryName     = countryData[countryNameIndex].trim();
+        capitalCityName = countryData[capitalCityNameIndex].trim();
+        facts           = new String[NUM_OF_FACTS];
+        factBuilder     = new StringBuilder();
+        factPointer     = INITIAL_INDEX;
+
+        while (scanner.hasNextLine())
+        {
+            final String trimmedLine;
+            trimmedLine = scanner.nextLine().trim();
+
+            if (trimmedLine.isEmpty())
+            {
+                break;
+            }
+
+            if (!factBuilder.isEmpty())
+            {
+                factBuilder.append(' ');
+            }
+            factBuilder.append(trimmedLine);
+
+            if (trimmedLine.endsWith("."))
+            {
+                facts[factPointer] = factBuilder.toString();
+                factBuilder.setLength(NONE);
+                factPointer++;
+            }
+        }
+
+        // Stores rest of text into last fact in case it didn't end with a "."
+        if (!factBuilder.isEmpty() && factPointer < NUM_OF_FACTS)
+        {
+            facts[factPointer] = factBuilder.toString();
+        }
+
+        country = Country.of(countryName,
+                             capitalCityName,
+                             facts);
+        return country;
+    }
+}
@@ -1,6 +1,8 @@
 package ca.bcit.comp2522.wordgame;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -8,7 +10,13 @@ import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents a score with number of games played, correct and incorrect answers.
@@ -190,6 +198,67 @@ final public class Score
     }
 
 
+    /**
+     * Streams scores from a specified file, parsing one block at a time as the stream is consumed.
+     * Gives the same scores as readScoresFromFile while holding only the current block in memory.
+     * The stream holds the file open, so close it when done, e.g. with try-with-resources.
+     *
+     * @param scoreFile the input file name
+     * @return a lazy stream of Score objects read from the file
+     */
+    public static Stream<Score> streamScoresFromFile(final String scoreFile)
+    {
+        final Path path;
+        final BufferedReader reader;
+
+        path = Paths.get(scoreFile);
+
+        if (Files.notExists(path))
+        {
+            return Stream.empty();
+        }
+
+        try
+        {
+            reader = Files.newBufferedReader(path);
+        }
+        catch (final IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        return streamScores(reader);
+    }
+
+    /**
+     * Streams scores from a reader positioned at the start of a score block, parsing
+     * one block at a time as the stream is consumed. Closing the stream closes the reader.
+     *
+     * @param reader the reader to parse scores from
+     * @return a lazy stream of Score objects read from the reader
+     */
+    static Stream<Score> streamScores(final BufferedReader reader)
+    {
+        final Iterator<Score> iterator;
+        iterator = new ScoreBlockIterator(reader);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                                                                        Spliterator.ORDERED |
+                                                                        Spliterator.NONNULL),
+                                    false)
+                            .onClose(() ->
+                                     {
+                                         try
+                                         {
+                                             reader.close();
+                                         }
+                                         catch (final IOException e)
+                                         {
+                                             throw new UncheckedIOException(e);
+                                         }
+                                     });
+    }
+
     /**
      * Parses a block of lines representing a score and returns a Score object.
      *
@@ -203,17 +272,40 @@ final public class Score
             return null;
         }
 
+        return parseScoreBlock(blockLines.get(DATE_LINE_INDEX),
+                               blockLines.get(GAMES_LINE_INDEX),
+                               blockLines.get(FACT1_LINE_INDEX),
+                               blockLines.get(FACT2_LINE_INDEX),
+                               blockLines.get(FACT3_LINE_INDEX));
+    }
+
+    /**
+     * Parses the five lines of a score block and returns a Score object.
+     *
+     * @param rawDateLine      the "Date and Time" line
+     * @param rawGamesLine     the "Games Played" line
+     * @param rawFirstLine     the "Correct First Attempts" line
+     * @param rawSecondLine    the "Correct Second Attempts" line
+     * @param rawIncorrectLine the "Incorrect Attempts" line
+     * @return a Score object parsed from the lines, or null if parsing fails
+     */
+    private static Score parseScoreBlock(final String rawDateLine,
+                                         final String rawGamesLine,
+                                         final String rawFirstLine,
+                                         final String rawSecondLine,
+                                         final String rawIncorrectLine)
+    {
         final String dateLine;
         final String gamesLine;
         final String firstLine;
         final String secondLine;
         final String incorrectLine;
 
-        dateLine      = blockLines.get(DATE_LINE_INDEX).trim();
-        gamesLine     = blockLines.get(GAMES_LINE_INDEX).trim();
-        firstLine     = blockLines.get(FACT1_LINE_INDEX).trim();
-        secondLine    = blockLines.get(FACT2_LINE_INDEX).trim();
-        incorrectLine = blockLines.get(FACT3_LINE_INDEX).trim();
+        dateLine      = rawDateLine.trim();
+        gamesLine     = rawGamesLine.trim();
+        firstLine     = rawFirstLine.trim();
+        secondLine    = rawSecondLine.trim();
+        incorrectLine = rawIncorrectLine.trim();
 
         // Parse Date and Time
         if (!dateLine.startsWith("Date and Time: "))
@@ -224,11 +316,8 @@ final public class Score
         final String dateText;
         dateText = dateLine.substring("Date and Time: ".length()).trim();
 
-        final DateTimeFormatter formatter;
-        formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
         final LocalDateTime dateTimePlayed;
-        dateTimePlayed = LocalDateTime.parse(dateText, formatter);
+        dateTimePlayed = LocalDateTime.parse(dateText, FORMATTER);
 
         // Parse Games Played
         final int numGamesPlayed;
@@ -476,4 +565,135 @@ final public class Score
     {
         numIncorrectTwoAttempts++;
     }
+
+    /**
+     * Iterator that reads score blocks from a reader one at a time.
+     * Keeps only the first BLOCK_SIZE lines of the current block, which is all the parser uses.
+     */
+    private static final class ScoreBlockIterator implements Iterator<Score>
+    {
+        private final BufferedReader reader;
+        private final String[]       blockLines;
+
+        private int     blockLineCount;
+        private Score   nextScore;
+        private boolean finished;
+
+        /**
+         * Constructs a ScoreBlockIterator over the given reader.
+         *
+         * @param reader the reader to pull lines from
+         */
+        ScoreBlockIterator(final BufferedReader reader)
+        {
+            this.reader     = reader;
+            this.blockLines = new String[BLOCK_SIZE];
+        }
+
+        /**
+         * Returns whether another score can be read.
+         *
+         * @return true if another score is available
+         */
+        @Override
+        public boolean hasNext()
+        {
+            if (nextScore == null && !finished)
+            {
+                nextScore = readNextScore();
+            }
+            return nextScore != null;
+        }
+
+        /**
+         * Returns the next score.
+         *
+         * @return the next score in the file
+         */
+        @Override
+        public Score next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException("No more scores");
+            }
+
+            final Score score;
+            score     = nextScore;
+            nextScore = null;
+
+            return score;
+        }
+
+        /*
+        Reads lines until a block parses to a Score or the file ends
+         */
+        private Score readNextScore()
+        {
+            try
+            {
+                String line;
+
+                while ((line = reader.readLine()) != null)
+                {
+                    if (line.trim().isEmpty())
+                    {
+                        if (blockLineCount > NONE)
+                        {
+                            final Score score;
+                            score = completeBlock();
+
+                            if (score != null)
+                            {
+                                return score;
+                            }
+                        }
+                    }
+                    else
+                    {
+                        if (blockLineCount < BLOCK_SIZE)
+                        {
+                            blockLines[blockLineCount] = line;
+                        }
+                        blockLineCount++;
+                    }
+                }
+
+                finished = true;
+
+                // Last block may not be followed by a blank line
+                if (blockLineCount > NONE)
+                {
+                    return completeBlock();
+                }
+
+                return null;
+            }
+            catch (final IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /*
+        Parses the current block, if complete, and resets for the next one
+         */
+        private Score completeBlock()
+        {
+            final int lineCount;
+            lineCount      = blockLineCount;
+            blockLineCount = NONE;
+
+            if (lineCount < BLOCK_SIZE)
+            {
+                return null;
+            }
+
+            return parseScoreBlock(blockLines[DATE_LINE_INDEX],
+                                   blockLines[GAMES_LINE_INDEX],
+                                   blockLines[FACT1_LINE_INDEX],
+                                   blockLines[FACT2_LINE_INDEX],
+                                   blockLines[FACT3_LINE_INDEX]);
+        }
+    }
 }
@@ -0,0 +1,566 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Pre-aggregated analytics over Score records.
+ *
+ * <p>Every score added updates a rollup for its day, an overall rollup and the best and
+ * worst scores by points per game, in O(log days). Queries read only the rollups:
+ * totals, best and worst are O(1), a day is O(log days) and a rolling window is
+ * O(log days + days in the window), however many scores have been added.
+ *
+ * <p>Also a ScoreSink: wrapped around another sink, it records every score there and
+ * rolls it up, so the analytics stay current without reading the scores again.
+ * Opened over a ScoreStore, the rollups are saved to a checkpoint file along with the
+ * store position they cover, and the next open reads only the scores stored after it.
+ * Safe to use from multiple threads.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class ScoreAnalytics implements ScoreSink
+{
+    private static final int    NONE        = 0;
+    private static final int    SINGLE_DAY  = 1;
+    private static final int    MAGIC       = 0x524F4C4C;
+    private static final int    VERSION     = 1;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final ScoreSink                            delegate;
+    private final Path                                 checkpoint;
+    private final ScoreStore                           store;
+    private final NavigableMap<LocalDate, ScoreRollup> days;
+    private final ScoreRollup                          total;
+
+    private Score  best;
+    private double bestAverage;
+    private Score  worst;
+    private double worstAverage;
+
+    /**
+     * Constructs empty ScoreAnalytics that only roll up the scores they are given.
+     */
+    public ScoreAnalytics()
+    {
+        this(null);
+    }
+
+    /**
+     * Constructs empty ScoreAnalytics that also record every score to the given sink.
+     *
+     * @param delegate the sink to record scores to, or null to only roll them up
+     */
+    public ScoreAnalytics(final ScoreSink delegate)
+    {
+        this(delegate, null, null);
+    }
+
+    /*
+    Constructs empty ScoreAnalytics, checkpointed over the store if both are given
+     */
+    private ScoreAnalytics(final ScoreSink delegate,
+                           final Path checkpoint,
+                           final ScoreStore store)
+    {
+        this.delegate   = delegate;
+        this.checkpoint = checkpoint;
+        this.store      = store;
+        this.days       = new TreeMap<>();
+        this.total      = new ScoreRollup();
+    }
+
+    /**
+     * Opens ScoreAnalytics over a score store: loads the rollups saved in the checkpoint,
+     * adds the scores stored after it and saves the checkpoint again if there were any.
+     * A missing, unreadable or stale checkpoint means reading the whole store once.
+     * Scores recorded afterwards go to the delegate, which should write to the store.
+     * Closing brings the checkpoint up to date the same way, so scores other processes
+     * stored meanwhile are counted too.
+     *
+     * @param checkpoint the checkpoint file
+     * @param store      the store holding every score so far
+     * @param delegate   the sink to record new scores to, or null to only roll them up
+     * @return the analytics over every score in the store
+     * @throws IOException if the store cannot be read or the checkpoint cannot be saved
+     */
+    public static ScoreAnalytics open(final Path checkpoint,
+                                      final ScoreStore store,
+                                      final ScoreSink delegate)
+        throws IOException
+    {
+        checkCheckpoint(checkpoint);
+        checkStore(store);
+
+        final ScoreAnalytics analytics;
+        analytics = new ScoreAnalytics(delegate, checkpoint, store);
+        analytics.catchUp();
+
+        return analytics;
+    }
+
+    /*
+    Check if checkpoint is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkCheckpoint(final Path checkpoint)
+    {
+        if (checkpoint == null)
+        {
+            throw new IllegalArgumentException("checkpoint cannot be null");
+        }
+    }
+
+    /*
+    Check if store is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkStore(final ScoreStore store)
+    {
+        if (store == null)
+        {
+            throw new IllegalArgumentException("store cannot be null");
+        }
+    }
+
+    /**
+     * Builds ScoreAnalytics from a score text file in one streaming pass.
+     *
+     * @param scoreFile the score file; a missing file gives empty analytics
+     * @return the analytics over every score in the file
+     */
+    public static ScoreAnalytics fromFile(final Path scoreFile)
+    {
+        final ScoreAnalytics analytics;
+        analytics = new ScoreAnalytics();
+
+        try (final Stream<Score> scores = Score.streamScoresFromFile(scoreFile.toString()))
+        {
+            scores.forEach(analytics::add);
+        }
+
+        return analytics;
+    }
+
+    /**
+     * Rolls up one score.
+     *
+     * @param score the score to add
+     */
+    public synchronized void add(final Score score)
+    {
+        checkScore(score);
+
+        days.computeIfAbsent(score.getDateTimePlayed().toLocalDate(), day -> new ScoreRollup())
+            .add(score);
+        total.add(score);
+
+        if (score.getNumGamesPlayed() > NONE)
+        {
+            final double average;
+            average = (double) score.getScore() / score.getNumGamesPlayed();
+
+            // Strict comparisons keep the earliest of equal scores
+            if (best == null || average > bestAverage)
+            {
+                best        = score;
+                bestAverage = average;
+            }
+
+            if (worst == null || average < worstAverage)
+            {
+                worst        = score;
+                worstAverage = average;
+            }
+        }
+    }
+
+    /*
+    Check if score is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkScore(final Score score)
+    {
+        if (score == null)
+        {
+            throw new IllegalArgumentException("score cannot be null");
+        }
+    }
+
+    /**
+     * Records the score to the wrapped sink, if any, then rolls it up.
+     *
+     * @param score the score to record
+     * @throws IOException if the wrapped sink cannot write the score
+     */
+    @Override
+    public void record(final Score score)
+        throws IOException
+    {
+        checkScore(score);
+
+        if (delegate != null)
+        {
+            delegate.record(score);
+        }
+
+        add(score);
+    }
+
+    /**
+     * Records the scores to the wrapped sink, if any, as one batch, then rolls them up.
+     *
+     * @param scores the scores to record
+     * @throws IOException if the wrapped sink cannot write the scores
+     */
+    @Override
+    public void recordAll(final List<Score> scores)
+        throws IOException
+    {
+        if (delegate != null)
+        {
+            delegate.recordAll(scores);
+        }
+
+        for (final Score score : scores)
+        {
+            add(score);
+        }
+    }
+
+    /**
+     * Flushes the wrapped sink, if any.
+     *
+     * @throws IOException if the wrapped sink cannot write its scores
+     */
+    @Override
+    public void flush()
+        throws IOException
+    {
+        if (delegate != null)
+        {
+            delegate.flush();
+        }
+    }
+
+    /**
+     * Closes the wrapped sink, if any, then brings the checkpoint up to date with the store.
+     *
+     * @throws IOException if the wrapped sink cannot write its remaining scores,
+     *                     or the checkpoint cannot be saved
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        if (delegate != null)
+        {
+            delegate.close();
+        }
+
+        // Re-read from the saved checkpoint rather than saving these rollups,
+        // so scores another process stored are not skipped
+        if (checkpoint != null)
+        {
+            new ScoreAnalytics(null, checkpoint, store).catchUp();
+        }
+    }
+
+    /*
+    Loads the checkpoint into these empty analytics, adds the scores stored after it
+    and saves the checkpoint if any were added
+     */
+    private void catchUp()
+        throws IOException
+    {
+        final long position;
+        final long end;
+
+        position = loadCheckpoint(store.getEndPosition());
+        end      = store.readFrom(position, this::add);
+
+        if (end != position)
+        {
+            saveCheckpoint(end);
+        }
+    }
+
+    /*
+    Loads the rollups from the checkpoint and returns the store position they cover,
+    or returns 0 and loads nothing if the checkpoint is missing, unreadable or ahead of the store
+     */
+    private synchronized long loadCheckpoint(final long storeEnd)
+    {
+        if (Files.notExists(checkpoint))
+        {
+            return NONE;
+        }
+
+        try (final DataInputStream in = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(checkpoint))))
+        {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+            {
+                System.err.println("Ignoring score rollups in an unknown format: " + checkpoint);
+                return NONE;
+            }
+
+            final long position;
+            position = in.readLong();
+
+            if (position > storeEnd)
+            {
+                System.err.println("Ignoring score rollups ahead of the score store: " + checkpoint);
+                return NONE;
+            }
+
+            final ScoreRollup loadedTotal;
+            final Score loadedBest;
+            final Score loadedWorst;
+            final int dayCount;
+            final NavigableMap<LocalDate, ScoreRollup> loadedDays;
+
+            loadedTotal = ScoreRollup.readFrom(in);
+            loadedBest  = readScore(in);
+            loadedWorst = readScore(in);
+            dayCount    = in.readInt();
+            loadedDays  = new TreeMap<>();
+
+            for (int i = 0; i < dayCount; i++)
+            {
+                loadedDays.put(LocalDate.ofEpochDay(in.readLong()), ScoreRollup.readFrom(in));
+            }
+
+            // Only a checkpoint read in full replaces the empty rollups
+            days.putAll(loadedDays);
+            total.add(loadedTotal);
+            best  = loadedBest;
+            worst = loadedWorst;
+
+            if (best != null)
+            {
+                bestAverage = (double) best.getScore() / best.getNumGamesPlayed();
+            }
+
+            if (worst != null)
+            {
+                worstAverage = (double) worst.getScore() / worst.getNumGamesPlayed();
+            }
+
+            return position;
+        }
+        catch (final IOException | RuntimeException e)
+        {
+            System.err.println("Ignoring unreadable score rollups: " + e.getMessage());
+            return NONE;
+        }
+    }
+
+    /*
+    Saves the rollups and the store position they cover to a temporary file
+    and moves it over the checkpoint
+     */
+    private synchronized void saveCheckpoint(final long position)
+        throws IOException
+    {
+        final Path tempPath;
+        tempPath = checkpoint.resolveSibling(checkpoint.getFileName() + TEMP_SUFFIX);
+
+        try (final DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(tempPath))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(position);
+            total.writeTo(out);
+            writeScore(out, best);
+            writeScore(out, worst);
+            out.writeInt(days.size());
+
+            for (final Map.Entry<LocalDate, ScoreRollup> day : days.entrySet())
+            {
+                out.writeLong(day.getKey().toEpochDay());
+                day.getValue().writeTo(out);
+            }
+        }
+
+        Files.move(tempPath,
+                   checkpoint,
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /*
+    Writes a flag for whether the score is present, then the score
+     */
+    private static void writeScore(final DataOutputStream out,
+                                   final Score score)
+        throws IOException
+    {
+        out.writeBoolean(score != null);
+
+        if (score != null)
+        {
+            out.writeUTF(score.getDateTimePlayed().toString());
+            out.writeInt(score.getNumGamesPlayed());
+            out.writeInt(score.getNumCorrectFirstAttempt());
+            out.writeInt(score.getNumCorrectSecondAttempt());
+            out.writeInt(score.getNumIncorrectTwoAttempts());
+        }
+    }
+
+    /*
+    Reads a score written by writeScore, or null if none was written
+     */
+    private static Score readScore(final DataInputStream in)
+        throws IOException
+    {
+        if (!in.readBoolean())
+        {
+            return null;
+        }
+
+        return new Score(LocalDateTime.parse(in.readUTF()),
+                         in.readInt(),
+                         in.readInt(),
+                         in.readInt(),
+                         in.readInt());
+    }
+
+    /**
+     * Returns the totals over every score added.
+     *
+     * @return a copy of the overall rollup
+     */
+    public synchronized ScoreRollup getTotals()
+    {
+        return total.copy();
+    }
+
+    /**
+     * Returns the totals of one day.
+     *
+     * @param day the day
+     * @return a copy of the day's rollup, empty if no score was played that day
+     */
+    public synchronized ScoreRollup getDay(final LocalDate day)
+    {
+        final ScoreRollup rollup;
+        rollup = days.get(day);
+
+        if (rollup == null)
+        {
+            return new ScoreRollup();
+        }
+        return rollup.copy();
+    }
+
+    /**
+     * Returns the totals of each day with scores between two days, inclusive.
+     *
+     * @param from the first day
+     * @param to   the last day
+     * @return copies of the daily rollups, in date order
+     */
+    public synchronized SortedMap<LocalDate, ScoreRollup> getDailyTotals(final LocalDate from,
+                                                                         final LocalDate to)
+    {
+        if (from.isAfter(to))
+        {
+            return Collections.emptySortedMap();
+        }
+
+        final SortedMap<LocalDate, ScoreRollup> daily;
+        daily = new TreeMap<>();
+
+        for (final Map.Entry<LocalDate, ScoreRollup> entry : days.subMap(from, true, to, true).entrySet())
+        {
+            daily.put(entry.getKey(), entry.getValue().copy());
+        }
+
+        return Collections.unmodifiableSortedMap(daily);
+    }
+
+    /**
+     * Returns the combined totals of a window of days ending on the given day,
+     * whose average is the rolling average over that window.
+     *
+     * @param end        the last day of the window
+     * @param windowDays the number of days in the window, at least 1
+     * @return the combined rollup of the window
+     */
+    public synchronized ScoreRollup getRollingTotals(final LocalDate end,
+                                                     final int windowDays)
+    {
+        if (windowDays < SINGLE_DAY)
+        {
+            throw new IllegalArgumentException("windowDays must be at least 1: " + windowDays);
+        }
+
+        final ScoreRollup window;
+        window = new ScoreRollup();
+
+        for (final ScoreRollup day : days.subMap(end.minusDays(windowDays - SINGLE_DAY), true, end, true).values())
+        {
+            window.add(day);
+        }
+
+        return window;
+    }
+
+    /**
+     * Returns the score with the most points per game, the earliest if several tie.
+     *
+     * @return the best score, or null if no score had a game played
+     */
+    public synchronized Score getBest()
+    {
+        return best;
+    }
+
+    /**
+     * Returns the score with the fewest points per game, the earliest if several tie.
+     *
+     * @return the worst score, or null if no score had a game played
+     */
+    public synchronized Score getWorst()
+    {
+        return worst;
+    }
+
+    /**
+     * Returns the first day with a score.
+     *
+     * @return the first day, or null if no score has been added
+     */
+    public synchronized LocalDate getFirstDay()
+    {
+        return days.isEmpty() ? null : days.firstKey();
+    }
+
+    /**
+     * Returns the last day with a score.
+     *
+     * @return the last day, or null if no score has been added
+     */
+    public synchronized LocalDate getLastDay()
+    {
+        return days.isEmpty() ? null : days.lastKey();
+    }
+}
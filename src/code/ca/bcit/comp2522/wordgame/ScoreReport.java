@@ -0,0 +1,139 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Command-line report over a score file: overall totals, best and worst scores,
+ * a rolling average and the daily totals of the most recent days, all read from
+ * ScoreAnalytics rollups. The rollups are checkpointed next to the score file, the same
+ * checkpoint the word game keeps, so each report reads only the scores added since.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public final class ScoreReport
+{
+    private static final int    NONE            = 0;
+    private static final int    SINGLE_DAY      = 1;
+    private static final int    FILE_ARG_INDEX  = 0;
+    private static final int    DAYS_ARG_INDEX  = 1;
+    private static final int    DEFAULT_DAYS    = 7;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double PERCENT         = 100.0;
+    private static final String ROLLUP_SUFFIX   = ".rollup";
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ScoreReport()
+    {
+    }
+
+    /**
+     * Prints the report for the score file given as the first argument, or the word game's
+     * score file, with the rolling window and daily listing covering the number of days
+     * given as the second argument, or 7.
+     *
+     * @param args optional score file and number of days
+     * @throws IOException if the score file cannot be read or the checkpoint cannot be saved
+     */
+    public static void main(final String[] args)
+        throws IOException
+    {
+        final Path scoreFile;
+        final int days;
+
+        if (args.length > FILE_ARG_INDEX)
+        {
+            scoreFile = Paths.get(args[FILE_ARG_INDEX]);
+        }
+        else
+        {
+            scoreFile = WordGame.SCORE_PATH;
+        }
+
+        if (args.length > DAYS_ARG_INDEX)
+        {
+            days = Integer.parseInt(args[DAYS_ARG_INDEX]);
+        }
+        else
+        {
+            days = DEFAULT_DAYS;
+        }
+
+        final Path checkpoint;
+        final long start;
+        final ScoreAnalytics analytics;
+        final long buildNanos;
+
+        checkpoint = scoreFile.resolveSibling(scoreFile.getFileName() + ROLLUP_SUFFIX);
+        start      = System.nanoTime();
+        analytics  = ScoreAnalytics.open(checkpoint, new TextScoreSink(scoreFile), null);
+        buildNanos = System.nanoTime() - start;
+
+        final ScoreRollup totals;
+        totals = analytics.getTotals();
+
+        System.out.println("Score report for " + scoreFile + " (rolled up in " +
+                           buildNanos / NANOS_PER_MILLI + " ms)");
+
+        if (totals.getSessions() == NONE)
+        {
+            System.out.println("No scores recorded.");
+            return;
+        }
+
+        System.out.println("Overall:  " + describe(totals));
+        System.out.println("Best:     " + describe(analytics.getBest()));
+        System.out.println("Worst:    " + describe(analytics.getWorst()));
+
+        final LocalDate lastDay;
+        lastDay = analytics.getLastDay();
+
+        System.out.println("Last " + days + " days to " + lastDay + ": " +
+                           describe(analytics.getRollingTotals(lastDay, days)));
+        System.out.println("Daily totals:");
+
+        for (final Map.Entry<LocalDate, ScoreRollup> day :
+            analytics.getDailyTotals(lastDay.minusDays(days - SINGLE_DAY), lastDay).entrySet())
+        {
+            System.out.println("  " + day.getKey() + "  " + describe(day.getValue()));
+        }
+    }
+
+    /*
+    Describes a rollup on one line
+     */
+    private static String describe(final ScoreRollup rollup)
+    {
+        return String.format("%d sessions, %d games, %d points, %.2f per game, " +
+                             "first:second %.2f, %.1f%% right first time",
+                             rollup.getSessions(),
+                             rollup.getGamesPlayed(),
+                             rollup.getPoints(),
+                             rollup.getAveragePerGame(),
+                             rollup.getFirstToSecondRatio(),
+                             rollup.getFirstAttemptShare() * PERCENT);
+    }
+
+    /*
+    Describes a single score on one line
+     */
+    private static String describe(final Score score)
+    {
+        if (score == null)
+        {
+            return "none";
+        }
+
+        return String.format("%.2f per game (%d points in %d games) on %s",
+                             (double) score.getScore() / score.getNumGamesPlayed(),
+                             score.getScore(),
+                             score.getNumGamesPlayed(),
+                             score.getDateTimePlayed());
+    }
+}
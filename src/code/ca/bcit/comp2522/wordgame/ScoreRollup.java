@@ -0,0 +1,223 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Running totals over a set of Score records: sessions, games, answers by attempt and points.
+ * The averages and ratios are derived from the totals, so adding a score costs a few
+ * additions whatever the size of the set. ScoreAnalytics keeps one per day plus an overall
+ * one; the copies it hands out are never changed afterwards.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public final class ScoreRollup
+{
+    private static final int NONE = 0;
+
+    private long sessions;
+    private long gamesPlayed;
+    private long correctFirstAttempts;
+    private long correctSecondAttempts;
+    private long incorrectAttempts;
+    private long points;
+
+    /**
+     * Constructs an empty ScoreRollup.
+     */
+    ScoreRollup()
+    {
+    }
+
+    /**
+     * Adds one score to the totals.
+     *
+     * @param score the score to add
+     */
+    void add(final Score score)
+    {
+        sessions++;
+        gamesPlayed           += score.getNumGamesPlayed();
+        correctFirstAttempts  += score.getNumCorrectFirstAttempt();
+        correctSecondAttempts += score.getNumCorrectSecondAttempt();
+        incorrectAttempts     += score.getNumIncorrectTwoAttempts();
+        points                += score.getScore();
+    }
+
+    /**
+     * Adds another rollup's totals to these.
+     *
+     * @param other the rollup to add
+     */
+    void add(final ScoreRollup other)
+    {
+        sessions              += other.sessions;
+        gamesPlayed           += other.gamesPlayed;
+        correctFirstAttempts  += other.correctFirstAttempts;
+        correctSecondAttempts += other.correctSecondAttempts;
+        incorrectAttempts     += other.incorrectAttempts;
+        points                += other.points;
+    }
+
+    /**
+     * Writes the totals in a fixed binary layout read back by readFrom.
+     *
+     * @param out the output to write to
+     * @throws IOException if the totals cannot be written
+     */
+    void writeTo(final DataOutput out)
+        throws IOException
+    {
+        out.writeLong(sessions);
+        out.writeLong(gamesPlayed);
+        out.writeLong(correctFirstAttempts);
+        out.writeLong(correctSecondAttempts);
+        out.writeLong(incorrectAttempts);
+        out.writeLong(points);
+    }
+
+    /**
+     * Reads totals written by writeTo.
+     *
+     * @param in the input to read from
+     * @return the totals read
+     * @throws IOException if the totals cannot be read
+     */
+    static ScoreRollup readFrom(final DataInput in)
+        throws IOException
+    {
+        final ScoreRollup rollup;
+        rollup = new ScoreRollup();
+
+        rollup.sessions              = in.readLong();
+        rollup.gamesPlayed           = in.readLong();
+        rollup.correctFirstAttempts  = in.readLong();
+        rollup.correctSecondAttempts = in.readLong();
+        rollup.incorrectAttempts     = in.readLong();
+        rollup.points                = in.readLong();
+
+        return rollup;
+    }
+
+    /**
+     * Returns a copy of these totals.
+     *
+     * @return the copy
+     */
+    ScoreRollup copy()
+    {
+        final ScoreRollup copy;
+        copy = new ScoreRollup();
+
+        copy.add(this);
+
+        return copy;
+    }
+
+    /**
+     * Returns the number of scores added.
+     *
+     * @return the session count
+     */
+    public long getSessions()
+    {
+        return sessions;
+    }
+
+    /**
+     * Returns the total number of games played.
+     *
+     * @return the games played
+     */
+    public long getGamesPlayed()
+    {
+        return gamesPlayed;
+    }
+
+    /**
+     * Returns the total number of answers correct on the first attempt.
+     *
+     * @return the first-attempt correct count
+     */
+    public long getCorrectFirstAttempts()
+    {
+        return correctFirstAttempts;
+    }
+
+    /**
+     * Returns the total number of answers correct on the second attempt.
+     *
+     * @return the second-attempt correct count
+     */
+    public long getCorrectSecondAttempts()
+    {
+        return correctSecondAttempts;
+    }
+
+    /**
+     * Returns the total number of questions missed on both attempts.
+     *
+     * @return the incorrect count
+     */
+    public long getIncorrectAttempts()
+    {
+        return incorrectAttempts;
+    }
+
+    /**
+     * Returns the total points scored.
+     *
+     * @return the points
+     */
+    public long getPoints()
+    {
+        return points;
+    }
+
+    /**
+     * Returns the average points per game.
+     *
+     * @return the points per game, or 0 if no games were played
+     */
+    public double getAveragePerGame()
+    {
+        if (gamesPlayed == NONE)
+        {
+            return NONE;
+        }
+        return (double) points / gamesPlayed;
+    }
+
+    /**
+     * Returns how many answers were right on the first attempt for each one right on the second.
+     *
+     * @return the first-to-second ratio, or NaN if no answer was right on the second attempt
+     */
+    public double getFirstToSecondRatio()
+    {
+        if (correctSecondAttempts == NONE)
+        {
+            return Double.NaN;
+        }
+        return (double) correctFirstAttempts / correctSecondAttempts;
+    }
+
+    /**
+     * Returns the share of correct answers that were right on the first attempt.
+     *
+     * @return the share between 0 and 1, or NaN if there were no correct answers
+     */
+    public double getFirstAttemptShare()
+    {
+        final long correct;
+        correct = correctFirstAttempts + correctSecondAttempts;
+
+        if (correct == NONE)
+        {
+            return Double.NaN;
+        }
+        return (double) correctFirstAttempts / correct;
+    }
+}
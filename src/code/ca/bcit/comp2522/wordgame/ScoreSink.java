@@ -0,0 +1,60 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Interface for destinations that finished game scores are recorded to.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public interface ScoreSink extends Closeable
+{
+    /**
+     * Records a single score.
+     *
+     * @param score the score to record
+     * @throws IOException if the score cannot be written
+     */
+    void record(final Score score)
+        throws IOException;
+
+    /**
+     * Records several scores in order. Sinks that can write a batch at once should override this.
+     *
+     * @param scores the scores to record
+     * @throws IOException if the scores cannot be written
+     */
+    default void recordAll(final List<Score> scores)
+        throws IOException
+    {
+        for (final Score score : scores)
+        {
+            record(score);
+        }
+    }
+
+    /**
+     * Writes out any scores the sink is still holding.
+     *
+     * @throws IOException if the scores cannot be written
+     */
+    default void flush()
+        throws IOException
+    {
+    }
+
+    /**
+     * Flushes the sink and releases its resources.
+     *
+     * @throws IOException if the remaining scores cannot be written
+     */
+    @Override
+    default void close()
+        throws IOException
+    {
+        flush();
+    }
+}
@@ -0,0 +1,36 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * A ScoreSink that keeps every score in the order recorded and can read them back
+ * from any earlier position, so a reader that remembers where it stopped only has to
+ * read the scores recorded since. What a position counts is up to the store.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public interface ScoreStore extends ScoreSink
+{
+    /**
+     * Returns the position just past the last stored score.
+     *
+     * @return the end position, 0 if nothing is stored
+     * @throws IOException if the store cannot be read
+     */
+    long getEndPosition()
+        throws IOException;
+
+    /**
+     * Reads every score from a position to the end, in the order recorded.
+     *
+     * @param position a position earlier returned by this store, or 0 for the first score
+     * @param action   called with each score read
+     * @return the position just past the last score read
+     * @throws IOException if the store cannot be read
+     */
+    long readFrom(final long position,
+                  final Consumer<Score> action)
+        throws IOException;
+}
@@ -0,0 +1,145 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Score store that appends scores to a text file in the Score.toString format,
+ * the same format written by Score.appendScoreToFile. Positions are byte offsets into the file.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class TextScoreSink implements ScoreStore
+{
+    private static final long NONE = 0L;
+
+    private final Path path;
+
+    /**
+     * Constructs a TextScoreSink that appends to the given file.
+     *
+     * @param path the text score file
+     */
+    public TextScoreSink(final Path path)
+    {
+        checkPath(path);
+        this.path = path;
+    }
+
+    /*
+    Check if path is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkPath(final Path path)
+    {
+        if (path == null)
+        {
+            throw new IllegalArgumentException("path cannot be null");
+        }
+    }
+
+    /**
+     * Appends a single score to the file.
+     *
+     * @param score the score to record
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void record(final Score score)
+        throws IOException
+    {
+        recordAll(List.of(score));
+    }
+
+    /**
+     * Appends several scores to the file with a single write.
+     *
+     * @param scores the scores to record
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void recordAll(final List<Score> scores)
+        throws IOException
+    {
+        if (scores.isEmpty())
+        {
+            return;
+        }
+
+        final StringBuilder sb;
+        sb = new StringBuilder();
+
+        for (final Score score : scores)
+        {
+            sb.append(score.toString());
+            sb.append(System.lineSeparator());
+        }
+
+        Files.writeString(path,
+                          sb,
+                          StandardOpenOption.CREATE,
+                          StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Returns the size of the file in bytes.
+     *
+     * @return the end position, 0 if the file is missing
+     * @throws IOException if the file size cannot be read
+     */
+    @Override
+    public long getEndPosition()
+        throws IOException
+    {
+        if (Files.notExists(path))
+        {
+            return NONE;
+        }
+
+        return Files.size(path);
+    }
+
+    /**
+     * Parses every score block from a byte offset to the end of the file.
+     *
+     * @param position the byte offset of a score block, or 0 for the first
+     * @param action   called with each score read
+     * @return the byte offset just past the last score read
+     * @throws IOException if the file cannot be read
+     */
+    @Override
+    public long readFrom(final long position,
+                         final Consumer<Score> action)
+        throws IOException
+    {
+        if (Files.notExists(path))
+        {
+            return NONE;
+        }
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             final Stream<Score> scores = Score.streamScores(new BufferedReader(
+                 Channels.newReader(channel.position(position), StandardCharsets.UTF_8))))
+        {
+            scores.forEach(action);
+
+            // The reader stops at the end of the file, so the channel is left there
+            return channel.position();
+        }
+        catch (final UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Country loader that parses each memory-mapped file in a single pass and records a
+ * CountryDiagnostic for every malformed block instead of throwing or silently dropping it.
+ *
+ * <p>A block is a header line and the fact lines up to the next blank line. The header
+ * splits at its first colon, so a capital holding a colon is kept whole, and trailing
+ * colons are ignored. A block whose header has no colon or a blank name or capital is
+ * skipped as a whole, fact lines included, rather than having each fact line tried as a
+ * header. Facts beyond the third are dropped, and a block with fewer than three facts is
+ * skipped, so every country loaded can answer a fact question. A fact also ends at a
+ * period followed by closing quotes or a bracket, as in 'the "Emerald Isle."', which the
+ * other loaders run on into the next fact. Otherwise well-formed files load exactly as
+ * with the MappedCountryLoader.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class TolerantCountryLoader extends MappedCountryLoader
+{
+    private static final int  MAX_REPORTED        = 10;
+    private static final byte DOUBLE_QUOTE        = '"';
+    private static final byte SINGLE_QUOTE        = '\'';
+    private static final byte CLOSING_PARENTHESIS = ')';
+    private static final byte QUOTE_LEAD_BYTE     = (byte) 0xE2;
+    private static final byte QUOTE_MIDDLE_BYTE   = (byte) 0x80;
+    private static final byte RIGHT_SINGLE_QUOTE  = (byte) 0x99;
+    private static final byte RIGHT_DOUBLE_QUOTE  = (byte) 0x9D;
+    private static final int  QUOTE_BYTES         = 3;
+    private static final int  LEAD_BYTE_OFFSET    = 3;
+    private static final int  MIDDLE_BYTE_OFFSET  = 2;
+
+    /**
+     * Constructs a TolerantCountryLoader that runs on the common fork-join pool.
+     */
+    public TolerantCountryLoader()
+    {
+        super();
+    }
+
+    /**
+     * Constructs a TolerantCountryLoader that runs on the given fork-join pool.
+     *
+     * @param pool the pool to parse files on
+     */
+    public TolerantCountryLoader(final ForkJoinPool pool)
+    {
+        super(pool);
+    }
+
+    /**
+     * Parses Country objects from a single file, printing its diagnostics to standard error.
+     *
+     * @param file the file to parse
+     * @return a list of Country objects from the file
+     * @throws IOException if the file cannot be mapped
+     */
+    @Override
+    public List<Country> parseFile(final Path file)
+        throws IOException
+    {
+        final List<CountryDiagnostic> diagnostics;
+        final List<Country> countries;
+
+        diagnostics = new ArrayList<>();
+        countries   = parseFile(file, diagnostics);
+
+        report(diagnostics);
+
+        return countries;
+    }
+
+    /**
+     * Parses Country objects from a single file, adding a diagnostic for every malformed block.
+     *
+     * @param file        the file to parse
+     * @param diagnostics the list to add the file's diagnostics to, in line order
+     * @return a list of Country objects from the file
+     * @throws IOException if the file cannot be mapped
+     */
+    public List<Country> parseFile(final Path file,
+                                   final List<CountryDiagnostic> diagnostics)
+        throws IOException
+    {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            final long size;
+            size = channel.size();
+
+            if (size == NONE)
+            {
+                return new ArrayList<>();
+            }
+
+            return parseBuffer(file, channel.map(FileChannel.MapMode.READ_ONLY, NONE, size), diagnostics);
+        }
+    }
+
+    /**
+     * Parses Country blocks out of a buffer of UTF-8 text in one pass, adding a diagnostic
+     * for every malformed block.
+     *
+     * @param file        the file the buffer was read from, for the diagnostics
+     * @param buffer      the bytes to parse, from index 0 to the limit
+     * @param diagnostics the list to add diagnostics to, in line order
+     * @return a list of Country objects found in the buffer
+     */
+    static List<Country> parseBuffer(final Path file,
+                                     final ByteBuffer buffer,
+                                     final List<CountryDiagnostic> diagnostics)
+    {
+        final List<Country> countries;
+        final int limit;
+
+        countries = new ArrayList<>();
+        limit     = buffer.limit();
+
+        byte[] scratch;
+        int position;
+        int line;
+
+        scratch  = new byte[CountryBytes.SCRATCH_SIZE];
+        position = INITIAL_INDEX;
+        line     = NONE;
+
+        while (position < limit)
+        {
+            final int lineStart;
+            final int lineEnd;
+            final int headerLine;
+
+            lineStart  = position;
+            lineEnd    = CountryBytes.findLineEnd(buffer, lineStart, limit);
+            position   = CountryBytes.skipLineTerminator(buffer, lineEnd, limit);
+            headerLine = ++line;
+
+            if (CountryBytes.trimStart(buffer, lineStart, lineEnd) == lineEnd)
+            {
+                continue;
+            }
+
+            final int colon;
+            final int capitalEnd;
+            final CountryDiagnostic.Reason headerProblem;
+
+            colon      = CountryBytes.indexOf(buffer, CountryBytes.COLON, lineStart, lineEnd);
+            capitalEnd = trimTrailingColons(buffer, colon, lineEnd);
+
+            if (colon == lineEnd)
+            {
+                headerProblem = CountryDiagnostic.Reason.MISSING_SEPARATOR;
+            }
+            else if (CountryBytes.trimStart(buffer, lineStart, colon) == colon)
+            {
+                headerProblem = CountryDiagnostic.Reason.BLANK_NAME;
+            }
+            else if (capitalEnd == colon + 1)
+            {
+                headerProblem = CountryDiagnostic.Reason.BLANK_CAPITAL;
+            }
+            else
+            {
+                headerProblem = null;
+            }
+
+            if (headerProblem != null)
+            {
+                diagnostics.add(new CountryDiagnostic(file, headerLine, headerProblem));
+
+                // Skip the block's fact lines too, so none of them is taken for a header
+                while (position < limit)
+                {
+                    final int factLineEnd;
+                    final boolean blank;
+
+                    factLineEnd = CountryBytes.findLineEnd(buffer, position, limit);
+                    blank       = CountryBytes.trimStart(buffer, position, factLineEnd) == factLineEnd;
+                    position    = CountryBytes.skipLineTerminator(buffer, factLineEnd, limit);
+                    line++;
+
+                    if (blank)
+                    {
+                        break;
+                    }
+                }
+                continue;
+            }
+
+            final int headerDiagnostic;
+            final String[] facts;
+
+            headerDiagnostic = diagnostics.size();
+            facts            = new String[NUM_OF_FACTS];
+
+            int factLength;
+            int factPointer;
+            int factLine;
+
+            factLength  = NONE;
+            factPointer = INITIAL_INDEX;
+            factLine    = NONE;
+
+            while (position < limit)
+            {
+                final int factLineEnd;
+                final int trimmedStart;
+                final int trimmedEnd;
+
+                factLineEnd  = CountryBytes.findLineEnd(buffer, position, limit);
+                trimmedStart = CountryBytes.trimStart(buffer, position, factLineEnd);
+                trimmedEnd   = CountryBytes.trimEnd(buffer, trimmedStart, factLineEnd);
+                position     = CountryBytes.skipLineTerminator(buffer, factLineEnd, limit);
+                line++;
+
+                if (trimmedStart == trimmedEnd)
+                {
+                    break;
+                }
+
+                if (factPointer >= NUM_OF_FACTS)
+                {
+                    // Extra facts are only counted, never copied; factLength just marks one in progress
+                    if (factPointer == NUM_OF_FACTS && factLength == NONE)
+                    {
+                        diagnostics.add(new CountryDiagnostic(file, line, CountryDiagnostic.Reason.EXTRA_FACTS));
+                    }
+
+                    factLength++;
+
+                    if (endsSentence(buffer, trimmedStart, trimmedEnd))
+                    {
+                        factLength = NONE;
+                        factPointer++;
+                    }
+                    continue;
+                }
+
+                final int lineLength;
+                lineLength = trimmedEnd - trimmedStart;
+
+                if (factLength + lineLength + 1 > scratch.length)
+                {
+                    scratch = Arrays.copyOf(scratch, (factLength + lineLength + 1) * CountryBytes.GROWTH_FACTOR);
+                }
+
+                if (factLength > NONE)
+                {
+                    scratch[factLength++] = CountryBytes.FACT_SEPARATOR;
+                }
+                else
+                {
+                    factLine = line;
+                }
+                buffer.get(trimmedStart, scratch, factLength, lineLength);
+                factLength += lineLength;
+
+                if (endsSentence(buffer, trimmedStart, trimmedEnd))
+                {
+                    facts[factPointer] = new String(scratch, NONE, factLength, StandardCharsets.UTF_8);
+                    factLength         = NONE;
+                    factPointer++;
+                }
+            }
+
+            // Keeps the rest of the text as the last fact in case it didn't end with a "."
+            if (factLength > NONE && factPointer < NUM_OF_FACTS)
+            {
+                diagnostics.add(new CountryDiagnostic(file, factLine, CountryDiagnostic.Reason.UNTERMINATED_FACT));
+                facts[factPointer] = new String(scratch, NONE, factLength, StandardCharsets.UTF_8);
+                factPointer++;
+            }
+
+            if (factPointer < NUM_OF_FACTS)
+            {
+                diagnostics.add(headerDiagnostic,
+                                new CountryDiagnostic(file, headerLine, CountryDiagnostic.Reason.MISSING_FACTS));
+                continue;
+            }
+
+            // Only a kept country is flagged for its capital, ahead of its fact problems to keep line order
+            if (CountryBytes.indexOf(buffer, CountryBytes.COLON, colon + 1, capitalEnd) != capitalEnd)
+            {
+                diagnostics.add(headerDiagnostic,
+                                new CountryDiagnostic(file, headerLine, CountryDiagnostic.Reason.COLON_IN_CAPITAL));
+            }
+
+            countries.add(Country.of(CountryBytes.decodeTrimmed(buffer, lineStart, colon),
+                                     CountryBytes.decodeTrimmed(buffer, colon + 1, capitalEnd),
+                                     facts));
+        }
+
+        return countries;
+    }
+
+    /*
+    Returns whether the text in [from, to) ends with a period, ignoring closing quotes and brackets after it
+     */
+    private static boolean endsSentence(final ByteBuffer buffer,
+                                        final int from,
+                                        final int to)
+    {
+        int end;
+        end = to;
+
+        while (end > from)
+        {
+            final byte last;
+            last = buffer.get(end - 1);
+
+            if (last == DOUBLE_QUOTE || last == SINGLE_QUOTE || last == CLOSING_PARENTHESIS)
+            {
+                end--;
+            }
+            else if ((last == RIGHT_SINGLE_QUOTE || last == RIGHT_DOUBLE_QUOTE) &&
+                     end - from >= QUOTE_BYTES &&
+                     buffer.get(end - MIDDLE_BYTE_OFFSET) == QUOTE_MIDDLE_BYTE &&
+                     buffer.get(end - LEAD_BYTE_OFFSET) == QUOTE_LEAD_BYTE)
+            {
+                end -= QUOTE_BYTES;
+            }
+            else
+            {
+                break;
+            }
+        }
+
+        return end > from && buffer.get(end - 1) == CountryBytes.PERIOD;
+    }
+
+    /*
+    Returns the end of the capital once trailing colons and whitespace are dropped,
+    which String.split(":") also ignored; colon + 1 if nothing is left
+     */
+    private static int trimTrailingColons(final ByteBuffer buffer,
+                                          final int colon,
+                                          final int lineEnd)
+    {
+        int end;
+        end = CountryBytes.trimEnd(buffer, colon + 1, lineEnd);
+
+        while (end > colon + 1 && buffer.get(end - 1) == CountryBytes.COLON)
+        {
+            end = CountryBytes.trimEnd(buffer, colon + 1, end - 1);
+        }
+
+        return end;
+    }
+
+    /*
+    Prints the first few diagnostics of a file to standard error, then how many more there were
+     */
+    private static void report(final List<CountryDiagnostic> diagnostics)
+    {
+        final int shown;
+        shown = Math.min(diagnostics.size(), MAX_REPORTED);
+
+        for (int i = 0; i < shown; i++)
+        {
+            System.err.println(diagnostics.get(i));
+        }
+
+        if (diagnostics.size() > shown)
+        {
+            System.err.println(diagnostics.get(INITIAL_INDEX).getFile() + ": " +
+                               (diagnostics.size() - shown) + " more problems");
+        }
+    }
+}
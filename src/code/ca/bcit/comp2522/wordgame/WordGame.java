@@ -1,53 +1,57 @@
 package ca.bcit.comp2522.wordgame;
 
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
 import java.util.Scanner;
-import java.util.Comparator;
-import java.util.Collections;
 import java.util.random.RandomGenerator;
-import java.util.stream.Collectors;
 
 /**
- * Contains main game loop
+ * Console front end for the word game: plays a WordGameSession over a Scanner and
+ * System.out, and reports and records the final score.
  *
  * @author David Martinez
  * @version 1.0
  */
 public class WordGame
 {
-    private static final int NUM_OF_FACTS            = 3;
-    private static final int MIN_NUM_OF_COUNTRY_DATA = 2;
     private static final int NONE                    = 0;
-    private static final int NUM_QUESTIONS           = 3;
 
     protected static final int LOWER_BOUND       = 0;
     protected static final int UPPER_BOUND       = 3;
     protected static final int TYPE_CAPITAL_CITY = 0;
     protected static final int TYPE_COUNTRY_NAME = 1;
     protected static final int TYPE_FACT     = 2;
-    private static final   int INITIAL_INDEX = 0;
-    private static final int CAPITAL_CITY_NAME_INDEX = 1;
 
-    private final List<Question> questions;
-    private final List<Country>  countries;
-    private final World          world;
-    private final Score          gameScore;
-    private final List<Score>    scores;
+    private static final String LOADER_PROPERTY = "wordgame.loader";
+    private static final String LEGACY_LOADER   = "legacy";
+    private static final String MAPPED_LOADER   = "mapped";
+    private static final String TOLERANT_LOADER = "tolerant";
+    private static final int    NANOS_PER_MILLI = 1_000_000;
+    private static final String SCORES_PROPERTY = "wordgame.scores";
+    private static final String BINARY_SCORES   = "binary";
+
+    static final Path SCORE_PATH        = Paths.get("src",
+                                                    "code",
+                                                    "ca",
+                                                    "bcit",
+                                                    "comp2522",
+                                                    "wordgame",
+                                                    "scores.txt");
+    static final Path ANSWER_STATS_PATH = SCORE_PATH.resolveSibling("answerstats.bin");
+
+    private static final Path BINARY_SCORE_PATH  = SCORE_PATH.resolveSibling("scores.bin");
+    private static final Path TEXT_ROLLUP_PATH   = SCORE_PATH.resolveSibling("scores.txt.rollup");
+    private static final Path BINARY_ROLLUP_PATH = SCORE_PATH.resolveSibling("scores.bin.rollup");
 
     private final Scanner scanner;
 
     /**
-     * Constructs a WordGame object and initializes game data.
+     * Constructs a WordGame object and initializes game data,
+     * writing the final score straight to the score file.
      *
      * @param scanner the scanner for user input
      * @throws IOException if input files cannot be read
@@ -55,64 +59,74 @@ public class WordGame
     public WordGame(final Scanner scanner)
         throws IOException
     {
-        final List<Score> scores;
-        final Path inputsPath;
-        final LocalDateTime datePlayed;
-        final Path scorePath;
-
-        questions    = new ArrayList<>();
-        scores       = new ArrayList<>();
-        datePlayed   = LocalDateTime.now();
-        this.scores  = scores;
+        final ScoreStore store;
+        store = createScoreSink();
+
+        this.scanner = scanner;
+
+        try (final ScoreAnalytics scores = openScoreAnalytics(store, store))
+        {
+            play(scores);
+        }
+    }
+
+    /**
+     * Constructs a WordGame object and initializes game data, comparing the final score
+     * with the best in the analytics and recording it through them.
+     *
+     * @param scanner the scanner for user input
+     * @param scores  the analytics over every earlier score, wrapped around the live score sink
+     * @throws IOException if input files cannot be read
+     */
+    public WordGame(final Scanner scanner,
+                    final ScoreAnalytics scores)
+        throws IOException
+    {
         this.scanner = scanner;
-        gameScore    = new Score(datePlayed,
-                                 NONE,
-                                 NONE,
-                                 NONE,
-                                 NONE);
-
-        inputsPath = Paths.get(
-            "src",
-            "code",
-            "ca",
-            "bcit",
-            "comp2522",
-            "wordgame",
-            "inputs");
-
-        countries = loadCountriesFromFolder(inputsPath);
-
-        final Map<String, Country> countryMap;
-        countryMap = countries.stream()
-                              .collect(Collectors.toMap(Country::getCountryName, c -> c));
-
-        this.world = new World(countryMap);
-
-        if (countries.isEmpty())
+        play(scores);
+    }
+
+    /*
+    Plays one game against the shared World and records its score
+     */
+    private void play(final ScoreAnalytics scores)
+        throws IOException
+    {
+        final QuestionFactory questionFactory;
+        questionFactory = WorldRegistry.getQuestionFactory();
+
+        System.out.println("World ready: loaded in " +
+                           (double) WorldRegistry.getLastLoadNanos() / NANOS_PER_MILLI +
+                           " ms (" +
+                           (WorldRegistry.wasLastLoadWarm() ? "warm start from snapshot" : "cold start from text files") +
+                           "), cache hits: " +
+                           WorldRegistry.getHitCount() +
+                           ", misses: " +
+                           WorldRegistry.getMissCount());
+
+        if (questionFactory.getWorld().getCountriesMap().isEmpty())
         {
             System.err.println("No countries were loaded from the input files.");
             return;
         }
 
-        // Get previous game scores, for later comparison
-        scorePath = Paths.get("src",
-                              "code",
-                              "ca",
-                              "bcit",
-                              "comp2522",
-                              "wordgame",
-                              "scores.txt");
-        scores.addAll(Score.readScoresFromFile(scorePath.toString()));
-
-        // Get previous high score before playing
+        // Get previous high score before playing, from the rollups rather than the score file
         final Score previousHighScore;
-        previousHighScore = scores.stream()
-                                  .filter(s -> s.getNumGamesPlayed() > NONE)
-                                  .max(Comparator.comparingDouble(s -> (double) s.getScore() / s.getNumGamesPlayed()))
-                                  .orElse(null);
-
-        // Run game
-        startLoop();
+        previousHighScore = scores.getBest();
+
+        // Run game, asking more often about what players got wrong in earlier runs
+        final AdaptiveDifficulty difficulty;
+        final WordGameSession session;
+        final Score gameScore;
+
+        difficulty = new AdaptiveDifficulty(AnswerStats.load(ANSWER_STATS_PATH, questionFactory.getWorld()));
+        session    = new WordGameSession(questionFactory,
+                                         difficulty,
+                                         RandomGenerator.getDefault(),
+                                         LocalDateTime.now());
+        startLoop(session);
+        saveAnswerStats(difficulty);
+        gameScore = session.getScore();
 
         // append score to file
         final double averageScore;
@@ -137,283 +151,201 @@ public class WordGame
                                ".");
         }
 
-        Score.appendScoreToFile(gameScore, scorePath.toString());
+        scores.record(gameScore);
     }
 
     /**
-     * Starts the main game loop, asking questions and collecting scores.
+     * Starts the main game loop, reading answers from the scanner and
+     * printing each question and result until the player stops.
+     *
+     * @param session the session to play
      */
-    private void startLoop()
+    private void startLoop(final WordGameSession session)
     {
-        boolean playAgain;
-
-        do
+        while (session.getPhase() != WordGameSession.Phase.FINISHED)
         {
-            gameScore.incrementGamesPlayed();
-
-            // Generate questions, store in questions list
-            questions.clear();
-            questions.addAll(generateQuestions());
+            final Question question;
+            question = session.getCurrentQuestion();
 
-            for (final Question question : questions)
-            {
-                System.out.println("\n" + question.getPrompt());
-                System.out.print("Your answer: ");
+            System.out.println("\n" + question.getPrompt());
+            System.out.print("Your answer: ");
 
-                final String userAnswer;
-                userAnswer = scanner.nextLine().trim();
+            WordGameSession.Outcome outcome;
+            outcome = session.submitAnswer(scanner.nextLine());
 
-                if (userAnswer.equalsIgnoreCase(question.getAnswer()))
-                {
-                    System.out.println("CORRECT!");
-                    gameScore.incrementFirstCorrectAnswers();
-                }
-                else
-                {
-                    System.out.print("INCORRECT\nTry again: ");
-
-                    final String secondAttempt;
-                    secondAttempt = scanner.nextLine().trim();
-
-                    if (secondAttempt.equalsIgnoreCase(question.getAnswer()))
-                    {
-                        System.out.println("CORRECT!");
-                        gameScore.incrementSecondCorrectAnswers();
-                    }
-                    else
-                    {
-                        System.out.println("INCORRECT! The correct answer was: " + question.getAnswer());
-                        gameScore.incrementIncorrectAnswers();
-                    }
-                }
+            if (outcome == WordGameSession.Outcome.TRY_AGAIN)
+            {
+                System.out.print("INCORRECT\nTry again: ");
+                outcome = session.submitAnswer(scanner.nextLine());
             }
 
-            System.out.println(gameScore.getCorrectAnswers());
-            scores.add(gameScore);
-
-            System.out.print("Do you want to play again? (yes/no): ");
+            if (outcome == WordGameSession.Outcome.INCORRECT)
+            {
+                System.out.println("INCORRECT! The correct answer was: " + question.getAnswer());
+            }
+            else
+            {
+                System.out.println("CORRECT!");
+            }
 
-            String response;
-            while (true)
+            if (session.getPhase() == WordGameSession.Phase.ROUND_OVER)
             {
-                response = scanner.nextLine().trim().toLowerCase();
+                System.out.println(session.getScore().getCorrectAnswers());
+                System.out.print("Do you want to play again? (yes/no): ");
 
-                if (response.equals("yes") ||
-                    response.equals("no"))
+                if (readYesOrNo())
                 {
-                    break;
+                    session.playAgain();
+                }
+                else
+                {
+                    session.finish();
                 }
-
-                System.out.print("Invalid input, please enter yes or no: ");
             }
-
-            playAgain = response.equals("yes");
-        } while (playAgain);
-    }
-
-    /**
-     * Generates a list of random questions for the game.
-     *
-     * @return a list of Question objects
-     */
-    private List<Question> generateQuestions()
-    {
-        final List<Question> questions;
-        final List<Country> randomCountries;
-        final RandomGenerator rng;
-        rng = RandomGenerator.getDefault();
-
-        randomCountries = new ArrayList<>(world.getAllCountries());
-        Collections.shuffle(randomCountries, rng);
-
-        questions = randomCountries.stream()
-                                   .limit(NUM_QUESTIONS)
-                                   .map(country -> new Question(
-                                       rng.nextInt(LOWER_BOUND, UPPER_BOUND),
-                                       country))
-                                   .toList();
-
-        return questions;
+        }
     }
 
     /**
-     * Loads all countries from text files in the specified folder.
+     * Saves the answer stats of a difficulty model. Failures are reported but never stop the game.
      *
-     * @param inputsPath the path to the folder containing country data files
-     * @return a list of Country objects parsed from the files
+     * @param difficulty the difficulty model to save
      */
-    private static List<Country> loadCountriesFromFolder(final Path inputsPath)
-        throws IOException
+    static void saveAnswerStats(final AdaptiveDifficulty difficulty)
     {
-        final List<Country> countries;
-
-        countries = new ArrayList<>();
-
-        // Protect against non-exiting inputs folder
-        if (Files.notExists(inputsPath))
+        try
         {
-            Files.createDirectories(inputsPath);
-            System.err.println("Created inputs folder: " + inputsPath.toAbsolutePath());
-            return countries; // empty list, nothing to load yet
+            difficulty.save(ANSWER_STATS_PATH);
         }
-
-        // Protect against non-directory 'inputs' filename
-        if (!Files.isDirectory(inputsPath))
+        catch (final IOException e)
         {
-            throw new IOException("Input folder is not a directory." + inputsPath.toAbsolutePath());
+            System.err.println("Could not save answer stats: " + e.getMessage());
         }
+    }
 
-        final File folder;
-        final File[] files;
-
-        folder = inputsPath.toFile();
-        files  = folder.listFiles();
-
-        // Protect against empty inputs directory
-        if (files == null || files.length == NONE)
+    /*
+    Reads lines until the player answers yes or no
+     */
+    private boolean readYesOrNo()
+    {
+        String response;
+        while (true)
         {
-            System.out.println("No files were found in the input folder.");
-            return countries;
-        }
+            response = scanner.nextLine().trim().toLowerCase();
 
-        // Read each file, create new Country object for each
-        for (final File file : files)
-        {
-            if (!file.isFile())
+            if (response.equals("yes") ||
+                response.equals("no"))
             {
-                continue;
+                break;
             }
 
-            try
-            {
-                final List<Country> fileCountries;
-                fileCountries = parseCountriesFromFile(file);
-                countries.addAll(fileCountries);
-            }
-            catch (final FileNotFoundException e)
-            {
-                System.err.println("File not found: " + e.getMessage());
-            }
+            System.out.print("Invalid input, please enter yes or no: ");
         }
 
-        return countries;
+        return response.equals("yes");
     }
 
     /**
-     * Parses Country objects from a single file.
+     * Opens the analytics over the configured score store, loading them from their
+     * checkpoint, and wraps them around a BufferedScoreSink over the store,
+     * so recorded scores are rolled up at once and written in the background.
      *
-     * @param file the file to parse
-     * @return a list of Country objects from the file
-     * @throws FileNotFoundException if the file cannot be found
+     * @param flushInterval how often queued scores are written to the store
+     * @return the analytics; close them to write the remaining scores and save the checkpoint
+     * @throws IOException if the score store cannot be read
      */
-    private static List<Country> parseCountriesFromFile(final File file)
-        throws FileNotFoundException
+    public static ScoreAnalytics openScoreAnalytics(final Duration flushInterval)
+        throws IOException
     {
-        final List<Country> countries;
-        final Scanner fileScanner;
+        final ScoreStore store;
+        final BufferedScoreSink buffered;
 
-        countries   = new ArrayList<>();
-        fileScanner = new Scanner(file);
+        store    = createScoreSink();
+        buffered = BufferedScoreSink.start(store, flushInterval);
 
         try
         {
-            while (fileScanner.hasNextLine())
-            {
-                final String firstLine;
-                firstLine = fileScanner.nextLine();
-
-                if (firstLine.isEmpty())
-                {
-                    continue;
-                }
+            return openScoreAnalytics(store, buffered);
+        }
+        catch (final IOException | RuntimeException e)
+        {
+            buffered.close();
+            throw e;
+        }
+    }
 
-                final Country country;
-                country = parseCountry(firstLine, fileScanner);
+    /*
+    Opens the analytics over a score store from the checkpoint for that store,
+    first copying the text history into an empty binary store
+     */
+    private static ScoreAnalytics openScoreAnalytics(final ScoreStore store,
+                                                     final ScoreSink delegate)
+        throws IOException
+    {
+        final Path checkpoint;
 
-                if (country != null)
-                {
-                    countries.add(country);
-                }
+        if (store instanceof BinaryScoreLog scoreLog)
+        {
+            if (scoreLog.getRecordCount() == NONE)
+            {
+                BinaryScoreLog.migrateFromText(SCORE_PATH, scoreLog);
             }
+
+            checkpoint = BINARY_ROLLUP_PATH;
         }
-        finally
+        else
         {
-            fileScanner.close();
+            checkpoint = TEXT_ROLLUP_PATH;
         }
 
-        return countries;
+        return ScoreAnalytics.open(checkpoint, store, delegate);
     }
 
     /**
-     * Parses and creates a single Country object from the scanner.
+     * Creates a store that writes scores straight to the file named by the
+     * "wordgame.scores" system property: "binary" for scores.bin, otherwise scores.txt.
      *
-     * @param firstLine the line containing "CountryName:CapitalCity"
-     * @param scanner   the scanner to read facts from
-     * @return a Country object, or null if parsing fails
+     * @return a score store for the configured file
      */
-    private static Country parseCountry(final String firstLine,
-                                        final Scanner scanner)
+    public static ScoreStore createScoreSink()
     {
-        final String[] countryData;
-        final Country country;
-        final String countryName;
-        final String capitalCityName;
-        final String[] facts;
-        final StringBuilder factBuilder;
-        final int countryNameIndex;
-        final int capitalCityNameIndex;
-
-        countryNameIndex     = INITIAL_INDEX;
-        capitalCityNameIndex = CAPITAL_CITY_NAME_INDEX;
-
-        int factPointer;
-
-        countryData = firstLine.split(":");
-
-        if (countryData.length != MIN_NUM_OF_COUNTRY_DATA)
+        if (useBinaryScores())
         {
-            return null;
+            return new BinaryScoreLog(BINARY_SCORE_PATH);
         }
 
-        countryName     = countryData[countryNameIndex].trim();
-        capitalCityName = countryData[capitalCityNameIndex].trim();
-        facts           = new String[NUM_OF_FACTS];
-        factBuilder     = new StringBuilder();
-        factPointer     = INITIAL_INDEX;
-
-        while (scanner.hasNextLine())
-        {
-            final String trimmedLine;
-            trimmedLine = scanner.nextLine().trim();
+        return new TextScoreSink(SCORE_PATH);
+    }
 
-            if (trimmedLine.isEmpty())
-            {
-                break;
-            }
+    /*
+    Checks whether the binary score store was selected
+     */
+    private static boolean useBinaryScores()
+    {
+        return BINARY_SCORES.equalsIgnoreCase(System.getProperty(SCORES_PROPERTY));
+    }
 
-            if (!factBuilder.isEmpty())
-            {
-                factBuilder.append(' ');
-            }
-            factBuilder.append(trimmedLine);
+    /**
+     * Picks the country loader named by the "wordgame.loader" system property.
+     * "legacy" selects the original Scanner loader and "mapped" the mapped loader;
+     * anything else selects the tolerant loader, which reports malformed blocks.
+     *
+     * @return the country loader to use
+     */
+    static CountryLoader selectCountryLoader()
+    {
+        final String loaderName;
+        loaderName = System.getProperty(LOADER_PROPERTY, TOLERANT_LOADER);
 
-            if (trimmedLine.endsWith("."))
-            {
-                facts[factPointer] = factBuilder.toString();
-                factBuilder.setLength(NONE);
-                factPointer++;
-            }
+        if (LEGACY_LOADER.equalsIgnoreCase(loaderName))
+        {
+            return new ScannerCountryLoader();
         }
 
-        // Stores rest of text into last fact in case it didn't end with a "."
-        if (!factBuilder.isEmpty() && factPointer < NUM_OF_FACTS)
+        if (MAPPED_LOADER.equalsIgnoreCase(loaderName))
         {
-            facts[factPointer] = factBuilder.toString();
+            return new MappedCountryLoader();
         }
 
-        country = new Country(countryName,
-                              capitalCityName,
-                              facts);
-        return country;
+        return new TolerantCountryLoader();
     }
 }
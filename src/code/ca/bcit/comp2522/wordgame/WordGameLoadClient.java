@@ -0,0 +1,245 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load generator for WordGameServer. Plays many sessions at once from virtual threads,
+ * always answering wrong so every question takes two answers, and reports how many
+ * sessions finished per second and the latency from sending an answer to reading its result.
+ *
+ * <p>Arguments: host, port, sessions, concurrent sessions, rounds per session;
+ * defaults are localhost 2522 1000 200 2.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public final class WordGameLoadClient
+{
+    private static final String DEFAULT_HOST        = "localhost";
+    private static final int    DEFAULT_PORT        = 2522;
+    private static final int    DEFAULT_SESSIONS    = 1_000;
+    private static final int    DEFAULT_CONCURRENCY = 200;
+    private static final int    DEFAULT_ROUNDS      = 2;
+    private static final int    HOST_ARG_INDEX      = 0;
+    private static final int    PORT_ARG_INDEX      = 1;
+    private static final int    SESSIONS_ARG_INDEX  = 2;
+    private static final int    CONCURRENCY_ARG     = 3;
+    private static final int    ROUNDS_ARG_INDEX    = 4;
+
+    private static final int    ANSWERS_PER_ROUND   = 6;
+    private static final double P50                 = 0.50;
+    private static final double P99                 = 0.99;
+    private static final double NANOS_PER_SECOND    = 1_000_000_000.0;
+    private static final int    NANOS_PER_MICRO     = 1_000;
+    private static final int    NONE                = 0;
+
+    private static final String WRONG_ANSWER = "not a country";
+    private static final String QUESTION     = "QUESTION ";
+    private static final String TRY_AGAIN    = "TRY_AGAIN";
+    private static final String ROUND_OVER   = "ROUND_OVER ";
+    private static final String BYE          = "BYE ";
+    private static final String YES          = "yes";
+    private static final String NO           = "no";
+    private static final char   LINE_END     = '\n';
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private WordGameLoadClient()
+    {
+    }
+
+    /**
+     * Runs the load test against a running server.
+     *
+     * @param args optional host, port, sessions, concurrent sessions and rounds per session
+     * @throws InterruptedException if interrupted while waiting for sessions
+     */
+    public static void main(final String[] args)
+        throws InterruptedException
+    {
+        final InetSocketAddress address;
+        final int sessions;
+        final int concurrency;
+        final int rounds;
+
+        address     = new InetSocketAddress(argOrDefault(args, HOST_ARG_INDEX, DEFAULT_HOST),
+                                            Integer.parseInt(argOrDefault(args,
+                                                                          PORT_ARG_INDEX,
+                                                                          String.valueOf(DEFAULT_PORT))));
+        sessions    = Integer.parseInt(argOrDefault(args, SESSIONS_ARG_INDEX, String.valueOf(DEFAULT_SESSIONS)));
+        concurrency = Integer.parseInt(argOrDefault(args, CONCURRENCY_ARG, String.valueOf(DEFAULT_CONCURRENCY)));
+        rounds      = Integer.parseInt(argOrDefault(args, ROUNDS_ARG_INDEX, String.valueOf(DEFAULT_ROUNDS)));
+
+        final long[][] latencies;
+        final Semaphore permits;
+        final AtomicLong failures;
+        final long start;
+        final long elapsedNanos;
+
+        latencies = new long[sessions][];
+        permits   = new Semaphore(concurrency);
+        failures  = new AtomicLong();
+        start     = System.nanoTime();
+
+        try (final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (int i = 0; i < sessions; i++)
+            {
+                final int session;
+                session = i;
+
+                permits.acquire();
+                executor.execute(() ->
+                {
+                    try
+                    {
+                        latencies[session] = playSession(address, rounds);
+                    }
+                    catch (final IOException e)
+                    {
+                        failures.incrementAndGet();
+                    }
+                    finally
+                    {
+                        permits.release();
+                    }
+                });
+            }
+        }
+
+        elapsedNanos = System.nanoTime() - start;
+
+        final long[] allLatencies;
+        allLatencies = Arrays.stream(latencies)
+                             .filter(l -> l != null)
+                             .flatMapToLong(Arrays::stream)
+                             .sorted()
+                             .toArray();
+
+        System.out.println((sessions - failures.get()) + " sessions finished, " +
+                           failures.get() + " failed, in " +
+                           elapsedNanos / NANOS_PER_SECOND + " s");
+        System.out.println("sessions/sec: " + (sessions - failures.get()) / (elapsedNanos / NANOS_PER_SECOND));
+
+        if (allLatencies.length > NONE)
+        {
+            System.out.println(allLatencies.length + " answers, latency p50: " +
+                               percentile(allLatencies, P50) / NANOS_PER_MICRO + " us, p99: " +
+                               percentile(allLatencies, P99) / NANOS_PER_MICRO + " us");
+        }
+    }
+
+    /*
+    Returns the argument at the index, or the default if it was not given
+     */
+    private static String argOrDefault(final String[] args,
+                                       final int index,
+                                       final String defaultValue)
+    {
+        if (args.length > index)
+        {
+            return args[index];
+        }
+        return defaultValue;
+    }
+
+    /*
+    Returns the value at the given fraction of a sorted array
+     */
+    private static long percentile(final long[] sorted,
+                                   final double fraction)
+    {
+        final int index;
+        index = (int) Math.ceil(fraction * sorted.length) - 1;
+
+        return sorted[Math.max(index, NONE)];
+    }
+
+    /*
+    Plays one session of the given number of rounds, returning each answer's latency in nanoseconds
+     */
+    private static long[] playSession(final InetSocketAddress address,
+                                      final int rounds)
+        throws IOException
+    {
+        final long[] latencies;
+        latencies = new long[rounds * ANSWERS_PER_ROUND];
+
+        int answers;
+        int roundsPlayed;
+
+        answers      = NONE;
+        roundsPlayed = NONE;
+
+        try (final SocketChannel channel = SocketChannel.open(address)
+                                                       .setOption(StandardSocketOptions.TCP_NODELAY, true);
+             final BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel),
+                                                                                StandardCharsets.UTF_8));
+             final BufferedWriter out = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel),
+                                                                                  StandardCharsets.UTF_8)))
+        {
+            String line;
+            line = in.readLine();
+
+            while (line != null && !line.startsWith(BYE))
+            {
+                if (line.startsWith(QUESTION) || line.equals(TRY_AGAIN))
+                {
+                    final long sent;
+                    sent = System.nanoTime();
+
+                    send(out, WRONG_ANSWER);
+                    line = in.readLine();
+
+                    if (answers < latencies.length)
+                    {
+                        latencies[answers++] = System.nanoTime() - sent;
+                    }
+                    continue;
+                }
+
+                if (line.startsWith(ROUND_OVER))
+                {
+                    roundsPlayed++;
+                    send(out, roundsPlayed < rounds ? YES : NO);
+                }
+
+                line = in.readLine();
+            }
+
+            if (line == null)
+            {
+                throw new IOException("Server closed the session early");
+            }
+        }
+
+        return Arrays.copyOf(latencies, answers);
+    }
+
+    /*
+    Writes one protocol line and sends it right away
+     */
+    private static void send(final BufferedWriter out,
+                             final String message)
+        throws IOException
+    {
+        out.write(message);
+        out.write(LINE_END);
+        out.flush();
+    }
+}
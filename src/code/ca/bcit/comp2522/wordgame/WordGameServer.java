@@ -0,0 +1,496 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Hosts the word game for many players at once over a line-based TCP protocol.
+ * Every connection gets its own WordGameSession on a virtual thread; all sessions share
+ * one score sink. Each session takes the current QuestionFactory, and so one immutable
+ * World, when it connects and keeps it to the end, even if the World is reloaded meanwhile.
+ *
+ * <p>Protocol, one message per line:
+ * <ul>
+ *     <li>server: {@code QUESTION <prompt>}; client: the answer</li>
+ *     <li>server: {@code CORRECT}, {@code TRY_AGAIN} or {@code INCORRECT <correct answer>}</li>
+ *     <li>after a round, server: {@code ROUND_OVER <score> <games played>};
+ *         client: {@code yes} to play again or {@code no} to stop</li>
+ *     <li>server: {@code ERROR <reason>} for a reply other than yes or no</li>
+ *     <li>when the player stops, server: {@code BYE <score>}, then closes the connection
+ *         after recording the score</li>
+ * </ul>
+ * A player who disconnects before saying no has no score recorded.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class WordGameServer implements Closeable
+{
+    private static final int      DEFAULT_PORT         = 2522;
+    private static final int      PORT_ARG_INDEX       = 0;
+    private static final int      ACCEPT_BACKLOG       = 1_024;
+    private static final Duration SCORE_FLUSH_INTERVAL = Duration.ofSeconds(5);
+
+    private static final String QUESTION   = "QUESTION ";
+    private static final String CORRECT    = "CORRECT";
+    private static final String TRY_AGAIN  = "TRY_AGAIN";
+    private static final String INCORRECT  = "INCORRECT ";
+    private static final String ROUND_OVER = "ROUND_OVER ";
+    private static final String ERROR      = "ERROR ";
+    private static final String BYE        = "BYE ";
+    private static final String YES        = "yes";
+    private static final String NO         = "no";
+    private static final String SEPARATOR  = " ";
+    private static final char   LINE_END   = '\n';
+
+    private final Supplier<QuestionFactory> questionFactories;
+    private final AdaptiveDifficulty        difficulty;
+    private final ScoreSink                 scoreSink;
+    private final ServerSocketChannel       serverChannel;
+    private final ExecutorService           sessionExecutor;
+    private final AtomicLong                activeSessions;
+    private final AtomicLong                completedSessions;
+
+    private Thread acceptThread;
+
+    /*
+    Constructs a WordGameServer on a bound channel whose accept thread has not been started yet
+     */
+    private WordGameServer(final Supplier<QuestionFactory> questionFactories,
+                           final AdaptiveDifficulty difficulty,
+                           final ScoreSink scoreSink,
+                           final ServerSocketChannel serverChannel)
+    {
+        this.questionFactories = questionFactories;
+        this.difficulty        = difficulty;
+        this.scoreSink         = scoreSink;
+        this.serverChannel     = serverChannel;
+        this.sessionExecutor   = Executors.newVirtualThreadPerTaskExecutor();
+        this.activeSessions    = new AtomicLong();
+        this.completedSessions = new AtomicLong();
+    }
+
+    /**
+     * Creates a WordGameServer and starts accepting connections on the given address.
+     *
+     * @param address         the address to listen on; port 0 picks a free port
+     * @param questionFactory the questions shared by every session
+     * @param scoreSink       the sink finished sessions record their scores to; must be thread-safe
+     * @return the started server
+     * @throws IOException if the address cannot be bound
+     */
+    public static WordGameServer start(final InetSocketAddress address,
+                                       final QuestionFactory questionFactory,
+                                       final ScoreSink scoreSink)
+        throws IOException
+    {
+        return start(address, () -> questionFactory, scoreSink);
+    }
+
+    /**
+     * Creates a WordGameServer that asks the supplier for the questions of each new session,
+     * so a reloaded World is picked up by the next player to connect, and starts accepting.
+     *
+     * @param address           the address to listen on; port 0 picks a free port
+     * @param questionFactories supplies the current questions; must be thread-safe
+     * @param scoreSink         the sink finished sessions record their scores to; must be thread-safe
+     * @return the started server
+     * @throws IOException if the address cannot be bound
+     */
+    public static WordGameServer start(final InetSocketAddress address,
+                                       final Supplier<QuestionFactory> questionFactories,
+                                       final ScoreSink scoreSink)
+        throws IOException
+    {
+        return start(address, questionFactories, null, scoreSink);
+    }
+
+    /**
+     * Creates a WordGameServer whose sessions all pick questions through one shared
+     * AdaptiveDifficulty, so every player's answers steer the questions of the others,
+     * and starts accepting.
+     *
+     * @param address           the address to listen on; port 0 picks a free port
+     * @param questionFactories supplies the current questions; must be thread-safe
+     * @param difficulty        the shared difficulty model, or null to pick uniformly
+     * @param scoreSink         the sink finished sessions record their scores to; must be thread-safe
+     * @return the started server
+     * @throws IOException if the address cannot be bound
+     */
+    public static WordGameServer start(final InetSocketAddress address,
+                                       final Supplier<QuestionFactory> questionFactories,
+                                       final AdaptiveDifficulty difficulty,
+                                       final ScoreSink scoreSink)
+        throws IOException
+    {
+        checkAddress(address);
+        checkQuestionFactories(questionFactories);
+        checkScoreSink(scoreSink);
+
+        final ServerSocketChannel serverChannel;
+        final WordGameServer server;
+
+        serverChannel = ServerSocketChannel.open();
+
+        try
+        {
+            serverChannel.bind(address, ACCEPT_BACKLOG);
+        }
+        catch (final IOException e)
+        {
+            serverChannel.close();
+            throw e;
+        }
+
+        server = new WordGameServer(questionFactories, difficulty, scoreSink, serverChannel);
+        server.startAccepting();
+
+        return server;
+    }
+
+    /*
+    Starts the accept thread, once the server is fully built
+     */
+    private void startAccepting()
+    {
+        acceptThread = Thread.ofVirtual()
+                             .name("word-game-accept")
+                             .start(this::acceptLoop);
+    }
+
+    /*
+    Check if address is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkAddress(final InetSocketAddress address)
+    {
+        if (address == null)
+        {
+            throw new IllegalArgumentException("address cannot be null");
+        }
+    }
+
+    /*
+    Check if questionFactories is null or supplies no questions, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkQuestionFactories(final Supplier<QuestionFactory> questionFactories)
+    {
+        if (questionFactories == null)
+        {
+            throw new IllegalArgumentException("questionFactories cannot be null");
+        }
+
+        if (questionFactories.get() == null)
+        {
+            throw new IllegalArgumentException("questionFactory cannot be null");
+        }
+    }
+
+    /*
+    Check if scoreSink is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkScoreSink(final ScoreSink scoreSink)
+    {
+        if (scoreSink == null)
+        {
+            throw new IllegalArgumentException("scoreSink cannot be null");
+        }
+    }
+
+    /**
+     * Runs a server on the port given as the first argument, or 2522, using the shared
+     * World and the configured score store behind a buffered sink. Edits to the country
+     * files are reloaded while the server runs, and questions adapt to every player's
+     * answers, with the answer stats saved on the way out. Stops on end of input.
+     *
+     * @param args optional port to listen on
+     * @throws IOException if the World cannot be loaded or the port cannot be bound
+     */
+    public static void main(final String[] args)
+        throws IOException
+    {
+        final int port;
+
+        if (args.length > PORT_ARG_INDEX)
+        {
+            port = Integer.parseInt(args[PORT_ARG_INDEX]);
+        }
+        else
+        {
+            port = DEFAULT_PORT;
+        }
+
+        try (final WorldReloader reloader = WorldRegistry.watchInputs();
+             final ScoreSink sink = WordGame.openScoreAnalytics(SCORE_FLUSH_INTERVAL))
+        {
+            final AdaptiveDifficulty difficulty;
+            difficulty = new AdaptiveDifficulty(AnswerStats.load(WordGame.ANSWER_STATS_PATH, reloader.getWorld()));
+
+            try (final WordGameServer server = WordGameServer.start(new InetSocketAddress(port),
+                                                                    reloader::getQuestionFactory,
+                                                                    difficulty,
+                                                                    sink))
+            {
+                System.out.println("Word game server listening on port " + server.getPort() +
+                                   "; press Enter or end input to stop.");
+                System.in.read();
+            }
+
+            WordGame.saveAnswerStats(difficulty);
+        }
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return the local port
+     * @throws IOException if the port cannot be read
+     */
+    public int getPort()
+        throws IOException
+    {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Returns how many sessions are connected right now.
+     *
+     * @return the active session count
+     */
+    public long getActiveSessionCount()
+    {
+        return activeSessions.get();
+    }
+
+    /**
+     * Returns how many sessions have finished and recorded a score.
+     *
+     * @return the completed session count
+     */
+    public long getCompletedSessionCount()
+    {
+        return completedSessions.get();
+    }
+
+    /**
+     * Stops accepting connections and disconnects every session still playing.
+     *
+     * @throws IOException if the listening socket cannot be closed
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        serverChannel.close();
+        sessionExecutor.shutdownNow();
+        sessionExecutor.close();
+
+        try
+        {
+            acceptThread.join();
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+    Accepts connections until the server is closed, starting a session for each
+     */
+    private void acceptLoop()
+    {
+        while (serverChannel.isOpen())
+        {
+            final SocketChannel client;
+
+            try
+            {
+                client = serverChannel.accept();
+
+                // Replies are single small lines; don't let Nagle hold them back
+                client.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            }
+            catch (final ClosedChannelException e)
+            {
+                return;
+            }
+            catch (final IOException e)
+            {
+                System.err.println("Could not accept a connection: " + e.getMessage());
+                continue;
+            }
+
+            sessionExecutor.execute(() -> serve(client));
+        }
+    }
+
+    /*
+    Plays one session over a connection, reporting instead of throwing
+     */
+    private void serve(final SocketChannel client)
+    {
+        activeSessions.incrementAndGet();
+
+        try (client;
+             final BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(client),
+                                                                                StandardCharsets.UTF_8));
+             final BufferedWriter out = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(client),
+                                                                                  StandardCharsets.UTF_8)))
+        {
+            final WordGameSession session;
+            session = new WordGameSession(questionFactories.get(),
+                                          difficulty,
+                                          RandomGenerator.getDefault(),
+                                          LocalDateTime.now());
+
+            if (play(session, in, out))
+            {
+                scoreSink.record(session.getScore());
+                completedSessions.incrementAndGet();
+                send(out, BYE + session.getScore().getScore());
+            }
+        }
+        catch (final IOException e)
+        {
+            // The player went away; nothing to record
+        }
+        catch (final RuntimeException e)
+        {
+            // A bug in one session must not take down the others; the connection is still closed
+            System.err.println("Session failed: " + e);
+        }
+        finally
+        {
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    /*
+    Runs the session's question and answer loop.
+    Returns true if the player finished, false if they disconnected.
+     */
+    private static boolean play(final WordGameSession session,
+                                final BufferedReader in,
+                                final BufferedWriter out)
+        throws IOException
+    {
+        while (session.getPhase() != WordGameSession.Phase.FINISHED)
+        {
+            if (session.getPhase() == WordGameSession.Phase.ROUND_OVER)
+            {
+                final Score score;
+                score = session.getScore();
+
+                send(out, ROUND_OVER + score.getScore() + SEPARATOR + score.getNumGamesPlayed());
+
+                final String reply;
+                reply = readReply(in, out);
+
+                if (reply == null)
+                {
+                    return false;
+                }
+
+                if (reply.equals(YES))
+                {
+                    session.playAgain();
+                }
+                else
+                {
+                    session.finish();
+                }
+                continue;
+            }
+
+            final Question question;
+            question = session.getCurrentQuestion();
+
+            if (session.getPhase() == WordGameSession.Phase.ASKING)
+            {
+                send(out, QUESTION + question.getPrompt());
+            }
+
+            final String answer;
+            answer = in.readLine();
+
+            if (answer == null)
+            {
+                return false;
+            }
+
+            switch (session.submitAnswer(answer))
+            {
+                case TRY_AGAIN:
+                    send(out, TRY_AGAIN);
+                    break;
+                case INCORRECT:
+                    send(out, INCORRECT + question.getAnswer());
+                    break;
+                default:
+                    send(out, CORRECT);
+                    break;
+            }
+        }
+
+        return true;
+    }
+
+    /*
+    Reads lines until the player answers yes or no, or disconnects (null)
+     */
+    private static String readReply(final BufferedReader in,
+                                    final BufferedWriter out)
+        throws IOException
+    {
+        String line;
+
+        while ((line = in.readLine()) != null)
+        {
+            final String reply;
+            reply = line.trim().toLowerCase(Locale.ROOT);
+
+            if (reply.equals(YES) || reply.equals(NO))
+            {
+                return reply;
+            }
+
+            send(out, ERROR + "please enter yes or no");
+        }
+
+        return null;
+    }
+
+    /*
+    Writes one protocol line and sends it right away
+     */
+    private static void send(final BufferedWriter out,
+                             final String message)
+        throws IOException
+    {
+        out.write(message);
+        out.write(LINE_END);
+        out.flush();
+    }
+}
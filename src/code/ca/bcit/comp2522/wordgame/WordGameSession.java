@@ -0,0 +1,330 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.time.LocalDateTime;
+import java.util.random.RandomGenerator;
+
+/**
+ * One player's word game as a state machine with no I/O.
+ * A caller reads the current question, submits answers and decides whether to play
+ * another round; how prompts reach the player is up to the caller, so one process
+ * can drive any number of sessions from any threads, each session used by one at a time.
+ *
+ * <p>Each round asks three questions. A wrong first answer allows one retry;
+ * after the last question the round is over until playAgain or finish is called.
+ * Questions are picked uniformly, or, given an AdaptiveDifficulty, biased towards
+ * those players get wrong, with every first answer fed back into its stats.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class WordGameSession
+{
+    private static final int NONE          = 0;
+    private static final int NUM_QUESTIONS = 3;
+
+    /**
+     * The point a session has reached.
+     */
+    public enum Phase
+    {
+        /** Waiting for the first answer to the current question. */
+        ASKING,
+        /** Waiting for the second answer after a wrong first answer. */
+        RETRYING,
+        /** All questions of the round are answered; play again or finish. */
+        ROUND_OVER,
+        /** The player has stopped playing. */
+        FINISHED
+    }
+
+    /**
+     * What an answer did.
+     */
+    public enum Outcome
+    {
+        /** Correct on the first attempt. */
+        CORRECT_FIRST_ATTEMPT,
+        /** Correct on the second attempt. */
+        CORRECT_SECOND_ATTEMPT,
+        /** Wrong on the first attempt; one more attempt is allowed. */
+        TRY_AGAIN,
+        /** Wrong on both attempts. */
+        INCORRECT
+    }
+
+    private final QuestionFactory       questionFactory;
+    private final AdaptiveDifficulty    difficulty;
+    private final CountrySampler        sampler;
+    private final RandomGenerator       rng;
+    private final AnswerMatcher.Scratch matcherScratch;
+    private final int[]                 sampleIds;
+    private final int[]                 sampleTypes;
+    private final Question[]            roundQuestions;
+    private final Score                 score;
+
+    private Phase phase;
+    private int   roundQuestionCount;
+    private int   questionIndex;
+
+    /**
+     * Constructs a WordGameSession and starts its first round.
+     *
+     * @param questionFactory the prebuilt questions to ask
+     * @param rng             the random generator for picking questions
+     * @param datePlayed      the date and time recorded on the session's score
+     */
+    public WordGameSession(final QuestionFactory questionFactory,
+                           final RandomGenerator rng,
+                           final LocalDateTime datePlayed)
+    {
+        this(questionFactory, null, rng, datePlayed);
+    }
+
+    /**
+     * Constructs a WordGameSession that picks questions through the given AdaptiveDifficulty
+     * and starts its first round. The difficulty is switched to this session's World.
+     *
+     * @param questionFactory the prebuilt questions to ask
+     * @param difficulty      the shared difficulty model, or null to pick uniformly
+     * @param rng             the random generator for picking questions
+     * @param datePlayed      the date and time recorded on the session's score
+     */
+    public WordGameSession(final QuestionFactory questionFactory,
+                           final AdaptiveDifficulty difficulty,
+                           final RandomGenerator rng,
+                           final LocalDateTime datePlayed)
+    {
+        checkQuestionFactory(questionFactory);
+        checkRng(rng);
+
+        this.questionFactory = questionFactory;
+        this.difficulty      = difficulty;
+        this.rng             = rng;
+        this.matcherScratch  = questionFactory.getAnswerMatcher().newScratch();
+        this.sampleIds       = new int[NUM_QUESTIONS];
+        this.sampleTypes     = new int[NUM_QUESTIONS];
+        this.roundQuestions  = new Question[NUM_QUESTIONS];
+        this.score           = new Score(datePlayed,
+                                         NONE,
+                                         NONE,
+                                         NONE,
+                                         NONE);
+
+        // Adaptive sessions draw through the difficulty, so only uniform ones need a sampler
+        if (difficulty != null)
+        {
+            this.sampler = null;
+            difficulty.useWorld(questionFactory.getWorld());
+        }
+        else
+        {
+            this.sampler = new CountrySampler(questionFactory.getWorld(), rng);
+        }
+
+        startRound();
+    }
+
+    /*
+    Check if questionFactory is null or has no countries, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkQuestionFactory(final QuestionFactory questionFactory)
+    {
+        if (questionFactory == null)
+        {
+            throw new IllegalArgumentException("questionFactory cannot be null");
+        }
+
+        if (questionFactory.getWorld().getCountriesMap().isEmpty())
+        {
+            throw new IllegalArgumentException("questionFactory has no countries to ask about");
+        }
+    }
+
+    /*
+    Check if rng is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkRng(final RandomGenerator rng)
+    {
+        if (rng == null)
+        {
+            throw new IllegalArgumentException("rng cannot be null");
+        }
+    }
+
+    /**
+     * Returns the point the session has reached.
+     *
+     * @return the current phase
+     */
+    public Phase getPhase()
+    {
+        return phase;
+    }
+
+    /**
+     * Returns the question waiting for an answer.
+     *
+     * @return the current question, or null if the round is over or the session finished
+     */
+    public Question getCurrentQuestion()
+    {
+        if (phase == Phase.ASKING || phase == Phase.RETRYING)
+        {
+            return roundQuestions[questionIndex];
+        }
+
+        return null;
+    }
+
+    /**
+     * Submits an answer to the current question. Answers are checked with the
+     * World's AnswerMatcher, so case, accents, punctuation and small typos are forgiven.
+     *
+     * @param answer the player's answer
+     * @return what the answer did
+     * @throws IllegalStateException if no question is waiting for an answer
+     */
+    public Outcome submitAnswer(final String answer)
+    {
+        if (phase != Phase.ASKING && phase != Phase.RETRYING)
+        {
+            throw new IllegalStateException("No question is waiting for an answer");
+        }
+
+        final Question question;
+        final boolean correct;
+
+        question = roundQuestions[questionIndex];
+        correct  = questionFactory.getAnswerMatcher().matches(answer, question.getAnswer(), matcherScratch);
+
+        if (phase == Phase.ASKING)
+        {
+            if (difficulty != null)
+            {
+                difficulty.record(questionFactory.getWorld(),
+                                  sampleIds[questionIndex],
+                                  sampleTypes[questionIndex],
+                                  correct);
+            }
+
+            if (!correct)
+            {
+                phase = Phase.RETRYING;
+                return Outcome.TRY_AGAIN;
+            }
+
+            score.incrementFirstCorrectAnswers();
+            nextQuestion();
+            return Outcome.CORRECT_FIRST_ATTEMPT;
+        }
+
+        if (correct)
+        {
+            score.incrementSecondCorrectAnswers();
+            nextQuestion();
+            return Outcome.CORRECT_SECOND_ATTEMPT;
+        }
+
+        score.incrementIncorrectAnswers();
+        nextQuestion();
+        return Outcome.INCORRECT;
+    }
+
+    /**
+     * Starts another round after the current one is over.
+     *
+     * @throws IllegalStateException if the round is not over
+     */
+    public void playAgain()
+    {
+        checkRoundOver();
+        startRound();
+    }
+
+    /**
+     * Ends the session after the current round is over.
+     *
+     * @throws IllegalStateException if the round is not over
+     */
+    public void finish()
+    {
+        checkRoundOver();
+        phase = Phase.FINISHED;
+    }
+
+    /**
+     * Returns the session's running score over every round played so far.
+     *
+     * @return the score
+     */
+    public Score getScore()
+    {
+        return score;
+    }
+
+    /*
+    Check if the round is still in progress or the session finished, invalid if true
+    Throws new IllegalStateException
+     */
+    private void checkRoundOver()
+    {
+        if (phase != Phase.ROUND_OVER)
+        {
+            throw new IllegalStateException("The round is not over");
+        }
+    }
+
+    /*
+    Counts a new game and draws its questions
+     */
+    private void startRound()
+    {
+        score.incrementGamesPlayed();
+
+        if (difficulty != null)
+        {
+            roundQuestionCount = difficulty.sampleRound(questionFactory.getWorld(),
+                                                        sampleIds,
+                                                        sampleTypes,
+                                                        NUM_QUESTIONS,
+                                                        rng);
+        }
+        else
+        {
+            roundQuestionCount = sampler.sampleIds(sampleIds, NUM_QUESTIONS);
+
+            for (int i = 0; i < roundQuestionCount; i++)
+            {
+                sampleTypes[i] = rng.nextInt(WordGame.LOWER_BOUND, WordGame.UPPER_BOUND);
+            }
+        }
+
+        questionIndex = NONE;
+
+        for (int i = 0; i < roundQuestionCount; i++)
+        {
+            roundQuestions[i] = questionFactory.getQuestion(sampleIds[i], sampleTypes[i], rng);
+        }
+
+        phase = Phase.ASKING;
+    }
+
+    /*
+    Moves on to the next question, ending the round after the last one
+     */
+    private void nextQuestion()
+    {
+        questionIndex++;
+
+        if (questionIndex < roundQuestionCount)
+        {
+            phase = Phase.ASKING;
+        }
+        else
+        {
+            phase = Phase.ROUND_OVER;
+        }
+    }
+}
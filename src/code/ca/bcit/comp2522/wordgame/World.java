@@ -1,7 +1,9 @@
 package ca.bcit.comp2522.wordgame;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -12,19 +14,43 @@ import java.util.Map;
  */
 public class World
 {
-    private final static int NONE = 0;
-
-    private final Map<String, Country> countriesMap;
+    private final WorldStorage storage;
 
     /**
-     * Full constructor
+     * Full constructor.
+     * Also builds case-folded indexes on country and capital names,
+     * so lookups in either direction take constant time.
      *
      * @param countriesMap this world's counties as a Map
      */
     public World(final Map<String, Country> countriesMap)
     {
         checkMap(countriesMap);
-        this.countriesMap = countriesMap;
+        this.storage = new MapWorldStorage(countriesMap);
+    }
+
+    /*
+    Constructs a World over already-built storage
+     */
+    private World(final WorldStorage storage)
+    {
+        this.storage = storage;
+    }
+
+    /**
+     * Builds a World that stores its countries column by column: every name, capital
+     * and fact in one UTF-8 byte array with int offsets, and each Country a thin view
+     * over it. Uses far less heap than the map-backed World for large data sets,
+     * at the cost of decoding a string on every getter call.
+     * Countries whose names differ only by case keep the first one.
+     *
+     * @param countries the countries of the world
+     * @return the columnar World
+     */
+    public static World columnar(final Collection<Country> countries)
+    {
+        checkCountries(countries);
+        return new World(new ColumnarWorldStorage(countries));
     }
 
     /*
@@ -39,43 +65,89 @@ public class World
         }
     }
 
+    /*
+    Check if the collection is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkCountries(final Collection<Country> countries)
+    {
+        if (countries == null)
+        {
+            throw new IllegalArgumentException("countries cannot be null");
+        }
+    }
+
+    /**
+     * Folds a name to the form used as an index key.
+     *
+     * @param name the name to fold
+     * @return the folded name
+     */
+    static String foldCase(final String name)
+    {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Get the countries map.
+     * The map is read-only so it cannot drift from the name indexes.
      *
      * @return the countries map
      */
     public Map<String, Country> getCountriesMap()
     {
-        return countriesMap;
+        return storage.getCountriesMap();
     }
 
     /**
-     * Get a country by its name.
+     * Get the number of countries, which is also the number of country ids.
+     *
+     * @return the country count
+     */
+    public int size()
+    {
+        return storage.size();
+    }
+
+    /**
+     * Get a country by its name, ignoring case.
      *
      * @param countryName the name of the country to retrieve
      * @return the Country object corresponding to the given name, or null if not found
      */
     public Country getCountryByName(final String countryName)
     {
-        return countriesMap.get(countryName);
+        if (countryName == null)
+        {
+            return null;
+        }
+        return storage.getCountryByFoldedName(foldCase(countryName));
     }
 
     /**
-     * Get a country by its capital city name.
+     * Get a country by its capital city name, ignoring case.
      *
      * @param capitalName the name of the capital city
      * @return the Country object corresponding to the given capital city name, or null if not found
      */
     public Country getCountryByCapital(final String capitalName)
     {
-        for (final Country country : countriesMap.values())
+        if (capitalName == null)
         {
-            if (country.getCapitalCityName().equalsIgnoreCase(capitalName))
-            {
-                return country;
-            }
+            return null;
         }
-        return null;
+        return storage.getCountryByFoldedCapital(foldCase(capitalName));
+    }
+
+    /**
+     * Returns the countries as an array, in id order. Both storages share one cached
+     * array, so callers in this package must not modify it.
+     *
+     * @return the country array
+     */
+    Country[] getCountryArray()
+    {
+        return storage.getCountryArray();
     }
 
     /**
@@ -86,8 +158,8 @@ public class World
     public List<Country> getAllCountries()
     {
         final List<Country> allCountries;
-        allCountries = new ArrayList<>(countriesMap.values());
+        allCountries = new ArrayList<>(storage.getCountriesMap().values());
 
         return allCountries;
     }
-}
\ No newline at end of file
+}
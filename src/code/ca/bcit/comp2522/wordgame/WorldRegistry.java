@@ -0,0 +1,231 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Process-wide holder for the World, so repeated word game sessions in one run
+ * pay the loading cost once. The World is loaded lazily on first use and can be
+ * invalidated or reloaded explicitly. The prebuilt questions for the World are
+ * held alongside it, so they are built once per load too. Safe to use from multiple threads.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public final class WorldRegistry
+{
+    private static final Path INPUTS_PATH   = Paths.get("src",
+                                                        "code",
+                                                        "ca",
+                                                        "bcit",
+                                                        "comp2522",
+                                                        "wordgame",
+                                                        "inputs");
+    private static final Path SNAPSHOT_PATH = INPUTS_PATH.resolveSibling("world.snapshot");
+
+    private static final String STORAGE_PROPERTY = "wordgame.world";
+    private static final String COLUMNAR_STORAGE = "columnar";
+
+    private static final Object     LOCK   = new Object();
+    private static final AtomicLong HITS   = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    private static volatile QuestionFactory factory;
+    private static volatile long            lastLoadNanos;
+    private static volatile boolean         lastLoadWarm;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private WorldRegistry()
+    {
+    }
+
+    /**
+     * Returns the shared World, loading it on first use.
+     *
+     * @return the shared World
+     * @throws IOException if the input files cannot be read
+     */
+    public static World getWorld()
+        throws IOException
+    {
+        return getQuestionFactory().getWorld();
+    }
+
+    /**
+     * Returns the prebuilt questions for the shared World, loading it on first use.
+     *
+     * @return the shared QuestionFactory
+     * @throws IOException if the input files cannot be read
+     */
+    public static QuestionFactory getQuestionFactory()
+        throws IOException
+    {
+        final QuestionFactory current;
+        current = factory;
+
+        if (current != null)
+        {
+            HITS.incrementAndGet();
+            return current;
+        }
+
+        synchronized (LOCK)
+        {
+            if (factory != null)
+            {
+                HITS.incrementAndGet();
+                return factory;
+            }
+
+            MISSES.incrementAndGet();
+            factory = new QuestionFactory(loadWorld());
+
+            return factory;
+        }
+    }
+
+    /**
+     * Discards the shared World so the next call to getWorld loads it again.
+     */
+    public static void invalidate()
+    {
+        synchronized (LOCK)
+        {
+            factory = null;
+        }
+    }
+
+    /**
+     * Loads the World again right away and replaces the shared one.
+     *
+     * @return the newly loaded World
+     * @throws IOException if the input files cannot be read
+     */
+    public static World reload()
+        throws IOException
+    {
+        synchronized (LOCK)
+        {
+            MISSES.incrementAndGet();
+            factory = new QuestionFactory(loadWorld());
+
+            return factory.getWorld();
+        }
+    }
+
+    /**
+     * Returns how many getWorld calls were served by the already-loaded World.
+     *
+     * @return the hit count
+     */
+    public static long getHitCount()
+    {
+        return HITS.get();
+    }
+
+    /**
+     * Returns how many times the World had to be loaded.
+     *
+     * @return the miss count
+     */
+    public static long getMissCount()
+    {
+        return MISSES.get();
+    }
+
+    /**
+     * Returns how long the most recent load took.
+     *
+     * @return the last load time in nanoseconds, or 0 if nothing has been loaded
+     */
+    public static long getLastLoadNanos()
+    {
+        return lastLoadNanos;
+    }
+
+    /**
+     * Returns whether the most recent load was served from the binary snapshot.
+     *
+     * @return true for a warm start, false if the text files were parsed
+     */
+    public static boolean wasLastLoadWarm()
+    {
+        return lastLoadWarm;
+    }
+
+    /*
+    Loads the countries through the snapshot and builds a World from them.
+    Must be called while holding LOCK.
+     */
+    private static World loadWorld()
+        throws IOException
+    {
+        final WorldSnapshot snapshot;
+        final List<Country> countries;
+
+        snapshot  = new WorldSnapshot(SNAPSHOT_PATH, INPUTS_PATH);
+        countries = snapshot.load(WordGame.selectCountryLoader());
+
+        lastLoadNanos = snapshot.getLastLoadNanos();
+        lastLoadWarm  = snapshot.wasWarmStart();
+
+        return buildWorld(countries);
+    }
+
+    /**
+     * Builds a World from loaded countries, columnar if the "wordgame.world" system
+     * property is "columnar", otherwise map-backed. If two countries share a name,
+     * the first one is kept.
+     *
+     * @param countries the countries of the world
+     * @return the new World
+     */
+    static World buildWorld(final List<Country> countries)
+    {
+        if (COLUMNAR_STORAGE.equalsIgnoreCase(System.getProperty(STORAGE_PROPERTY)))
+        {
+            return World.columnar(countries);
+        }
+
+        final Map<String, Country> countryMap;
+        countryMap = countries.stream()
+                              .collect(Collectors.toMap(Country::getCountryName,
+                                                        c -> c,
+                                                        (first, duplicate) -> first,
+                                                        LinkedHashMap::new));
+
+        return new World(countryMap);
+    }
+
+    /**
+     * Starts watching the inputs folder so edited country files are reloaded
+     * one file at a time. Every World the watcher builds becomes the shared World.
+     *
+     * @return the running watcher; close it to stop watching
+     * @throws IOException if the inputs folder cannot be read or watched
+     */
+    public static WorldReloader watchInputs()
+        throws IOException
+    {
+        return WorldReloader.start(INPUTS_PATH, WordGame.selectCountryLoader(), WorldRegistry::publish);
+    }
+
+    /*
+    Replaces the shared questions with ones built elsewhere
+     */
+    private static void publish(final QuestionFactory questionFactory)
+    {
+        synchronized (LOCK)
+        {
+            factory = questionFactory;
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Watches the inputs folder and keeps a World up to date as country files change.
+ *
+ * <p>The countries are kept per file. When a file is created, modified or deleted,
+ * only that file is parsed again; the new World and its questions are then built from
+ * the per-file lists and swapped in with a single volatile write. Nothing already
+ * published is ever modified, so a session that is generating questions keeps a whole,
+ * consistent World until it asks for the current one again.
+ *
+ * <p>Changes arriving close together are handled as one batch, since editors often save
+ * a file in several steps. Each reload logs its latency and how many countries it touched.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class WorldReloader implements Closeable
+{
+    private static final long   DEBOUNCE_MILLIS = 100L;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Path                      inputsPath;
+    private final CountryLoader             loader;
+    private final Consumer<QuestionFactory> onReload;
+    private final WatchService              watchService;
+    private final AtomicLong                reloadCount;
+
+    private Thread                                    watchThread;
+    private volatile SortedMap<String, List<Country>> countriesByFile;
+    private volatile QuestionFactory                  questionFactory;
+
+    /*
+    Constructs a WorldReloader registered on the inputs folder whose watcher has not started yet
+     */
+    private WorldReloader(final Path inputsPath,
+                          final CountryLoader loader,
+                          final Consumer<QuestionFactory> onReload)
+        throws IOException
+    {
+        this.inputsPath   = inputsPath;
+        this.loader       = loader;
+        this.onReload     = onReload;
+        this.reloadCount  = new AtomicLong();
+        this.watchService = inputsPath.getFileSystem().newWatchService();
+
+        inputsPath.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY,
+                            StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    /**
+     * Creates a WorldReloader, parses every file in the inputs folder once and
+     * starts watching the folder for changes.
+     *
+     * @param inputsPath the folder of country data files
+     * @param loader     the loader used to parse each file
+     * @return the running reloader; close it to stop watching
+     * @throws IOException if the folder cannot be read or watched
+     */
+    public static WorldReloader start(final Path inputsPath,
+                                      final CountryLoader loader)
+        throws IOException
+    {
+        return start(inputsPath, loader, factory -> {});
+    }
+
+    /**
+     * Creates a WorldReloader that also hands every new QuestionFactory,
+     * including the first, to the given callback on the watcher thread,
+     * then loads the folder and starts watching it.
+     *
+     * @param inputsPath the folder of country data files
+     * @param loader     the loader used to parse each file
+     * @param onReload   called with each newly built QuestionFactory
+     * @return the running reloader; close it to stop watching
+     * @throws IOException if the folder cannot be read or watched
+     */
+    static WorldReloader start(final Path inputsPath,
+                               final CountryLoader loader,
+                               final Consumer<QuestionFactory> onReload)
+        throws IOException
+    {
+        checkInputsPath(inputsPath);
+        checkLoader(loader);
+
+        final WorldReloader reloader;
+        reloader = new WorldReloader(inputsPath, loader, onReload);
+
+        try
+        {
+            reloader.loadAll();
+        }
+        catch (final IOException | RuntimeException e)
+        {
+            reloader.watchService.close();
+            throw e;
+        }
+
+        reloader.watchThread = Thread.ofPlatform()
+                                     .name("inputs-watcher")
+                                     .daemon(true)
+                                     .start(reloader::watchLoop);
+
+        return reloader;
+    }
+
+    /*
+    Check if inputsPath is null or not a directory, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkInputsPath(final Path inputsPath)
+    {
+        if (inputsPath == null || !Files.isDirectory(inputsPath))
+        {
+            throw new IllegalArgumentException("inputsPath must be an existing directory");
+        }
+    }
+
+    /*
+    Check if loader is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private static void checkLoader(final CountryLoader loader)
+    {
+        if (loader == null)
+        {
+            throw new IllegalArgumentException("loader cannot be null");
+        }
+    }
+
+    /**
+     * Returns the questions for the most recently published World.
+     *
+     * @return the current QuestionFactory
+     */
+    public QuestionFactory getQuestionFactory()
+    {
+        return questionFactory;
+    }
+
+    /**
+     * Returns the most recently published World.
+     *
+     * @return the current World
+     */
+    public World getWorld()
+    {
+        return questionFactory.getWorld();
+    }
+
+    /**
+     * Returns how many times a new World has been published since the initial load.
+     *
+     * @return the reload count
+     */
+    public long getReloadCount()
+    {
+        return reloadCount.get();
+    }
+
+    /**
+     * Stops watching the inputs folder. The current World stays available.
+     *
+     * @throws IOException if the watch service cannot be closed
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        watchService.close();
+
+        try
+        {
+            watchThread.join();
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+    Parses every file in the inputs folder and publishes the first World
+     */
+    private void loadAll()
+        throws IOException
+    {
+        final SortedMap<String, List<Country>> parsed;
+        parsed = new TreeMap<>();
+
+        for (final Path file : AbstractCountryLoader.listInputFiles(inputsPath))
+        {
+            parsed.put(file.getFileName().toString(), loader.parseFile(file));
+        }
+
+        publish(parsed);
+    }
+
+    /*
+    Waits for changes, collects those arriving within the debounce window
+    and reloads each changed file once
+     */
+    private void watchLoop()
+    {
+        try
+        {
+            while (true)
+            {
+                final Set<String> changed;
+                WatchKey key;
+                boolean overflow;
+
+                changed  = new TreeSet<>();
+                key      = watchService.take();
+                overflow = false;
+
+                while (key != null)
+                {
+                    for (final WatchEvent<?> event : key.pollEvents())
+                    {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+                        {
+                            overflow = true;
+                        }
+                        else
+                        {
+                            changed.add(event.context().toString());
+                        }
+                    }
+
+                    key.reset();
+                    key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+
+                try
+                {
+                    if (overflow)
+                    {
+                        reloadAll();
+                    }
+                    else
+                    {
+                        reloadFiles(changed);
+                    }
+                }
+                catch (final RuntimeException e)
+                {
+                    // A World that cannot be built must not stop the watcher
+                    System.err.println("Could not publish the reloaded world, keeping the current one: " + e);
+                }
+            }
+        }
+        catch (final ClosedWatchServiceException | InterruptedException e)
+        {
+            // Closed: stop watching
+        }
+    }
+
+    /*
+    Parses the whole folder again after the watch service lost events
+     */
+    private void reloadAll()
+    {
+        final long start;
+        start = System.nanoTime();
+
+        try
+        {
+            loadAll();
+            reloadCount.incrementAndGet();
+
+            System.out.println("Reloaded all input files after missed events in " +
+                               (System.nanoTime() - start) / NANOS_PER_MILLI + " ms, " +
+                               getWorld().getCountriesMap().size() + " countries in total");
+        }
+        catch (final IOException | RuntimeException e)
+        {
+            System.err.println("Could not reload input files, keeping the current world: " + e);
+        }
+    }
+
+    /*
+    Parses the changed files again and publishes one new World for all of them
+     */
+    private void reloadFiles(final Set<String> fileNames)
+    {
+        final long start;
+        final SortedMap<String, List<Country>> next;
+        int added;
+        int removed;
+        int updated;
+
+        start   = System.nanoTime();
+        next    = new TreeMap<>(countriesByFile);
+        added   = 0;
+        removed = 0;
+        updated = 0;
+
+        for (final String fileName : fileNames)
+        {
+            final Path file;
+            final List<Country> before;
+            final List<Country> after;
+
+            file   = inputsPath.resolve(fileName);
+            before = next.getOrDefault(fileName, Collections.emptyList());
+
+            try
+            {
+                if (Files.isRegularFile(file))
+                {
+                    after = loader.parseFile(file);
+                    next.put(fileName, after);
+                }
+                else
+                {
+                    after = Collections.emptyList();
+                    next.remove(fileName);
+                }
+            }
+            catch (final IOException | RuntimeException e)
+            {
+                System.err.println("Could not reload " + fileName + ", keeping its old countries: " + e);
+                continue;
+            }
+
+            final Map<String, Country> beforeByName;
+            beforeByName = new HashMap<>();
+
+            for (final Country country : before)
+            {
+                beforeByName.put(country.getCountryName(), country);
+            }
+
+            for (final Country country : after)
+            {
+                final Country previous;
+                previous = beforeByName.remove(country.getCountryName());
+
+                if (previous == null)
+                {
+                    added++;
+                }
+                else if (!sameData(previous, country))
+                {
+                    updated++;
+                }
+            }
+
+            removed += beforeByName.size();
+        }
+
+        publish(next);
+        reloadCount.incrementAndGet();
+
+        System.out.println("Reloaded " + String.join(", ", fileNames) + " in " +
+                           (System.nanoTime() - start) / NANOS_PER_MILLI + " ms: " +
+                           (added + removed + updated) + " countries touched (" +
+                           added + " added, " + removed + " removed, " + updated + " updated), " +
+                           getWorld().getCountriesMap().size() + " in total");
+    }
+
+    /*
+    Builds a World and its questions from the per-file lists, in file name order,
+    and publishes them
+     */
+    private void publish(final SortedMap<String, List<Country>> byFile)
+    {
+        final List<Country> countries;
+        final QuestionFactory factory;
+
+        countries = new ArrayList<>();
+
+        for (final List<Country> fileCountries : byFile.values())
+        {
+            countries.addAll(fileCountries);
+        }
+
+        factory = new QuestionFactory(WorldRegistry.buildWorld(countries));
+
+        countriesByFile = Collections.unmodifiableSortedMap(byFile);
+        questionFactory = factory;
+
+        onReload.accept(factory);
+    }
+
+    /*
+    Checks whether two countries hold the same name, capital and facts
+     */
+    private static boolean sameData(final Country a,
+                                    final Country b)
+    {
+        if (!a.getCapitalCityName().equals(b.getCapitalCityName()) ||
+            a.getFactCount() != b.getFactCount())
+        {
+            return false;
+        }
+
+        for (int i = 0; i < a.getFactCount(); i++)
+        {
+            if (!Objects.equals(a.getFact(i), b.getFact(i)))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
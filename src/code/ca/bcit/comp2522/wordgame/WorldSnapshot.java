@@ -0,0 +1,468 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary snapshot of the parsed country corpus, so warm starts skip text parsing.
+ * The snapshot stores one string table for every country name, capital and fact,
+ * and is only trusted while the names, sizes and modified times of the input files
+ * still match the ones recorded when it was written, and only by the same kind of loader
+ * that wrote it, since loaders differ in which malformed blocks they keep.
+ *
+ * <p>Layout (big-endian): magic, version, loader name id, file count, country count, string count;
+ * per input file its name id, size and modified time; per country its name id,
+ * capital id, fact count and fact ids (-1 for a missing fact); the string offsets;
+ * then the UTF-8 string bytes.</p>
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class WorldSnapshot
+{
+    private static final int    MAGIC         = 0x574F524C;
+    private static final int    VERSION       = 2;
+    private static final int    NO_STRING     = -1;
+    private static final int    INITIAL_INDEX = 0;
+    private static final String TEMP_SUFFIX   = ".tmp";
+
+    private final Path snapshotPath;
+    private final Path inputsPath;
+
+    private boolean warmStart;
+    private long    lastLoadNanos;
+
+    /**
+     * Constructs a WorldSnapshot for the given snapshot file and inputs folder.
+     *
+     * @param snapshotPath the snapshot file, which must not live inside the inputs folder
+     * @param inputsPath   the folder containing country data files
+     */
+    public WorldSnapshot(final Path snapshotPath,
+                         final Path inputsPath)
+    {
+        checkPath(snapshotPath);
+        checkPath(inputsPath);
+
+        this.snapshotPath = snapshotPath;
+        this.inputsPath   = inputsPath;
+    }
+
+    /*
+    Check if path is null, invalid if true
+    Throws new IllegalArgumentException
+     */
+    private void checkPath(final Path path)
+    {
+        if (path == null)
+        {
+            throw new IllegalArgumentException("path cannot be null");
+        }
+    }
+
+    /**
+     * Loads the countries from the snapshot if it is still current and was written by a loader
+     * of the same class, otherwise parses the inputs folder with the given loader and rewrites the snapshot.
+     *
+     * @param loader the loader used when the snapshot is missing, stale or written by another loader
+     * @return the loaded countries
+     * @throws IOException if the inputs folder cannot be read
+     */
+    public List<Country> load(final CountryLoader loader)
+        throws IOException
+    {
+        final long start;
+        final List<FileStamp> stamps;
+
+        start  = System.nanoTime();
+        stamps = Files.isDirectory(inputsPath) ? stampInputs(inputsPath) : new ArrayList<>();
+
+        final String loaderName;
+        loaderName = loader.getClass().getName();
+
+        List<Country> countries;
+        countries = read(loaderName, stamps);
+
+        warmStart = countries != null;
+
+        if (countries == null)
+        {
+            countries = loader.loadCountries(inputsPath);
+
+            if (!countries.isEmpty())
+            {
+                write(loaderName, stamps, countries);
+            }
+        }
+
+        lastLoadNanos = System.nanoTime() - start;
+
+        return countries;
+    }
+
+    /**
+     * Returns whether the last load was served from the snapshot.
+     *
+     * @return true for a warm start, false if the text files were parsed
+     */
+    public boolean wasWarmStart()
+    {
+        return warmStart;
+    }
+
+    /**
+     * Returns how long the last load took, including snapshot validation.
+     *
+     * @return the last load time in nanoseconds
+     */
+    public long getLastLoadNanos()
+    {
+        return lastLoadNanos;
+    }
+
+    /*
+    Reads the snapshot with a single sequential read.
+    Returns null if it is missing, corrupt, or was written by another loader or for different input files.
+     */
+    private List<Country> read(final String loaderName,
+                               final List<FileStamp> currentStamps)
+    {
+        if (currentStamps.isEmpty() || Files.notExists(snapshotPath))
+        {
+            return null;
+        }
+
+        try
+        {
+            final ByteBuffer buffer;
+            buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotPath));
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+            {
+                return null;
+            }
+
+            final int loaderNameId;
+            final int fileCount;
+            final int countryCount;
+            final int stringCount;
+
+            loaderNameId = buffer.getInt();
+            fileCount    = buffer.getInt();
+            countryCount = buffer.getInt();
+            stringCount  = buffer.getInt();
+
+            if (fileCount != currentStamps.size())
+            {
+                return null;
+            }
+
+            final int[] fileNameIds;
+            final long[] fileSizes;
+            final long[] fileModifiedTimes;
+
+            fileNameIds       = new int[fileCount];
+            fileSizes         = new long[fileCount];
+            fileModifiedTimes = new long[fileCount];
+
+            for (int i = 0; i < fileCount; i++)
+            {
+                fileNameIds[i]       = buffer.getInt();
+                fileSizes[i]         = buffer.getLong();
+                fileModifiedTimes[i] = buffer.getLong();
+            }
+
+            final int countriesStart;
+            countriesStart = buffer.position();
+
+            skipCountries(buffer, countryCount);
+
+            final String[] strings;
+            strings = readStringTable(buffer, stringCount);
+
+            if (!loaderName.equals(strings[loaderNameId]))
+            {
+                return null;
+            }
+
+            for (int i = 0; i < fileCount; i++)
+            {
+                final FileStamp stamp;
+                stamp = currentStamps.get(i);
+
+                if (!stamp.name.equals(strings[fileNameIds[i]]) ||
+                    stamp.size != fileSizes[i] ||
+                    stamp.modifiedMillis != fileModifiedTimes[i])
+                {
+                    return null;
+                }
+            }
+
+            buffer.position(countriesStart);
+
+            return readCountries(buffer, countryCount, strings);
+        }
+        catch (final IOException | BufferUnderflowException | IndexOutOfBoundsException |
+                     NegativeArraySizeException | IllegalArgumentException e)
+        {
+            System.err.println("Ignoring unreadable world snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /*
+    Moves the buffer past the country records without decoding them
+     */
+    private static void skipCountries(final ByteBuffer buffer,
+                                      final int countryCount)
+    {
+        for (int i = 0; i < countryCount; i++)
+        {
+            final int factCount;
+
+            buffer.getInt();
+            buffer.getInt();
+            factCount = buffer.getInt();
+
+            buffer.position(buffer.position() + factCount * Integer.BYTES);
+        }
+    }
+
+    /*
+    Decodes the string offsets and UTF-8 bytes that follow the country records
+     */
+    private static String[] readStringTable(final ByteBuffer buffer,
+                                            final int stringCount)
+    {
+        final int[] offsets;
+        final String[] strings;
+        final int bytesStart;
+
+        offsets = new int[stringCount + 1];
+        strings = new String[stringCount];
+
+        for (int i = 0; i <= stringCount; i++)
+        {
+            offsets[i] = buffer.getInt();
+        }
+
+        bytesStart = buffer.position();
+
+        for (int i = 0; i < stringCount; i++)
+        {
+            strings[i] = new String(buffer.array(),
+                                    bytesStart + offsets[i],
+                                    offsets[i + 1] - offsets[i],
+                                    StandardCharsets.UTF_8);
+        }
+
+        return strings;
+    }
+
+    /*
+    Rebuilds the Country objects from their string ids
+     */
+    private static List<Country> readCountries(final ByteBuffer buffer,
+                                               final int countryCount,
+                                               final String[] strings)
+    {
+        final List<Country> countries;
+        countries = new ArrayList<>(countryCount);
+
+        for (int i = 0; i < countryCount; i++)
+        {
+            final String countryName;
+            final String capitalCityName;
+            final String[] facts;
+
+            countryName     = strings[buffer.getInt()];
+            capitalCityName = strings[buffer.getInt()];
+            facts           = new String[buffer.getInt()];
+
+            for (int j = 0; j < facts.length; j++)
+            {
+                final int factId;
+                factId = buffer.getInt();
+
+                if (factId != NO_STRING)
+                {
+                    facts[j] = strings[factId];
+                }
+            }
+
+            countries.add(Country.of(countryName, capitalCityName, facts));
+        }
+
+        return countries;
+    }
+
+    /*
+    Writes the snapshot to a temporary file and moves it into place,
+    so a crash never leaves a half-written snapshot behind.
+    Failures are reported but never stop the game.
+     */
+    private void write(final String loaderName,
+                       final List<FileStamp> stamps,
+                       final List<Country> countries)
+    {
+        final Map<String, Integer> stringIds;
+        final ByteArrayOutputStream stringBytes;
+        final List<Integer> offsets;
+
+        stringIds   = new HashMap<>();
+        stringBytes = new ByteArrayOutputStream();
+        offsets     = new ArrayList<>();
+
+        internString(loaderName, stringIds, stringBytes, offsets);
+
+        for (final FileStamp stamp : stamps)
+        {
+            internString(stamp.name, stringIds, stringBytes, offsets);
+        }
+
+        for (final Country country : countries)
+        {
+            internString(country.getCountryName(), stringIds, stringBytes, offsets);
+            internString(country.getCapitalCityName(), stringIds, stringBytes, offsets);
+
+            for (int i = 0; i < country.getFactCount(); i++)
+            {
+                internString(country.getFact(i), stringIds, stringBytes, offsets);
+            }
+        }
+        offsets.add(stringBytes.size());
+
+        final Path tempPath;
+        tempPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + TEMP_SUFFIX);
+
+        try
+        {
+            try (final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempPath))))
+            {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(stringIds.get(loaderName));
+                out.writeInt(stamps.size());
+                out.writeInt(countries.size());
+                out.writeInt(stringIds.size());
+
+                for (final FileStamp stamp : stamps)
+                {
+                    out.writeInt(stringIds.get(stamp.name));
+                    out.writeLong(stamp.size);
+                    out.writeLong(stamp.modifiedMillis);
+                }
+
+                for (final Country country : countries)
+                {
+                    out.writeInt(stringIds.get(country.getCountryName()));
+                    out.writeInt(stringIds.get(country.getCapitalCityName()));
+                    out.writeInt(country.getFactCount());
+
+                    for (int i = 0; i < country.getFactCount(); i++)
+                    {
+                        final String fact;
+                        fact = country.getFact(i);
+
+                        out.writeInt(fact == null ? NO_STRING : stringIds.get(fact));
+                    }
+                }
+
+                for (final int offset : offsets)
+                {
+                    out.writeInt(offset);
+                }
+
+                stringBytes.writeTo(out);
+            }
+
+            Files.move(tempPath,
+                       snapshotPath,
+                       StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Could not write world snapshot: " + e.getMessage());
+        }
+    }
+
+    /*
+    Adds a string to the table once, recording its starting offset
+     */
+    private static void internString(final String s,
+                                     final Map<String, Integer> stringIds,
+                                     final ByteArrayOutputStream stringBytes,
+                                     final List<Integer> offsets)
+    {
+        if (s == null || stringIds.containsKey(s))
+        {
+            return;
+        }
+
+        final byte[] bytes;
+        bytes = s.getBytes(StandardCharsets.UTF_8);
+
+        stringIds.put(s, offsets.size());
+        offsets.add(stringBytes.size());
+        stringBytes.write(bytes, INITIAL_INDEX, bytes.length);
+    }
+
+    /*
+    Records the name, size and modified time of every input file
+     */
+    private static List<FileStamp> stampInputs(final Path inputsPath)
+        throws IOException
+    {
+        final List<FileStamp> stamps;
+        stamps = new ArrayList<>();
+
+        for (final Path file : AbstractCountryLoader.listInputFiles(inputsPath))
+        {
+            stamps.add(new FileStamp(file.getFileName().toString(),
+                                     Files.size(file),
+                                     Files.getLastModifiedTime(file).toMillis()));
+        }
+
+        return stamps;
+    }
+
+    /**
+     * The identity of one input file at the time a snapshot was taken.
+     */
+    private static final class FileStamp
+    {
+        private final String name;
+        private final long   size;
+        private final long   modifiedMillis;
+
+        /**
+         * Constructs a FileStamp.
+         *
+         * @param name           the file name
+         * @param size           the file size in bytes
+         * @param modifiedMillis the last modified time in milliseconds
+         */
+        FileStamp(final String name,
+                  final long size,
+                  final long modifiedMillis)
+        {
+            this.name           = name;
+            this.size           = size;
+            this.modifiedMillis = modifiedMillis;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ca.bcit.comp2522.wordgame;
+
+import java.util.Map;
+
+/**
+ * Interface for the ways a World can hold its countries and name indexes.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+interface WorldStorage
+{
+    /**
+     * Returns the countries keyed by name, read-only.
+     *
+     * @return the countries map
+     */
+    Map<String, Country> getCountriesMap();
+
+    /**
+     * Looks up a country by its case-folded name.
+     *
+     * @param foldedName the country name, folded with World.foldCase
+     * @return the country, or null if not found
+     */
+    Country getCountryByFoldedName(final String foldedName);
+
+    /**
+     * Looks up a country by its case-folded capital city name.
+     *
+     * @param foldedCapital the capital name, folded with World.foldCase
+     * @return the country, or null if not found
+     */
+    Country getCountryByFoldedCapital(final String foldedCapital);
+
+    /**
+     * Returns the number of countries.
+     *
+     * @return the country count
+     */
+    int size();
+
+    /**
+     * Returns every country in id order, in an array that callers must not modify.
+     *
+     * @return the country array
+     */
+    Country[] getCountryArray();
+}
@@ -0,0 +1,70 @@
+package ca.bcit.comp2522.numbergame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the number game's optimal-play solver and its hints.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class ExpectedValueSolverTest
+{
+    private static final double TOLERANCE = 1e-12;
+
+    /**
+     * Tests that on two cells the first number goes on whichever side leaves more room for the second,
+     * so with numbers 1 to 10 the chance is the average of max(x, 11 - x) / 10.
+     */
+    @Test
+    public void testTwoCellsMatchHandCount()
+    {
+        final ExpectedValueSolver solver;
+        solver = new ExpectedValueSolver(2, 1, 11, ForkJoinPool.commonPool());
+
+        assertEquals(0.8, solver.getWinProbability(), TOLERANCE);
+        assertEquals(1.0, new ExpectedValueSolver(1, 1, 11, ForkJoinPool.commonPool()).getWinProbability(),
+                     TOLERANCE);
+    }
+
+    /**
+     * Tests that small numbers are hinted to the left and large ones to the right, and a hint with no
+     * time budget still returns a valid cell.
+     */
+    @Test
+    public void testHintsPickSensibleValidCells()
+    {
+        final NumberGameFX game;
+        final ExpectedValueSolver solver;
+
+        game   = new NumberGameFX(new IndexedPlacementStrategy());
+        solver = new ExpectedValueSolver(game);
+        game.startNewGame();
+
+        assertEquals(0, solver.hint(game, 1, Long.MAX_VALUE));
+        assertEquals(game.getCellCount() - 1, solver.hint(game, 1000, Long.MAX_VALUE));
+        assertTrue(game.isValidPlacement(solver.hint(game, 0L), game.getCurrentNumber()));
+        assertTrue(solver.winProbability(game) > 0);
+    }
+
+    /**
+     * Tests that games of another size or range are rejected.
+     */
+    @Test
+    public void testRejectsMismatchedGame()
+    {
+        final ExpectedValueSolver solver;
+        solver = new ExpectedValueSolver(6, 1, 11, ForkJoinPool.commonPool());
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> solver.hint(new NumberGameFX(new IndexedPlacementStrategy()), Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new ExpectedValueSolver(0, 1, 11, ForkJoinPool.commonPool()));
+    }
+}
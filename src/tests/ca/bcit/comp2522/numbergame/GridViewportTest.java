@@ -0,0 +1,98 @@
+package ca.bcit.comp2522.numbergame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the window the Number Game app paints its grid through.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class GridViewportTest
+{
+    private static final int ROWS      = 100;
+    private static final int COLS      = 50;
+    private static final int VISIBLE   = 10;
+    private static final int WIDTH_PX  = 80;
+    private static final int HEIGHT_PX = 40;
+    private static final int GAP_PX    = 5;
+
+    /**
+     * Tests that clicks map to the cells of the scrolled window and clicks between cells are ignored.
+     */
+    @Test
+    public void testClicksMapToScrolledCells()
+    {
+        final GridViewport viewport;
+        viewport = new GridViewport(ROWS, COLS, VISIBLE, VISIBLE, WIDTH_PX, HEIGHT_PX, GAP_PX);
+
+        assertEquals(0, viewport.cellAt(1, 1));
+        assertEquals(GridViewport.NO_CELL, viewport.cellAt(WIDTH_PX + 1, 1));
+
+        viewport.scrollTo(20, 30);
+
+        assertEquals(20 * COLS + 30, viewport.cellAt(1, 1));
+        assertEquals(21 * COLS + 32, viewport.cellAt(2 * (WIDTH_PX + GAP_PX) + 1, HEIGHT_PX + GAP_PX + 1));
+        assertEquals(GridViewport.NO_CELL, viewport.cellAt(viewport.getWidth(), 1));
+    }
+
+    /**
+     * Tests that scrolling stops at the grid's edges and a small grid is shown whole.
+     */
+    @Test
+    public void testScrollingStaysInsideTheGrid()
+    {
+        final GridViewport viewport;
+        final GridViewport small;
+
+        viewport = new GridViewport(ROWS, COLS, VISIBLE, VISIBLE, WIDTH_PX, HEIGHT_PX, GAP_PX);
+        small    = new GridViewport(4, 5, VISIBLE, VISIBLE, WIDTH_PX, HEIGHT_PX, GAP_PX);
+
+        viewport.scrollTo(ROWS, -1);
+        small.scrollTo(3, 3);
+
+        assertEquals(ROWS - VISIBLE, viewport.getFirstRow());
+        assertEquals(0, viewport.getFirstCol());
+        assertEquals(0, small.getFirstRow());
+        assertEquals(0, small.getMaxFirstCol());
+        assertEquals(5.0 * (WIDTH_PX + GAP_PX), small.getWidth());
+    }
+
+    /**
+     * Tests that only the cells in view are painted, at their place in the window.
+     */
+    @Test
+    public void testPaintsOnlyCellsInView()
+    {
+        final NumberGameFX game;
+        final GridViewport viewport;
+        final List<double[]> painted;
+        final int[] changed;
+
+        game     = new NumberGameFX(ROWS, COLS, 7, 8, new IndexedPlacementStrategy());
+        viewport = new GridViewport(ROWS, COLS, VISIBLE, VISIBLE, WIDTH_PX, HEIGHT_PX, GAP_PX);
+        painted  = new ArrayList<>();
+        changed  = new int[] {0, 11 * COLS + 12, ROWS * COLS - 1};
+
+        game.setUi(grid -> { }, number -> { }, (won, impossible) -> { });
+        game.startNewGame();
+        viewport.scrollTo(10, 10);
+
+        viewport.paintVisible(game, (x, y, value) -> painted.add(new double[] {x, y, value}));
+        assertEquals(VISIBLE * VISIBLE, painted.size());
+
+        painted.clear();
+        game.handleCellClick(changed[1]);
+
+        assertEquals(1, viewport.paintCells(game, changed, changed.length,
+                                            (x, y, value) -> painted.add(new double[] {x, y, value})));
+        assertEquals(2.0 * (WIDTH_PX + GAP_PX), painted.get(0)[0]);
+        assertEquals((double) HEIGHT_PX + GAP_PX, painted.get(0)[1]);
+        assertEquals(7.0, painted.get(0)[2]);
+    }
+}
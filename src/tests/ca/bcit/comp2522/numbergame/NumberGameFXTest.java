@@ -0,0 +1,95 @@
+package ca.bcit.comp2522.numbergame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the number game rules on grids and number ranges chosen at runtime.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class NumberGameFXTest
+{
+    /**
+     * Tests that filling a custom grid wins when a single possible number makes every cell valid.
+     */
+    @Test
+    public void testFillingCustomGridWins()
+    {
+        final NumberGameFX game;
+        final List<Boolean> results;
+        final List<Integer> numbers;
+
+        game    = new NumberGameFX(2, 3, 7, 8, new IndexedPlacementStrategy());
+        results = new ArrayList<>();
+        numbers = new ArrayList<>();
+
+        game.setUi(grid -> { }, numbers::add, (won, impossible) -> results.add(won));
+        game.startNewGame();
+
+        assertEquals(6, game.getCellCount());
+
+        for (int i = game.getCellCount() - 1; i >= 0; i--)
+        {
+            game.handleCellClick(i);
+        }
+
+        assertEquals(List.of(true), results);
+        assertTrue(numbers.stream().allMatch(n -> n == 7));
+    }
+
+    /**
+     * Tests that empty grids and ranges that include the empty value 0 are rejected.
+     */
+    @Test
+    public void testRejectsBadDimensionsAndRanges()
+    {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new NumberGameFX(0, 5, 1, 1001, new ScanPlacementStrategy()));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new NumberGameFX(4, 5, 0, 10, new ScanPlacementStrategy()));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new NumberGameFX(4, 5, 10, 10, new ScanPlacementStrategy()));
+    }
+
+    /**
+     * Tests that grid change listeners hear only the cell a move filled, and a new game reports
+     * exactly the cells the last game filled.
+     */
+    @Test
+    public void testReportsOnlyChangedCells()
+    {
+        final NumberGameFX game;
+        final List<List<Integer>> updates;
+
+        game    = new NumberGameFX(3, 3, 7, 8, new IndexedPlacementStrategy());
+        updates = new ArrayList<>();
+
+        game.setUi((grid, dirtyCells, dirtyCount) -> {
+            final List<Integer> cells;
+            cells = new ArrayList<>();
+
+            for (int i = 0; i < dirtyCount; i++)
+            {
+                cells.add(dirtyCells[i]);
+            }
+
+            updates.add(cells);
+        }, number -> { }, (won, impossible) -> { });
+
+        game.startNewGame();
+        game.handleCellClick(4);
+        game.handleCellClick(4);
+        game.handleCellClick(0);
+        game.startNewGame();
+
+        assertEquals(List.of(List.of(), List.of(4), List.of(0), List.of(0, 4)), updates);
+    }
+}
@@ -0,0 +1,108 @@
+package ca.bcit.comp2522.numbergame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the headless number game simulator and its placement policies.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class NumberGameSimulatorTest
+{
+    private static final long SEED  = 2522L;
+    private static final long GAMES = 20_000L;
+
+    /**
+     * Tests that the same seed gives the same totals whatever the pool's parallelism.
+     */
+    @Test
+    public void testSameSeedGivesSameResult()
+    {
+        final SimulationResult single;
+        final SimulationResult parallel;
+
+        single   = simulator(new ForkJoinPool(1)).simulate(new GreedyGapPolicy(), GAMES, SEED);
+        parallel = simulator(new ForkJoinPool(4)).simulate(new GreedyGapPolicy(), GAMES, SEED);
+
+        assertEquals(GAMES, single.getGames());
+        assertEquals(single.getWins(), parallel.getWins());
+
+        for (int i = 0; i <= AbstractNumberGame.DEFAULT_ROWS * AbstractNumberGame.DEFAULT_COLS; i++)
+        {
+            assertEquals(single.getGamesWithPlacements(i), parallel.getGamesWithPlacements(i));
+        }
+    }
+
+    /**
+     * Tests that every policy wins every game when only one number can be drawn.
+     */
+    @Test
+    public void testEveryPolicyWinsWithOneNumber()
+    {
+        final NumberGameSimulator simulator;
+        simulator = new NumberGameSimulator(3, 3, 5, 6, IndexedPlacementStrategy::new, ForkJoinPool.commonPool());
+
+        for (final PlacementPolicy policy : new PlacementPolicy[] {
+            new LeftmostPolicy(), new ProportionalPolicy(), new GreedyGapPolicy()})
+        {
+            final SimulationResult result;
+            result = simulator.simulate(policy, GAMES, SEED);
+
+            assertEquals(GAMES, result.getWins());
+            assertEquals(GAMES, result.getGamesWithPlacements(9));
+        }
+    }
+
+    /**
+     * Tests that spreading numbers out lasts longer than packing them to the left.
+     */
+    @Test
+    public void testGreedyOutlastsLeftmost()
+    {
+        final NumberGameSimulator simulator;
+        simulator = simulator(ForkJoinPool.commonPool());
+
+        assertTrue(simulator.simulate(new GreedyGapPolicy(), GAMES, SEED).getMeanPlacements()
+                   > simulator.simulate(new LeftmostPolicy(), GAMES, SEED).getMeanPlacements());
+    }
+
+    /**
+     * Tests that bad grid sizes, number ranges, null policies and negative game counts are rejected.
+     */
+    @Test
+    public void testRejectsBadArguments()
+    {
+        final NumberGameSimulator simulator;
+        simulator = new NumberGameSimulator();
+
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(null, GAMES, SEED));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(new LeftmostPolicy(), -1, SEED));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new NumberGameSimulator(0, 5, 1, 1001, IndexedPlacementStrategy::new, ForkJoinPool.commonPool()));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new NumberGameSimulator(65_536, 65_536, 1, 1001, IndexedPlacementStrategy::new,
+                                                   ForkJoinPool.commonPool()));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new NumberGameSimulator(4, 5, 10, 10, IndexedPlacementStrategy::new, ForkJoinPool.commonPool()));
+    }
+
+    /*
+    Builds a simulator for the default game on the given pool
+     */
+    private static NumberGameSimulator simulator(final ForkJoinPool pool)
+    {
+        return new NumberGameSimulator(AbstractNumberGame.DEFAULT_ROWS,
+                                       AbstractNumberGame.DEFAULT_COLS,
+                                       AbstractNumberGame.DEFAULT_LOWER_BOUND,
+                                       AbstractNumberGame.DEFAULT_UPPER_BOUND,
+                                       IndexedPlacementStrategy::new,
+                                       pool);
+    }
+}
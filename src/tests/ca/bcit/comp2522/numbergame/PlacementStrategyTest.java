@@ -0,0 +1,103 @@
+package ca.bcit.comp2522.numbergame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that the IndexedPlacementStrategy gives the same answers as the ScanPlacementStrategy.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class PlacementStrategyTest
+{
+    private static final int  GAMES     = 2_000;
+    private static final int  MAX_VALUE = 30;
+    private static final int  MAX_CELLS = 40;
+    private static final long SEED      = 2522L;
+
+    /**
+     * Tests that over random games, every check and every search agrees after every placement.
+     */
+    @Test
+    public void testIndexedMatchesScanThroughRandomGames()
+    {
+        final SplittableRandom rng;
+        rng = new SplittableRandom(SEED);
+
+        for (int game = 0; game < GAMES; game++)
+        {
+            final int[] grid;
+            final PlacementStrategy scan;
+            final PlacementStrategy indexed;
+
+            grid    = new int[rng.nextInt(1, MAX_CELLS + 1)];
+            scan    = new ScanPlacementStrategy();
+            indexed = new IndexedPlacementStrategy();
+
+            scan.reset(grid);
+            indexed.reset(grid);
+
+            while (true)
+            {
+                // Small values force plenty of ties and dead ends
+                final int value;
+                value = rng.nextInt(1, MAX_VALUE + 1);
+
+                for (int candidate = 1; candidate <= MAX_VALUE; candidate++)
+                {
+                    assertEquals(scan.hasValidPlacementFor(candidate), indexed.hasValidPlacementFor(candidate));
+                }
+
+                for (int i = 0; i < grid.length; i++)
+                {
+                    assertEquals(scan.isValidPlacement(i, value), indexed.isValidPlacement(i, value));
+                }
+
+                if (!scan.hasValidPlacementFor(value))
+                {
+                    break;
+                }
+
+                int index;
+                do
+                {
+                    index = rng.nextInt(grid.length);
+                }
+                while (!scan.isValidPlacement(index, value));
+
+                grid[index] = value;
+                scan.placed(index);
+                indexed.placed(index);
+            }
+        }
+    }
+
+    /**
+     * Tests that a value fits only between the filled values that bound it.
+     */
+    @Test
+    public void testValueFitsOnlyBetweenItsBounds()
+    {
+        final int[] grid;
+        final PlacementStrategy indexed;
+
+        grid    = new int[] {0, 10, 0, 0, 20, 20, 30, 0};
+        indexed = new IndexedPlacementStrategy();
+
+        indexed.reset(grid);
+
+        assertTrue(indexed.hasValidPlacementFor(5));
+        assertTrue(indexed.hasValidPlacementFor(15));
+        assertFalse(indexed.hasValidPlacementFor(25));
+        assertTrue(indexed.hasValidPlacementFor(40));
+        assertTrue(indexed.isValidPlacement(2, 10));
+        assertFalse(indexed.isValidPlacement(3, 21));
+        assertFalse(indexed.isValidPlacement(4, 20));
+    }
+}
@@ -0,0 +1,174 @@
+package ca.bcit.comp2522.wordgame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the answer stats and the adaptive question picker.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class AdaptiveDifficultyTest
+{
+    private static final Path STATS_FILE    = Paths.get("test_answerstats.bin");
+    private static final int  COUNTRY_COUNT = 10;
+    private static final int  ROUNDS        = 20_000;
+    private static final int  THREADS       = 8;
+    private static final int  PER_THREAD    = 10_000;
+
+    private World world;
+
+    /**
+     * Builds a world of ten countries.
+     */
+    @BeforeEach
+    public void setUp()
+    {
+        final Map<String, Country> countries;
+        countries = new HashMap<>();
+
+        for (int i = 0; i < COUNTRY_COUNT; i++)
+        {
+            countries.put("Country" + i, Country.of("Country" + i, "Capital" + i, new String[] {"Fact" + i}));
+        }
+
+        world = new World(countries);
+    }
+
+    /**
+     * Removes the stats file written by a test.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        Files.deleteIfExists(STATS_FILE);
+    }
+
+    /**
+     * Tests that questions answered wrongly are drawn far more often than ones answered correctly,
+     * and that a round never repeats a country.
+     */
+    @Test
+    public void testBiasTowardsWrongAnswers()
+    {
+        final AnswerStats stats;
+        final AdaptiveDifficulty difficulty;
+        final Random rng;
+        final int[] ids;
+        final int[] types;
+        final int[] drawnPerCell;
+
+        stats        = new AnswerStats(world);
+        difficulty   = new AdaptiveDifficulty(stats);
+        rng          = new Random(2522L);
+        ids          = new int[3];
+        types        = new int[3];
+        drawnPerCell = new int[stats.size()];
+
+        for (int i = 0; i < 20; i++)
+        {
+            stats.record(0, 0, false);
+            stats.record(1, 0, true);
+        }
+
+        for (int round = 0; round < ROUNDS; round++)
+        {
+            assertEquals(3, difficulty.sampleRound(world, ids, types, 3, rng));
+            assertNotEquals(ids[0], ids[1]);
+            assertNotEquals(ids[1], ids[2]);
+            assertNotEquals(ids[0], ids[2]);
+
+            drawnPerCell[ids[0] * AnswerStats.NUM_QUESTION_TYPES + types[0]]++;
+        }
+
+        // Weights are 21/22 for the missed question and 1/22 for the known one
+        assertTrue(drawnPerCell[0] > 10 * drawnPerCell[AnswerStats.NUM_QUESTION_TYPES],
+                   drawnPerCell[0] + " vs " + drawnPerCell[AnswerStats.NUM_QUESTION_TYPES]);
+    }
+
+    /**
+     * Tests that concurrent records are never lost.
+     *
+     * @throws Exception if a thread is interrupted
+     */
+    @Test
+    public void testConcurrentRecords()
+        throws Exception
+    {
+        final AnswerStats stats;
+        stats = new AnswerStats(world);
+
+        try (final ExecutorService pool = Executors.newFixedThreadPool(THREADS))
+        {
+            for (int t = 0; t < THREADS; t++)
+            {
+                final boolean correct;
+                correct = t % 2 == 0;
+
+                pool.submit(() ->
+                {
+                    for (int i = 0; i < PER_THREAD; i++)
+                    {
+                        stats.record(3, 2, correct);
+                    }
+                });
+            }
+        }
+
+        assertEquals(THREADS * PER_THREAD, stats.getAttempts(3, 2));
+        assertEquals(THREADS * PER_THREAD / 2, stats.getWrongAnswers(3, 2));
+    }
+
+    /**
+     * Tests that saved stats load back by country name.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Test
+    public void testSaveAndLoad()
+        throws IOException
+    {
+        final AnswerStats stats;
+        final Country country;
+        final AnswerStats loaded;
+
+        stats   = new AnswerStats(world);
+        country = world.getCountryArray()[4];
+
+        stats.record(4, 1, false);
+        stats.record(4, 1, true);
+        stats.save(STATS_FILE);
+
+        loaded = AnswerStats.load(STATS_FILE, World.columnar(world.getAllCountries()));
+
+        int id;
+        id = 0;
+
+        while (!loaded.getWorld().getCountryArray()[id].getCountryName().equals(country.getCountryName()))
+        {
+            id++;
+        }
+
+        assertEquals(2, loaded.getAttempts(id, 1));
+        assertEquals(1, loaded.getWrongAnswers(id, 1));
+    }
+}
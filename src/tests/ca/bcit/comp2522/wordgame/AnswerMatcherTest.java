@@ -0,0 +1,111 @@
+package ca.bcit.comp2522.wordgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the AnswerMatcher fuzzy answer check.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class AnswerMatcherTest
+{
+    private AnswerMatcher         matcher;
+    private AnswerMatcher.Scratch scratch;
+
+    /**
+     * Builds a matcher over a few countries with similar or accented names.
+     */
+    @BeforeEach
+    public void setUp()
+    {
+        final Map<String, Country> countries;
+        countries = new HashMap<>();
+
+        addCountry(countries, "Philippines", "Manila");
+        addCountry(countries, "Niger", "Niamey");
+        addCountry(countries, "Nigeria", "Abuja");
+        addCountry(countries, "Chad", "N'Djamena");
+        addCountry(countries, "Iceland", "Reykjavík");
+        addCountry(countries, "Peru", "Lima");
+
+        matcher = new AnswerMatcher(new World(countries));
+        scratch = matcher.newScratch();
+    }
+
+    /*
+    Adds a country with no facts
+     */
+    private static void addCountry(final Map<String, Country> countries,
+                                   final String name,
+                                   final String capital)
+    {
+        countries.put(name, Country.of(name, capital, new String[3]));
+    }
+
+    /**
+     * Tests that case, accents, punctuation and small typos are forgiven.
+     */
+    @Test
+    public void testForgivenDifferences()
+    {
+        assertTrue(matcher.matches("  philippines ", "Philippines", scratch));
+        assertTrue(matcher.matches("Phillipines", "Philippines", scratch));
+        assertTrue(matcher.matches("Reykjavik", "Reykjavík", scratch));
+        assertTrue(matcher.matches("ndjamena", "N'Djamena", scratch));
+        assertTrue(matcher.matches("Nigerea", "Nigeria", scratch));
+    }
+
+    /**
+     * Tests that other names, short names and distant answers are rejected.
+     */
+    @Test
+    public void testRejectedAnswers()
+    {
+        assertFalse(matcher.matches("Niger", "Nigeria", scratch));
+        assertFalse(matcher.matches("Nigeria", "Niger", scratch));
+        assertFalse(matcher.matches("Pery", "Peru", scratch));
+        assertFalse(matcher.matches("Philosophy", "Philippines", scratch));
+        assertFalse(matcher.matches("", "Peru", scratch));
+        assertFalse(matcher.matches(null, "Peru", scratch));
+    }
+
+    /**
+     * Tests finding the closest known name to a misspelled answer.
+     */
+    @Test
+    public void testFindClosestName()
+    {
+        assertEquals(6 * 2, matcher.size());
+        assertEquals("Reykjavík", matcher.findClosestName("reykjavic", scratch));
+        assertEquals("Philippines", matcher.findClosestName("Filippines", scratch));
+        assertNull(matcher.findClosestName("Atlantis", scratch));
+    }
+
+    /**
+     * Tests that a missing Scratch, or one made for a different matcher, is rejected.
+     */
+    @Test
+    public void testRejectsForeignScratch()
+    {
+        final Map<String, Country> countries;
+        final AnswerMatcher.Scratch foreign;
+
+        countries = new HashMap<>();
+        addCountry(countries, "Peru", "Lima");
+        foreign   = new AnswerMatcher(new World(countries)).newScratch();
+
+        assertThrows(IllegalArgumentException.class, () -> matcher.matches("Peru", "Peru", null));
+        assertThrows(IllegalArgumentException.class, () -> matcher.findClosestName("Peru", foreign));
+    }
+}
@@ -0,0 +1,211 @@
+package ca.bcit.comp2522.wordgame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for the BinaryScoreLog score store.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class BinaryScoreLogTest
+{
+    private static final Path LOG_FILE   = Paths.get("test_scores.bin");
+    private static final Path TEXT_FILE  = Paths.get("test_scores_migrate.txt");
+    private static final int  THREADS    = 2;
+    private static final int  PER_THREAD = 200;
+
+    /**
+     * Removes the files written by each test.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        Files.deleteIfExists(LOG_FILE);
+        Files.deleteIfExists(TEXT_FILE);
+    }
+
+    /**
+     * Tests that an empty or missing log has no best score.
+     *
+     * @throws IOException if the log cannot be read
+     */
+    @Test
+    public void testMissingLogHasNoBestScore()
+        throws IOException
+    {
+        final BinaryScoreLog log;
+        log = new BinaryScoreLog(LOG_FILE);
+
+        assertNull(log.readBestScore());
+        assertEquals(0, log.getRecordCount());
+    }
+
+    /**
+     * Tests that the header tracks the best average score, keeping the first on ties
+     * and ignoring scores with no games played.
+     *
+     * @throws IOException if the log cannot be written or read
+     */
+    @Test
+    public void testBestScoreTracksHighestAverage()
+        throws IOException
+    {
+        final BinaryScoreLog log;
+        final LocalDateTime first;
+        final LocalDateTime tie;
+
+        log   = new BinaryScoreLog(LOG_FILE);
+        first = LocalDateTime.of(2025, 1, 1, 10, 0, 0);
+        tie   = LocalDateTime.of(2025, 1, 2, 10, 0, 0);
+
+        log.append(new Score(first, 1, 3, 0, 0));                   // 6 per game
+        log.append(new Score(LocalDateTime.now(), 0, 0, 0, 0));     // no games played
+        log.append(new Score(LocalDateTime.now(), 2, 2, 1, 3));     // 2.5 per game
+        log.append(new Score(tie, 2, 6, 0, 0));                     // 6 per game, tie
+
+        final Score best;
+        best = log.readBestScore();
+
+        assertEquals(4, log.getRecordCount());
+        assertEquals(first, best.getDateTimePlayed());
+        assertEquals(6, best.getScore());
+    }
+
+    /**
+     * Tests that records read back with the same values they were written with.
+     *
+     * @throws IOException if the log cannot be written or read
+     */
+    @Test
+    public void testReadScoreRoundTrip()
+        throws IOException
+    {
+        final BinaryScoreLog log;
+        final LocalDateTime played;
+
+        log    = new BinaryScoreLog(LOG_FILE);
+        played = LocalDateTime.of(2025, 11, 30, 21, 47, 10);
+
+        log.append(new Score(played, 3, 1, 2, 8));
+
+        final Score score;
+        score = log.readScore(0);
+
+        assertEquals(played, score.getDateTimePlayed());
+        assertEquals(3, score.getNumGamesPlayed());
+        assertEquals(1, score.getNumCorrectFirstAttempt());
+        assertEquals(2, score.getNumCorrectSecondAttempt());
+        assertEquals(8, score.getNumIncorrectTwoAttempts());
+    }
+
+    /**
+     * Tests that migrating a text score file copies every score and finds the same best score.
+     *
+     * @throws IOException if either file cannot be written or read
+     */
+    @Test
+    public void testMigrateFromText()
+        throws IOException
+    {
+        for (int i = 0; i < 10; i++)
+        {
+            Score.appendScoreToFile(new Score(LocalDateTime.now(), 1, i, 1, 1), TEXT_FILE.toString());
+        }
+
+        final BinaryScoreLog log;
+        final int migrated;
+
+        log      = new BinaryScoreLog(LOG_FILE);
+        migrated = BinaryScoreLog.migrateFromText(TEXT_FILE, log);
+
+        assertEquals(10, migrated);
+        assertEquals(10, log.getRecordCount());
+        assertEquals(19, log.readBestScore().getScore());
+    }
+
+    /**
+     * Tests that reading from a record index returns only the later records, in order,
+     * and the position to read from next.
+     *
+     * @throws IOException if the log cannot be written or read
+     */
+    @Test
+    public void testReadFromIndex()
+        throws IOException
+    {
+        final BinaryScoreLog log;
+        final List<Score> read;
+
+        log  = new BinaryScoreLog(LOG_FILE);
+        read = new ArrayList<>();
+
+        for (int i = 1; i <= 4; i++)
+        {
+            log.append(new Score(LocalDateTime.of(2025, 1, i, 10, 0, 0), i, i, 0, 0));
+        }
+
+        assertEquals(4, log.readFrom(2, read::add));
+        assertEquals(2, read.size());
+        assertEquals(3, read.get(0).getNumGamesPlayed());
+        assertEquals(4, read.get(1).getNumGamesPlayed());
+        assertEquals(4, log.getEndPosition());
+    }
+
+    /**
+     * Tests that two threads appending to the same file through their own logs
+     * wait for each other instead of failing, and no record is lost.
+     *
+     * @throws Exception if an append fails or a thread is interrupted
+     */
+    @Test
+    public void testConcurrentAppenders()
+        throws Exception
+    {
+        final List<Future<?>> appends;
+        appends = new ArrayList<>();
+
+        try (final ExecutorService pool = Executors.newFixedThreadPool(THREADS))
+        {
+            for (int t = 0; t < THREADS; t++)
+            {
+                final BinaryScoreLog log;
+                log = new BinaryScoreLog(LOG_FILE);
+
+                appends.add(pool.submit(() ->
+                {
+                    for (int i = 0; i < PER_THREAD; i++)
+                    {
+                        log.append(new Score(LocalDateTime.now(), 1, 1, 0, 0));
+                    }
+                    return null;
+                }));
+            }
+
+            for (final Future<?> append : appends)
+            {
+                append.get();
+            }
+        }
+
+        assertEquals(THREADS * PER_THREAD, new BinaryScoreLog(LOG_FILE).getRecordCount());
+    }
+}
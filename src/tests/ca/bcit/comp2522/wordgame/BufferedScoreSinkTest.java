@@ -0,0 +1,195 @@
+package ca.bcit.comp2522.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the BufferedScoreSink group-committing score sink.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class BufferedScoreSinkTest
+{
+    private static final Duration NEVER        = Duration.ofHours(1);
+    private static final long     WAIT_SECONDS = 5L;
+    private static final int      BATCH_SIZE   = 3;
+
+    /**
+     * Tests that queuing a full batch commits it to the target as one group
+     * without waiting for the flush interval.
+     *
+     * @throws Exception if the sink cannot be closed or the wait is interrupted
+     */
+    @Test
+    public void testFullBatchIsCommittedAsOneGroup()
+        throws Exception
+    {
+        final RecordingSink target;
+        final BufferedScoreSink sink;
+
+        target = new RecordingSink(1);
+        sink   = BufferedScoreSink.start(target, NEVER, BATCH_SIZE);
+
+        for (int i = 0; i < BATCH_SIZE; i++)
+        {
+            sink.record(score(i));
+        }
+
+        assertTrue(target.awaitBatches());
+        assertEquals(List.of(BATCH_SIZE), target.getBatchSizes());
+        assertEquals(1, sink.getCommittedBatchCount());
+        assertEquals(BATCH_SIZE, sink.getCommittedScoreCount());
+
+        sink.close();
+    }
+
+    /**
+     * Tests that closing commits the scores still queued and closes the target.
+     *
+     * @throws IOException if the sink cannot be closed
+     */
+    @Test
+    public void testCloseFlushesQueuedScores()
+        throws IOException
+    {
+        final RecordingSink target;
+        final BufferedScoreSink sink;
+
+        target = new RecordingSink(1);
+        sink   = BufferedScoreSink.start(target, NEVER);
+
+        sink.record(score(1));
+        sink.record(score(2));
+        sink.close();
+
+        assertEquals(List.of(2), target.getBatchSizes());
+        assertEquals(1, target.getScores().get(0).getNumGamesPlayed());
+        assertEquals(2, target.getScores().get(1).getNumGamesPlayed());
+        assertTrue(target.isClosed());
+    }
+
+    /**
+     * Tests that recording after close is rejected instead of silently dropped.
+     *
+     * @throws IOException if the sink cannot be closed
+     */
+    @Test
+    public void testRecordAfterCloseThrows()
+        throws IOException
+    {
+        final BufferedScoreSink sink;
+        sink = BufferedScoreSink.start(new RecordingSink(1), NEVER);
+
+        sink.close();
+
+        assertThrows(IllegalStateException.class, () -> sink.record(score(1)));
+    }
+
+    /*
+    Builds a score whose games played identifies it
+     */
+    private static Score score(final int gamesPlayed)
+    {
+        return new Score(LocalDateTime.of(2025, 1, 1, 10, 0, 0), gamesPlayed, gamesPlayed, 0, 0);
+    }
+
+    /**
+     * Target sink that remembers every group committed to it.
+     */
+    private static final class RecordingSink implements ScoreSink
+    {
+        private final List<Integer>  batchSizes;
+        private final List<Score>    scores;
+        private final CountDownLatch batches;
+
+        private volatile boolean closed;
+
+        /*
+        Constructs a RecordingSink that can be waited on for the given number of groups
+         */
+        private RecordingSink(final int expectedBatches)
+        {
+            this.batchSizes = new ArrayList<>();
+            this.scores     = new ArrayList<>();
+            this.batches    = new CountDownLatch(expectedBatches);
+        }
+
+        /**
+         * Records a single score as a group of one.
+         *
+         * @param score the score to record
+         */
+        @Override
+        public void record(final Score score)
+        {
+            recordAll(List.of(score));
+        }
+
+        /**
+         * Remembers a committed group.
+         *
+         * @param group the scores committed together
+         */
+        @Override
+        public synchronized void recordAll(final List<Score> group)
+        {
+            batchSizes.add(group.size());
+            scores.addAll(group);
+            batches.countDown();
+        }
+
+        /**
+         * Marks the sink closed.
+         */
+        @Override
+        public void close()
+        {
+            closed = true;
+        }
+
+        /*
+        Waits for the expected number of groups, returning false on timeout
+         */
+        private boolean awaitBatches()
+            throws InterruptedException
+        {
+            return batches.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        /*
+        Returns the size of every committed group in order
+         */
+        private synchronized List<Integer> getBatchSizes()
+        {
+            return new ArrayList<>(batchSizes);
+        }
+
+        /*
+        Returns every committed score in order
+         */
+        private synchronized List<Score> getScores()
+        {
+            return new ArrayList<>(scores);
+        }
+
+        /*
+        Returns whether the sink was closed
+         */
+        private boolean isClosed()
+        {
+            return closed;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ca.bcit.comp2522.wordgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that the columnar World answers like the map-backed World and uses less heap.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class ColumnarWorldTest
+{
+    private static final int    LARGE_WORLD_SIZE = 5_000;
+    private static final int    NUM_OF_FACTS     = 3;
+    private static final double MAX_HEAP_RATIO   = 0.5;
+
+    private World mapWorld;
+    private World columnarWorld;
+
+    /**
+     * Builds the same small world with both backends.
+     */
+    @BeforeEach
+    public void setUp()
+    {
+        final Map<String, Country> countries;
+        countries = new HashMap<>();
+
+        countries.put("Iceland", Country.of("Iceland", "Reykjavík", new String[] {"Has geysers", null}));
+        countries.put("Japan", Country.of("Japan", "Tokyo", new String[] {"Island nation"}));
+        countries.put("Côte d'Ivoire", Country.of("Côte d'Ivoire", "Yamoussoukro", new String[0]));
+
+        mapWorld      = new World(countries);
+        columnarWorld = World.columnar(countries.values());
+    }
+
+    /**
+     * Tests that name and capital lookups ignore case and return the same data.
+     */
+    @Test
+    public void testLookups()
+    {
+        final Country iceland;
+        iceland = columnarWorld.getCountryByName("ICELAND");
+
+        assertEquals("Iceland", iceland.getCountryName());
+        assertEquals("Reykjavík", iceland.getCapitalCityName());
+        assertEquals(2, iceland.getFactCount());
+        assertEquals("Has geysers", iceland.getFact(0));
+        assertNull(iceland.getFact(1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> iceland.getFact(2));
+
+        assertSame(iceland, columnarWorld.getCountryByCapital("reykjavík"));
+        assertSame(columnarWorld.getCountryArray(), columnarWorld.getCountryArray());
+        assertEquals("Côte d'Ivoire", columnarWorld.getCountryByCapital("Yamoussoukro").getCountryName());
+        assertNull(columnarWorld.getCountryByName("Atlantis"));
+        assertNull(columnarWorld.getCountryByName(null));
+        assertEquals(mapWorld.getCountryByName("japan").toString(),
+                     columnarWorld.getCountryByName("japan").toString());
+    }
+
+    /**
+     * Tests that the countries map holds the same keys and is read-only.
+     */
+    @Test
+    public void testCountriesMap()
+    {
+        final Map<String, Country> countries;
+        countries = columnarWorld.getCountriesMap();
+
+        assertEquals(mapWorld.getCountriesMap().keySet(), countries.keySet());
+        assertEquals("Tokyo", countries.get("Japan").getCapitalCityName());
+        assertNull(countries.get("japan"));
+        assertEquals(3, columnarWorld.getAllCountries().size());
+        assertEquals(mapWorld.size(), columnarWorld.size());
+        assertThrows(UnsupportedOperationException.class,
+                     () -> countries.put("Japan", mapWorld.getCountryByName("Japan")));
+    }
+
+    /**
+     * Tests that a large columnar World takes at most half the heap of the map-backed one,
+     * measuring every object reachable from each World with JOL.
+     */
+    @Test
+    public void testUsesLessHeap()
+    {
+        final Map<String, Country> countries;
+        countries = new HashMap<>();
+
+        for (int i = 0; i < LARGE_WORLD_SIZE; i++)
+        {
+            final String name;
+            final String[] facts;
+
+            name  = "Country " + i;
+            facts = new String[NUM_OF_FACTS];
+
+            for (int fact = 0; fact < NUM_OF_FACTS; fact++)
+            {
+                facts[fact] = "Fact " + fact + " about " + name;
+            }
+
+            countries.put(name, Country.of(name, "Capital " + i, facts));
+        }
+
+        final long mapBytes;
+        final long columnarBytes;
+
+        mapBytes      = GraphLayout.parseInstance(new World(countries)).totalSize();
+        columnarBytes = GraphLayout.parseInstance(World.columnar(countries.values())).totalSize();
+
+        assertTrue(columnarBytes < mapBytes * MAX_HEAP_RATIO,
+                   "columnar " + columnarBytes + " bytes vs map " + mapBytes + " bytes");
+    }
+}
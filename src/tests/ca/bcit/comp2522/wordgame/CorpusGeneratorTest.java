@@ -0,0 +1,150 @@
+package ca.bcit.comp2522.wordgame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that the CorpusGenerator writes files the loaders and score parser read back exactly.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class CorpusGeneratorTest
+{
+    private static final long   SEED            = 42L;
+    private static final int    FACT_LENGTH     = 150;
+    private static final double MALFORMED_RATIO = 0.2;
+    private static final long   COUNTRIES       = 500L;
+    private static final int    FILES           = 3;
+    private static final long   SCORES          = 300L;
+    private static final int    NUM_OF_FACTS    = 3;
+
+    private Path folder;
+
+    /**
+     * Creates an empty folder for the corpus.
+     *
+     * @throws IOException if the folder cannot be created
+     */
+    @BeforeEach
+    public void setUp()
+        throws IOException
+    {
+        folder = Files.createTempDirectory("corpus");
+    }
+
+    /**
+     * Deletes the corpus folder.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        try (final Stream<Path> files = Files.walk(folder))
+        {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).toList())
+            {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Tests that both loaders skip the malformed blocks and read every valid country with its facts.
+     *
+     * @throws IOException if the corpus cannot be written or read
+     */
+    @Test
+    public void testLoadersReadEveryValidCountry()
+        throws IOException
+    {
+        final long malformed;
+        final List<Country> scanned;
+        final List<Country> mapped;
+
+        malformed = new CorpusGenerator(SEED, FACT_LENGTH, MALFORMED_RATIO).writeCountryFiles(folder,
+                                                                                              COUNTRIES,
+                                                                                              FILES);
+        scanned   = new ScannerCountryLoader().loadCountries(folder);
+        mapped    = new MappedCountryLoader().loadCountries(folder);
+
+        assertTrue(malformed > 0);
+        assertEquals(COUNTRIES, scanned.size());
+        assertEquals(COUNTRIES, mapped.size());
+        assertEquals(COUNTRIES, scanned.stream().map(Country::getCountryName).distinct().count());
+
+        for (final Country country : scanned)
+        {
+            assertEquals(NUM_OF_FACTS, country.getFactCount());
+            assertTrue(country.getFact(0).length() >= FACT_LENGTH);
+        }
+    }
+
+    /**
+     * Tests that the score parser skips the malformed blocks and reads every valid score.
+     *
+     * @throws IOException if the score file cannot be written
+     */
+    @Test
+    public void testScoreParserReadsEveryValidScore()
+        throws IOException
+    {
+        final Path scoreFile;
+        final long malformed;
+
+        scoreFile = folder.resolve("scores.txt");
+        malformed = new CorpusGenerator(SEED, FACT_LENGTH, MALFORMED_RATIO).writeScoreFile(scoreFile, SCORES);
+
+        assertTrue(malformed > 0);
+
+        try (final Stream<Score> scores = Score.streamScoresFromFile(scoreFile.toString()))
+        {
+            assertEquals(SCORES, scores.count());
+        }
+    }
+
+    /**
+     * Tests that the same seed writes the same bytes.
+     *
+     * @throws IOException if the files cannot be written
+     */
+    @Test
+    public void testSameSeedWritesSameFiles()
+        throws IOException
+    {
+        final Path first;
+        final Path second;
+
+        first  = folder.resolve("first");
+        second = folder.resolve("second");
+
+        new CorpusGenerator(SEED, FACT_LENGTH, MALFORMED_RATIO).writeCountryFiles(first, COUNTRIES, 1);
+        new CorpusGenerator(SEED, FACT_LENGTH, MALFORMED_RATIO).writeCountryFiles(second, COUNTRIES, 1);
+
+        assertEquals(-1L, Files.mismatch(first.resolve("countries-00000.txt"),
+                                         second.resolve("countries-00000.txt")));
+    }
+
+    /**
+     * Tests that a malformed ratio outside 0 to 1 is rejected.
+     */
+    @Test
+    public void testRejectsBadRatio()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new CorpusGenerator(SEED, FACT_LENGTH, 1.5));
+    }
+}
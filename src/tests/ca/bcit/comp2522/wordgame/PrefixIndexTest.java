@@ -0,0 +1,77 @@
+package ca.bcit.comp2522.wordgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the PrefixIndex autocomplete search.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class PrefixIndexTest
+{
+    private PrefixIndex index;
+
+    /**
+     * Builds an index over a few countries sharing prefixes.
+     */
+    @BeforeEach
+    public void setUp()
+    {
+        final Map<String, Country> countries;
+        countries = new HashMap<>();
+
+        addCountry(countries, "Niger", "Niamey");
+        addCountry(countries, "Nigeria", "Abuja");
+        addCountry(countries, "Nicaragua", "Managua");
+        addCountry(countries, "Iceland", "Reykjavík");
+        addCountry(countries, "Chad", "N'Djamena");
+
+        index = new PrefixIndex(new World(countries));
+    }
+
+    /*
+    Adds a country with no facts
+     */
+    private static void addCountry(final Map<String, Country> countries,
+                                   final String name,
+                                   final String capital)
+    {
+        countries.put(name, Country.of(name, capital, new String[3]));
+    }
+
+    /**
+     * Tests that completions are sorted, limited, and ignore case and accents.
+     */
+    @Test
+    public void testComplete()
+    {
+        assertEquals(List.of("Niamey", "Nicaragua", "Niger", "Nigeria"), index.complete("NI", 10));
+        assertEquals(List.of("Niamey", "Nicaragua"), index.complete("ni", 2));
+        assertEquals(List.of("Reykjavík"), index.complete("reykjav", 10));
+        assertEquals(List.of("N'Djamena"), index.complete("ndj", 10));
+        assertTrue(index.complete("zz", 10).isEmpty());
+    }
+
+    /**
+     * Tests searching countries and capitals separately, and counting matches.
+     */
+    @Test
+    public void testFindAndCount()
+    {
+        assertEquals(2, index.findCountries("nige").size());
+        assertEquals("Niger", index.findCapitals("nia").get(0).getCountryName());
+        assertTrue(index.findCapitals("nige").isEmpty());
+        assertEquals(5, index.countMatches("n"));
+        assertEquals(10, index.countMatches(""));
+        assertEquals(10, index.size());
+    }
+}
@@ -0,0 +1,252 @@
+package ca.bcit.comp2522.wordgame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the ScoreAnalytics rollups.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class ScoreAnalyticsTest
+{
+    private static final double DELTA           = 1e-9;
+    private static final Path   SCORE_FILE      = Paths.get("test_analytics_scores.txt");
+    private static final Path   CHECKPOINT_FILE = Paths.get("test_analytics_scores.rollup");
+
+    private ScoreAnalytics analytics;
+    private List<Score>    recorded;
+    private Score          best;
+    private Score          worst;
+
+    /**
+     * Records scores on three days through analytics wrapped around a list.
+     *
+     * @throws IOException never, the list sink cannot fail
+     */
+    @BeforeEach
+    public void setUp()
+        throws IOException
+    {
+        recorded  = new ArrayList<>();
+        analytics = new ScoreAnalytics(recorded::add);
+        best      = new Score(LocalDateTime.of(2025, 1, 1, 10, 0), 1, 3, 0, 0);
+        worst     = new Score(LocalDateTime.of(2025, 1, 3, 9, 0), 2, 0, 1, 5);
+
+        analytics.record(best);
+        analytics.record(new Score(LocalDateTime.of(2025, 1, 1, 20, 0), 1, 1, 2, 0));
+        analytics.record(new Score(LocalDateTime.of(2025, 1, 2, 12, 0), 1, 3, 0, 0));
+        analytics.record(worst);
+    }
+
+    /**
+     * Removes the files written by the checkpoint tests.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        Files.deleteIfExists(SCORE_FILE);
+        Files.deleteIfExists(CHECKPOINT_FILE);
+    }
+
+    /**
+     * Tests the overall totals, best and worst, and that scores reach the wrapped sink.
+     */
+    @Test
+    public void testTotals()
+    {
+        final ScoreRollup totals;
+        totals = analytics.getTotals();
+
+        assertEquals(4, recorded.size());
+        assertEquals(4, totals.getSessions());
+        assertEquals(5, totals.getGamesPlayed());
+        assertEquals(7, totals.getCorrectFirstAttempts());
+        assertEquals(3, totals.getCorrectSecondAttempts());
+        assertEquals(17, totals.getPoints());
+        assertEquals(17.0 / 5, totals.getAveragePerGame(), DELTA);
+        assertEquals(7.0 / 3, totals.getFirstToSecondRatio(), DELTA);
+        assertEquals(0.7, totals.getFirstAttemptShare(), DELTA);
+        assertSame(best, analytics.getBest());
+        assertSame(worst, analytics.getWorst());
+    }
+
+    /**
+     * Tests per-day totals and rolling windows.
+     */
+    @Test
+    public void testDailyAndRolling()
+    {
+        final LocalDate first;
+        first = LocalDate.of(2025, 1, 1);
+
+        assertEquals(2, analytics.getDay(first).getSessions());
+        assertEquals(10, analytics.getDay(first).getPoints());
+        assertEquals(0, analytics.getDay(first.minusDays(1)).getSessions());
+        assertEquals(3, analytics.getDailyTotals(first, first.plusDays(2)).size());
+        assertTrue(analytics.getDailyTotals(first.plusDays(2), first).isEmpty());
+        assertEquals(2, analytics.getRollingTotals(first.plusDays(2), 2).getSessions());
+        assertEquals(7.0 / 3, analytics.getRollingTotals(first.plusDays(2), 2).getAveragePerGame(), DELTA);
+        assertEquals(first.plusDays(2), analytics.getLastDay());
+    }
+
+    /**
+     * Tests that reopening starts from the saved checkpoint, reads only the scores stored
+     * after it, including ones written by another writer, and keeps the best score.
+     *
+     * @throws IOException if the score file or checkpoint cannot be written or read
+     */
+    @Test
+    public void testCheckpointReadsOnlyNewScores()
+        throws IOException
+    {
+        final TextScoreSink store;
+        final ScoreAnalytics first;
+
+        store = new TextScoreSink(SCORE_FILE);
+        first = ScoreAnalytics.open(CHECKPOINT_FILE, store, store);
+
+        first.record(best);
+        first.record(worst);
+        first.close();
+
+        final long checkpointed;
+        checkpointed = store.getEndPosition();
+
+        store.record(new Score(LocalDateTime.of(2025, 1, 4, 9, 0), 1, 1, 2, 0));
+
+        final PositionRecordingStore recording;
+        final ScoreAnalytics reopened;
+
+        recording = new PositionRecordingStore(store);
+        reopened  = ScoreAnalytics.open(CHECKPOINT_FILE, recording, null);
+
+        assertEquals(checkpointed, recording.getFirstPosition());
+        assertEquals(3, reopened.getTotals().getSessions());
+        assertEquals(best.getScore(), reopened.getBest().getScore());
+        assertEquals(best.getDateTimePlayed(), reopened.getBest().getDateTimePlayed());
+        assertEquals(worst.getDateTimePlayed(), reopened.getWorst().getDateTimePlayed());
+        assertEquals(4, ScoreAnalytics.open(CHECKPOINT_FILE, store, null).getDay(LocalDate.of(2025, 1, 4)).getPoints());
+    }
+
+    /**
+     * Tests that a checkpoint ahead of a truncated score store is ignored and the store read in full.
+     *
+     * @throws IOException if the score file or checkpoint cannot be written or read
+     */
+    @Test
+    public void testStaleCheckpointIsIgnored()
+        throws IOException
+    {
+        final TextScoreSink store;
+        final ScoreAnalytics first;
+
+        store = new TextScoreSink(SCORE_FILE);
+        first = ScoreAnalytics.open(CHECKPOINT_FILE, store, store);
+
+        first.record(best);
+        first.record(worst);
+        first.close();
+
+        Files.delete(SCORE_FILE);
+        store.record(worst);
+
+        final ScoreAnalytics reopened;
+        reopened = ScoreAnalytics.open(CHECKPOINT_FILE, store, null);
+
+        assertEquals(1, reopened.getTotals().getSessions());
+        assertEquals(worst.getDateTimePlayed(), reopened.getBest().getDateTimePlayed());
+    }
+
+    /**
+     * Score store that remembers the first position it was asked to read from.
+     */
+    private static final class PositionRecordingStore implements ScoreStore
+    {
+        private final ScoreStore target;
+
+        private long firstPosition = -1L;
+
+        /*
+        Constructs a PositionRecordingStore reading from the target
+         */
+        private PositionRecordingStore(final ScoreStore target)
+        {
+            this.target = target;
+        }
+
+        /**
+         * Records a score to the target.
+         *
+         * @param score the score to record
+         * @throws IOException if the target cannot write the score
+         */
+        @Override
+        public void record(final Score score)
+            throws IOException
+        {
+            target.record(score);
+        }
+
+        /**
+         * Returns the target's end position.
+         *
+         * @return the end position
+         * @throws IOException if the target cannot be read
+         */
+        @Override
+        public long getEndPosition()
+            throws IOException
+        {
+            return target.getEndPosition();
+        }
+
+        /**
+         * Remembers the position, then reads from the target.
+         *
+         * @param position the position to read from
+         * @param action   called with each score read
+         * @return the position just past the last score read
+         * @throws IOException if the target cannot be read
+         */
+        @Override
+        public long readFrom(final long position,
+                             final Consumer<Score> action)
+            throws IOException
+        {
+            if (firstPosition < 0)
+            {
+                firstPosition = position;
+            }
+
+            return target.readFrom(position, action);
+        }
+
+        /*
+        Returns the first position read from, or -1 if none
+         */
+        private long getFirstPosition()
+        {
+            return firstPosition;
+        }
+    }
+}
@@ -10,8 +10,10 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ScoreTest
@@ -136,6 +138,53 @@ class ScoreTest
         assertTrue(scores.isEmpty(), "Reading from an empty file should return an empty list.");
     }
 
+    @Test
+    void testStreamMatchesListParser() throws IOException {
+        // Write a mix of scores and compare the streaming reader with the list reader
+        for (int i = 0; i < 25; i++) {
+            Score score = new Score(LocalDateTime.now(), (i % 4) + 1, i, (i % 3), (i % 2));
+            Score.appendScoreToFile(score, SCORE_FILE);
+        }
+
+        assertIterableEquals(readAsStrings(Score.readScoresFromFile(SCORE_FILE)), streamAsStrings(SCORE_FILE),
+                "The streaming reader should produce the same scores as readScoresFromFile.");
+    }
+
+    @Test
+    void testStreamReadsTrailingBlockWithoutBlankLine() throws IOException {
+        // Last block has no blank line after it, and an incomplete block sits in the middle
+        try (FileWriter writer = new FileWriter(SCORE_FILE, false)) {
+            writer.write("Date and Time: 2025-11-30 21:47:10\nGames Played: 3\nCorrect First Attempts: 1\n"
+                    + "Correct Second Attempts: 0\nIncorrect Attempts: 8\nTotal Score: 2 points\n\n"
+                    + "Date and Time: 2025-12-01 08:00:00\nGames Played: 1\n\n"
+                    + "Date and Time: 2025-12-02 09:30:00\nGames Played: 1\nCorrect First Attempts: 3\n"
+                    + "Correct Second Attempts: 0\nIncorrect Attempts: 0\nScore: 6 points");
+        }
+
+        List<String> streamed = streamAsStrings(SCORE_FILE);
+
+        assertEquals(2, streamed.size(), "The incomplete block should be skipped and the trailing block read.");
+        assertIterableEquals(readAsStrings(Score.readScoresFromFile(SCORE_FILE)), streamed,
+                "The streaming reader should match readScoresFromFile on the trailing block.");
+    }
+
+    @Test
+    void testStreamEmptyAndMissingFile() {
+        // An empty file and a missing file should both stream no scores
+        assertTrue(streamAsStrings(SCORE_FILE).isEmpty(), "Streaming an empty file should give no scores.");
+        assertTrue(streamAsStrings("missing_" + SCORE_FILE).isEmpty(), "Streaming a missing file should give no scores.");
+    }
+
+    private static List<String> readAsStrings(List<Score> scores) {
+        return scores.stream().map(Score::toString).toList();
+    }
+
+    private static List<String> streamAsStrings(String scoreFile) {
+        try (Stream<Score> scores = Score.streamScoresFromFile(scoreFile)) {
+            return scores.map(Score::toString).toList();
+        }
+    }
+
     @AfterEach
     void tearDown() {
         // Clean up by deleting the test score file after each test
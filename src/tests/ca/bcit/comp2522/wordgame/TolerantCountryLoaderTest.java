@@ -0,0 +1,125 @@
+package ca.bcit.comp2522.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that the TolerantCountryLoader repairs or skips malformed blocks and reports each one.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class TolerantCountryLoaderTest
+{
+    private static final Path FILE = Path.of("test.txt");
+
+    /*
+    Parses the text, collecting diagnostics into the given list
+     */
+    private static List<Country> parse(final String text,
+                                       final List<CountryDiagnostic> diagnostics)
+    {
+        return TolerantCountryLoader.parseBuffer(FILE,
+                                                 ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)),
+                                                 diagnostics);
+    }
+
+    /**
+     * Tests that a well-formed file loads without diagnostics, facts wrapped over lines included.
+     */
+    @Test
+    public void testWellFormedFileHasNoDiagnostics()
+    {
+        final List<CountryDiagnostic> diagnostics;
+        final List<Country> countries;
+
+        diagnostics = new ArrayList<>();
+        countries   = parse("Canada:Ottawa\nFirst\nfact.\nSecond fact.\nThird fact.\n\n" +
+                            "Chile:Santiago\r\nOne.\r\nTwo.\r\nThree.\r\n", diagnostics);
+
+        assertTrue(diagnostics.isEmpty());
+        assertEquals(2, countries.size());
+        assertEquals("First fact.", countries.get(0).getFact(0));
+        assertEquals("Santiago", countries.get(1).getCapitalCityName());
+    }
+
+    /**
+     * Tests that a bad header skips its whole block, fact lines included, and is reported on its line.
+     */
+    @Test
+    public void testBadHeadersSkipTheirBlocks()
+    {
+        final List<CountryDiagnostic> diagnostics;
+        final List<Country> countries;
+
+        diagnostics = new ArrayList<>();
+        countries   = parse("Canada Ottawa\nOne.\nTwo.\nThree.\n\n" +
+                            " :Nowhere\nOne.\nTwo.\nThree.\n\n" +
+                            "Chile: \nOne.\nTwo.\nThree.\n\n" +
+                            "Peru:Lima\nOne.\nTwo.\nThree.\n", diagnostics);
+
+        assertEquals(1, countries.size());
+        assertEquals("Peru", countries.get(0).getCountryName());
+        assertEquals(3, diagnostics.size());
+        assertEquals(CountryDiagnostic.Reason.MISSING_SEPARATOR, diagnostics.get(0).getReason());
+        assertEquals(1, diagnostics.get(0).getLine());
+        assertEquals(CountryDiagnostic.Reason.BLANK_NAME, diagnostics.get(1).getReason());
+        assertEquals(6, diagnostics.get(1).getLine());
+        assertEquals(CountryDiagnostic.Reason.BLANK_CAPITAL, diagnostics.get(2).getReason());
+        assertEquals(11, diagnostics.get(2).getLine());
+    }
+
+    /**
+     * Tests that a colon in the capital is kept and trailing colons dropped; extra facts are cut at three.
+     */
+    @Test
+    public void testRepairsCapitalsAndExtraFacts()
+    {
+        final List<CountryDiagnostic> diagnostics;
+        final List<Country> countries;
+
+        diagnostics = new ArrayList<>();
+        countries   = parse("Utopia:Port: Royal\nOne.\nTwo.\nThree.\nFour.\nFive.\n\n" +
+                            "Peru:Lima::\nOne.\nTwo.\nThree.\n", diagnostics);
+
+        assertEquals(2, countries.size());
+        assertEquals("Port: Royal", countries.get(0).getCapitalCityName());
+        assertEquals(3, countries.get(0).getFactCount());
+        assertEquals("Three.", countries.get(0).getFact(2));
+        assertEquals("Lima", countries.get(1).getCapitalCityName());
+        assertEquals(2, diagnostics.size());
+        assertEquals(CountryDiagnostic.Reason.COLON_IN_CAPITAL, diagnostics.get(0).getReason());
+        assertEquals(CountryDiagnostic.Reason.EXTRA_FACTS, diagnostics.get(1).getReason());
+        assertEquals(5, diagnostics.get(1).getLine());
+    }
+
+    /**
+     * Tests that a fact ending in a quoted period is complete; too few facts skip the country.
+     */
+    @Test
+    public void testQuotedPeriodsEndFactsAndShortBlocksAreSkipped()
+    {
+        final List<CountryDiagnostic> diagnostics;
+        final List<Country> countries;
+
+        diagnostics = new ArrayList<>();
+        countries   = parse("Ireland:Dublin\nThe \"Emerald Isle.\"\nTwo.\nThree (mostly.)\n\n" +
+                            "Iraq:Baghdad\nOne.\nTwo and more\n", diagnostics);
+
+        assertEquals(1, countries.size());
+        assertEquals("The \"Emerald Isle.\"", countries.get(0).getFact(0));
+        assertEquals(2, diagnostics.size());
+        assertEquals(CountryDiagnostic.Reason.MISSING_FACTS, diagnostics.get(0).getReason());
+        assertEquals(6, diagnostics.get(0).getLine());
+        assertEquals(CountryDiagnostic.Reason.UNTERMINATED_FACT, diagnostics.get(1).getReason());
+        assertEquals(8, diagnostics.get(1).getLine());
+    }
+}
@@ -0,0 +1,121 @@
+package ca.bcit.comp2522.wordgame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the WordGameServer line protocol, using a localhost client.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class WordGameServerTest
+{
+    private static final String COUNTRY = "Canada";
+    private static final String CAPITAL = "Ottawa";
+
+    private List<Score>    recorded;
+    private WordGameServer server;
+
+    /**
+     * Starts a server on a free port over a one-country world, so each round asks one question.
+     *
+     * @throws IOException if the server cannot start
+     */
+    @BeforeEach
+    public void setUp()
+        throws IOException
+    {
+        final World world;
+        world = new World(Map.of(COUNTRY, Country.of(COUNTRY, CAPITAL, new String[] {"Has maple syrup."})));
+
+        recorded = new CopyOnWriteArrayList<>();
+        server   = WordGameServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                                        new QuestionFactory(world),
+                                        recorded::add);
+    }
+
+    /**
+     * Stops the server.
+     *
+     * @throws IOException if the server cannot be closed
+     */
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        server.close();
+    }
+
+    /**
+     * Tests a full session: a wrong answer, a retry, a rejected reply, a second round and the recorded score.
+     *
+     * @throws IOException if the connection fails
+     */
+    @Test
+    public void testSessionOverSocket()
+        throws IOException
+    {
+        try (final Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+             final BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                                                                                StandardCharsets.UTF_8)))
+        {
+            final OutputStream out;
+            out = socket.getOutputStream();
+
+            assertTrue(in.readLine().startsWith("QUESTION "));
+            send(out, "wrong");
+            assertEquals("TRY_AGAIN", in.readLine());
+            send(out, "still wrong");
+            assertTrue(in.readLine().startsWith("INCORRECT "));
+            assertEquals("ROUND_OVER 0 1", in.readLine());
+
+            send(out, "maybe");
+            assertTrue(in.readLine().startsWith("ERROR "));
+            send(out, "yes");
+
+            final String prompt;
+            prompt = in.readLine();
+
+            assertTrue(prompt.startsWith("QUESTION "));
+            send(out, prompt.contains(COUNTRY) ? CAPITAL : COUNTRY);
+            assertEquals("CORRECT", in.readLine());
+            assertEquals("ROUND_OVER 2 2", in.readLine());
+
+            send(out, "no");
+            assertEquals("BYE 2", in.readLine());
+        }
+
+        assertEquals(1, recorded.size());
+        assertEquals(2, recorded.get(0).getNumGamesPlayed());
+        assertEquals(1, recorded.get(0).getNumCorrectFirstAttempt());
+        assertEquals(1, recorded.get(0).getNumIncorrectTwoAttempts());
+    }
+
+    /*
+    Sends one protocol line
+     */
+    private static void send(final OutputStream out,
+                             final String line)
+        throws IOException
+    {
+        out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
@@ -0,0 +1,104 @@
+package ca.bcit.comp2522.wordgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the WordGameSession state machine.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class WordGameSessionTest
+{
+    private static final int  COUNTRY_COUNT = 5;
+    private static final long SEED          = 2522L;
+
+    private WordGameSession session;
+
+    /**
+     * Starts a session over a small world of countries.
+     */
+    @BeforeEach
+    public void setUp()
+    {
+        final Map<String, Country> countries;
+        countries = new HashMap<>();
+
+        for (int i = 0; i < COUNTRY_COUNT; i++)
+        {
+            final String name;
+            name = "Country " + i;
+
+            countries.put(name, Country.of(name, "Capital " + i, new String[] {"Fact " + i}));
+        }
+
+        session = new WordGameSession(new QuestionFactory(new World(countries)),
+                                      new Random(SEED),
+                                      LocalDateTime.of(2024, 1, 1, 12, 0));
+    }
+
+    /**
+     * Tests that each kind of answer moves the session and its score along.
+     */
+    @Test
+    public void testAnswersUpdatePhaseAndScore()
+    {
+        assertEquals(WordGameSession.Phase.ASKING, session.getPhase());
+        assertEquals(1, session.getScore().getNumGamesPlayed());
+
+        assertEquals(WordGameSession.Outcome.CORRECT_FIRST_ATTEMPT,
+                     session.submitAnswer("  " + session.getCurrentQuestion().getAnswer().toUpperCase() + " "));
+
+        assertEquals(WordGameSession.Outcome.TRY_AGAIN, session.submitAnswer("wrong"));
+        assertEquals(WordGameSession.Phase.RETRYING, session.getPhase());
+        assertEquals(WordGameSession.Outcome.CORRECT_SECOND_ATTEMPT,
+                     session.submitAnswer(session.getCurrentQuestion().getAnswer()));
+
+        assertEquals(WordGameSession.Outcome.TRY_AGAIN, session.submitAnswer("wrong"));
+        assertEquals(WordGameSession.Outcome.INCORRECT, session.submitAnswer(null));
+
+        assertEquals(WordGameSession.Phase.ROUND_OVER, session.getPhase());
+        assertNull(session.getCurrentQuestion());
+        assertEquals(1, session.getScore().getNumCorrectFirstAttempt());
+        assertEquals(1, session.getScore().getNumCorrectSecondAttempt());
+        assertEquals(1, session.getScore().getNumIncorrectTwoAttempts());
+    }
+
+    /**
+     * Tests that rounds can only be restarted or finished once they are over.
+     */
+    @Test
+    public void testRoundTransitions()
+    {
+        assertThrows(IllegalStateException.class, () -> session.playAgain());
+        assertThrows(IllegalStateException.class, () -> session.finish());
+
+        while (session.getPhase() != WordGameSession.Phase.ROUND_OVER)
+        {
+            session.submitAnswer(session.getCurrentQuestion().getAnswer());
+        }
+
+        session.playAgain();
+        assertEquals(WordGameSession.Phase.ASKING, session.getPhase());
+        assertEquals(2, session.getScore().getNumGamesPlayed());
+
+        while (session.getPhase() != WordGameSession.Phase.ROUND_OVER)
+        {
+            session.submitAnswer(session.getCurrentQuestion().getAnswer());
+        }
+
+        session.finish();
+        assertEquals(WordGameSession.Phase.FINISHED, session.getPhase());
+        assertThrows(IllegalStateException.class, () -> session.submitAnswer("anything"));
+    }
+}
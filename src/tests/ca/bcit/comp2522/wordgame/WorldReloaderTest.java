@@ -0,0 +1,130 @@
+package ca.bcit.comp2522.wordgame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that the WorldReloader picks up changed country files.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class WorldReloaderTest
+{
+    private static final long TIMEOUT_MILLIS = 10_000L;
+    private static final long POLL_MILLIS    = 20L;
+
+    private Path inputs;
+
+    /**
+     * Creates an inputs folder with one country file.
+     *
+     * @throws IOException if the folder cannot be written
+     */
+    @BeforeEach
+    public void setUp()
+        throws IOException
+    {
+        inputs = Files.createTempDirectory("reloader-inputs");
+
+        Files.writeString(inputs.resolve("a.txt"),
+                          "Albania:Tirana\nFact one.\nFact two.\nFact three.\n");
+    }
+
+    /**
+     * Deletes the inputs folder.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        try (final Stream<Path> files = Files.walk(inputs))
+        {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).toList())
+            {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Tests that adding, editing and deleting files swaps in new Worlds
+     * while an old World stays unchanged.
+     *
+     * @throws Exception if a file cannot be written or the wait is interrupted
+     */
+    @Test
+    public void testReloadsChangedFiles()
+        throws Exception
+    {
+        try (final WorldReloader reloader = WorldReloader.start(inputs, new MappedCountryLoader()))
+        {
+            final World first;
+            first = reloader.getWorld();
+
+            assertEquals(1, first.getCountriesMap().size());
+
+            addFile("b.txt", "Belgium:Brussels\nFact one.\nFact two.\nFact three.\n");
+            awaitReloads(reloader, 1);
+
+            assertNotNull(reloader.getWorld().getCountryByName("Belgium"));
+            assertNotNull(reloader.getWorld().getCountryByName("Albania"));
+            assertNull(first.getCountryByName("Belgium"));
+
+            Files.delete(inputs.resolve("a.txt"));
+            awaitReloads(reloader, 2);
+
+            assertNull(reloader.getWorld().getCountryByName("Albania"));
+            assertEquals(1, reloader.getWorld().getCountriesMap().size());
+            assertSame(reloader.getWorld(), reloader.getQuestionFactory().getWorld());
+        }
+    }
+
+    /*
+    Writes a file next to the inputs folder and moves it in, so the reloader sees it whole
+     */
+    private void addFile(final String name,
+                         final String contents)
+        throws IOException
+    {
+        final Path staged;
+        staged = Files.createTempFile(inputs.getParent(), "staged", ".txt");
+
+        Files.writeString(staged, contents);
+        Files.move(staged, inputs.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /*
+    Waits until the reloader has published at least the given number of reloads
+     */
+    private static void awaitReloads(final WorldReloader reloader,
+                                     final long reloads)
+        throws InterruptedException
+    {
+        final long deadline;
+        deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+
+        while (reloader.getReloadCount() < reloads && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(POLL_MILLIS);
+        }
+
+        assertTrue(reloader.getReloadCount() >= reloads, "timed out waiting for a reload");
+    }
+}
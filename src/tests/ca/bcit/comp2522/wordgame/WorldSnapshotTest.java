@@ -0,0 +1,90 @@
+package ca.bcit.comp2522.wordgame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that the WorldSnapshot is only served to the kind of loader that wrote it.
+ *
+ * @author David Martinez
+ * @version 1.0
+ */
+public class WorldSnapshotTest
+{
+    private Path folder;
+    private Path inputs;
+
+    /**
+     * Creates an inputs folder with one complete country and one missing a fact,
+     * which the mapped loader keeps and the tolerant loader skips.
+     *
+     * @throws IOException if the folder cannot be written
+     */
+    @BeforeEach
+    public void setUp()
+        throws IOException
+    {
+        folder = Files.createTempDirectory("snapshot-test");
+        inputs = Files.createDirectory(folder.resolve("inputs"));
+
+        Files.writeString(inputs.resolve("a.txt"),
+                          "Albania:Tirana\nFact one.\nFact two.\nFact three.\n\n" +
+                          "Chile:Santiago\nFact one.\nFact two.\n");
+    }
+
+    /**
+     * Deletes the test folder.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        try (final Stream<Path> files = Files.walk(folder))
+        {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).toList())
+            {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Tests that a snapshot is reused by the loader that wrote it and ignored by another loader.
+     *
+     * @throws IOException if the inputs cannot be read
+     */
+    @Test
+    public void testAnotherLoaderMissesTheSnapshot()
+        throws IOException
+    {
+        final WorldSnapshot snapshot;
+        snapshot = new WorldSnapshot(folder.resolve("world.snapshot"), inputs);
+
+        assertEquals(2, snapshot.load(new MappedCountryLoader()).size());
+        assertFalse(snapshot.wasWarmStart());
+
+        assertEquals(2, snapshot.load(new MappedCountryLoader()).size());
+        assertTrue(snapshot.wasWarmStart());
+
+        final List<Country> countries;
+        countries = snapshot.load(new TolerantCountryLoader());
+
+        assertFalse(snapshot.wasWarmStart());
+        assertEquals(1, countries.size());
+        assertEquals("Albania", countries.get(0).getCountryName());
+    }
+}